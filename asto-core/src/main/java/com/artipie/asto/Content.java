@@ -149,4 +149,54 @@ public interface Content extends Publisher<ByteBuffer> {
             this.wrapped.subscribe(sub);
         }
     }
+
+    /**
+     * Content with metadata which storage read together with the value,
+     * so consumers may check for this class and read metadata without
+     * another storage request.
+     *
+     * @since 1.16
+     */
+    final class WithMeta implements Content {
+
+        /**
+         * Origin content.
+         */
+        private final Content origin;
+
+        /**
+         * Value metadata.
+         */
+        private final Meta metadata;
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin content.
+         * @param metadata Value metadata.
+         */
+        public WithMeta(final Content origin, final Meta metadata) {
+            this.origin = origin;
+            this.metadata = metadata;
+        }
+
+        /**
+         * Metadata of the value.
+         *
+         * @return Metadata.
+         */
+        public Meta meta() {
+            return this.metadata;
+        }
+
+        @Override
+        public Optional<Long> size() {
+            return this.origin.size();
+        }
+
+        @Override
+        public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+            this.origin.subscribe(subscriber);
+        }
+    }
 }
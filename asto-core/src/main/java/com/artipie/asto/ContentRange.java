@@ -0,0 +1,128 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto;
+
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Range of bytes of the origin content.
+ * <p>
+ * Bytes before the range start are skipped while reading the origin, origin subscription is
+ * cancelled as soon as the range end is reached. Range which goes beyond the end of origin
+ * content is truncated. Empty range subscribes to the origin and cancels it at once,
+ * so resources held by origin content, like open files or connections, are released.
+ *
+ * @since 1.16
+ */
+public final class ContentRange implements Content {
+
+    /**
+     * Origin content.
+     */
+    private final Content origin;
+
+    /**
+     * Range start position.
+     */
+    private final long offset;
+
+    /**
+     * Max range length.
+     */
+    private final long length;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin content.
+     * @param offset Range start position, non-negative.
+     * @param length Max range length, non-negative.
+     */
+    public ContentRange(final Content origin, final long offset, final long length) {
+        ContentRange.validate(offset, length);
+        this.origin = origin;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public Optional<Long> size() {
+        return this.origin.size().map(
+            size -> Math.min(this.length, Math.max(0, size - this.offset))
+        );
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+        final long end = ContentRange.end(this.offset, this.length);
+        final Flowable<ByteBuffer> res;
+        if (this.length == 0) {
+            res = Flowable.fromPublisher(this.origin).take(0);
+        } else {
+            res = Flowable.defer(
+                () -> {
+                    final AtomicLong pos = new AtomicLong();
+                    return Flowable.fromPublisher(this.origin)
+                        .map(
+                            buf -> {
+                                final long start = pos.getAndAdd(buf.remaining());
+                                final ByteBuffer slice = buf.duplicate();
+                                final int len = (int) Math.min(slice.remaining(), end - start);
+                                final int skip = (int) Math.min(
+                                    len, Math.max(0, this.offset - start)
+                                );
+                                slice.limit(slice.position() + len);
+                                slice.position(slice.position() + skip);
+                                return slice;
+                            }
+                        )
+                        .takeUntil(buf -> pos.get() >= end)
+                        .filter(ByteBuffer::hasRemaining);
+                }
+            );
+        }
+        res.subscribe(subscriber);
+    }
+
+    /**
+     * Checks range bounds.
+     *
+     * @param offset Range start position.
+     * @param length Max range length.
+     * @throws IllegalArgumentException If offset or length is negative.
+     */
+    public static void validate(final long offset, final long length) {
+        if (offset < 0 || length < 0) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Range offset and length should not be negative, but were %d and %d",
+                    offset, length
+                )
+            );
+        }
+    }
+
+    /**
+     * Position after the last byte of range, saturated to {@link Long#MAX_VALUE}
+     * so that {@code Long.MAX_VALUE} length can be used to read till the end.
+     *
+     * @param offset Range start position.
+     * @param length Max range length.
+     * @return End position, exclusive.
+     */
+    public static long end(final long offset, final long length) {
+        final long res;
+        if (length > Long.MAX_VALUE - offset) {
+            res = Long.MAX_VALUE;
+        } else {
+            res = offset + length;
+        }
+        return res;
+    }
+}
@@ -5,6 +5,7 @@
 package com.artipie.asto;
 
 import java.util.Collection;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
@@ -125,6 +126,30 @@ public final class LoggingStorage implements Storage {
         );
     }
 
+    @Override
+    public CompletableFuture<Content> value(final Key key, final long offset, final long length) {
+        return this.storage.value(key, offset, length).thenApply(
+            result -> {
+                this.log(
+                    "Value '%s' from %d: %s", key.string(), offset, result.size()
+                );
+                return result;
+            }
+        );
+    }
+
+    @Override
+    public CompletableFuture<Optional<Content>> valueIfPresent(final Key key) {
+        return this.storage.valueIfPresent(key).thenApply(
+            result -> {
+                this.log(
+                    "Value if present '%s': %s", key.string(), result.map(Content::size)
+                );
+                return result;
+            }
+        );
+    }
+
     @Override
     public CompletableFuture<Void> delete(final Key key) {
         return this.storage.delete(key).thenApply(
@@ -7,6 +7,7 @@ package com.artipie.asto;
 import com.artipie.ArtipieException;
 import com.artipie.asto.fs.FileStorage;
 import java.util.Collection;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
@@ -92,6 +93,54 @@ public interface Storage {
      */
     CompletableFuture<Content> value(Key key);
 
+    /**
+     * Obtain range of bytes by key.
+     * <p>
+     * Range which goes beyond the end of value is truncated, so {@code Long.MAX_VALUE}
+     * length may be used to read value till the end. Default implementation
+     * reads whole value and skips bytes before the range, storages should override it
+     * to read only requested bytes.
+     *
+     * @param key The key
+     * @param offset Range start position, non-negative.
+     * @param length Max range length, non-negative.
+     * @return Bytes of the range.
+     */
+    default CompletableFuture<Content> value(final Key key, final long offset,
+        final long length) {
+        ContentRange.validate(offset, length);
+        return this.value(key).thenApply(
+            content -> new Content.OneTime(new ContentRange(content, offset, length))
+        );
+    }
+
+    /**
+     * Obtain value if it exists.
+     * <p>
+     * Absent value is reported with empty result instead of {@link ValueNotFoundException},
+     * it is convenient for lookups where value is often absent, like cache lookups.
+     * Default implementation handles the exception of {@link #value(Key)}, storages
+     * should override it to check the value without failing.
+     *
+     * @param key The key
+     * @return Value content or empty if value does not exist.
+     */
+    default CompletableFuture<Optional<Content>> valueIfPresent(final Key key) {
+        final CompletableFuture<Optional<Content>> value = this.value(key)
+            .thenApply(Optional::of);
+        return value.handle(
+            (content, throwable) -> {
+                final CompletableFuture<Optional<Content>> result;
+                if (throwable != null && throwable.getCause() instanceof ValueNotFoundException) {
+                    result = CompletableFuture.completedFuture(Optional.empty());
+                } else {
+                    result = value;
+                }
+                return result;
+            }
+        ).thenCompose(Function.identity());
+    }
+
     /**
      * Removes value from storage. Fails if value does not exist.
      *
@@ -193,6 +242,17 @@ public interface Storage {
             return this.delegate.value(key);
         }
 
+        @Override
+        public CompletableFuture<Content> value(final Key key, final long offset,
+            final long length) {
+            return this.delegate.value(key, offset, length);
+        }
+
+        @Override
+        public CompletableFuture<Optional<Content>> valueIfPresent(final Key key) {
+            return this.delegate.valueIfPresent(key);
+        }
+
         @Override
         public CompletableFuture<Void> delete(final Key key) {
             return this.delegate.delete(key);
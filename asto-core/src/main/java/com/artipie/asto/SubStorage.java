@@ -7,6 +7,7 @@ package com.artipie.asto;
 import com.artipie.asto.ext.CompletableFutureSupport;
 import com.artipie.asto.lock.storage.StorageLock;
 import java.util.Collection;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
@@ -103,6 +104,16 @@ public final class SubStorage implements Storage {
         return this.origin.value(new PrefixedKed(this.prefix, key));
     }
 
+    @Override
+    public CompletableFuture<Content> value(final Key key, final long offset, final long length) {
+        return this.origin.value(new PrefixedKed(this.prefix, key), offset, length);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Content>> valueIfPresent(final Key key) {
+        return this.origin.valueIfPresent(new PrefixedKed(this.prefix, key));
+    }
+
     @Override
     public CompletableFuture<Void> delete(final Key key) {
         return this.origin.delete(new PrefixedKed(this.prefix, key));
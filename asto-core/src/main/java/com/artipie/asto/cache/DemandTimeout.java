@@ -0,0 +1,146 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.cache;
+
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.reactivestreams.Publisher;
+
+/**
+ * Source which fails when it sends nothing for idle timeout while items are requested.
+ * <p>
+ * Unlike {@link Flowable#timeout(long, TimeUnit)} time when nothing is requested
+ * from the source, e.g. because consumer is slow, is not counted, so only the source
+ * which does not answer requests is timed out. Source is cancelled on timeout and
+ * flowable fails with {@link TimeoutException}.
+ *
+ * @param <T> Items type.
+ * @since 1.16
+ */
+final class DemandTimeout<T> {
+
+    /**
+     * Min period of idle checks in milliseconds.
+     */
+    private static final long MIN_TICK = 10L;
+
+    /**
+     * Source.
+     */
+    private final Publisher<T> source;
+
+    /**
+     * Max time between requested items.
+     */
+    private final Duration idle;
+
+    /**
+     * Ctor.
+     *
+     * @param source Source.
+     * @param idle Max time between requested items.
+     */
+    DemandTimeout(final Publisher<T> source, final Duration idle) {
+        this.source = source;
+        this.idle = idle;
+    }
+
+    /**
+     * Items of the source.
+     *
+     * @return Publisher of items, failed if source is idle for too long.
+     */
+    Flowable<T> flowable() {
+        return Flowable.defer(
+            () -> {
+                final long limit = this.idle.toNanos();
+                final AtomicLong pending = new AtomicLong();
+                final AtomicLong last = new AtomicLong(System.nanoTime());
+                final AtomicBoolean expired = new AtomicBoolean();
+                final long tick = Math.max(DemandTimeout.MIN_TICK, this.idle.toMillis() / 10);
+                return Flowable.fromPublisher(this.source)
+                    .doOnRequest(
+                        num -> {
+                            if (pending.getAndAccumulate(num, DemandTimeout::add) == 0) {
+                                last.set(System.nanoTime());
+                            }
+                        }
+                    )
+                    .doOnNext(
+                        item -> {
+                            last.set(System.nanoTime());
+                            pending.accumulateAndGet(1L, DemandTimeout::sub);
+                        }
+                    )
+                    .takeUntil(
+                        Flowable.interval(tick, TimeUnit.MILLISECONDS).filter(
+                            ignored -> pending.get() > 0
+                                && System.nanoTime() - last.get() > limit
+                                && expired.compareAndSet(false, true)
+                        )
+                    )
+                    .concatWith(
+                        Completable.defer(
+                            () -> {
+                                final Completable res;
+                                if (expired.get()) {
+                                    res = Completable.error(
+                                        new TimeoutException(
+                                            String.format(
+                                                "Source sent nothing for %s while requested",
+                                                this.idle
+                                            )
+                                        )
+                                    );
+                                } else {
+                                    res = Completable.complete();
+                                }
+                                return res;
+                            }
+                        )
+                    );
+            }
+        );
+    }
+
+    /**
+     * Add demand, capped at max long value.
+     *
+     * @param cur Current demand.
+     * @param num Requested number.
+     * @return Total demand.
+     */
+    private static long add(final long cur, final long num) {
+        final long res;
+        if (cur == Long.MAX_VALUE || num > Long.MAX_VALUE - cur) {
+            res = Long.MAX_VALUE;
+        } else {
+            res = cur + num;
+        }
+        return res;
+    }
+
+    /**
+     * Subtract received items from demand, unbounded demand is kept.
+     *
+     * @param cur Current demand.
+     * @param num Received number.
+     * @return Remaining demand.
+     */
+    private static long sub(final long cur, final long num) {
+        final long res;
+        if (cur == Long.MAX_VALUE) {
+            res = Long.MAX_VALUE;
+        } else {
+            res = Math.max(0L, cur - num);
+        }
+        return res;
+    }
+}
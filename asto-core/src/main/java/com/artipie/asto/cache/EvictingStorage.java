@@ -0,0 +1,521 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.cache;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.Storage;
+import com.jcabi.log.Logger;
+import io.reactivex.Flowable;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache storage which evicts least recently accessed values.
+ * <p>
+ * Storage keeps in memory index of size and last access time of values saved and read
+ * through it. Values existing in origin storage are indexed when they are read, or all
+ * at once by {@link #scan()}, which takes access time from {@link Meta#OP_ACCESSED_AT}
+ * or {@link Meta#OP_UPDATED_AT} metadata when storage provides it.
+ * <p>
+ * Eviction pass deletes values which were not accessed for max age, and then least
+ * recently accessed values until total size of indexed values fits the budget.
+ * Values are deleted in batches with pause between them to limit load on origin storage,
+ * only one pass runs at a time. Passes are run by {@link #evict()} or periodically in
+ * background by {@link #schedule(Duration)}. Value accessed after eviction pass chose it
+ * is not deleted, value accessed while it is being deleted is dropped from the index
+ * when delete completes. Value saved while it is being deleted may be lost,
+ * so storage is intended for caches, e.g. {@link FromStorageCache}.
+ *
+ * @since 1.16
+ */
+public final class EvictingStorage extends Storage.Wrap {
+
+    /**
+     * Origin storage.
+     */
+    private final Storage origin;
+
+    /**
+     * Scheduler for background passes and pauses between batches.
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Max total size of values in bytes.
+     */
+    private final long budget;
+
+    /**
+     * Max time since last access in millis.
+     */
+    private final long age;
+
+    /**
+     * Number of values deleted at once.
+     */
+    private final int batch;
+
+    /**
+     * Pause between deleted batches.
+     */
+    private final Duration pause;
+
+    /**
+     * Clock of access times.
+     */
+    private final Clock clock;
+
+    /**
+     * Index of values by key strings.
+     */
+    private final ConcurrentMap<String, Entry> entries;
+
+    /**
+     * Total size of indexed values.
+     */
+    private final AtomicLong total;
+
+    /**
+     * Number of evicted values.
+     */
+    private final AtomicLong evicted;
+
+    /**
+     * Eviction pass is running.
+     */
+    private final AtomicBoolean running;
+
+    /**
+     * Ctor.
+     * Values are not evicted by age, 100 values are deleted at once with 100ms pause.
+     *
+     * @param origin Origin storage.
+     * @param scheduler Scheduler.
+     * @param budget Max total size of values in bytes.
+     * @checkstyle MagicNumberCheck (5 lines)
+     */
+    public EvictingStorage(final Storage origin, final ScheduledExecutorService scheduler,
+        final long budget) {
+        this(origin, scheduler, budget, Duration.ofMillis(Long.MAX_VALUE), 100,
+            Duration.ofMillis(100));
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin storage.
+     * @param scheduler Scheduler for background passes and pauses between batches.
+     * @param budget Max total size of values in bytes.
+     * @param age Max time since last access of value.
+     * @param batch Number of values deleted at once.
+     * @param pause Pause between deleted batches.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public EvictingStorage(final Storage origin, final ScheduledExecutorService scheduler,
+        final long budget, final Duration age, final int batch, final Duration pause) {
+        this(origin, scheduler, budget, age, batch, pause, Clock.systemUTC());
+    }
+
+    /**
+     * Primary ctor.
+     *
+     * @param origin Origin storage.
+     * @param scheduler Scheduler for background passes and pauses between batches.
+     * @param budget Max total size of values in bytes.
+     * @param age Max time since last access of value.
+     * @param batch Number of values deleted at once.
+     * @param pause Pause between deleted batches.
+     * @param clock Clock of access times.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public EvictingStorage(final Storage origin, final ScheduledExecutorService scheduler,
+        final long budget, final Duration age, final int batch, final Duration pause,
+        final Clock clock) {
+        super(origin);
+        this.origin = origin;
+        this.scheduler = scheduler;
+        this.budget = budget;
+        this.age = age.toMillis();
+        this.batch = batch;
+        this.pause = pause;
+        this.clock = clock;
+        this.entries = new ConcurrentHashMap<>();
+        this.total = new AtomicLong();
+        this.evicted = new AtomicLong();
+        this.running = new AtomicBoolean();
+    }
+
+    /**
+     * Total size of indexed values.
+     *
+     * @return Size in bytes.
+     */
+    public long weight() {
+        return this.total.get();
+    }
+
+    /**
+     * Number of evicted values.
+     *
+     * @return Evictions count.
+     */
+    public long evictions() {
+        return this.evicted.get();
+    }
+
+    /**
+     * Index all values of origin storage which are not indexed yet.
+     *
+     * @return Completion signal.
+     */
+    public CompletionStage<Void> scan() {
+        return this.origin.list(Key.ROOT).thenCompose(
+            keys -> {
+                CompletableFuture<Void> res = CompletableFuture.allOf();
+                for (final Key key : keys) {
+                    if (!this.entries.containsKey(key.string())) {
+                        res = res.thenCompose(
+                            nothing -> this.origin.metadata(key).thenAccept(
+                                meta -> this.index(key, meta)
+                            ).exceptionally(err -> null)
+                        );
+                    }
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Run eviction periodically in background.
+     *
+     * @param period Period between passes.
+     * @return Scheduled passes, cancel it to stop them.
+     */
+    public ScheduledFuture<?> schedule(final Duration period) {
+        return this.scheduler.scheduleWithFixedDelay(
+            this::evict, period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS
+        );
+    }
+
+    /**
+     * Run eviction pass.
+     *
+     * @return Number of evicted values, zero if another pass is running.
+     */
+    public CompletionStage<Integer> evict() {
+        final CompletionStage<Integer> res;
+        if (this.running.compareAndSet(false, true)) {
+            res = this.remove(this.victims(), 0).whenComplete(
+                (count, err) -> {
+                    this.running.set(false);
+                    if (err != null) {
+                        Logger.warn(this, "Failed to evict cached items: %[exception]s", err);
+                    }
+                }
+            );
+        } else {
+            res = CompletableFuture.completedFuture(0);
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Void> save(final Key key, final Content content) {
+        final AtomicLong size = new AtomicLong();
+        return super.save(
+            key,
+            new Content.From(
+                content.size(),
+                Flowable.fromPublisher(content).doOnNext(buf -> size.addAndGet(buf.remaining()))
+            )
+        ).thenRun(() -> this.track(key.string(), new Entry(size.get(), this.clock.millis())));
+    }
+
+    @Override
+    public CompletableFuture<Void> move(final Key source, final Key destination) {
+        return super.move(source, destination).thenRun(
+            () -> {
+                final Entry entry = this.untrack(source.string());
+                if (entry != null) {
+                    this.track(
+                        destination.string(), new Entry(entry.size(), this.clock.millis())
+                    );
+                }
+            }
+        );
+    }
+
+    @Override
+    public CompletableFuture<Content> value(final Key key) {
+        return super.value(key).thenApply(
+            content -> {
+                this.touch(key, content);
+                return content;
+            }
+        );
+    }
+
+    @Override
+    public CompletableFuture<Content> value(final Key key, final long offset,
+        final long length) {
+        return super.value(key, offset, length).thenApply(
+            content -> {
+                this.entries.computeIfPresent(
+                    key.string(), (str, entry) -> entry.touched(this.clock.millis())
+                );
+                return content;
+            }
+        );
+    }
+
+    @Override
+    public CompletableFuture<Optional<Content>> valueIfPresent(final Key key) {
+        return super.valueIfPresent(key).thenApply(
+            content -> {
+                content.ifPresent(val -> this.touch(key, val));
+                return content;
+            }
+        );
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(final Key key) {
+        return super.delete(key).thenRun(() -> this.untrack(key.string()));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAll(final Key prefix) {
+        return super.deleteAll(prefix).thenRun(
+            () -> {
+                final String root = prefix.string();
+                for (final String str : new ArrayList<>(this.entries.keySet())) {
+                    if (root.isEmpty() || str.equals(root) || str.startsWith(root.concat("/"))) {
+                        this.untrack(str);
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * Choose values to evict, least recently accessed first.
+     *
+     * @return Values to evict.
+     */
+    private List<Map.Entry<String, Entry>> victims() {
+        final List<Map.Entry<String, Entry>> all = new ArrayList<>(this.entries.entrySet());
+        all.sort(Comparator.comparingLong(item -> item.getValue().accessed()));
+        final long now = this.clock.millis();
+        final List<Map.Entry<String, Entry>> res = new ArrayList<>(0);
+        long left = this.total.get();
+        for (final Map.Entry<String, Entry> item : all) {
+            if (left <= this.budget && now - item.getValue().accessed() <= this.age) {
+                break;
+            }
+            res.add(item);
+            left -= item.getValue().size();
+        }
+        return res;
+    }
+
+    /**
+     * Delete values batch by batch.
+     *
+     * @param victims Values to delete.
+     * @param from Index of first value of batch.
+     * @return Number of deleted values.
+     */
+    private CompletionStage<Integer> remove(final List<Map.Entry<String, Entry>> victims,
+        final int from) {
+        final List<CompletableFuture<Void>> deletes = new ArrayList<>(this.batch);
+        final int until = Math.min(from + this.batch, victims.size());
+        for (final Map.Entry<String, Entry> victim : victims.subList(from, until)) {
+            if (this.entries.remove(victim.getKey(), victim.getValue())) {
+                this.total.addAndGet(-victim.getValue().size());
+                this.evicted.incrementAndGet();
+                deletes.add(
+                    this.origin.delete(new Key.From(victim.getKey()))
+                        .exceptionally(err -> null)
+                        .thenRun(() -> this.untrack(victim.getKey()))
+                );
+            }
+        }
+        final CompletableFuture<Void> done = CompletableFuture.allOf(
+            deletes.toArray(new CompletableFuture<?>[0])
+        );
+        final CompletionStage<Integer> res;
+        if (until < victims.size()) {
+            res = done.thenCompose(nothing -> this.paused())
+                .thenCompose(nothing -> this.remove(victims, until))
+                .thenApply(count -> count + deletes.size());
+        } else {
+            res = done.thenApply(nothing -> deletes.size());
+        }
+        return res;
+    }
+
+    /**
+     * Pause between batches.
+     *
+     * @return Completion signal.
+     */
+    private CompletionStage<Void> paused() {
+        final CompletableFuture<Void> res = new CompletableFuture<>();
+        this.scheduler.schedule(
+            () -> res.complete(null), this.pause.toMillis(), TimeUnit.MILLISECONDS
+        );
+        return res;
+    }
+
+    /**
+     * Record access to the value, index it if it is not indexed and its size is known.
+     *
+     * @param key Key.
+     * @param content Value content.
+     */
+    private void touch(final Key key, final Content content) {
+        final long now = this.clock.millis();
+        final Entry prev = this.entries.computeIfPresent(
+            key.string(), (str, entry) -> entry.touched(now)
+        );
+        if (prev == null && content.size().isPresent()) {
+            this.track(key.string(), new Entry(content.size().get(), now));
+        }
+    }
+
+    /**
+     * Index value from metadata.
+     *
+     * @param key Key.
+     * @param meta Value metadata.
+     */
+    private void index(final Key key, final Meta meta) {
+        final Optional<? extends Long> size = meta.read(Meta.OP_SIZE);
+        if (size.isPresent()) {
+            final Entry entry = new Entry(size.get(), this.accessed(meta));
+            if (this.entries.putIfAbsent(key.string(), entry) == null) {
+                this.total.addAndGet(entry.size());
+            }
+        }
+    }
+
+    /**
+     * Last access time from metadata, update time or current time if storage
+     * does not provide it.
+     *
+     * @param meta Value metadata.
+     * @return Time in millis.
+     */
+    private long accessed(final Meta meta) {
+        return meta.read(Meta.OP_ACCESSED_AT).map(Instant::toEpochMilli).orElseGet(
+            () -> meta.read(Meta.OP_UPDATED_AT).map(Instant::toEpochMilli)
+                .orElseGet(this.clock::millis)
+        );
+    }
+
+    /**
+     * Add or replace index entry.
+     *
+     * @param key Key string.
+     * @param entry Entry.
+     */
+    private void track(final String key, final Entry entry) {
+        final Entry prev = this.entries.put(key, entry);
+        long delta = entry.size();
+        if (prev != null) {
+            delta -= prev.size();
+        }
+        this.total.addAndGet(delta);
+    }
+
+    /**
+     * Remove index entry.
+     *
+     * @param key Key string.
+     * @return Removed entry or null.
+     */
+    private Entry untrack(final String key) {
+        final Entry prev = this.entries.remove(key);
+        if (prev != null) {
+            this.total.addAndGet(-prev.size());
+        }
+        return prev;
+    }
+
+    /**
+     * Index entry: value size and last access time.
+     *
+     * @since 1.16
+     */
+    private static final class Entry {
+
+        /**
+         * Value size.
+         */
+        private final long bytes;
+
+        /**
+         * Last access time in millis.
+         */
+        private final long time;
+
+        /**
+         * Ctor.
+         *
+         * @param bytes Value size.
+         * @param time Last access time in millis.
+         */
+        Entry(final long bytes, final long time) {
+            this.bytes = bytes;
+            this.time = time;
+        }
+
+        /**
+         * Value size.
+         *
+         * @return Size in bytes.
+         */
+        long size() {
+            return this.bytes;
+        }
+
+        /**
+         * Last access time.
+         *
+         * @return Time in millis.
+         */
+        long accessed() {
+            return this.time;
+        }
+
+        /**
+         * Entry of the same value accessed at given time.
+         *
+         * @param now Access time in millis.
+         * @return New entry.
+         */
+        Entry touched(final long now) {
+            return new Entry(this.bytes, now);
+        }
+    }
+}
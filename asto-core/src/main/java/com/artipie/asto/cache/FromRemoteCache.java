@@ -9,6 +9,7 @@ import com.artipie.asto.Content;
 import com.artipie.asto.Key;
 import com.artipie.asto.Storage;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 
@@ -24,12 +25,28 @@ public final class FromRemoteCache implements Cache {
      */
     private final Storage storage;
 
+    /**
+     * Stream remote content to the caller while saving it.
+     */
+    private final boolean tee;
+
     /**
      * New remote cache.
      * @param storage Back-end storage for cache
      */
     public FromRemoteCache(final Storage storage) {
+        this(storage, false);
+    }
+
+    /**
+     * New remote cache.
+     * @param storage Back-end storage for cache
+     * @param tee Stream remote content to the caller while it is being saved to storage
+     *  instead of saving it first and then reading from storage, see {@link TeeContent}
+     */
+    public FromRemoteCache(final Storage storage, final boolean tee) {
         this.storage = storage;
+        this.tee = tee;
     }
 
     @Override
@@ -39,7 +56,11 @@ public final class FromRemoteCache implements Cache {
         return remote.get().handle(
             (content, throwable) -> {
                 final CompletionStage<Optional<? extends Content>> res;
-                if (throwable == null && content.isPresent()) {
+                if (throwable == null && content.isPresent() && this.tee) {
+                    res = CompletableFuture.completedFuture(
+                        Optional.of(new TeeContent(this.storage, key, content.get()))
+                    );
+                } else if (throwable == null && content.isPresent()) {
                     res = this.storage.save(
                         key, new Content.From(content.get().size(), content.get())
                     ).thenCompose(nothing -> this.storage.value(key))
@@ -10,14 +10,19 @@ import com.artipie.asto.Storage;
 import com.artipie.asto.rx.RxStorageWrapper;
 import com.jcabi.log.Logger;
 import hu.akarnokd.rxjava2.interop.SingleInterop;
+import io.reactivex.Flowable;
 import io.reactivex.Single;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.reactivestreams.Subscription;
 
 /**
  * Cache implementation that tries to obtain items from storage cache,
  * validates it and returns if valid. If item is not present in storage or is not valid,
- * it is loaded from remote.
+ * it is loaded from remote. Cached item is read from storage once and the same content
+ * is validated and returned, unless cache control reads it.
  * @since 0.24
  */
 public final class FromStorageCache implements Cache {
@@ -27,36 +32,53 @@ public final class FromStorageCache implements Cache {
      */
     private final Storage storage;
 
+    /**
+     * Stream remote content to the caller while saving it.
+     */
+    private final boolean tee;
+
     /**
      * New storage cache.
      * @param storage Back-end storage for cache
      */
     public FromStorageCache(final Storage storage) {
+        this(storage, false);
+    }
+
+    /**
+     * New storage cache.
+     * @param storage Back-end storage for cache
+     * @param tee Stream remote content to the caller while it is being saved to storage
+     *  instead of saving it first and then reading from storage, see {@link TeeContent}
+     */
+    public FromStorageCache(final Storage storage, final boolean tee) {
         this.storage = storage;
+        this.tee = tee;
     }
 
     @Override
     public CompletionStage<Optional<? extends Content>> load(final Key key, final Remote remote,
         final CacheControl control) {
         final RxStorageWrapper rxsto = new RxStorageWrapper(this.storage);
-        return rxsto.exists(key)
-            .filter(exists -> exists)
-            .flatMapSingleElement(
-                exists -> SingleInterop.fromFuture(
-                    control.validate(key, () -> this.storage.value(key).thenApply(Optional::of))
-                )
-            )
-            .filter(valid -> valid)
-            .<Optional<? extends Content>>flatMapSingleElement(
-                ignore -> rxsto.value(key).map(Optional::of)
+        return SingleInterop.fromFuture(
+            this.storage.valueIfPresent(key).thenCompose(
+                cached -> cached.map(content -> this.validated(key, content, control))
+                    .orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()))
             )
+        )
+            .<Optional<? extends Content>>map(cached -> cached)
+            .filter(Optional::isPresent)
             .doOnError(err -> Logger.warn(this, "Failed to read cached item: %[exception]s", err))
             .onErrorComplete()
             .switchIfEmpty(
-                SingleInterop.fromFuture(remote.get()).flatMap(
+                Single.defer(() -> SingleInterop.fromFuture(remote.get())).flatMap(
                     content -> {
                         final Single<Optional<? extends Content>> res;
-                        if (content.isPresent()) {
+                        if (content.isPresent() && this.tee) {
+                            res = Single.just(
+                                Optional.of(new TeeContent(this.storage, key, content.get()))
+                            );
+                        } else if (content.isPresent()) {
                             res = rxsto.save(
                                 key, new Content.From(content.get().size(), content.get())
                             ).andThen(rxsto.value(key)).map(Optional::of);
@@ -68,4 +90,54 @@ public final class FromStorageCache implements Cache {
                 )
             ).to(SingleInterop.get());
     }
+
+    /**
+     * Validate cached content with cache control.
+     * Content is given to cache control on request and then to the caller,
+     * value is read from storage again only if cache control has consumed it.
+     * Metadata which storage returned with the value is given to cache control
+     * with {@link Remote#meta()}.
+     * @param key Cached item key
+     * @param content Cached content
+     * @param control Cache control
+     * @return Content if it is valid, empty otherwise
+     */
+    private CompletionStage<Optional<Content>> validated(final Key key, final Content content,
+        final CacheControl control) {
+        final AtomicBoolean used = new AtomicBoolean();
+        final Remote cached = () -> {
+            final CompletionStage<Optional<? extends Content>> res;
+            if (used.compareAndSet(false, true)) {
+                res = CompletableFuture.completedFuture(Optional.of(content));
+            } else {
+                res = this.storage.value(key).thenApply(Optional::of);
+            }
+            return res;
+        };
+        final Remote remote;
+        if (content instanceof Content.WithMeta) {
+            remote = new Remote.WithMeta(cached, ((Content.WithMeta) content).meta());
+        } else {
+            remote = cached;
+        }
+        return control.validate(key, remote).thenCompose(
+            valid -> {
+                final CompletionStage<Optional<Content>> res;
+                if (!valid) {
+                    if (used.compareAndSet(false, true)) {
+                        // release content which is not read, e.g. open remote connection
+                        Flowable.fromPublisher(content)
+                            .doOnSubscribe(Subscription::cancel)
+                            .subscribe();
+                    }
+                    res = CompletableFuture.completedFuture(Optional.empty());
+                } else if (used.compareAndSet(false, true)) {
+                    res = CompletableFuture.completedFuture(Optional.of(content));
+                } else {
+                    res = this.storage.value(key).thenApply(Optional::of);
+                }
+                return res;
+            }
+        );
+    }
 }
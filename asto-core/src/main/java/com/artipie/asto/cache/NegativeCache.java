@@ -0,0 +1,334 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.cache;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.jcabi.log.Logger;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Cache which remembers that remote has no content for the key.
+ * <p>
+ * When remote returns empty result, e.g. upstream responds with 404, the miss is kept
+ * for configured time, and remote is not called for the key until the miss expires.
+ * Misses are kept in memory index limited by number of keys, least recently used ones
+ * are dropped first. Optionally misses are also saved as markers to storage under
+ * {@code .negative} key prefix, so they are shared between cache instances and survive
+ * restarts. Marker contains miss expiration instant. Absence of the marker is kept in
+ * memory index for the same time, so keys which remote has are not checked in storage
+ * on every load, but marker saved by another instance meanwhile is not seen until then.
+ * <p>
+ * Markers are ordinary storage values: if marker storage is the storage of cached items,
+ * markers are returned by its {@link Storage#list(Key)} and are counted and evicted by
+ * {@link EvictingStorage} as cached items. Use separate storage or sub-storage for
+ * markers to keep them apart from cached items.
+ * <p>
+ * Remembered miss is checked by cache control with empty remote content before it is
+ * used, if control does not validate it, miss is dropped and remote is called again.
+ * E.g. {@link CacheControl.Standard#NO_CACHE} always calls remote, and
+ * {@link CacheControl.Standard#ALWAYS} trusts the miss until it expires.
+ * Miss is dropped as well when remote returns content.
+ * <p>
+ * Origin cache calls remote only when it has no valid cached content, so cached items
+ * are served without checking misses.
+ *
+ * @since 1.16
+ */
+public final class NegativeCache implements Cache {
+
+    /**
+     * Storage key prefix of miss markers.
+     */
+    private static final Key MARKERS = new Key.From(".negative");
+
+    /**
+     * Origin cache.
+     */
+    private final Cache origin;
+
+    /**
+     * Time to keep the miss.
+     */
+    private final Duration ttl;
+
+    /**
+     * Max number of misses in memory index.
+     */
+    private final int size;
+
+    /**
+     * Storage for miss markers.
+     */
+    private final Optional<Storage> storage;
+
+    /**
+     * Misses and known absent markers by keys from least to most recently used.
+     */
+    private final LinkedHashMap<String, Entry> index;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin cache.
+     * @param ttl Time to keep the miss.
+     * @param size Max number of misses in memory.
+     */
+    public NegativeCache(final Cache origin, final Duration ttl, final int size) {
+        this(origin, ttl, size, Optional.empty());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin cache.
+     * @param ttl Time to keep the miss.
+     * @param size Max number of misses in memory.
+     * @param storage Storage to save miss markers to, preferably not the one of cached items.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public NegativeCache(final Cache origin, final Duration ttl, final int size,
+        final Storage storage) {
+        this(origin, ttl, size, Optional.of(storage));
+    }
+
+    /**
+     * Primary ctor.
+     *
+     * @param origin Origin cache.
+     * @param ttl Time to keep the miss.
+     * @param size Max number of misses in memory.
+     * @param storage Storage to save miss markers to.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     * @checkstyle MagicNumberCheck (10 lines)
+     */
+    private NegativeCache(final Cache origin, final Duration ttl, final int size,
+        final Optional<Storage> storage) {
+        this.origin = origin;
+        this.ttl = ttl;
+        this.size = size;
+        this.storage = storage;
+        this.index = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    @Override
+    public CompletionStage<Optional<? extends Content>> load(
+        final Key key, final Remote remote, final CacheControl control
+    ) {
+        return this.origin.load(key, () -> this.remote(key, remote, control), control);
+    }
+
+    /**
+     * Call remote unless there is valid miss for the key.
+     *
+     * @param key Cached item key.
+     * @param remote Remote source.
+     * @param control Cache control.
+     * @return Remote content.
+     */
+    private CompletionStage<Optional<? extends Content>> remote(
+        final Key key, final Remote remote, final CacheControl control
+    ) {
+        return this.expiration(key).thenCompose(
+            expiration -> {
+                final CompletionStage<Boolean> miss;
+                if (expiration.isPresent() && expiration.get().isAfter(Instant.now())) {
+                    miss = control.validate(key, Remote.EMPTY);
+                } else {
+                    miss = CompletableFuture.completedFuture(false);
+                }
+                return miss.thenCompose(
+                    valid -> {
+                        final CompletionStage<Optional<? extends Content>> res;
+                        if (valid) {
+                            res = CompletableFuture.completedFuture(Optional.empty());
+                        } else if (expiration.isPresent()) {
+                            res = this.forget(key).thenCompose(nothing -> this.fetch(key, remote));
+                        } else {
+                            res = this.fetch(key, remote);
+                        }
+                        return res;
+                    }
+                );
+            }
+        );
+    }
+
+    /**
+     * Call remote and remember the miss if it has no content.
+     *
+     * @param key Cached item key.
+     * @param remote Remote source.
+     * @return Remote content.
+     */
+    private CompletionStage<Optional<? extends Content>> fetch(final Key key,
+        final Remote remote) {
+        return remote.get().thenCompose(
+            content -> {
+                final CompletionStage<Optional<? extends Content>> res;
+                if (content.isPresent()) {
+                    res = CompletableFuture.completedFuture(content);
+                } else {
+                    res = this.remember(key).thenApply(nothing -> content);
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Find miss expiration in memory index or in storage marker.
+     *
+     * @param key Cached item key.
+     * @return Expiration instant or empty if there is no miss.
+     */
+    private CompletionStage<Optional<Instant>> expiration(final Key key) {
+        final Entry known;
+        synchronized (this.index) {
+            known = this.index.get(key.string());
+        }
+        final CompletionStage<Optional<Instant>> res;
+        if (known != null && known.valid(Instant.now())) {
+            res = CompletableFuture.completedFuture(known.expiration);
+        } else if (this.storage.isEmpty()) {
+            res = CompletableFuture.completedFuture(Optional.empty());
+        } else {
+            res = this.storage.get().valueIfPresent(NegativeCache.marker(key)).thenCompose(
+                marker -> marker.map(
+                    content -> new PublisherAs(content).asciiString()
+                        .thenApply(Instant::parse)
+                        .thenApply(Optional::of)
+                ).orElse(CompletableFuture.completedFuture(Optional.empty()))
+            ).thenApply(
+                expiration -> {
+                    this.index(key, new Entry(expiration, Instant.now().plus(this.ttl)));
+                    return expiration;
+                }
+            ).exceptionally(
+                err -> {
+                    Logger.warn(
+                        this, "Failed to read miss marker of %s: %[exception]s", key, err
+                    );
+                    return Optional.empty();
+                }
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Remember the miss.
+     *
+     * @param key Cached item key.
+     * @return Completion signal, marker save errors are logged and ignored.
+     */
+    private CompletionStage<Void> remember(final Key key) {
+        final Instant expiration = Instant.now().plus(this.ttl);
+        this.index(key, new Entry(Optional.of(expiration), expiration));
+        return this.storage.map(
+            sto -> sto.save(
+                NegativeCache.marker(key),
+                new Content.From(expiration.toString().getBytes(StandardCharsets.US_ASCII))
+            ).exceptionally(
+                err -> {
+                    Logger.warn(
+                        this, "Failed to save miss marker of %s: %[exception]s", key, err
+                    );
+                    return null;
+                }
+            )
+        ).orElse(CompletableFuture.allOf());
+    }
+
+    /**
+     * Drop the miss.
+     *
+     * @param key Cached item key.
+     * @return Completion signal, marker delete errors are ignored.
+     */
+    private CompletionStage<Void> forget(final Key key) {
+        synchronized (this.index) {
+            this.index.remove(key.string());
+        }
+        return this.storage.map(
+            sto -> sto.delete(NegativeCache.marker(key)).<Void>handle((nothing, err) -> null)
+        ).orElse(CompletableFuture.allOf());
+    }
+
+    /**
+     * Put entry to memory index dropping least recently used entries over the limit.
+     *
+     * @param key Cached item key.
+     * @param entry Index entry.
+     */
+    private void index(final Key key, final Entry entry) {
+        synchronized (this.index) {
+            this.index.put(key.string(), entry);
+            final Iterator<String> keys = this.index.keySet().iterator();
+            while (this.index.size() > this.size && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+    }
+
+    /**
+     * Storage key of miss marker.
+     *
+     * @param key Cached item key.
+     * @return Marker key.
+     */
+    private static Key marker(final Key key) {
+        return new Key.From(NegativeCache.MARKERS, key);
+    }
+
+    /**
+     * Memory index entry.
+     *
+     * @since 1.16
+     */
+    private static final class Entry {
+
+        /**
+         * Miss expiration, empty if storage has no miss marker.
+         */
+        private final Optional<Instant> expiration;
+
+        /**
+         * Time to check storage marker again if there is no miss.
+         */
+        private final Instant until;
+
+        /**
+         * Ctor.
+         *
+         * @param expiration Miss expiration, empty if storage has no miss marker.
+         * @param until Time to check storage marker again if there is no miss.
+         */
+        Entry(final Optional<Instant> expiration, final Instant until) {
+            this.expiration = expiration;
+            this.until = until;
+        }
+
+        /**
+         * Entry can be used without checking storage.
+         *
+         * @param now Current time.
+         * @return True if entry is a miss or absent marker was checked recently.
+         */
+        boolean valid(final Instant now) {
+            return this.expiration.isPresent() || this.until.isAfter(now);
+        }
+    }
+}
@@ -5,6 +5,7 @@
 package com.artipie.asto.cache;
 
 import com.artipie.asto.Content;
+import com.artipie.asto.Meta;
 import com.jcabi.log.Logger;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -28,6 +29,16 @@ public interface Remote extends Supplier<CompletionStage<Optional<? extends Cont
     @Override
     CompletionStage<Optional<? extends Content>> get();
 
+    /**
+     * Metadata of the content known without loading it, e.g. metadata of cached
+     * item read together with the value.
+     *
+     * @return Metadata or empty if it is not known.
+     */
+    default Optional<Meta> meta() {
+        return Optional.empty();
+    }
+
     /**
      * Implementation of {@link Remote} that handle all possible errors and returns
      * empty {@link Optional} if any exception happened.
@@ -91,4 +102,41 @@ public interface Remote extends Supplier<CompletionStage<Optional<? extends Cont
             return res;
         }
     }
+
+    /**
+     * Remote with known metadata of its content.
+     * @since 1.16
+     */
+    final class WithMeta implements Remote {
+
+        /**
+         * Origin remote.
+         */
+        private final Remote origin;
+
+        /**
+         * Content metadata.
+         */
+        private final Meta metadata;
+
+        /**
+         * Ctor.
+         * @param origin Origin remote
+         * @param metadata Content metadata
+         */
+        public WithMeta(final Remote origin, final Meta metadata) {
+            this.origin = origin;
+            this.metadata = metadata;
+        }
+
+        @Override
+        public CompletionStage<Optional<? extends Content>> get() {
+            return this.origin.get();
+        }
+
+        @Override
+        public Optional<Meta> meta() {
+            return Optional.of(this.metadata);
+        }
+    }
 }
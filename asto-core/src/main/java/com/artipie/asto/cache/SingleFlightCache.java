@@ -0,0 +1,137 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.cache;
+
+import com.artipie.asto.ArtipieIOException;
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Cache which coalesces concurrent loads of the same key.
+ * <p>
+ * First load of the key is passed to origin cache, loads of the same key which come
+ * while it is in flight do not call remote: they wait for the first one to complete and
+ * then load the key from origin cache with failing remote, so they are served with content
+ * cached by the first load. Cached content is not validated by waiting loads, it was just
+ * loaded and validated by the first one, so content cached by the first load is served
+ * even if cache control of waiting load, e.g. {@link CacheControl.Standard#NO_CACHE},
+ * would reject it. If first load fails or remote has no content, waiting loads
+ * complete with the same result. Origin should save loaded content to be read by
+ * waiting loads, e.g. {@link FromStorageCache} or {@link FromRemoteCache}. If origin
+ * streams remote content while saving it, waiting loads are completed when it is saved.
+ * <p>
+ * Cancelling result of any load does not affect other loads of the key.
+ *
+ * @since 1.16
+ */
+public final class SingleFlightCache implements Cache {
+
+    /**
+     * Origin cache.
+     */
+    private final Cache origin;
+
+    /**
+     * Loads in flight by keys: complete with true when content was loaded
+     * and with false when remote has no content.
+     */
+    private final ConcurrentMap<String, CompletableFuture<Boolean>> flights;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin cache.
+     */
+    public SingleFlightCache(final Cache origin) {
+        this.origin = origin;
+        this.flights = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public CompletionStage<Optional<? extends Content>> load(
+        final Key key, final Remote remote, final CacheControl control
+    ) {
+        final CompletableFuture<Boolean> flight = new CompletableFuture<>();
+        final CompletableFuture<Boolean> prev = this.flights.putIfAbsent(key.string(), flight);
+        final CompletionStage<Optional<? extends Content>> res;
+        if (prev == null) {
+            res = this.lead(key, remote, control, flight);
+        } else {
+            res = prev.thenCompose(
+                loaded -> {
+                    final CompletionStage<Optional<? extends Content>> next;
+                    if (loaded) {
+                        next = this.origin.load(
+                            key,
+                            new Remote.Failed(
+                                new ArtipieIOException(
+                                    String.format(
+                                        "Value loaded by concurrent request is not cached: %s",
+                                        key.string()
+                                    )
+                                )
+                            ),
+                            CacheControl.Standard.ALWAYS
+                        );
+                    } else {
+                        next = CompletableFuture.completedFuture(Optional.empty());
+                    }
+                    return next;
+                }
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Load key from origin and complete the flight when it is loaded and cached.
+     *
+     * @param key Cached item key.
+     * @param remote Remote source.
+     * @param control Cache control.
+     * @param flight Flight to complete.
+     * @return Content for key.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     * @checkstyle IllegalCatchCheck (10 lines)
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private CompletionStage<Optional<? extends Content>> lead(final Key key,
+        final Remote remote, final CacheControl control, final CompletableFuture<Boolean> flight) {
+        CompletableFuture<Optional<? extends Content>> loaded;
+        try {
+            loaded = this.origin.load(key, remote, control).toCompletableFuture();
+        } catch (final RuntimeException err) {
+            loaded = new CompletableFuture<>();
+            loaded.completeExceptionally(err);
+        }
+        loaded.thenCompose(
+            content -> {
+                final CompletionStage<Boolean> res;
+                if (content.isPresent() && content.get() instanceof TeeContent) {
+                    res = ((TeeContent) content.get()).saved().thenApply(nothing -> true);
+                } else {
+                    res = CompletableFuture.completedFuture(content.isPresent());
+                }
+                return res;
+            }
+        ).whenComplete(
+            (present, err) -> {
+                this.flights.remove(key.string(), flight);
+                if (err == null) {
+                    flight.complete(present);
+                } else {
+                    flight.completeExceptionally(err);
+                }
+            }
+        );
+        return loaded.thenApply(Function.identity());
+    }
+}
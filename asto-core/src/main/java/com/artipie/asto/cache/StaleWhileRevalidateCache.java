@@ -0,0 +1,122 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.cache;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.jcabi.log.Logger;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cache which serves stale cached item while refreshing it in background.
+ * <p>
+ * Cached item which is not valid by cache control, e.g. expired by
+ * {@link TtlVerification}, is returned to the caller at once, and then the item is
+ * loaded from remote and saved to cache storage, cached item is not read again.
+ * Only one refresh of the key runs at a time, remote of loads coming during the refresh
+ * is not called. Refresh errors are logged, stale item is kept in cache then.
+ * If cache has no item for the key, it is loaded from remote as usual.
+ * <p>
+ * Origin should call remote only when cached item is not valid and keep items
+ * in the cache storage, e.g. {@link FromStorageCache} of the same storage.
+ *
+ * @since 1.16
+ */
+public final class StaleWhileRevalidateCache implements Cache {
+
+    /**
+     * Origin cache.
+     */
+    private final Cache origin;
+
+    /**
+     * Cache storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Refreshes in flight by keys.
+     */
+    private final ConcurrentMap<String, CompletableFuture<Void>> refreshes;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Cache storage.
+     */
+    public StaleWhileRevalidateCache(final Storage storage) {
+        this(new FromStorageCache(storage), storage);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin cache.
+     * @param storage Cache storage where origin keeps items.
+     */
+    public StaleWhileRevalidateCache(final Cache origin, final Storage storage) {
+        this.origin = origin;
+        this.storage = storage;
+        this.refreshes = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public CompletionStage<Optional<? extends Content>> load(
+        final Key key, final Remote remote, final CacheControl control
+    ) {
+        final AtomicBoolean stale = new AtomicBoolean();
+        return this.origin.load(
+            key,
+            remote,
+            (item, content) -> control.validate(item, content).thenApply(
+                valid -> {
+                    stale.set(!valid);
+                    return true;
+                }
+            )
+        ).thenApply(
+            content -> {
+                if (stale.get()) {
+                    this.refresh(key, remote);
+                }
+                return content;
+            }
+        );
+    }
+
+    /**
+     * Refresh cached item in background unless it is being refreshed already.
+     * Remote content is saved to cache storage directly, so cached item is not read.
+     *
+     * @param key Cached item key.
+     * @param remote Remote source.
+     */
+    private void refresh(final Key key, final Remote remote) {
+        final CompletableFuture<Void> refresh = new CompletableFuture<>();
+        if (this.refreshes.putIfAbsent(key.string(), refresh) == null) {
+            refresh.whenComplete((nothing, err) -> this.refreshes.remove(key.string(), refresh));
+            CompletableFuture.allOf().thenCompose(nothing -> remote.get()).thenCompose(
+                loaded -> loaded.<CompletionStage<Void>>map(
+                    content -> this.storage.save(key, new Content.From(content.size(), content))
+                ).orElseGet(() -> CompletableFuture.allOf())
+            ).whenComplete(
+                (nothing, err) -> {
+                    if (err != null) {
+                        Logger.warn(
+                            this, "Failed to refresh cached item %s: %[exception]s", key, err
+                        );
+                    }
+                    refresh.complete(null);
+                }
+            );
+        }
+    }
+}
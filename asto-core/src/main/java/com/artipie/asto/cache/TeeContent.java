@@ -0,0 +1,193 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.cache;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.OneTimePublisher;
+import com.artipie.asto.Storage;
+import com.jcabi.log.Logger;
+import hu.akarnokd.rxjava2.interop.CompletableInterop;
+import hu.akarnokd.rxjava2.interop.SingleInterop;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Remote content which is saved to storage while being read.
+ * <p>
+ * Remote bytes are streamed to the reader and to {@link Storage#save(Key, Content)}
+ * at the same time, remote is requested only as fast as the slower of them reads.
+ * Save drives the remote: remote is subscribed when storage subscribes and the reader
+ * joins, or when the reader does not join in a while after content is created, e.g.
+ * content of HEAD request which is never read. Reader which joins after that reads
+ * the value from storage when it is saved. If reader cancels, bytes are still
+ * streamed to storage and value is saved; if storage fails, failure is logged and
+ * reader still gets all bytes. If remote sends nothing for idle timeout while bytes are
+ * requested from it, remote content fails for both reader and storage, so save is aborted.
+ * Time when remote is not requested because the reader or storage is slow is not counted,
+ * so stalled reader does not abort the save: {@link #saved()} completes when the reader
+ * resumes or cancels.
+ *
+ * @since 1.16
+ */
+final class TeeContent implements Content {
+
+    /**
+     * Default time to wait for the reader to join.
+     */
+    static final Duration DEF_WAIT = Duration.ofSeconds(1);
+
+    /**
+     * Default max time between requested remote bytes.
+     */
+    static final Duration DEF_IDLE = Duration.ofMinutes(1);
+
+    /**
+     * Content size.
+     */
+    private final Optional<Long> len;
+
+    /**
+     * Remote bytes shared by the reader and storage.
+     */
+    private final Flowable<ByteBuffer> shared;
+
+    /**
+     * Reader state.
+     */
+    private final AtomicReference<Reader> reader;
+
+    /**
+     * Bytes for the reader.
+     */
+    private final Publisher<ByteBuffer> bytes;
+
+    /**
+     * Storage save completion.
+     */
+    private final CompletableFuture<Void> saved;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Cache storage.
+     * @param key Cached item key.
+     * @param remote Remote content.
+     */
+    TeeContent(final Storage storage, final Key key, final Content remote) {
+        this(storage, key, remote, TeeContent.DEF_WAIT, TeeContent.DEF_IDLE);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Cache storage.
+     * @param key Cached item key.
+     * @param remote Remote content.
+     * @param wait Time to wait for the reader to join before saving without it.
+     * @param idle Max time between requested remote bytes.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    TeeContent(final Storage storage, final Key key, final Content remote,
+        final Duration wait, final Duration idle) {
+        this.shared = new DemandTimeout<>(remote, idle).flowable().publish().autoConnect(2);
+        this.len = remote.size();
+        this.reader = new AtomicReference<>(Reader.WAITING);
+        this.saved = storage.save(
+            key,
+            new Content.From(
+                this.len,
+                this.shared.map(ByteBuffer::duplicate)
+            )
+        ).toCompletableFuture();
+        this.bytes = new OneTimePublisher<>(
+            Flowable.defer(
+                () -> {
+                    final Flowable<ByteBuffer> res;
+                    if (this.reader.compareAndSet(Reader.WAITING, Reader.JOINED)) {
+                        res = this.shared.map(ByteBuffer::duplicate);
+                    } else {
+                        res = SingleInterop.fromFuture(
+                            this.saved.thenCompose(nothing -> storage.value(key))
+                        ).toFlowable().flatMap(Flowable::fromPublisher);
+                    }
+                    return res;
+                }
+            )
+        );
+        CompletableFuture.runAsync(
+            () -> {
+                if (this.reader.compareAndSet(Reader.WAITING, Reader.SKIPPED)) {
+                    this.shared.takeUntil(
+                        CompletableInterop.fromFuture(this.saved).onErrorComplete()
+                            .toFlowable()
+                    ).subscribe(item -> { }, err -> { });
+                }
+            },
+            CompletableFuture.delayedExecutor(wait.toMillis(), TimeUnit.MILLISECONDS)
+        );
+        this.saved.whenComplete(
+            (nothing, err) -> {
+                if (err != null) {
+                    Logger.warn(
+                        TeeContent.class, "Failed to save cached item %s: %[exception]s", key, err
+                    );
+                    // storage may fail without subscribing, take its place so reader is not stuck
+                    this.shared.doOnSubscribe(Subscription::cancel).subscribe();
+                }
+            }
+        );
+    }
+
+    /**
+     * Storage save completion.
+     *
+     * @return Completion or error signal.
+     */
+    CompletionStage<Void> saved() {
+        return this.saved;
+    }
+
+    @Override
+    public Optional<Long> size() {
+        return this.len;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+        this.bytes.subscribe(subscriber);
+    }
+
+    /**
+     * Reader state.
+     *
+     * @since 1.16
+     */
+    private enum Reader {
+        /**
+         * Reader may join.
+         */
+        WAITING,
+
+        /**
+         * Reader joined, it gets remote bytes with storage.
+         */
+        JOINED,
+
+        /**
+         * Reader did not join in time, remote bytes go to storage only.
+         */
+        SKIPPED
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.cache;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.BoundedInMemoryStorage;
+import com.jcabi.log.Logger;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-tier cache: bounded memory tier in front of storage tier cache.
+ * <p>
+ * Item is read from memory tier first, then it is loaded by storage tier cache,
+ * e.g. {@link FromStorageCache} over file or S3 storage, which calls remote on miss.
+ * Items loaded by storage tier are promoted to memory when they are loaded frequently:
+ * after configured number of loads, counted for limited number of recently loaded keys.
+ * Only items of known size not greater than max item size are promoted. Memory tier
+ * is {@link BoundedInMemoryStorage}, it evicts items to fit its capacity;
+ * storage tier manages its own size. Both tiers validate items with cache control.
+ *
+ * @since 1.16
+ */
+public final class TieredCache implements Cache {
+
+    /**
+     * Max number of keys to count loads for.
+     */
+    private static final int COUNTERS = 10_000;
+
+    /**
+     * Memory tier storage.
+     */
+    private final BoundedInMemoryStorage memory;
+
+    /**
+     * Memory tier cache.
+     */
+    private final Cache hot;
+
+    /**
+     * Storage tier cache.
+     */
+    private final Cache cold;
+
+    /**
+     * Number of storage tier loads to promote item.
+     */
+    private final int promotion;
+
+    /**
+     * Max size of promoted item.
+     */
+    private final long item;
+
+    /**
+     * Storage tier loads count by keys from least to most recently used.
+     */
+    private final LinkedHashMap<String, Integer> counters;
+
+    /**
+     * Number of items served from memory tier.
+     */
+    private final AtomicLong memhits;
+
+    /**
+     * Number of items served from storage tier.
+     */
+    private final AtomicLong stohits;
+
+    /**
+     * Number of remote calls.
+     */
+    private final AtomicLong remotes;
+
+    /**
+     * Number of items promoted to memory tier.
+     */
+    private final AtomicLong promoted;
+
+    /**
+     * Ctor.
+     * Items are promoted on second load if they are not greater than 1/16 of memory.
+     *
+     * @param memory Memory tier capacity in bytes.
+     * @param storage Storage tier cache.
+     * @checkstyle MagicNumberCheck (5 lines)
+     */
+    public TieredCache(final long memory, final Cache storage) {
+        this(new BoundedInMemoryStorage(memory), storage, 2, memory / 16);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param memory Memory tier storage.
+     * @param storage Storage tier cache.
+     * @param promotion Number of storage tier loads to promote item to memory.
+     * @param item Max size of item to promote, not greater than memory capacity.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     * @checkstyle MagicNumberCheck (15 lines)
+     */
+    public TieredCache(final BoundedInMemoryStorage memory, final Cache storage,
+        final int promotion, final long item) {
+        this.memory = memory;
+        this.hot = new FromStorageCache(memory);
+        this.cold = storage;
+        this.promotion = promotion;
+        this.item = item;
+        this.counters = new LinkedHashMap<>(16, 0.75f, true);
+        this.memhits = new AtomicLong();
+        this.stohits = new AtomicLong();
+        this.remotes = new AtomicLong();
+        this.promoted = new AtomicLong();
+    }
+
+    /**
+     * Number of items served from memory tier.
+     *
+     * @return Hits count.
+     */
+    public long memoryHits() {
+        return this.memhits.get();
+    }
+
+    /**
+     * Number of items served from storage tier.
+     *
+     * @return Hits count.
+     */
+    public long storageHits() {
+        return this.stohits.get();
+    }
+
+    /**
+     * Number of remote calls made by storage tier.
+     *
+     * @return Calls count.
+     */
+    public long remoteLoads() {
+        return this.remotes.get();
+    }
+
+    /**
+     * Number of items promoted to memory tier.
+     *
+     * @return Promotions count.
+     */
+    public long promotions() {
+        return this.promoted.get();
+    }
+
+    /**
+     * Number of items evicted from memory tier.
+     *
+     * @return Evictions count.
+     */
+    public long memoryEvictions() {
+        return this.memory.evictions();
+    }
+
+    /**
+     * Total size of items in memory tier.
+     *
+     * @return Size in bytes.
+     */
+    public long memoryWeight() {
+        return this.memory.weight();
+    }
+
+    @Override
+    public CompletionStage<Optional<? extends Content>> load(
+        final Key key, final Remote remote, final CacheControl control
+    ) {
+        return this.hot.load(key, Remote.EMPTY, control).thenCompose(
+            cached -> {
+                final CompletionStage<Optional<? extends Content>> res;
+                if (cached.isPresent()) {
+                    this.memhits.incrementAndGet();
+                    res = CompletableFuture.completedFuture(cached);
+                } else {
+                    final AtomicBoolean called = new AtomicBoolean();
+                    res = this.cold.load(
+                        key,
+                        () -> {
+                            called.set(true);
+                            this.remotes.incrementAndGet();
+                            return remote.get();
+                        },
+                        control
+                    ).thenCompose(
+                        loaded -> {
+                            if (!called.get() && loaded.isPresent()) {
+                                this.stohits.incrementAndGet();
+                            }
+                            return this.promoted(key, loaded);
+                        }
+                    );
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Promote loaded item to memory tier if it is loaded frequently enough, or if memory
+     * tier has its outdated copy.
+     *
+     * @param key Item key.
+     * @param loaded Item loaded by storage tier.
+     * @return Item content.
+     */
+    private CompletionStage<Optional<? extends Content>> promoted(final Key key,
+        final Optional<? extends Content> loaded) {
+        final CompletionStage<Optional<? extends Content>> res;
+        if (loaded.isPresent() && loaded.get().size().filter(size -> size <= this.item)
+            .isPresent()) {
+            res = this.memory.exists(key).thenCompose(
+                outdated -> {
+                    final CompletionStage<Optional<? extends Content>> promo;
+                    if (outdated || this.frequent(key)) {
+                        promo = this.promote(key, loaded.get());
+                    } else {
+                        promo = CompletableFuture.completedFuture(loaded);
+                    }
+                    return promo;
+                }
+            );
+        } else {
+            res = CompletableFuture.completedFuture(loaded);
+        }
+        return res;
+    }
+
+    /**
+     * Count item load and check if item was loaded enough times to be promoted.
+     *
+     * @param key Item key.
+     * @return True if item should be promoted.
+     */
+    private boolean frequent(final Key key) {
+        synchronized (this.counters) {
+            final int count = this.counters.getOrDefault(key.string(), 0) + 1;
+            final boolean res = count >= this.promotion;
+            if (res) {
+                this.counters.remove(key.string());
+            } else {
+                this.counters.put(key.string(), count);
+                final Iterator<String> keys = this.counters.keySet().iterator();
+                while (this.counters.size() > TieredCache.COUNTERS && keys.hasNext()) {
+                    keys.next();
+                    keys.remove();
+                }
+            }
+            return res;
+        }
+    }
+
+    /**
+     * Read item and save it to memory tier.
+     *
+     * @param key Item key.
+     * @param content Item content.
+     * @return Content read from the item.
+     */
+    private CompletionStage<Optional<? extends Content>> promote(final Key key,
+        final Content content) {
+        return new PublisherAs(content).bytes().thenCompose(
+            bytes -> this.memory.save(key, new Content.From(bytes)).handle(
+                (nothing, err) -> {
+                    if (err == null) {
+                        this.promoted.incrementAndGet();
+                    } else {
+                        Logger.warn(
+                            this, "Failed to promote item %s to memory: %[exception]s", key, err
+                        );
+                    }
+                    return Optional.of(new Content.From(bytes));
+                }
+            )
+        );
+    }
+}
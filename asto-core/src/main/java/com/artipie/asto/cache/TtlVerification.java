@@ -0,0 +1,61 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.cache;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.Storage;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Cache control which considers cached item fresh for some time after it was updated.
+ * <p>
+ * Update time is read from {@link Meta#OP_UPDATED_AT} metadata of cache storage item,
+ * content is not read. Metadata which storage returned together with cached value,
+ * see {@link Remote#meta()}, is used if present, so no extra storage request is made;
+ * otherwise metadata is requested from storage. Item is not valid if storage does not
+ * provide update time or metadata can not be read.
+ *
+ * @since 1.16
+ */
+public final class TtlVerification implements CacheControl {
+
+    /**
+     * Cache storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Time to live of cached item.
+     */
+    private final Duration ttl;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Cache storage.
+     * @param ttl Time to live of cached item.
+     */
+    public TtlVerification(final Storage storage, final Duration ttl) {
+        this.storage = storage;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public CompletionStage<Boolean> validate(final Key item, final Remote content) {
+        final Instant now = Instant.now();
+        final CompletionStage<? extends Meta> metadata = content.meta()
+            .<CompletionStage<? extends Meta>>map(CompletableFuture::completedFuture)
+            .orElseGet(() -> this.storage.metadata(item));
+        return metadata.<Boolean>thenApply(
+            meta -> meta.read(Meta.OP_UPDATED_AT)
+                .map(updated -> updated.plus(this.ttl).isAfter(now))
+                .orElse(false)
+        ).exceptionally(err -> false);
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.fs;
+
+import com.artipie.asto.ArtipieIOException;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
+import io.reactivex.MaybeEmitter;
+import io.reactivex.plugins.RxJavaPlugins;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+/**
+ * Values read by blocking steps on executor.
+ * <p>
+ * Each value is read by separate executor task, next task is submitted when
+ * previous value is emitted, so the source takes no more than one executor slot
+ * at a time. Blocking steps never run on subscribing or requesting thread:
+ * if executor rejects the task, e.g. because its queue is full, the flowable fails with
+ * {@link java.util.concurrent.RejectedExecutionException}. I/O errors of steps are
+ * signalled as {@link ArtipieIOException}.
+ * <p>
+ * Source state is opened by the first task and closed when the flowable terminates
+ * or is cancelled, but not before the step being run finishes.
+ *
+ * @param <S> State type.
+ * @param <T> Value type.
+ * @since 1.16
+ */
+final class BlockingSource<S, T> {
+
+    /**
+     * Executor of blocking steps.
+     */
+    private final Executor exec;
+
+    /**
+     * Opens source state.
+     */
+    private final Callable<S> open;
+
+    /**
+     * Reads next value.
+     */
+    private final Step<S, T> step;
+
+    /**
+     * Closes source state.
+     */
+    private final Close<S> close;
+
+    /**
+     * Ctor.
+     *
+     * @param exec Executor of blocking steps.
+     * @param open Opens source state.
+     * @param step Reads next value.
+     * @param close Closes source state.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    BlockingSource(final Executor exec, final Callable<S> open, final Step<S, T> step,
+        final Close<S> close) {
+        this.exec = exec;
+        this.open = open;
+        this.step = step;
+        this.close = close;
+    }
+
+    /**
+     * Values of the source.
+     *
+     * @return Publisher of values, values are emitted on executor threads.
+     */
+    Flowable<T> flowable() {
+        return Flowable.defer(
+            () -> {
+                final Cursor cursor = new Cursor();
+                return Maybe.<T>create(
+                    emitter -> this.exec.execute(() -> cursor.next(emitter))
+                ).repeatUntil(cursor::finished).doFinally(cursor::close);
+            }
+        );
+    }
+
+    /**
+     * Blocking read of next value.
+     *
+     * @param <S> State type.
+     * @param <T> Value type.
+     * @since 1.16
+     */
+    @FunctionalInterface
+    interface Step<S, T> {
+
+        /**
+         * Read next value.
+         *
+         * @param state Source state.
+         * @return Next value or null if source is exhausted.
+         * @throws Exception If failed to read.
+         */
+        T next(S state) throws Exception;
+    }
+
+    /**
+     * Blocking close of source state.
+     *
+     * @param <S> State type.
+     * @since 1.16
+     */
+    @FunctionalInterface
+    interface Close<S> {
+
+        /**
+         * Close the state.
+         *
+         * @param state Source state.
+         * @throws Exception If failed to close.
+         */
+        void close(S state) throws Exception;
+    }
+
+    /**
+     * Source state of one subscription.
+     *
+     * @since 1.16
+     */
+    private final class Cursor {
+
+        /**
+         * Opened state or null.
+         */
+        private S state;
+
+        /**
+         * Whether a step is being run.
+         */
+        private boolean running;
+
+        /**
+         * Whether the flowable is terminated or cancelled.
+         */
+        private boolean closed;
+
+        /**
+         * Whether the source is exhausted or failed.
+         */
+        private volatile boolean done;
+
+        /**
+         * Read next value and emit it.
+         *
+         * @param emitter Emitter of read value.
+         */
+        @SuppressWarnings("PMD.AvoidCatchingGenericException")
+        void next(final MaybeEmitter<T> emitter) {
+            T item = null;
+            Exception error = null;
+            if (this.start()) {
+                try {
+                    if (this.state == null) {
+                        this.state = BlockingSource.this.open.call();
+                    }
+                    item = BlockingSource.this.step.next(this.state);
+                } catch (final IOException err) {
+                    error = new ArtipieIOException(err);
+                } catch (final Exception err) {
+                    error = err;
+                }
+                this.stop();
+            }
+            if (error != null) {
+                this.done = true;
+                emitter.tryOnError(error);
+            } else if (item == null) {
+                this.done = true;
+                emitter.onComplete();
+            } else {
+                emitter.onSuccess(item);
+            }
+        }
+
+        /**
+         * Whether the source is exhausted or failed.
+         *
+         * @return True if no more values are read.
+         */
+        boolean finished() {
+            return this.done;
+        }
+
+        /**
+         * Close the state, now or when running step finishes.
+         */
+        synchronized void close() {
+            if (!this.closed) {
+                this.closed = true;
+                if (!this.running) {
+                    this.release();
+                }
+            }
+        }
+
+        /**
+         * Mark step started.
+         *
+         * @return False if source is already closed.
+         */
+        private synchronized boolean start() {
+            this.running = !this.closed;
+            return this.running;
+        }
+
+        /**
+         * Mark step finished, release the state if source was closed meanwhile.
+         */
+        private synchronized void stop() {
+            this.running = false;
+            if (this.closed) {
+                this.release();
+            }
+        }
+
+        /**
+         * Release opened state.
+         */
+        @SuppressWarnings("PMD.AvoidCatchingGenericException")
+        private void release() {
+            if (this.state != null) {
+                try {
+                    BlockingSource.this.close.close(this.state);
+                } catch (final Exception err) {
+                    RxJavaPlugins.onError(new ArtipieIOException(err));
+                }
+                this.state = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.fs;
+
+import com.artipie.asto.ArtipieIOException;
+import com.artipie.asto.Content;
+import com.artipie.asto.OneTimePublisher;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Content backed by a region of file.
+ * <p>
+ * It is a normal one-time content publisher, but it also exposes file region,
+ * so consumers which are able to write file to network directly may detect it with
+ * {@code instanceof} check and use {@link #transferTo(WritableByteChannel)}
+ * or sendfile instead of subscribing and copying bytes to heap buffers.
+ *
+ * @since 1.16
+ */
+public final class FileContent implements Content {
+
+    /**
+     * File path.
+     */
+    private final Path file;
+
+    /**
+     * Region start position.
+     */
+    private final long start;
+
+    /**
+     * Region length.
+     */
+    private final long len;
+
+    /**
+     * Region bytes.
+     */
+    private final Publisher<ByteBuffer> bytes;
+
+    /**
+     * Ctor.
+     *
+     * @param file File path.
+     * @param start Region start position.
+     * @param len Region length, should not go beyond the end of file.
+     */
+    public FileContent(final Path file, final long start, final long len) {
+        this(file, start, len, IoExecutors.shared().bulk());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param file File path.
+     * @param start Region start position.
+     * @param len Region length, should not go beyond the end of file.
+     * @param exec Executor of file reads.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public FileContent(final Path file, final long start, final long len,
+        final Executor exec) {
+        this.file = file;
+        this.start = start;
+        this.len = len;
+        this.bytes = new OneTimePublisher<>(new FileRange(file, start, len, exec).flowable());
+    }
+
+    /**
+     * File path.
+     *
+     * @return Path of file.
+     */
+    public Path path() {
+        return this.file;
+    }
+
+    /**
+     * Region start position.
+     *
+     * @return Offset in file.
+     */
+    public long offset() {
+        return this.start;
+    }
+
+    /**
+     * Region length.
+     *
+     * @return Number of bytes.
+     */
+    public long length() {
+        return this.len;
+    }
+
+    /**
+     * Transfers file region to the channel with {@link FileChannel#transferTo},
+     * which avoids copying bytes to user space where operating system supports it.
+     * Blocks until all bytes are written, so target channel should be blocking.
+     *
+     * @param target Target channel.
+     * @return Number of bytes transferred.
+     * @throws IOException If failed to read file or write to target.
+     */
+    public long transferTo(final WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+            final long end = this.start + this.len;
+            long pos = this.start;
+            while (pos < end) {
+                final long sent = channel.transferTo(pos, end - pos, target);
+                if (sent == 0 && pos >= channel.size()) {
+                    throw new ArtipieIOException(
+                        String.format("Unexpected end of file %s at %d", this.file, pos)
+                    );
+                }
+                pos += sent;
+            }
+            return pos - this.start;
+        }
+    }
+
+    @Override
+    public Optional<Long> size() {
+        return Optional.of(this.len);
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+        this.bytes.subscribe(subscriber);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.fs;
+
+import com.artipie.asto.ArtipieIOException;
+import io.reactivex.Flowable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executor;
+
+/**
+ * Range of file bytes read with positional {@link FileChannel} reads.
+ * <p>
+ * Only bytes of the range are read from file, reading starts at range offset
+ * without reading preceding bytes. File is opened on subscription and closed
+ * when range is read, failed or cancelled.
+ *
+ * @since 1.16
+ */
+final class FileRange {
+
+    /**
+     * Size of buffer read from file at once.
+     */
+    private static final int CHUNK = 64 * 1024;
+
+    /**
+     * File path.
+     */
+    private final Path path;
+
+    /**
+     * Range start position.
+     */
+    private final long offset;
+
+    /**
+     * Range length.
+     */
+    private final long length;
+
+    /**
+     * Executor of file reads.
+     */
+    private final Executor exec;
+
+    /**
+     * Ctor.
+     *
+     * @param path File path.
+     * @param offset Range start position.
+     * @param length Range length, should not go beyond the end of file.
+     * @param exec Executor of file reads.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    FileRange(final Path path, final long offset, final long length, final Executor exec) {
+        this.path = path;
+        this.offset = offset;
+        this.length = length;
+        this.exec = exec;
+    }
+
+    /**
+     * Bytes of range.
+     *
+     * @return Publisher of range bytes, buffers are read on the executor.
+     */
+    Flowable<ByteBuffer> flowable() {
+        final long end = this.offset + this.length;
+        return new BlockingSource<Cursor, ByteBuffer>(
+            this.exec,
+            () -> new Cursor(FileChannel.open(this.path, StandardOpenOption.READ), this.offset),
+            cursor -> {
+                ByteBuffer res = null;
+                if (cursor.position < end) {
+                    res = ByteBuffer.allocate(
+                        (int) Math.min(FileRange.CHUNK, end - cursor.position)
+                    );
+                    final int read = cursor.channel.read(res, cursor.position);
+                    if (read < 0) {
+                        throw new ArtipieIOException(
+                            String.format(
+                                "Unexpected end of file %s at %d", this.path, cursor.position
+                            )
+                        );
+                    }
+                    cursor.position += read;
+                    res.flip();
+                }
+                return res;
+            },
+            cursor -> cursor.channel.close()
+        ).flowable();
+    }
+
+    /**
+     * Opened file channel and current read position.
+     *
+     * @since 1.16
+     */
+    private static final class Cursor {
+
+        /**
+         * File channel.
+         */
+        private final FileChannel channel;
+
+        /**
+         * Position of next read.
+         */
+        private long position;
+
+        /**
+         * Ctor.
+         *
+         * @param channel File channel.
+         * @param position Position of first read.
+         */
+        Cursor(final FileChannel channel, final long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+    }
+}
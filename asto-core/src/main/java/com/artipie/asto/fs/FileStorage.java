@@ -7,6 +7,7 @@ package com.artipie.asto.fs;
 import com.artipie.ArtipieException;
 import com.artipie.asto.ArtipieIOException;
 import com.artipie.asto.Content;
+import com.artipie.asto.ContentRange;
 import com.artipie.asto.Key;
 import com.artipie.asto.Meta;
 import com.artipie.asto.OneTimePublisher;
@@ -16,8 +17,10 @@ import com.artipie.asto.ValueNotFoundException;
 import com.artipie.asto.ext.CompletableFutureSupport;
 import com.artipie.asto.lock.storage.StorageLock;
 import com.jcabi.log.Logger;
+import hu.akarnokd.rxjava2.interop.SingleInterop;
+import io.reactivex.Flowable;
 import java.io.IOException;
-import java.nio.file.FileSystems;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
@@ -25,17 +28,19 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.cqfn.rio.file.File;
+import org.reactivestreams.Publisher;
 
 /**
  * Simple storage, in files.
@@ -56,6 +61,16 @@ public final class FileStorage implements Storage {
      */
     private final String id;
 
+    /**
+     * Cache of memory-mapped files to read values from, empty if mapped reads are disabled.
+     */
+    private final Optional<MappedFiles> mapped;
+
+    /**
+     * Executors of blocking file system calls.
+     */
+    private final IoExecutors exec;
+
     /**
      * Ctor.
      * @param path The path to the dir
@@ -73,54 +88,109 @@ public final class FileStorage implements Storage {
      * @param path The path to the dir
      */
     public FileStorage(final Path path) {
+        this(path, Optional.empty(), IoExecutors.shared());
+    }
+
+    /**
+     * Ctor.
+     * @param path The path to the dir
+     * @param exec Executors of blocking file system calls
+     */
+    public FileStorage(final Path path, final IoExecutors exec) {
+        this(path, Optional.empty(), exec);
+    }
+
+    /**
+     * Ctor with memory-mapped reads: values are read from mappings cached
+     * in provided cache, files which are too large to map are streamed as usual.
+     * Mappings are invalidated when files are changed through this storage,
+     * so files should not be changed by anyone else.
+     *
+     * @param path The path to the dir
+     * @param mapped Cache of memory-mapped files
+     */
+    public FileStorage(final Path path, final MappedFiles mapped) {
+        this(path, mapped, IoExecutors.shared());
+    }
+
+    /**
+     * Ctor with memory-mapped reads and custom executors.
+     *
+     * @param path The path to the dir
+     * @param mapped Cache of memory-mapped files
+     * @param exec Executors of blocking file system calls
+     */
+    public FileStorage(final Path path, final MappedFiles mapped, final IoExecutors exec) {
+        this(path, Optional.of(mapped), exec);
+    }
+
+    /**
+     * Primary ctor.
+     *
+     * @param path The path to the dir
+     * @param mapped Cache of memory-mapped files, empty to disable mapped reads
+     * @param exec Executors of blocking file system calls
+     */
+    private FileStorage(final Path path, final Optional<MappedFiles> mapped,
+        final IoExecutors exec) {
         this.dir = path;
+        this.mapped = mapped;
+        this.exec = exec;
         this.id = String.format("FS: %s", this.dir.toString());
     }
 
     @Override
     public CompletableFuture<Boolean> exists(final Key key) {
         return this.keyPath(key).thenApplyAsync(
-            path -> Files.exists(path) && !Files.isDirectory(path)
+            path -> Files.exists(path) && !Files.isDirectory(path),
+            this.exec.metadata()
         );
     }
 
+    /**
+     * Return the list of keys that start with this prefix, sorted by key string.
+     * Use {@link #keys(Key)} to stream keys without collecting and sorting them.
+     *
+     * @param prefix The prefix.
+     * @return Collection of relative keys.
+     */
     @Override
     public CompletableFuture<Collection<Key>> list(final Key prefix) {
-        return this.keyPath(prefix).thenApplyAsync(
-            path -> {
-                final Collection<Key> keys;
-                if (Files.exists(path)) {
-                    final int dirnamelen;
-                    if (Key.ROOT.equals(prefix)) {
-                        dirnamelen = path.toString().length() + 1;
-                    } else {
-                        dirnamelen = path.toString().length() - prefix.string().length();
-                    }
-                    try {
-                        keys = Files.walk(path)
-                            .filter(Files::isRegularFile)
-                            .map(Path::toString)
-                            .map(p -> p.substring(dirnamelen))
-                            .map(
-                                s -> s.split(
-                                    FileSystems.getDefault().getSeparator().replace("\\", "\\\\")
-                                )
-                            )
-                            .map(Key.From::new)
-                            .sorted(Comparator.comparing(Key.From::string))
-                            .collect(Collectors.toList());
-                    } catch (final IOException iex) {
-                        throw new ArtipieIOException(iex);
-                    }
-                } else {
-                    keys = Collections.emptyList();
+        return Flowable.fromPublisher(this.keys(prefix))
+            .toSortedList(Comparator.comparing(Key::string))
+            .doOnSuccess(
+                keys -> Logger.debug(
+                    this, "Found %d objects by the prefix \"%s\" in %s",
+                    keys.size(), prefix.string(), this.dir
+                )
+            )
+            .to(SingleInterop.get())
+            .<Collection<Key>>thenApply(Function.identity())
+            .toCompletableFuture();
+    }
+
+    /**
+     * Streams keys that start with this prefix.
+     * <p>
+     * Keys are emitted as soon as files are found while walking directories
+     * in directory order, which is not sorted.
+     *
+     * @param prefix The prefix.
+     * @return Publisher of keys.
+     */
+    public Publisher<Key> keys(final Key prefix) {
+        return Flowable.defer(
+            () -> Flowable.fromFuture(this.keyPath(prefix))
+        ).flatMap(
+            path -> new FileTree(path).files(this.exec.metadata())
+        ).map(
+            file -> {
+                final Path rel = this.dir.relativize(file);
+                final List<String> parts = new ArrayList<>(rel.getNameCount());
+                for (final Path part : rel) {
+                    parts.add(part.toString());
                 }
-                Logger.info(
-                    this,
-                    "Found %d objects by the prefix \"%s\" in %s by %s: %s",
-                    keys.size(), prefix.string(), this.dir, path, keys
-                );
-                return keys;
+                return (Key) new Key.From(parts);
             }
         );
     }
@@ -135,7 +205,8 @@ public final class FileStorage implements Storage {
                 );
                 tmp.getParent().toFile().mkdirs();
                 return ImmutablePair.of(path, tmp);
-            }
+            },
+            this.exec.bulk()
         ).thenCompose(
             pair -> {
                 final Path path = pair.getKey();
@@ -146,7 +217,9 @@ public final class FileStorage implements Storage {
                     StandardOpenOption.CREATE,
                     StandardOpenOption.TRUNCATE_EXISTING
                 ).thenCompose(
-                    nothing -> FileStorage.move(tmp, path)
+                    nothing -> this.move(tmp, path)
+                ).thenRun(
+                    () -> this.invalidate(path)
                 ).handleAsync(
                     (nothing, throwable) -> {
                         tmp.toFile().delete();
@@ -155,7 +228,8 @@ public final class FileStorage implements Storage {
                         } else {
                             throw new ArtipieIOException(throwable);
                         }
-                    }
+                    },
+                    this.exec.bulk()
                 );
             }
         );
@@ -165,7 +239,14 @@ public final class FileStorage implements Storage {
     public CompletableFuture<Void> move(final Key source, final Key destination) {
         return this.keyPath(source).thenCompose(
             src -> this.keyPath(destination).thenApply(dst -> ImmutablePair.of(src, dst))
-        ).thenCompose(pair -> FileStorage.move(pair.getKey(), pair.getValue()));
+        ).thenCompose(
+            pair -> this.move(pair.getKey(), pair.getValue()).thenRun(
+                () -> {
+                    this.invalidate(pair.getKey());
+                    this.invalidate(pair.getValue());
+                }
+            )
+        );
     }
 
     @Override
@@ -176,6 +257,7 @@ public final class FileStorage implements Storage {
                 if (Files.exists(path) && !Files.isDirectory(path)) {
                     try {
                         Files.delete(path);
+                        this.invalidate(path);
                         this.deleteEmptyParts(path.getParent());
                     } catch (final IOException iex) {
                         throw new ArtipieIOException(iex);
@@ -183,7 +265,8 @@ public final class FileStorage implements Storage {
                 } else {
                     throw new ValueNotFoundException(key);
                 }
-            }
+            },
+            this.exec.metadata()
         );
     }
 
@@ -200,7 +283,8 @@ public final class FileStorage implements Storage {
                     throw new ArtipieIOException(iox);
                 }
                 return new FileMeta(attrs);
-            }
+            },
+            this.exec.metadata()
         );
     }
 
@@ -212,17 +296,99 @@ public final class FileStorage implements Storage {
                 new ArtipieIOException("Unable to load from root")
             ).get();
         } else {
-            res = this.metadata(key).thenApply(
-                meta -> meta.read(Meta.OP_SIZE).orElseThrow(
-                    () -> new ArtipieException(
-                        String.format("Size is not available for '%s' key", key.string())
+            res = this.mappedValue(key).thenCompose(
+                buf -> buf.map(
+                    mbuf -> CompletableFuture.completedFuture(
+                        FileStorage.slice(mbuf, 0, Long.MAX_VALUE)
+                    )
+                ).orElseGet(
+                    () -> this.metadata(key).thenApply(
+                        meta -> meta.read(Meta.OP_SIZE).orElseThrow(
+                            () -> new ArtipieException(
+                                String.format(
+                                    "Size is not available for '%s' key", key.string()
+                                )
+                            )
+                        )
+                    ).thenCompose(
+                        size -> this.keyPath(key).thenApply(
+                            path -> new FileContent(path, 0, size, this.exec.bulk())
+                        )
                     )
                 )
-            ).thenCompose(
-                size -> this.keyPath(key).thenApply(path -> ImmutablePair.of(path, size))
-            ).thenApply(
-                pair -> new Content.OneTime(
-                    new Content.From(pair.getValue(), new File(pair.getKey()).content())
+            );
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Optional<Content>> valueIfPresent(final Key key) {
+        final CompletableFuture<Optional<Content>> res;
+        if (Key.ROOT.string().equals(key.string())) {
+            res = new CompletableFutureSupport.Failed<Optional<Content>>(
+                new ArtipieIOException("Unable to load from root")
+            ).get();
+        } else {
+            res = this.keyPath(key).thenApplyAsync(
+                path -> {
+                    Optional<Content> content;
+                    try {
+                        content = this.mapped(path);
+                        if (content.isEmpty()) {
+                            content = Optional.of(
+                                new FileContent(
+                                    path, 0,
+                                    Files.readAttributes(path, BasicFileAttributes.class).size(),
+                                    this.exec.bulk()
+                                )
+                            );
+                        }
+                    } catch (final NoSuchFileException fex) {
+                        content = Optional.empty();
+                    } catch (final IOException iex) {
+                        throw new ArtipieIOException(iex);
+                    }
+                    return content;
+                },
+                this.exec.metadata()
+            );
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Content> value(final Key key, final long offset, final long length) {
+        ContentRange.validate(offset, length);
+        final CompletableFuture<Content> res;
+        if (Key.ROOT.string().equals(key.string())) {
+            res = new CompletableFutureSupport.Failed<Content>(
+                new ArtipieIOException("Unable to load from root")
+            ).get();
+        } else {
+            res = this.mappedValue(key).thenCompose(
+                buf -> buf.map(
+                    mbuf -> CompletableFuture.completedFuture(
+                        FileStorage.slice(mbuf, offset, length)
+                    )
+                ).orElseGet(
+                    () -> this.metadata(key).thenApply(
+                        meta -> meta.read(Meta.OP_SIZE).orElseThrow(
+                            () -> new ArtipieException(
+                                String.format(
+                                    "Size is not available for '%s' key", key.string()
+                                )
+                            )
+                        )
+                    ).thenCompose(
+                        size -> this.keyPath(key).thenApply(
+                            path -> {
+                                final long len = Math.min(length, Math.max(0, size - offset));
+                                return new FileContent(
+                                    path, Math.min(offset, size), len, this.exec.bulk()
+                                );
+                            }
+                        )
+                    )
                 )
             );
         }
@@ -242,6 +408,76 @@ public final class FileStorage implements Storage {
         return this.id;
     }
 
+    /**
+     * Reads value from memory-mapped files cache.
+     *
+     * @param key Value key
+     * @return Buffer with value bytes, empty if mapped reads are disabled
+     *  or file can not be mapped.
+     */
+    private CompletableFuture<Optional<ByteBuffer>> mappedValue(final Key key) {
+        final CompletableFuture<Optional<ByteBuffer>> res;
+        if (this.mapped.isPresent()) {
+            final MappedFiles cache = this.mapped.get();
+            res = this.keyPath(key).thenApplyAsync(
+                path -> {
+                    try {
+                        return cache.get(path);
+                    } catch (final NoSuchFileException fex) {
+                        throw new ValueNotFoundException(key, fex);
+                    } catch (final IOException iex) {
+                        throw new ArtipieIOException(iex);
+                    }
+                },
+                this.exec.bulk()
+            );
+        } else {
+            res = CompletableFuture.completedFuture(Optional.empty());
+        }
+        return res;
+    }
+
+    /**
+     * Content of mapped file.
+     *
+     * @param path File path
+     * @return Content, empty if mapped reads are disabled or file can not be mapped.
+     * @throws IOException If failed to map file
+     */
+    private Optional<Content> mapped(final Path path) throws IOException {
+        Optional<Content> res = Optional.empty();
+        if (this.mapped.isPresent()) {
+            res = this.mapped.get().get(path).map(
+                buf -> FileStorage.slice(buf, 0, Long.MAX_VALUE)
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Drops mapping of changed file.
+     *
+     * @param path File path
+     */
+    private void invalidate(final Path path) {
+        this.mapped.ifPresent(cache -> cache.invalidate(path));
+    }
+
+    /**
+     * Content of buffer range.
+     *
+     * @param buf Buffer
+     * @param offset Range start position
+     * @param length Max range length
+     * @return Content
+     */
+    private static Content slice(final ByteBuffer buf, final long offset, final long length) {
+        final ByteBuffer range = buf.duplicate();
+        range.position((int) Math.min(offset, range.limit()));
+        range.limit(range.position() + (int) Math.min(length, range.remaining()));
+        return new Content.OneTime(new Content.From(range.remaining(), Flowable.just(range)));
+    }
+
     /**
      * Removes empty key parts (directories).
      * @param target Directory path
@@ -278,20 +514,17 @@ public final class FileStorage implements Storage {
      * @param dest Destination path.
      * @return Completion of moving file.
      */
-    private static CompletableFuture<Void> move(final Path source, final Path dest) {
-        return CompletableFuture.supplyAsync(
+    private CompletableFuture<Void> move(final Path source, final Path dest) {
+        return CompletableFuture.runAsync(
             () -> {
                 dest.getParent().toFile().mkdirs();
-                return dest;
-            }
-        ).thenAcceptAsync(
-            dst -> {
                 try {
-                    Files.move(source, dst, StandardCopyOption.REPLACE_EXISTING);
+                    Files.move(source, dest, StandardCopyOption.REPLACE_EXISTING);
                 } catch (final IOException iex) {
                     throw new ArtipieIOException(iex);
                 }
-            }
+            },
+            this.exec.bulk()
         );
     }
 
@@ -8,10 +8,19 @@ import com.artipie.asto.Storage;
 import com.artipie.asto.factory.ArtipieStorageFactory;
 import com.artipie.asto.factory.Config;
 import com.artipie.asto.factory.StorageFactory;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Optional;
 
 /**
  * File storage factory.
+ * <p>
+ * Memory-mapped reads are enabled by {@code mmap-cache-size} setting with max total size
+ * of mapped files in bytes, {@code mmap-max-file-size} limits size of mapped file.
+ * Blocking calls are run on shared thread pools by default, {@code io-executor: virtual}
+ * enables virtual thread per call and fails on Java runtimes without virtual threads,
+ * {@code io-metadata-threads} and {@code io-bulk-threads} settings select pools of
+ * specified size, which are shared by storages with the same settings.
  *
  * @since 1.13.0
  */
@@ -19,8 +28,54 @@ import java.nio.file.Paths;
 public final class FileStorageFactory implements StorageFactory {
     @Override
     public Storage newStorage(final Config cfg) {
-        return new FileStorage(
-            Paths.get(new Config.StrictStorageConfig(cfg).string("path"))
-        );
+        final Path path = Paths.get(new Config.StrictStorageConfig(cfg).string("path"));
+        final IoExecutors exec = FileStorageFactory.executors(cfg);
+        final String cache = cfg.string("mmap-cache-size");
+        final Storage res;
+        if (cache == null) {
+            res = new FileStorage(path, exec);
+        } else {
+            res = new FileStorage(
+                path,
+                new MappedFiles(
+                    Long.parseLong(cache),
+                    FileStorageFactory.number(cfg, "mmap-max-file-size")
+                        .orElse(MappedFiles.DEF_MAX_FILE)
+                ),
+                exec
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Executors of blocking calls from settings.
+     *
+     * @param cfg Storage settings.
+     * @return Executors.
+     */
+    private static IoExecutors executors(final Config cfg) {
+        final Optional<Long> meta = FileStorageFactory.number(cfg, "io-metadata-threads");
+        final Optional<Long> bulk = FileStorageFactory.number(cfg, "io-bulk-threads");
+        final IoExecutors res;
+        if ("virtual".equals(cfg.string("io-executor"))) {
+            res = IoExecutors.virtual();
+        } else if (meta.isPresent() || bulk.isPresent()) {
+            res = IoExecutors.pools(meta.orElse(0L).intValue(), bulk.orElse(0L).intValue());
+        } else {
+            res = IoExecutors.shared();
+        }
+        return res;
+    }
+
+    /**
+     * Read number setting.
+     *
+     * @param cfg Storage settings.
+     * @param key Setting name.
+     * @return Number if present.
+     */
+    private static Optional<Long> number(final Config cfg, final String key) {
+        return Optional.ofNullable(cfg.string(key)).map(Long::parseLong);
     }
 }
@@ -0,0 +1,160 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.fs;
+
+import com.artipie.asto.ArtipieIOException;
+import io.reactivex.Flowable;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+
+/**
+ * Regular files of directory tree.
+ * <p>
+ * Tree is walked lazily in directory order with {@link DirectoryStream}s, so only
+ * one stream per directory level is open and files are emitted as soon as they are
+ * found, without collecting and sorting whole tree. Streams are closed when walk is
+ * completed, failed or cancelled.
+ *
+ * @since 1.16
+ */
+final class FileTree {
+
+    /**
+     * Tree root: directory or regular file.
+     */
+    private final Path root;
+
+    /**
+     * Ctor.
+     *
+     * @param root Tree root: directory or regular file.
+     */
+    FileTree(final Path root) {
+        this.root = root;
+    }
+
+    /**
+     * Regular files of the tree.
+     *
+     * @param exec Executor of blocking directory reads.
+     * @return Publisher of file paths, empty if root does not exist.
+     */
+    Flowable<Path> files(final Executor exec) {
+        return new BlockingSource<Walk, Path>(
+            exec,
+            () -> new Walk(this.root),
+            walk -> {
+                try {
+                    return walk.next();
+                } catch (final DirectoryIteratorException err) {
+                    throw new ArtipieIOException(err.getCause());
+                }
+            },
+            Walk::close
+        ).flowable();
+    }
+
+    /**
+     * State of tree walk: stack of open directories.
+     *
+     * @since 1.16
+     */
+    private static final class Walk {
+
+        /**
+         * Open directory streams.
+         */
+        private final Deque<DirectoryStream<Path>> streams;
+
+        /**
+         * Iterators of open directory streams.
+         */
+        private final Deque<Iterator<Path>> iterators;
+
+        /**
+         * Root if it is a regular file which is not emitted yet.
+         */
+        private Path file;
+
+        /**
+         * Ctor.
+         *
+         * @param root Tree root.
+         * @throws IOException If failed to open root directory.
+         */
+        Walk(final Path root) throws IOException {
+            this.streams = new ArrayDeque<>();
+            this.iterators = new ArrayDeque<>();
+            if (Files.isDirectory(root, LinkOption.NOFOLLOW_LINKS)) {
+                this.open(root);
+            } else if (Files.isRegularFile(root)) {
+                this.file = root;
+            }
+        }
+
+        /**
+         * Next regular file.
+         *
+         * @return File path or null if walk is completed.
+         * @throws IOException If failed to open directory.
+         */
+        Path next() throws IOException {
+            Path res = this.file;
+            this.file = null;
+            while (res == null && !this.iterators.isEmpty()) {
+                final Iterator<Path> iter = this.iterators.peek();
+                if (iter.hasNext()) {
+                    final Path path = iter.next();
+                    if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                        this.open(path);
+                    } else if (Files.isRegularFile(path)) {
+                        res = path;
+                    }
+                } else {
+                    this.iterators.pop();
+                    this.streams.pop().close();
+                }
+            }
+            return res;
+        }
+
+        /**
+         * Close all open directories.
+         *
+         * @throws IOException If failed to close directory stream.
+         */
+        void close() throws IOException {
+            this.iterators.clear();
+            while (!this.streams.isEmpty()) {
+                this.streams.pop().close();
+            }
+        }
+
+        /**
+         * Open directory, directory which was removed is skipped.
+         *
+         * @param dir Directory path.
+         * @throws IOException If failed to open.
+         */
+        private void open(final Path dir) throws IOException {
+            try {
+                final DirectoryStream<Path> stream = Files.newDirectoryStream(dir);
+                this.streams.push(stream);
+                this.iterators.push(stream.iterator());
+            } catch (final NoSuchFileException ignored) {
+                // directory was removed concurrently, there is nothing to list there
+            }
+        }
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.fs;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executor of blocking file system calls which measures its queue.
+ * <p>
+ * Counts tasks waiting for a thread and tasks being run, and measures time
+ * tasks spend waiting in queue and running.
+ * <p>
+ * Fixed executors queue tasks without limit by default, so calls wait for a thread
+ * instead of failing under load. Executor with queue bound given explicitly rejects
+ * tasks when the queue is full with {@link RejectedExecutionException} instead of running
+ * them on the submitting thread, which may be an event loop thread that must not block.
+ * Rejected tasks are counted by {@link #overflows()}.
+ *
+ * @since 1.16
+ */
+public final class IoExecutor implements Executor {
+
+    /**
+     * Origin executor.
+     */
+    private final Executor origin;
+
+    /**
+     * Number of tasks waiting for a thread.
+     */
+    private final AtomicInteger waiting;
+
+    /**
+     * Number of tasks being run.
+     */
+    private final AtomicInteger running;
+
+    /**
+     * Number of completed tasks.
+     */
+    private final AtomicLong done;
+
+    /**
+     * Total time completed tasks spent in queue in nanoseconds.
+     */
+    private final AtomicLong queued;
+
+    /**
+     * Total time completed tasks were running in nanoseconds.
+     */
+    private final AtomicLong busy;
+
+    /**
+     * Number of tasks rejected because queue was full.
+     */
+    private final AtomicLong overflow;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin executor.
+     */
+    public IoExecutor(final Executor origin) {
+        this(origin, new AtomicLong());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin executor.
+     * @param overflow Counter of rejected tasks.
+     */
+    private IoExecutor(final Executor origin, final AtomicLong overflow) {
+        this.origin = origin;
+        this.overflow = overflow;
+        this.waiting = new AtomicInteger();
+        this.running = new AtomicInteger();
+        this.done = new AtomicLong();
+        this.queued = new AtomicLong();
+        this.busy = new AtomicLong();
+    }
+
+    /**
+     * Executor with fixed number of daemon threads and unbounded queue.
+     *
+     * @param name Threads name prefix.
+     * @param threads Number of threads.
+     * @return Executor.
+     */
+    public static IoExecutor fixed(final String name, final int threads) {
+        return new IoExecutor(
+            new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                IoExecutor.daemons(name)
+            )
+        );
+    }
+
+    /**
+     * Executor with fixed number of daemon threads and bounded queue, tasks
+     * submitted when queue is full are rejected.
+     *
+     * @param name Threads name prefix.
+     * @param threads Number of threads.
+     * @param queue Max number of tasks waiting for a thread.
+     * @return Executor.
+     */
+    public static IoExecutor fixed(final String name, final int threads, final int queue) {
+        final AtomicLong overflow = new AtomicLong();
+        return new IoExecutor(
+            new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queue),
+                IoExecutor.daemons(name),
+                (task, pool) -> {
+                    overflow.incrementAndGet();
+                    throw new RejectedExecutionException(
+                        String.format(
+                            "Queue of %d blocking I/O tasks of %s threads is full",
+                            queue, name
+                        )
+                    );
+                }
+            ),
+            overflow
+        );
+    }
+
+    /**
+     * Executor which starts new virtual thread for each task.
+     *
+     * @return Executor.
+     * @throws IllegalStateException If runtime does not support virtual threads,
+     *  they are available since Java 21.
+     */
+    public static IoExecutor virtual() {
+        try {
+            return new IoExecutor(
+                (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null)
+            );
+        } catch (final ReflectiveOperationException ex) {
+            throw new IllegalStateException(
+                String.format(
+                    "Virtual threads are not supported by Java %s, Java 21 or newer is required",
+                    Runtime.version()
+                ),
+                ex
+            );
+        }
+    }
+
+    /**
+     * Run the task on origin executor.
+     *
+     * @param task Task.
+     * @throws RejectedExecutionException If task was rejected because bounded queue is full.
+     */
+    @Override
+    public void execute(final Runnable task) {
+        final long submitted = System.nanoTime();
+        this.waiting.incrementAndGet();
+        try {
+            this.origin.execute(() -> this.run(task, submitted));
+        } catch (final RejectedExecutionException ex) {
+            this.waiting.decrementAndGet();
+            throw ex;
+        }
+    }
+
+    /**
+     * Queue depth.
+     *
+     * @return Number of tasks waiting for a thread.
+     */
+    public int queueDepth() {
+        return this.waiting.get();
+    }
+
+    /**
+     * Number of tasks being run.
+     *
+     * @return Tasks count.
+     */
+    public int active() {
+        return this.running.get();
+    }
+
+    /**
+     * Number of completed tasks.
+     *
+     * @return Tasks count.
+     */
+    public long completed() {
+        return this.done.get();
+    }
+
+    /**
+     * Number of tasks rejected because queue was full.
+     *
+     * @return Tasks count.
+     */
+    public long overflows() {
+        return this.overflow.get();
+    }
+
+    /**
+     * Average time completed tasks spent waiting for a thread.
+     *
+     * @return Average queue latency.
+     */
+    public Duration averageWait() {
+        return IoExecutor.average(this.queued.get(), this.done.get());
+    }
+
+    /**
+     * Average time completed tasks were running.
+     *
+     * @return Average run time.
+     */
+    public Duration averageRun() {
+        return IoExecutor.average(this.busy.get(), this.done.get());
+    }
+
+    /**
+     * Run the task measuring its queue and run time.
+     *
+     * @param task Task.
+     * @param submitted Time of task submission in nanoseconds.
+     */
+    private void run(final Runnable task, final long submitted) {
+        final long started = System.nanoTime();
+        this.waiting.decrementAndGet();
+        this.running.incrementAndGet();
+        try {
+            task.run();
+        } finally {
+            this.running.decrementAndGet();
+            this.queued.addAndGet(started - submitted);
+            this.busy.addAndGet(System.nanoTime() - started);
+            this.done.incrementAndGet();
+        }
+    }
+
+    /**
+     * Average duration.
+     *
+     * @param total Total nanoseconds.
+     * @param count Number of tasks.
+     * @return Average duration, zero if no tasks completed.
+     */
+    private static Duration average(final long total, final long count) {
+        final Duration res;
+        if (count == 0) {
+            res = Duration.ZERO;
+        } else {
+            res = Duration.ofNanos(total / count);
+        }
+        return res;
+    }
+
+    /**
+     * Factory of named daemon threads.
+     *
+     * @param name Threads name prefix.
+     * @return Thread factory.
+     */
+    private static ThreadFactory daemons(final String name) {
+        final AtomicInteger count = new AtomicInteger();
+        return task -> {
+            final Thread thread = new Thread(
+                task, String.format("%s-%d", name, count.incrementAndGet())
+            );
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
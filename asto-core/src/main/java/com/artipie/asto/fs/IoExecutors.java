@@ -0,0 +1,141 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.fs;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Executors of {@link FileStorage} blocking calls.
+ * <p>
+ * Short metadata calls (exists, metadata, list, delete) and bulk I/O (moving files,
+ * reading file content) are run on separate executors, so long reads do not delay
+ * metadata requests.
+ * <p>
+ * Executors created by {@link #pools(int, int)} and {@link #virtual()} are cached
+ * by settings, so storages with the same settings share threads.
+ * Shared executors and executors created by {@link #pools(int, int)} queue tasks
+ * without limit; executors with bounded queue, which reject tasks when it is full,
+ * are created by {@link IoExecutor#fixed(String, int, int)} and passed explicitly.
+ *
+ * @since 1.16
+ */
+public final class IoExecutors {
+
+    /**
+     * Executors shared by file storages created without explicit executors.
+     */
+    private static final IoExecutors SHARED = new IoExecutors(
+        IoExecutor.fixed(
+            "asto-fs-meta", Math.max(4, Runtime.getRuntime().availableProcessors())
+        ),
+        IoExecutor.fixed(
+            "asto-fs-bulk", Math.max(8, 2 * Runtime.getRuntime().availableProcessors())
+        )
+    );
+
+    /**
+     * Executors created by settings.
+     */
+    private static final ConcurrentMap<String, IoExecutor> POOLS = new ConcurrentHashMap<>();
+
+    /**
+     * Executor of metadata calls.
+     */
+    private final IoExecutor meta;
+
+    /**
+     * Executor of bulk I/O.
+     */
+    private final IoExecutor io;
+
+    /**
+     * Ctor.
+     *
+     * @param meta Executor of metadata calls.
+     * @param io Executor of bulk I/O.
+     */
+    public IoExecutors(final IoExecutor meta, final IoExecutor io) {
+        this.meta = meta;
+        this.io = io;
+    }
+
+    /**
+     * Executors shared by file storages by default: fixed pools of daemon threads.
+     *
+     * @return Shared executors.
+     */
+    public static IoExecutors shared() {
+        return IoExecutors.SHARED;
+    }
+
+    /**
+     * Executors which start virtual thread per task.
+     *
+     * @return Executors.
+     * @throws IllegalStateException If runtime does not support virtual threads.
+     */
+    public static IoExecutors virtual() {
+        return new IoExecutors(
+            IoExecutors.POOLS.computeIfAbsent("virtual-meta", name -> IoExecutor.virtual()),
+            IoExecutors.POOLS.computeIfAbsent("virtual-bulk", name -> IoExecutor.virtual())
+        );
+    }
+
+    /**
+     * Executors with fixed number of threads, shared executor is used if number of
+     * threads is not positive.
+     *
+     * @param meta Number of threads of metadata calls executor.
+     * @param bulk Number of threads of bulk I/O executor.
+     * @return Executors.
+     */
+    public static IoExecutors pools(final int meta, final int bulk) {
+        return new IoExecutors(
+            IoExecutors.pool("asto-fs-meta", meta, IoExecutors.SHARED.metadata()),
+            IoExecutors.pool("asto-fs-bulk", bulk, IoExecutors.SHARED.bulk())
+        );
+    }
+
+    /**
+     * Executor of metadata calls.
+     *
+     * @return Executor.
+     */
+    public IoExecutor metadata() {
+        return this.meta;
+    }
+
+    /**
+     * Executor of bulk I/O.
+     *
+     * @return Executor.
+     */
+    public IoExecutor bulk() {
+        return this.io;
+    }
+
+    /**
+     * Executor with fixed number of threads cached by name and size.
+     *
+     * @param name Threads name prefix.
+     * @param threads Number of threads.
+     * @param def Default executor used if number of threads is not positive.
+     * @return Executor.
+     */
+    private static IoExecutor pool(final String name, final int threads,
+        final IoExecutor def) {
+        final IoExecutor res;
+        if (threads > 0) {
+            res = IoExecutors.POOLS.computeIfAbsent(
+                String.format("%s-%d", name, threads),
+                key -> IoExecutor.fixed(name, threads)
+            );
+        } else {
+            res = def;
+        }
+        return res;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.fs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of memory-mapped files.
+ * <p>
+ * Files not larger than max file size are mapped read-only on first access, mappings
+ * are kept until total size of mapped files exceeds cache size, then least recently used
+ * mappings are dropped. Cache does not track file changes, mappings should be invalidated
+ * by the storage which changes files. Mapping which was being created
+ * while any file was invalidated is not cached.
+ *
+ * @since 1.16
+ */
+public final class MappedFiles {
+
+    /**
+     * Default max size of mapped file.
+     */
+    public static final long DEF_MAX_FILE = 1024 * 1024;
+
+    /**
+     * Max total size of mapped files.
+     */
+    private final long capacity;
+
+    /**
+     * Max size of mapped file.
+     */
+    private final long max;
+
+    /**
+     * Mappings in access order.
+     */
+    private final LinkedHashMap<Path, ByteBuffer> mappings;
+
+    /**
+     * Number of invalidations, used to detect mappings created concurrently with file change.
+     */
+    private final AtomicLong epoch;
+
+    /**
+     * Number of reads served from cache.
+     */
+    private final AtomicLong hit;
+
+    /**
+     * Number of reads which had to map file.
+     */
+    private final AtomicLong miss;
+
+    /**
+     * Total size of mapped files.
+     */
+    private long size;
+
+    /**
+     * Ctor.
+     *
+     * @param capacity Max total size of mapped files in bytes.
+     */
+    public MappedFiles(final long capacity) {
+        this(capacity, MappedFiles.DEF_MAX_FILE);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param capacity Max total size of mapped files in bytes.
+     * @param max Max size of mapped file in bytes, larger files are not mapped.
+     */
+    public MappedFiles(final long capacity, final long max) {
+        if (capacity < 1 || max < 1) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Cache size and max file size should be positive, but were %d and %d",
+                    capacity, max
+                )
+            );
+        }
+        this.capacity = capacity;
+        this.max = max;
+        this.mappings = new LinkedHashMap<>(16, 0.75f, true);
+        this.epoch = new AtomicLong();
+        this.hit = new AtomicLong();
+        this.miss = new AtomicLong();
+    }
+
+    /**
+     * Read-only buffer with file bytes.
+     *
+     * @param path File path.
+     * @return Buffer with whole file, empty if file is not a regular file or too large to map.
+     * @throws IOException If failed to read or map file.
+     */
+    public Optional<ByteBuffer> get(final Path path) throws IOException {
+        final ByteBuffer cached;
+        synchronized (this.mappings) {
+            cached = this.mappings.get(path);
+        }
+        final Optional<ByteBuffer> res;
+        if (cached == null) {
+            this.miss.incrementAndGet();
+            res = this.map(path);
+        } else {
+            this.hit.incrementAndGet();
+            res = Optional.of(cached.duplicate());
+        }
+        return res;
+    }
+
+    /**
+     * Drop mapping of file.
+     *
+     * @param path File path.
+     */
+    public void invalidate(final Path path) {
+        this.epoch.incrementAndGet();
+        synchronized (this.mappings) {
+            final ByteBuffer removed = this.mappings.remove(path);
+            if (removed != null) {
+                this.size -= removed.capacity();
+            }
+        }
+    }
+
+    /**
+     * Number of reads served from mapped files cache.
+     *
+     * @return Hits count.
+     */
+    public long hits() {
+        return this.hit.get();
+    }
+
+    /**
+     * Number of reads which were not served from cache.
+     *
+     * @return Misses count.
+     */
+    public long misses() {
+        return this.miss.get();
+    }
+
+    /**
+     * Map file and cache the mapping.
+     *
+     * @param path File path.
+     * @return Buffer with whole file, empty if file should not be mapped.
+     * @throws IOException If failed to read or map file.
+     */
+    private Optional<ByteBuffer> map(final Path path) throws IOException {
+        final long before = this.epoch.get();
+        final BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+        final Optional<ByteBuffer> res;
+        if (attrs.isRegularFile() && attrs.size() <= this.max
+            && attrs.size() <= this.capacity) {
+            final ByteBuffer mapped;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                    .asReadOnlyBuffer();
+            }
+            synchronized (this.mappings) {
+                if (this.epoch.get() == before) {
+                    final ByteBuffer prev = this.mappings.put(path, mapped);
+                    if (prev != null) {
+                        this.size -= prev.capacity();
+                    }
+                    this.size += mapped.capacity();
+                    this.evict();
+                }
+            }
+            res = Optional.of(mapped.duplicate());
+        } else {
+            res = Optional.empty();
+        }
+        return res;
+    }
+
+    /**
+     * Drop least recently used mappings until total size fits the capacity.
+     */
+    private void evict() {
+        final Iterator<Map.Entry<Path, ByteBuffer>> iter = this.mappings.entrySet().iterator();
+        while (this.size > this.capacity && iter.hasNext()) {
+            this.size -= iter.next().getValue().capacity();
+            iter.remove();
+        }
+    }
+}
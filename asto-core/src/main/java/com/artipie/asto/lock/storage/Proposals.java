@@ -8,14 +8,12 @@ import com.artipie.asto.ArtipieIOException;
 import com.artipie.asto.Content;
 import com.artipie.asto.Key;
 import com.artipie.asto.Storage;
-import com.artipie.asto.ValueNotFoundException;
 import com.artipie.asto.ext.PublisherAs;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -76,7 +74,7 @@ final class Proposals {
                 proposals.stream()
                     .filter(key -> !key.equals(own))
                     .map(
-                        proposal -> this.valueIfPresent(proposal).thenCompose(
+                        proposal -> this.storage.valueIfPresent(proposal).thenCompose(
                             value -> value.map(
                                 content -> new PublisherAs(content).asciiString().thenCompose(
                                     expiration -> {
@@ -144,28 +142,6 @@ final class Proposals {
         return instant.isEmpty() || Instant.parse(instant).isAfter(now);
     }
 
-    /**
-     * Loads value content is it is present.
-     *
-     * @param key Key for the value.
-     * @return Content if value presents, empty otherwise.
-     */
-    private CompletableFuture<Optional<Content>> valueIfPresent(final Key key) {
-        final CompletableFuture<Optional<Content>> value = this.storage.value(key)
-            .thenApply(Optional::of);
-        return value.handle(
-            (content, throwable) -> {
-                final CompletableFuture<Optional<Content>> result;
-                if (throwable != null && throwable.getCause() instanceof ValueNotFoundException) {
-                    result = CompletableFuture.completedFuture(Optional.empty());
-                } else {
-                    result = value;
-                }
-                return result;
-            }
-        ).thenCompose(Function.identity());
-    }
-
     /**
      * Root key for lock proposals.
      *
@@ -144,7 +144,7 @@ public final class BenchmarkStorage implements Storage {
             res = ioErrorCompletion("No value for source key", source);
         } else {
             final byte[] lcl = this.local.computeIfAbsent(
-                source, key -> this.backend.data.get(key.string())
+                source, key -> BenchmarkStorage.bytes(this.backend.data.get(key.string()))
             );
             if (lcl == null) {
                 res = ioErrorCompletion("No value for source key", source);
@@ -170,7 +170,7 @@ public final class BenchmarkStorage implements Storage {
                 res = CompletableFuture.completedFuture((long) this.local.get(key).length);
             } else {
                 res = CompletableFuture.completedFuture(
-                    (long) this.backend.data.get(key.string()).length
+                    (long) this.backend.data.get(key.string()).value().length
                 );
             }
         }
@@ -200,7 +200,7 @@ public final class BenchmarkStorage implements Storage {
                 res = notFoundCompletion(key);
             } else {
                 final byte[] lcl = this.local.computeIfAbsent(
-                    key, ckey -> this.backend.data.get(ckey.string())
+                    key, ckey -> BenchmarkStorage.bytes(this.backend.data.get(ckey.string()))
                 );
                 if (lcl == null) {
                     res = notFoundCompletion(key);
@@ -273,4 +273,19 @@ public final class BenchmarkStorage implements Storage {
             new ArtipieIOException(String.format("%s: %s", msg, key.string()))
         );
     }
+
+    /**
+     * Bytes of backend entry.
+     * @param entry Backend entry, may be null
+     * @return Bytes or null if there is no entry
+     */
+    private static byte[] bytes(final InMemoryStorage.Entry entry) {
+        final byte[] res;
+        if (entry == null) {
+            res = null;
+        } else {
+            res = entry.value();
+        }
+        return res;
+    }
 }
@@ -0,0 +1,340 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.memory;
+
+import com.artipie.asto.ArtipieIOException;
+import com.artipie.asto.Concatenation;
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.OneTimePublisher;
+import com.artipie.asto.Remaining;
+import com.artipie.asto.Storage;
+import com.artipie.asto.UnderLockOperation;
+import com.artipie.asto.ValueNotFoundException;
+import com.artipie.asto.ext.CompletableFutureSupport;
+import com.artipie.asto.lock.storage.StorageLock;
+import hu.akarnokd.rxjava2.interop.SingleInterop;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Memory storage bounded by total size of values.
+ * <p>
+ * When total size of values exceeds capacity, values are evicted with segmented LRU
+ * policy: values read at least once after saving are protected from eviction by values
+ * which were saved and never read. It is intended to be a cache tier in front of slower
+ * storage, e.g. as storage of {@link com.artipie.asto.cache.FromStorageCache}, so
+ * saved value may disappear without being deleted. Lookups are lock-free, writes
+ * and access recording are serialized on the eviction policy.
+ *
+ * @since 1.16
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+public final class BoundedInMemoryStorage implements Storage {
+
+    /**
+     * Max total size of values.
+     */
+    private final long capacity;
+
+    /**
+     * Values stored by key strings.
+     */
+    private final ConcurrentNavigableMap<String, byte[]> data;
+
+    /**
+     * Times when values were saved by key strings.
+     */
+    private final ConcurrentMap<String, Instant> updated;
+
+    /**
+     * Eviction policy.
+     */
+    private final Slru policy;
+
+    /**
+     * Number of values read from storage.
+     */
+    private final AtomicLong hit;
+
+    /**
+     * Number of reads of absent values.
+     */
+    private final AtomicLong miss;
+
+    /**
+     * Number of evicted values.
+     */
+    private final AtomicLong evicted;
+
+    /**
+     * Ctor.
+     *
+     * @param capacity Max total size of values in bytes.
+     */
+    public BoundedInMemoryStorage(final long capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(
+                String.format("Capacity should be positive, but was %d", capacity)
+            );
+        }
+        this.capacity = capacity;
+        this.data = new ConcurrentSkipListMap<>();
+        this.updated = new ConcurrentHashMap<>();
+        this.policy = new Slru(capacity);
+        this.hit = new AtomicLong();
+        this.miss = new AtomicLong();
+        this.evicted = new AtomicLong();
+    }
+
+    /**
+     * Number of values read from storage.
+     *
+     * @return Hits count.
+     */
+    public long hits() {
+        return this.hit.get();
+    }
+
+    /**
+     * Number of reads of absent values, including evicted ones.
+     *
+     * @return Misses count.
+     */
+    public long misses() {
+        return this.miss.get();
+    }
+
+    /**
+     * Number of values evicted to fit the capacity.
+     *
+     * @return Evictions count.
+     */
+    public long evictions() {
+        return this.evicted.get();
+    }
+
+    /**
+     * Total size of stored values.
+     *
+     * @return Size in bytes.
+     */
+    public long weight() {
+        synchronized (this.policy) {
+            return this.policy.weight();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(final Key key) {
+        return CompletableFuture.completedFuture(this.data.containsKey(key.string()));
+    }
+
+    @Override
+    public CompletableFuture<Collection<Key>> list(final Key root) {
+        final Collection<String> strings = new PrefixRange(root.string()).view(this.data)
+            .keySet();
+        final Collection<Key> keys = new ArrayList<>(strings.size());
+        for (final String string : strings) {
+            keys.add(new Key.From(string));
+        }
+        return CompletableFuture.completedFuture(keys);
+    }
+
+    @Override
+    public CompletableFuture<Void> save(final Key key, final Content content) {
+        final CompletableFuture<Void> res;
+        if (Key.ROOT.equals(key)) {
+            res = new CompletableFutureSupport.Failed<Void>(
+                new ArtipieIOException("Unable to save to root")
+            ).get();
+        } else {
+            res = new Concatenation(new OneTimePublisher<>(content)).single()
+                .to(SingleInterop.get())
+                .thenApply(Remaining::new)
+                .thenApply(Remaining::bytes)
+                .thenAccept(bytes -> this.put(key.string(), bytes, Instant.now()))
+                .toCompletableFuture();
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Void> move(final Key source, final Key destination) {
+        final String src = source.string();
+        final CompletableFuture<Void> res;
+        synchronized (this.policy) {
+            final byte[] value = this.data.get(src);
+            if (value == null) {
+                res = new CompletableFutureSupport.Failed<Void>(
+                    new ArtipieIOException(
+                        String.format("No value for source key: %s", source.string())
+                    )
+                ).get();
+            } else {
+                final String dst = destination.string();
+                if (!src.equals(dst)) {
+                    this.data.remove(src);
+                    this.policy.remove(src);
+                    this.put(dst, value, this.updated.remove(src));
+                }
+                res = CompletableFuture.allOf();
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<? extends Meta> metadata(final Key key) {
+        final byte[] content = this.data.get(key.string());
+        final CompletableFuture<? extends Meta> res;
+        if (content == null) {
+            res = new CompletableFutureSupport.Failed<MemoryMeta>(
+                new ValueNotFoundException(key)
+            ).get();
+        } else {
+            res = CompletableFuture.completedFuture(
+                new MemoryMeta(content.length, Optional.ofNullable(this.updated.get(key.string())))
+            );
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Content> value(final Key key) {
+        final CompletableFuture<Content> res;
+        if (Key.ROOT.equals(key)) {
+            res = new CompletableFutureSupport.Failed<Content>(
+                new ArtipieIOException("Unable to load from root")
+            ).get();
+        } else {
+            res = this.lookup(key).<CompletableFuture<Content>>map(
+                CompletableFuture::completedFuture
+            ).orElseGet(
+                () -> new CompletableFutureSupport.Failed<Content>(
+                    new ValueNotFoundException(key)
+                ).get()
+            );
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Optional<Content>> valueIfPresent(final Key key) {
+        final CompletableFuture<Optional<Content>> res;
+        if (Key.ROOT.equals(key)) {
+            res = new CompletableFutureSupport.Failed<Optional<Content>>(
+                new ArtipieIOException("Unable to load from root")
+            ).get();
+        } else {
+            res = CompletableFuture.completedFuture(this.lookup(key));
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(final Key key) {
+        final String str = key.string();
+        final CompletableFuture<Void> res;
+        synchronized (this.policy) {
+            if (this.data.remove(str) == null) {
+                res = new CompletableFutureSupport.Failed<Void>(
+                    new ArtipieIOException(String.format("Key does not exist: %s", str))
+                ).get();
+            } else {
+                this.policy.remove(str);
+                this.updated.remove(str);
+                res = CompletableFuture.allOf();
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public <T> CompletionStage<T> exclusively(
+        final Key key,
+        final Function<Storage, CompletionStage<T>> operation
+    ) {
+        return new UnderLockOperation<>(new StorageLock(this, key), operation).perform(this);
+    }
+
+    /**
+     * Find value, count hit or miss and record access.
+     *
+     * @param key Key.
+     * @return Value content with its metadata or empty if value does not exist.
+     */
+    private Optional<Content> lookup(final Key key) {
+        final String str = key.string();
+        final byte[] content = this.data.get(str);
+        final Optional<Content> res;
+        if (content == null) {
+            this.miss.incrementAndGet();
+            res = Optional.empty();
+        } else {
+            this.hit.incrementAndGet();
+            synchronized (this.policy) {
+                this.policy.touch(str);
+            }
+            res = Optional.of(
+                new Content.WithMeta(
+                    new Content.OneTime(new Content.From(content)),
+                    new MemoryMeta(content.length, Optional.ofNullable(this.updated.get(str)))
+                )
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Put value and evict values which do not fit the capacity.
+     * Empty values are not evicted, they take no capacity and are used as
+     * markers, e.g. by storage lock.
+     *
+     * @param key Key string.
+     * @param value Value bytes.
+     * @param time Time when value was saved, may be null if unknown.
+     * @throws ArtipieIOException If value is larger than capacity.
+     */
+    private void put(final String key, final byte[] value, final Instant time) {
+        if (value.length > this.capacity) {
+            throw new ArtipieIOException(
+                String.format(
+                    "Value of %d bytes is larger than storage capacity %d: %s",
+                    value.length, this.capacity, key
+                )
+            );
+        }
+        synchronized (this.policy) {
+            this.data.put(key, value);
+            if (time == null) {
+                this.updated.remove(key);
+            } else {
+                this.updated.put(key, time);
+            }
+            if (value.length == 0) {
+                this.policy.remove(key);
+            } else {
+                for (final String victim : this.policy.add(key, value.length)) {
+                    this.data.remove(victim);
+                    this.updated.remove(victim);
+                    this.evicted.incrementAndGet();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.memory;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Value bytes in direct memory blocks.
+ * <p>
+ * Value is kept in sequence of blocks, all blocks but the last one are of slab size
+ * and are full. Chunk is reference counted: storage holds one reference while value
+ * is stored, each content being read holds another one. Blocks are returned to
+ * allocator when the last reference is released.
+ *
+ * @since 1.16
+ */
+final class Chunk {
+
+    /**
+     * Allocator.
+     */
+    private final Slabs slabs;
+
+    /**
+     * Value blocks.
+     */
+    private final List<Slabs.Block> blocks;
+
+    /**
+     * Value length.
+     */
+    private final long length;
+
+    /**
+     * Time when value was saved.
+     */
+    private final Instant updated;
+
+    /**
+     * References count.
+     */
+    private final AtomicInteger refs;
+
+    /**
+     * Ctor.
+     *
+     * @param slabs Allocator.
+     * @param blocks Value blocks.
+     * @param length Value length.
+     */
+    Chunk(final Slabs slabs, final List<Slabs.Block> blocks, final long length) {
+        this.slabs = slabs;
+        this.blocks = blocks;
+        this.length = length;
+        this.updated = Instant.now();
+        this.refs = new AtomicInteger(1);
+    }
+
+    /**
+     * Value length.
+     *
+     * @return Length in bytes.
+     */
+    long length() {
+        return this.length;
+    }
+
+    /**
+     * Time when value was saved, it is kept when value is moved.
+     *
+     * @return Save time.
+     */
+    Instant updated() {
+        return this.updated;
+    }
+
+    /**
+     * Copy value bytes to the buffer, up to its remaining space.
+     *
+     * @param pos Position of the first byte in the value.
+     * @param target Buffer to copy to.
+     */
+    void read(final long pos, final ByteBuffer target) {
+        final int slab = this.slabs.slab();
+        long cur = pos;
+        while (target.hasRemaining() && cur < this.length) {
+            final ByteBuffer src = this.blocks.get((int) (cur / slab)).memory();
+            final int start = (int) (cur % slab);
+            src.position(start).limit(
+                start + (int) Math.min(
+                    Math.min(target.remaining(), src.capacity() - start), this.length - cur
+                )
+            );
+            cur += src.remaining();
+            target.put(src);
+        }
+    }
+
+    /**
+     * Acquire reference to the chunk.
+     *
+     * @return False if chunk was already released.
+     */
+    boolean retain() {
+        boolean res = false;
+        int cur = this.refs.get();
+        while (cur > 0 && !res) {
+            res = this.refs.compareAndSet(cur, cur + 1);
+            cur = this.refs.get();
+        }
+        return res;
+    }
+
+    /**
+     * Release reference to the chunk.
+     */
+    void release() {
+        if (this.refs.decrementAndGet() == 0) {
+            this.blocks.forEach(this.slabs::release);
+        }
+    }
+}
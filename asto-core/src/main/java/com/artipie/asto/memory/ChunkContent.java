@@ -0,0 +1,119 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.memory;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.OneTimePublisher;
+import io.reactivex.Flowable;
+import java.lang.ref.Cleaner;
+import java.lang.ref.Reference;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Content of direct memory chunk.
+ * <p>
+ * Emits chunk bytes in pieces copied to heap buffers of up to {@link #PIECE} bytes,
+ * so only one piece is copied at a time and emitted buffers stay valid after content
+ * terminates, even if chunk memory is reused for another value. Content holds chunk
+ * reference until it is completed, failed or cancelled. Subscribed content stays
+ * reachable from its subscription, chunk of content which is never subscribed is
+ * released when content is garbage collected.
+ *
+ * @since 1.16
+ */
+final class ChunkContent implements Content {
+
+    /**
+     * Max size of emitted piece.
+     */
+    static final int PIECE = 64 * 1024;
+
+    /**
+     * Cleaner releasing chunks of contents which were never subscribed.
+     */
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    /**
+     * Chunk.
+     */
+    private final Chunk chunk;
+
+    /**
+     * Position of the first byte in chunk.
+     */
+    private final long start;
+
+    /**
+     * Content length.
+     */
+    private final long length;
+
+    /**
+     * Chunk release, runs once.
+     */
+    private final Cleaner.Cleanable cleanable;
+
+    /**
+     * Content bytes.
+     */
+    private final Publisher<ByteBuffer> bytes;
+
+    /**
+     * Ctor.
+     *
+     * @param chunk Retained chunk, it is released by the content.
+     * @param start Position of the first byte in chunk.
+     * @param length Content length.
+     */
+    ChunkContent(final Chunk chunk, final long start, final long length) {
+        this.cleanable = ChunkContent.CLEANER.register(this, chunk::release);
+        this.chunk = chunk;
+        this.start = start;
+        this.length = length;
+        this.bytes = new OneTimePublisher<>(
+            Flowable.rangeLong(0, (length + ChunkContent.PIECE - 1) / ChunkContent.PIECE)
+                .map(this::piece)
+                .doFinally(this::release)
+        );
+    }
+
+    @Override
+    public Optional<Long> size() {
+        return Optional.of(this.length);
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+        this.bytes.subscribe(subscriber);
+    }
+
+    /**
+     * Copy of chunk bytes piece.
+     *
+     * @param idx Piece index.
+     * @return Heap buffer with piece bytes.
+     */
+    private ByteBuffer piece(final long idx) {
+        final long pos = idx * ChunkContent.PIECE;
+        final ByteBuffer res = ByteBuffer.allocate(
+            (int) Math.min(ChunkContent.PIECE, this.length - pos)
+        );
+        this.chunk.read(this.start + pos, res);
+        res.flip();
+        return res;
+    }
+
+    /**
+     * Release the chunk. Content is kept reachable by subscription until this moment,
+     * so the chunk is not released by the cleaner while being read.
+     */
+    private void release() {
+        this.cleanable.clean();
+        Reference.reachabilityFence(this);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.memory;
+
+import com.artipie.asto.ArtipieIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Writer of value bytes to direct memory blocks as they arrive.
+ * <p>
+ * Bytes are written to blocks of slab size, except when expected value size is smaller
+ * than slab: then block which fits it is taken. When value is written, data of the last
+ * block is moved to the smallest block which fits it, so value of unknown size does not
+ * waste the rest of the slab. Bytes are never collected on heap.
+ *
+ * @since 1.16
+ */
+final class ChunkWriter {
+
+    /**
+     * Allocator.
+     */
+    private final Slabs slabs;
+
+    /**
+     * Expected value size.
+     */
+    private final Optional<Long> expected;
+
+    /**
+     * Written blocks.
+     */
+    private final List<Slabs.Block> blocks;
+
+    /**
+     * Memory of the last block, positioned after written bytes.
+     */
+    private ByteBuffer current;
+
+    /**
+     * Number of written bytes.
+     */
+    private long written;
+
+    /**
+     * Ctor.
+     *
+     * @param slabs Allocator.
+     * @param expected Expected value size.
+     */
+    ChunkWriter(final Slabs slabs, final Optional<Long> expected) {
+        this.slabs = slabs;
+        this.expected = expected;
+        this.blocks = new ArrayList<>(1);
+    }
+
+    /**
+     * Write bytes.
+     *
+     * @param buf Bytes, buffer position is not changed.
+     * @throws ArtipieIOException If memory budget is exceeded.
+     */
+    synchronized void write(final ByteBuffer buf) {
+        final ByteBuffer src = buf.duplicate();
+        while (src.hasRemaining()) {
+            if (this.current == null || !this.current.hasRemaining()) {
+                this.next();
+            }
+            final ByteBuffer part = src.duplicate();
+            part.limit(part.position() + Math.min(part.remaining(), this.current.remaining()));
+            src.position(part.limit());
+            this.written += part.remaining();
+            this.current.put(part);
+        }
+    }
+
+    /**
+     * Written value, writer should not be used after that.
+     *
+     * @return Chunk with written bytes.
+     */
+    synchronized Chunk chunk() {
+        if (!this.blocks.isEmpty()) {
+            final int idx = this.blocks.size() - 1;
+            final Slabs.Block last = this.blocks.get(idx);
+            final int filled = this.current.position();
+            if (filled <= last.capacity() / 2) {
+                this.shrink(idx, filled);
+            }
+        }
+        final Chunk res = new Chunk(this.slabs, new ArrayList<>(this.blocks), this.written);
+        this.blocks.clear();
+        this.current = null;
+        return res;
+    }
+
+    /**
+     * Release written blocks, e.g. when content failed.
+     */
+    synchronized void abort() {
+        this.blocks.forEach(this.slabs::release);
+        this.blocks.clear();
+        this.current = null;
+    }
+
+    /**
+     * Move bytes of the block to the smallest block which fits them, block is kept
+     * if there is no memory for smaller one.
+     *
+     * @param idx Block index.
+     * @param filled Number of bytes in the block.
+     */
+    private void shrink(final int idx, final int filled) {
+        final Slabs.Block last = this.blocks.get(idx);
+        Slabs.Block tail;
+        try {
+            tail = this.slabs.take(Math.max(filled, 1));
+        } catch (final ArtipieIOException ignored) {
+            tail = last;
+        }
+        if (!tail.equals(last)) {
+            final ByteBuffer data = last.memory();
+            data.limit(filled);
+            tail.memory().put(data);
+            this.blocks.set(idx, tail);
+            this.slabs.release(last);
+        }
+    }
+
+    /**
+     * Take next block. If the last block is smaller than slab since value is bigger than
+     * expected, its bytes are moved to the block of slab size.
+     */
+    private void next() {
+        final int slab = this.slabs.slab();
+        final long left = this.expected.orElse(Long.MAX_VALUE) - this.written;
+        final Slabs.Block block;
+        if (this.current == null && left > 0) {
+            block = this.slabs.take((int) Math.min(left, slab));
+            this.blocks.add(block);
+            this.current = block.memory();
+        } else if (this.current == null || this.current.capacity() < slab) {
+            block = this.slabs.take(slab);
+            if (this.current != null) {
+                final Slabs.Block small = this.blocks.remove(this.blocks.size() - 1);
+                this.current.flip();
+                final ByteBuffer mem = block.memory();
+                mem.put(this.current);
+                this.slabs.release(small);
+                this.current = mem;
+            } else {
+                this.current = block.memory();
+            }
+            this.blocks.add(block);
+        } else {
+            block = this.slabs.take(slab);
+            this.blocks.add(block);
+            this.current = block.memory();
+        }
+    }
+}
@@ -17,19 +17,21 @@ import com.artipie.asto.ValueNotFoundException;
 import com.artipie.asto.ext.CompletableFutureSupport;
 import com.artipie.asto.lock.storage.StorageLock;
 import hu.akarnokd.rxjava2.interop.SingleInterop;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.Map;
-import java.util.NavigableMap;
-import java.util.TreeMap;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.function.Function;
 
 /**
  * Simple implementation of Storage that holds all data in memory.
+ * <p>
+ * Values are kept in concurrent sorted map, so operations do not block each other,
+ * lookups are completed synchronously in the caller thread.
  *
  * @since 0.14
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
@@ -42,52 +44,37 @@ public final class InMemoryStorage implements Storage {
      * It is package private for avoid using sync methods for operations of storage for benchmarks.
      * @checkstyle VisibilityModifierCheck (2 lines)
      */
-    final NavigableMap<String, byte[]> data;
+    final ConcurrentNavigableMap<String, Entry> data;
 
     /**
      * Ctor.
      */
     public InMemoryStorage() {
-        this(new TreeMap<>());
+        this(new ConcurrentSkipListMap<>());
     }
 
     /**
      * Ctor.
      * @param data Content of storage
      */
-    InMemoryStorage(final NavigableMap<String, byte[]> data) {
+    InMemoryStorage(final ConcurrentNavigableMap<String, Entry> data) {
         this.data = data;
     }
 
     @Override
     public CompletableFuture<Boolean> exists(final Key key) {
-        return CompletableFuture.supplyAsync(
-            () -> {
-                synchronized (this.data) {
-                    return this.data.containsKey(key.string());
-                }
-            }
-        );
+        return CompletableFuture.completedFuture(this.data.containsKey(key.string()));
     }
 
     @Override
     public CompletableFuture<Collection<Key>> list(final Key root) {
-        return CompletableFuture.supplyAsync(
-            () -> {
-                synchronized (this.data) {
-                    final String prefix = root.string();
-                    final Collection<Key> keys = new LinkedList<>();
-                    for (final String string : this.data.navigableKeySet().tailSet(prefix)) {
-                        if (string.startsWith(prefix)) {
-                            keys.add(new Key.From(string));
-                        } else {
-                            break;
-                        }
-                    }
-                    return keys;
-                }
-            }
-        );
+        final Collection<String> strings = new PrefixRange(root.string()).view(this.data)
+            .keySet();
+        final Collection<Key> keys = new ArrayList<>(strings.size());
+        for (final String string : strings) {
+            keys.add(new Key.From(string));
+        }
+        return CompletableFuture.completedFuture(keys);
     }
 
     @Override
@@ -102,48 +89,70 @@ public final class InMemoryStorage implements Storage {
                 .to(SingleInterop.get())
                 .thenApply(Remaining::new)
                 .thenApply(Remaining::bytes)
-                .thenAccept(
-                    bytes -> {
-                        synchronized (this.data) {
-                            this.data.put(key.string(), bytes);
-                        }
-                    }
-                ).toCompletableFuture();
+                .thenAccept(bytes -> this.data.put(key.string(), new Entry(bytes)))
+                .toCompletableFuture();
         }
         return res;
     }
 
+    /**
+     * Moves value from one location to another.
+     * <p>
+     * Entry with value and its save time is put to destination and then removed from
+     * source only if source still holds the same entry. If source was changed or removed
+     * concurrently, destination is restored and move is retried with the current source
+     * entry, so value is moved exactly once and concurrent save to source key is not lost.
+     * Move is not atomic for readers: value may be seen under both keys while being moved.
+     *
+     * @param source Source key.
+     * @param destination Destination key.
+     * @return Completion or error signal.
+     */
     @Override
     public CompletableFuture<Void> move(final Key source, final Key destination) {
-        return CompletableFuture.runAsync(
-            () -> {
-                synchronized (this.data) {
-                    final String key = source.string();
-                    if (!this.data.containsKey(key)) {
-                        throw new ArtipieIOException(
-                            String.format("No value for source key: %s", source.string())
-                        );
-                    }
-                    this.data.put(destination.string(), this.data.get(key));
-                    this.data.remove(source.string());
+        final String src = source.string();
+        final String dst = destination.string();
+        boolean moved = false;
+        Entry entry = this.data.get(src);
+        while (entry != null && !moved && !src.equals(dst)) {
+            final Entry prev = this.data.put(dst, entry);
+            moved = this.data.remove(src, entry);
+            if (!moved) {
+                if (prev == null) {
+                    this.data.remove(dst, entry);
+                } else {
+                    this.data.replace(dst, entry, prev);
                 }
+                entry = this.data.get(src);
             }
-        );
+        }
+        final CompletableFuture<Void> res;
+        if (entry == null) {
+            res = new CompletableFutureSupport.Failed<Void>(
+                new ArtipieIOException(
+                    String.format("No value for source key: %s", source.string())
+                )
+            ).get();
+        } else {
+            res = CompletableFuture.allOf();
+        }
+        return res;
     }
 
     @Override
     public CompletableFuture<? extends Meta> metadata(final Key key) {
-        return CompletableFuture.supplyAsync(
-            () -> {
-                synchronized (this.data) {
-                    if (!this.data.containsKey(key.string())) {
-                        throw new ValueNotFoundException(key);
-                    }
-                    final byte[] content = this.data.get(key.string());
-                    return new MemoryMeta(content.length);
-                }
-            }
-        );
+        final Entry entry = this.data.get(key.string());
+        final CompletableFuture<? extends Meta> res;
+        if (entry == null) {
+            res = new CompletableFutureSupport.Failed<MemoryMeta>(
+                new ValueNotFoundException(key)
+            ).get();
+        } else {
+            res = CompletableFuture.completedFuture(
+                entry.meta()
+            );
+        }
+        return res;
     }
 
     @Override
@@ -154,16 +163,28 @@ public final class InMemoryStorage implements Storage {
                 new ArtipieIOException("Unable to load from root")
             ).get();
         } else {
-            res = CompletableFuture.supplyAsync(
-                () -> {
-                    synchronized (this.data) {
-                        final byte[] content = this.data.get(key.string());
-                        if (content == null) {
-                            throw new ValueNotFoundException(key);
-                        }
-                        return new Content.OneTime(new Content.From(content));
-                    }
-                }
+            final Entry entry = this.data.get(key.string());
+            if (entry == null) {
+                res = new CompletableFutureSupport.Failed<Content>(
+                    new ValueNotFoundException(key)
+                ).get();
+            } else {
+                res = CompletableFuture.completedFuture(entry.content());
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Optional<Content>> valueIfPresent(final Key key) {
+        final CompletableFuture<Optional<Content>> res;
+        if (Key.ROOT.equals(key)) {
+            res = new CompletableFutureSupport.Failed<Optional<Content>>(
+                new ArtipieIOException("Unable to load from root")
+            ).get();
+        } else {
+            res = CompletableFuture.completedFuture(
+                Optional.ofNullable(this.data.get(key.string())).map(Entry::content)
             );
         }
         return res;
@@ -171,19 +192,16 @@ public final class InMemoryStorage implements Storage {
 
     @Override
     public CompletableFuture<Void> delete(final Key key) {
-        return CompletableFuture.runAsync(
-            () -> {
-                synchronized (this.data) {
-                    final String str = key.string();
-                    if (!this.data.containsKey(str)) {
-                        throw new ArtipieIOException(
-                            String.format("Key does not exist: %s", str)
-                        );
-                    }
-                    this.data.remove(str);
-                }
-            }
-        );
+        final String str = key.string();
+        final CompletableFuture<Void> res;
+        if (this.data.remove(str) == null) {
+            res = new CompletableFutureSupport.Failed<Void>(
+                new ArtipieIOException(String.format("Key does not exist: %s", str))
+            ).get();
+        } else {
+            res = CompletableFuture.allOf();
+        }
+        return res;
     }
 
     @Override
@@ -195,29 +213,61 @@ public final class InMemoryStorage implements Storage {
     }
 
     /**
-     * Metadata for memory storage.
-     * @since 1.9
+     * Stored value with the time when it was saved.
+     * Entries are compared by identity, so each save creates new entry
+     * which can be told apart from the previous one.
+     *
+     * @since 1.16
      */
-    private static final class MemoryMeta implements Meta {
+    static final class Entry {
 
         /**
-         * Byte-array length.
+         * Value bytes.
          */
-        private final long length;
+        private final byte[] bytes;
 
         /**
-         * New metadata.
-         * @param length Array length
+         * Time when value was saved.
          */
-        MemoryMeta(final int length) {
-            this.length = length;
+        private final Instant time;
+
+        /**
+         * Ctor.
+         *
+         * @param bytes Value bytes.
+         */
+        Entry(final byte[] bytes) {
+            this.bytes = bytes;
+            this.time = Instant.now();
         }
 
-        @Override
-        public <T> T read(final ReadOperator<T> opr) {
-            final Map<String, String> raw = new HashMap<>();
-            Meta.OP_SIZE.put(raw, this.length);
-            return opr.take(Collections.unmodifiableMap(raw));
+        /**
+         * Value bytes.
+         *
+         * @return Bytes, should not be modified.
+         */
+        byte[] value() {
+            return this.bytes;
+        }
+
+        /**
+         * Value metadata with size and save time, save time is kept when value is moved.
+         *
+         * @return Metadata.
+         */
+        Meta meta() {
+            return new MemoryMeta(this.bytes.length, Optional.of(this.time));
+        }
+
+        /**
+         * Value content with its metadata.
+         *
+         * @return Content which can be read once.
+         */
+        Content content() {
+            return new Content.WithMeta(
+                new Content.OneTime(new Content.From(this.bytes)), this.meta()
+            );
         }
     }
 }
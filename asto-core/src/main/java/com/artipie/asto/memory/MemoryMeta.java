@@ -0,0 +1,55 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.memory;
+
+import com.artipie.asto.Meta;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Metadata for memory storage.
+ * @since 1.9
+ */
+final class MemoryMeta implements Meta {
+
+    /**
+     * Value length.
+     */
+    private final long length;
+
+    /**
+     * Time when value was saved.
+     */
+    private final Optional<Instant> updated;
+
+    /**
+     * New metadata.
+     * @param length Value length
+     */
+    MemoryMeta(final long length) {
+        this(length, Optional.empty());
+    }
+
+    /**
+     * New metadata.
+     * @param length Value length
+     * @param updated Time when value was saved, if known
+     */
+    MemoryMeta(final long length, final Optional<Instant> updated) {
+        this.length = length;
+        this.updated = updated;
+    }
+
+    @Override
+    public <T> T read(final ReadOperator<T> opr) {
+        final Map<String, String> raw = new HashMap<>();
+        Meta.OP_SIZE.put(raw, this.length);
+        this.updated.ifPresent(time -> Meta.OP_UPDATED_AT.put(raw, time));
+        return opr.take(Collections.unmodifiableMap(raw));
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.memory;
+
+import com.artipie.asto.ArtipieIOException;
+import com.artipie.asto.Content;
+import com.artipie.asto.ContentRange;
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.OneTimePublisher;
+import com.artipie.asto.Storage;
+import com.artipie.asto.UnderLockOperation;
+import com.artipie.asto.ValueNotFoundException;
+import com.artipie.asto.ext.CompletableFutureSupport;
+import com.artipie.asto.lock.storage.StorageLock;
+import hu.akarnokd.rxjava2.interop.CompletableInterop;
+import io.reactivex.Flowable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * Storage that holds values in direct memory out of Java heap.
+ * <p>
+ * Values are written to blocks of direct memory slabs (see {@link Slabs}) as content
+ * bytes arrive, value is never collected on heap. Total size of reserved direct memory
+ * is limited by the budget, save fails when budget is exceeded. Reads copy value to heap
+ * by pieces of limited size (see {@link ChunkContent}), so emitted buffers are not
+ * affected when memory of removed or replaced value is reused. Memory of removed or
+ * replaced value is reused when all contents being read from it are completed,
+ * cancelled or collected.
+ *
+ * @since 1.16
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+public final class OffHeapStorage implements Storage {
+
+    /**
+     * Default slab size.
+     */
+    public static final int DEF_SLAB = 1024 * 1024;
+
+    /**
+     * Values stored by key strings.
+     */
+    private final ConcurrentNavigableMap<String, Chunk> data;
+
+    /**
+     * Direct memory allocator.
+     */
+    private final Slabs slabs;
+
+    /**
+     * Ctor.
+     *
+     * @param budget Max total size of direct memory in bytes.
+     */
+    public OffHeapStorage(final long budget) {
+        this(budget, OffHeapStorage.DEF_SLAB);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param budget Max total size of direct memory in bytes.
+     * @param slab Slab size in bytes, power of two, values larger than slab
+     *  are kept in several blocks of slab size.
+     */
+    public OffHeapStorage(final long budget, final int slab) {
+        this.data = new ConcurrentSkipListMap<>();
+        this.slabs = new Slabs(budget, slab);
+    }
+
+    /**
+     * Reserved direct memory.
+     *
+     * @return Size of allocated slabs in bytes.
+     */
+    public long reserved() {
+        return this.slabs.reserved();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(final Key key) {
+        return CompletableFuture.completedFuture(this.data.containsKey(key.string()));
+    }
+
+    @Override
+    public CompletableFuture<Collection<Key>> list(final Key root) {
+        final Collection<String> strings = new PrefixRange(root.string()).view(this.data)
+            .keySet();
+        final Collection<Key> keys = new ArrayList<>(strings.size());
+        for (final String string : strings) {
+            keys.add(new Key.From(string));
+        }
+        return CompletableFuture.completedFuture(keys);
+    }
+
+    @Override
+    public CompletableFuture<Void> save(final Key key, final Content content) {
+        final CompletableFuture<Void> res;
+        if (Key.ROOT.equals(key)) {
+            res = new CompletableFutureSupport.Failed<Void>(
+                new ArtipieIOException("Unable to save to root")
+            ).get();
+        } else {
+            final ChunkWriter writer = new ChunkWriter(this.slabs, content.size());
+            res = Flowable.fromPublisher(new OneTimePublisher<>(content))
+                .doOnNext(writer::write)
+                .ignoreElements()
+                .doOnError(err -> writer.abort())
+                .doOnDispose(writer::abort)
+                .to(CompletableInterop.await())
+                .toCompletableFuture()
+                .thenRun(
+                    () -> {
+                        final Chunk prev = this.data.put(key.string(), writer.chunk());
+                        if (prev != null) {
+                            prev.release();
+                        }
+                    }
+                );
+        }
+        return res;
+    }
+
+    /**
+     * Moves value from one location to another, value bytes are not copied.
+     * <p>
+     * Source value is removed only if it was not replaced while moving,
+     * so concurrent save to source key is not lost.
+     *
+     * @param source Source key.
+     * @param destination Destination key.
+     * @return Completion or error signal.
+     */
+    @Override
+    public CompletableFuture<Void> move(final Key source, final Key destination) {
+        final String src = source.string();
+        final Chunk chunk = this.data.get(src);
+        final CompletableFuture<Void> res;
+        if (chunk == null || !chunk.retain()) {
+            res = new CompletableFutureSupport.Failed<Void>(
+                new ArtipieIOException(
+                    String.format("No value for source key: %s", source.string())
+                )
+            ).get();
+        } else {
+            final String dst = destination.string();
+            if (src.equals(dst)) {
+                chunk.release();
+            } else {
+                final Chunk prev = this.data.put(dst, chunk);
+                if (prev != null) {
+                    prev.release();
+                }
+                if (this.data.remove(src, chunk)) {
+                    chunk.release();
+                }
+            }
+            res = CompletableFuture.allOf();
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<? extends Meta> metadata(final Key key) {
+        final Chunk chunk = this.data.get(key.string());
+        final CompletableFuture<? extends Meta> res;
+        if (chunk == null) {
+            res = new CompletableFutureSupport.Failed<MemoryMeta>(
+                new ValueNotFoundException(key)
+            ).get();
+        } else {
+            res = CompletableFuture.completedFuture(
+                new MemoryMeta(chunk.length(), Optional.of(chunk.updated()))
+            );
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Content> value(final Key key) {
+        return this.value(key, 0, Long.MAX_VALUE);
+    }
+
+    @Override
+    public CompletableFuture<Content> value(final Key key, final long offset,
+        final long length) {
+        ContentRange.validate(offset, length);
+        final CompletableFuture<Content> res;
+        if (Key.ROOT.equals(key)) {
+            res = new CompletableFutureSupport.Failed<Content>(
+                new ArtipieIOException("Unable to load from root")
+            ).get();
+        } else {
+            res = this.lookup(key, offset, length).<CompletableFuture<Content>>map(
+                CompletableFuture::completedFuture
+            ).orElseGet(
+                () -> new CompletableFutureSupport.Failed<Content>(
+                    new ValueNotFoundException(key)
+                ).get()
+            );
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Optional<Content>> valueIfPresent(final Key key) {
+        final CompletableFuture<Optional<Content>> res;
+        if (Key.ROOT.equals(key)) {
+            res = new CompletableFutureSupport.Failed<Optional<Content>>(
+                new ArtipieIOException("Unable to load from root")
+            ).get();
+        } else {
+            res = CompletableFuture.completedFuture(this.lookup(key, 0, Long.MAX_VALUE));
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(final Key key) {
+        final String str = key.string();
+        final Chunk chunk = this.data.remove(str);
+        final CompletableFuture<Void> res;
+        if (chunk == null) {
+            res = new CompletableFutureSupport.Failed<Void>(
+                new ArtipieIOException(String.format("Key does not exist: %s", str))
+            ).get();
+        } else {
+            chunk.release();
+            res = CompletableFuture.allOf();
+        }
+        return res;
+    }
+
+    @Override
+    public <T> CompletionStage<T> exclusively(
+        final Key key,
+        final Function<Storage, CompletionStage<T>> operation
+    ) {
+        return new UnderLockOperation<>(new StorageLock(this, key), operation).perform(this);
+    }
+
+    /**
+     * Find value and retain its chunk for reading.
+     *
+     * @param key Key.
+     * @param offset Range start position.
+     * @param length Max range length.
+     * @return Range content or empty if value does not exist, content of whole
+     *  value comes with its metadata.
+     */
+    private Optional<Content> lookup(final Key key, final long offset, final long length) {
+        final Chunk chunk = this.data.get(key.string());
+        final Optional<Content> res;
+        if (chunk == null || !chunk.retain()) {
+            res = Optional.empty();
+        } else {
+            final long start = Math.min(offset, chunk.length());
+            final Content range = new ChunkContent(
+                chunk, start, Math.min(length, chunk.length() - start)
+            );
+            if (start == 0 && length >= chunk.length()) {
+                res = Optional.of(
+                    new Content.WithMeta(
+                        range, new MemoryMeta(chunk.length(), Optional.of(chunk.updated()))
+                    )
+                );
+            } else {
+                res = Optional.of(range);
+            }
+        }
+        return res;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.memory;
+
+import java.util.NavigableMap;
+
+/**
+ * Range of string keys starting with the prefix.
+ * <p>
+ * All strings starting with the prefix are not less than the prefix and are less than
+ * the prefix with its last char incremented, so the range is taken from sorted map
+ * as a view without iterating and matching keys.
+ *
+ * @since 1.16
+ */
+final class PrefixRange {
+
+    /**
+     * Keys prefix.
+     */
+    private final String prefix;
+
+    /**
+     * Ctor.
+     *
+     * @param prefix Keys prefix.
+     */
+    PrefixRange(final String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * View of map entries with keys starting with the prefix.
+     *
+     * @param map Sorted map.
+     * @param <V> Value type.
+     * @return Map view.
+     */
+    <V> NavigableMap<String, V> view(final NavigableMap<String, V> map) {
+        int end = this.prefix.length();
+        while (end > 0 && this.prefix.charAt(end - 1) == Character.MAX_VALUE) {
+            end -= 1;
+        }
+        final NavigableMap<String, V> res;
+        if (end == 0) {
+            res = map.tailMap(this.prefix, true);
+        } else {
+            res = map.subMap(
+                this.prefix, true,
+                this.prefix.substring(0, end - 1)
+                    .concat(String.valueOf((char) (this.prefix.charAt(end - 1) + 1))),
+                false
+            );
+        }
+        return res;
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.memory;
+
+import com.artipie.asto.ArtipieIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Direct memory allocator with slab classes.
+ * <p>
+ * Direct memory is reserved in slabs of fixed size, each slab is split into blocks
+ * of one size class: powers of two from {@link #MIN_BLOCK} up to slab size.
+ * Released blocks are reused for the same class. When budget does not allow
+ * to reserve new slab, slab all blocks of which are free is reassigned to the class
+ * which needs a block, so memory freed in one class can be used by another one.
+ * Slab which has at least one block in use is not reassigned.
+ *
+ * @since 1.16
+ */
+final class Slabs {
+
+    /**
+     * Size of the smallest block.
+     */
+    static final int MIN_BLOCK = 64;
+
+    /**
+     * Max total size of direct memory.
+     */
+    private final long budget;
+
+    /**
+     * Slab size.
+     */
+    private final int slab;
+
+    /**
+     * Free blocks by size classes.
+     */
+    private final List<Deque<Block>> free;
+
+    /**
+     * Reserved slabs.
+     */
+    private final List<Slab> slabs;
+
+    /**
+     * Number of slabs reassigned to other size class.
+     */
+    private long moved;
+
+    /**
+     * Ctor.
+     *
+     * @param budget Max total size of direct memory in bytes.
+     * @param slab Slab size in bytes, power of two not less than min block size.
+     */
+    Slabs(final long budget, final int slab) {
+        if (slab < Slabs.MIN_BLOCK || Integer.bitCount(slab) != 1) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Slab size should be power of two not less than %d, but was %d",
+                    Slabs.MIN_BLOCK, slab
+                )
+            );
+        }
+        if (budget < slab) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Memory budget should not be less than slab size %d, but was %d",
+                    slab, budget
+                )
+            );
+        }
+        this.budget = budget;
+        this.slab = slab;
+        final int classes = Integer.numberOfTrailingZeros(slab / Slabs.MIN_BLOCK) + 1;
+        this.free = new ArrayList<>(classes);
+        for (int cls = 0; cls < classes; cls += 1) {
+            this.free.add(new ArrayDeque<>());
+        }
+        this.slabs = new ArrayList<>(0);
+    }
+
+    /**
+     * Slab size, the largest block size.
+     *
+     * @return Size in bytes.
+     */
+    int slab() {
+        return this.slab;
+    }
+
+    /**
+     * Take the smallest free block which fits the size.
+     *
+     * @param size Size in bytes, not greater than slab size.
+     * @return Block.
+     * @throws ArtipieIOException If memory budget is exceeded.
+     */
+    synchronized Block take(final int size) {
+        final int cls = Slabs.sizeClass(size);
+        if (this.free.get(cls).isEmpty()) {
+            this.carve(cls);
+        }
+        final Block res = this.free.get(cls).pop();
+        res.owner.used += 1;
+        return res;
+    }
+
+    /**
+     * Return block back to allocator.
+     *
+     * @param block Block.
+     */
+    synchronized void release(final Block block) {
+        block.owner.used -= 1;
+        this.free.get(block.owner.cls).push(block);
+    }
+
+    /**
+     * Reserved direct memory size.
+     *
+     * @return Size of allocated slabs in bytes.
+     */
+    synchronized long reserved() {
+        return (long) this.slabs.size() * this.slab;
+    }
+
+    /**
+     * Number of slabs reassigned from one size class to another.
+     *
+     * @return Reassignments count.
+     */
+    synchronized long reassigned() {
+        return this.moved;
+    }
+
+    /**
+     * Reserve new slab or reassign free one and split it to free blocks of size class.
+     *
+     * @param cls Size class.
+     * @throws ArtipieIOException If memory budget is exceeded and no slab is free.
+     */
+    private void carve(final int cls) {
+        Slab target = null;
+        if (this.reserved() + this.slab <= this.budget) {
+            target = new Slab(ByteBuffer.allocateDirect(this.slab));
+            this.slabs.add(target);
+        } else {
+            for (final Slab candidate : this.slabs) {
+                if (candidate.used == 0 && candidate.cls != cls) {
+                    target = candidate;
+                    break;
+                }
+            }
+            if (target == null) {
+                throw new ArtipieIOException(
+                    String.format(
+                        "Memory budget of %d bytes is exceeded, no free slab for %d bytes blocks",
+                        this.budget, Slabs.MIN_BLOCK << cls
+                    )
+                );
+            }
+            final Slab reused = target;
+            this.free.get(reused.cls).removeIf(block -> block.owner == reused);
+            this.moved += 1;
+        }
+        target.cls = cls;
+        final int size = Slabs.MIN_BLOCK << cls;
+        for (int pos = 0; pos < this.slab; pos += size) {
+            final ByteBuffer mem = target.mem.duplicate();
+            mem.limit(pos + size).position(pos);
+            this.free.get(cls).push(new Block(target, mem.slice()));
+        }
+    }
+
+    /**
+     * Size class of the smallest block which fits the size.
+     *
+     * @param size Size in bytes.
+     * @return Size class.
+     */
+    private static int sizeClass(final int size) {
+        int cls = 0;
+        while (Slabs.MIN_BLOCK << cls < size) {
+            cls += 1;
+        }
+        return cls;
+    }
+
+    /**
+     * Block of direct memory.
+     *
+     * @since 1.16
+     */
+    static final class Block {
+
+        /**
+         * Slab of the block.
+         */
+        private final Slab owner;
+
+        /**
+         * Block memory.
+         */
+        private final ByteBuffer mem;
+
+        /**
+         * Ctor.
+         *
+         * @param owner Slab of the block.
+         * @param mem Block memory.
+         */
+        private Block(final Slab owner, final ByteBuffer mem) {
+            this.owner = owner;
+            this.mem = mem;
+        }
+
+        /**
+         * Block memory, position and limit of returned buffer are independent.
+         *
+         * @return Buffer from zero position up to block capacity.
+         */
+        ByteBuffer memory() {
+            return this.mem.duplicate().clear();
+        }
+
+        /**
+         * Block capacity.
+         *
+         * @return Size in bytes.
+         */
+        int capacity() {
+            return this.mem.capacity();
+        }
+    }
+
+    /**
+     * Reserved slab.
+     *
+     * @since 1.16
+     */
+    private static final class Slab {
+
+        /**
+         * Slab memory.
+         */
+        private final ByteBuffer mem;
+
+        /**
+         * Size class of blocks.
+         */
+        private int cls;
+
+        /**
+         * Number of blocks in use.
+         */
+        private int used;
+
+        /**
+         * Ctor.
+         *
+         * @param mem Slab memory.
+         */
+        Slab(final ByteBuffer mem) {
+            this.mem = mem;
+        }
+    }
+}
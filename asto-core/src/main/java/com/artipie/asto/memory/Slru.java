@@ -0,0 +1,154 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.memory;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Segmented LRU eviction policy by weight.
+ * <p>
+ * New entries are added to probation segment, entries accessed again are promoted
+ * to protected segment, which takes up to 80% of capacity. When protected segment
+ * is full its least recently used entries are demoted back to probation. Victims are
+ * taken from probation first, so entries used once do not flush frequently used ones.
+ * Policy is not thread safe.
+ *
+ * @since 1.16
+ */
+final class Slru {
+
+    /**
+     * Max total weight.
+     */
+    private final long capacity;
+
+    /**
+     * Max weight of protected segment.
+     */
+    private final long limit;
+
+    /**
+     * Probation segment: weights by keys from least to most recently used.
+     */
+    private final LinkedHashMap<String, Long> probation;
+
+    /**
+     * Protected segment: weights by keys from least to most recently used.
+     */
+    private final LinkedHashMap<String, Long> protect;
+
+    /**
+     * Weight of probation segment.
+     */
+    private long probationw;
+
+    /**
+     * Weight of protected segment.
+     */
+    private long protectw;
+
+    /**
+     * Ctor.
+     *
+     * @param capacity Max total weight.
+     */
+    Slru(final long capacity) {
+        this.capacity = capacity;
+        this.limit = capacity / 5 * 4;
+        this.probation = new LinkedHashMap<>();
+        this.protect = new LinkedHashMap<>();
+    }
+
+    /**
+     * Add or replace entry.
+     *
+     * @param key Key.
+     * @param weight Entry weight, not greater than capacity.
+     * @return Keys of evicted entries.
+     */
+    List<String> add(final String key, final long weight) {
+        this.remove(key);
+        this.probation.put(key, weight);
+        this.probationw += weight;
+        final List<String> evicted = new LinkedList<>();
+        while (this.probationw + this.protectw > this.capacity) {
+            final String victim;
+            final String head = this.probation.keySet().iterator().next();
+            if (head.equals(key) && !this.protect.isEmpty()) {
+                victim = this.protect.keySet().iterator().next();
+            } else {
+                victim = head;
+            }
+            this.remove(victim);
+            evicted.add(victim);
+        }
+        return evicted;
+    }
+
+    /**
+     * Record entry access.
+     *
+     * @param key Key.
+     */
+    void touch(final String key) {
+        final Long prot = this.protect.remove(key);
+        if (prot == null) {
+            final Long prob = this.probation.remove(key);
+            if (prob != null) {
+                this.probationw -= prob;
+                this.protect.put(key, prob);
+                this.protectw += prob;
+                this.demote();
+            }
+        } else {
+            this.protect.put(key, prot);
+        }
+    }
+
+    /**
+     * Remove entry.
+     *
+     * @param key Key.
+     */
+    void remove(final String key) {
+        final Long prot = this.protect.remove(key);
+        if (prot == null) {
+            final Long prob = this.probation.remove(key);
+            if (prob != null) {
+                this.probationw -= prob;
+            }
+        } else {
+            this.protectw -= prot;
+        }
+    }
+
+    /**
+     * Total weight of entries.
+     *
+     * @return Weight.
+     */
+    long weight() {
+        return this.probationw + this.protectw;
+    }
+
+    /**
+     * Move least recently used protected entries to probation
+     * until protected segment fits its limit.
+     */
+    private void demote() {
+        final Iterator<Map.Entry<String, Long>> iter = this.protect.entrySet().iterator();
+        while (this.protectw > this.limit && iter.hasNext()) {
+            final Map.Entry<String, Long> entry = iter.next();
+            iter.remove();
+            this.protectw -= entry.getValue();
+            this.probation.put(entry.getKey(), entry.getValue());
+            this.probationw += entry.getValue();
+        }
+    }
+}
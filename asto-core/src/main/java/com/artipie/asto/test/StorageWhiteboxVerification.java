@@ -11,6 +11,7 @@ import com.artipie.asto.Storage;
 import com.artipie.asto.SubStorage;
 import com.artipie.asto.ValueNotFoundException;
 import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.ext.PublisherAs;
 import io.reactivex.Flowable;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
@@ -274,6 +275,109 @@ public abstract class StorageWhiteboxVerification {
         );
     }
 
+    @Test
+    public void valueIfPresent_shouldLoadPresentValue() throws Exception {
+        this.execute(
+            pair -> {
+                final Storage storage = pair.getValue();
+                final Key key = new Key.From("shouldLoadPresentValue");
+                storage.save(key, new Content.OneTime(new Content.From("present".getBytes())))
+                    .get();
+                final Optional<Content> value = storage.valueIfPresent(key).get();
+                MatcherAssert.assertThat(
+                    String.format("%s: value should be present", pair.getKey()),
+                    value.isPresent(),
+                    new IsEqual<>(true)
+                );
+                MatcherAssert.assertThat(
+                    String.format("%s: value bytes", pair.getKey()),
+                    new PublisherAs(value.get()).asciiString().toCompletableFuture().get(),
+                    new IsEqual<>("present")
+                );
+            }
+        );
+    }
+
+    @Test
+    public void valueIfPresent_shouldNotLoadAbsentValue() throws Exception {
+        this.execute(
+            pair -> MatcherAssert.assertThat(
+                String.format("%s: value should be absent", pair.getKey()),
+                pair.getValue().valueIfPresent(new Key.From("shouldNotLoadAbsentValue"))
+                    .get().isPresent(),
+                new IsEqual<>(false)
+            )
+        );
+    }
+
+    @Test
+    public void value_shouldReadRange() throws Exception {
+        this.execute(
+            pair -> {
+                final Storage storage = pair.getValue();
+                final Key key = new Key.From("shouldReadRange");
+                storage.save(key, new Content.OneTime(new Content.From("0123456789".getBytes())))
+                    .get();
+                final Content range = storage.value(key, 3, 4).get();
+                MatcherAssert.assertThat(
+                    String.format("%s: range size", pair.getKey()),
+                    range.size(),
+                    new IsEqual<>(Optional.of(4L))
+                );
+                MatcherAssert.assertThat(
+                    String.format("%s: range bytes", pair.getKey()),
+                    new PublisherAs(range).asciiString().toCompletableFuture().get(),
+                    new IsEqual<>("3456")
+                );
+            }
+        );
+    }
+
+    @Test
+    public void value_shouldTruncateRangeBeyondEnd() throws Exception {
+        this.execute(
+            pair -> {
+                final Storage storage = pair.getValue();
+                final Key key = new Key.From("shouldTruncateRangeBeyondEnd");
+                storage.save(key, new Content.OneTime(new Content.From("abcdef".getBytes())))
+                    .get();
+                MatcherAssert.assertThat(
+                    String.format("%s: range till the end", pair.getKey()),
+                    new PublisherAs(storage.value(key, 2, Long.MAX_VALUE).get())
+                        .asciiString().toCompletableFuture().get(),
+                    new IsEqual<>("cdef")
+                );
+                MatcherAssert.assertThat(
+                    String.format("%s: range after the end", pair.getKey()),
+                    new PublisherAs(storage.value(key, 10, 5).get())
+                        .asciiString().toCompletableFuture().get(),
+                    new IsEqual<>("")
+                );
+            }
+        );
+    }
+
+    @Test
+    public void value_shouldFailToReadRangeOfAbsentValue() throws Exception {
+        this.execute(
+            pair -> {
+                final Storage storage = pair.getValue();
+                final Exception exception = Assertions.assertThrows(
+                    CompletionException.class,
+                    storage.value(new Key.From("shouldFailToReadRangeOfAbsentValue"), 1, 2)::join
+                );
+                MatcherAssert.assertThat(
+                    String.format(
+                        "%s: storage '%s' should fail",
+                        pair.getKey(), storage.getClass().getName()
+                    ),
+                    exception.getCause(),
+                    new IsInstanceOf(ValueNotFoundException.class)
+                );
+            }
+        );
+    }
+
     @Test
     public void saveAndLoad_saveDoesNotSupportRootKey() throws Exception {
         this.execute(
@@ -0,0 +1,23 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto;
+
+import com.artipie.asto.memory.BoundedInMemoryStorage;
+import com.artipie.asto.test.StorageWhiteboxVerification;
+
+/**
+ * Bounded in memory storage verification test.
+ *
+ * @checkstyle ProtectedMethodInFinalClassCheck (500 lines)
+ * @since 1.16
+ */
+@SuppressWarnings("PMD.TestClassWithoutTestCases")
+public final class BoundedInMemoryStorageVerificationTest extends StorageWhiteboxVerification {
+
+    @Override
+    protected Storage newStorage() throws Exception {
+        return new BoundedInMemoryStorage(64 * 1024 * 1024);
+    }
+}
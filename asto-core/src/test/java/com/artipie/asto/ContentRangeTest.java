@@ -0,0 +1,100 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto;
+
+import com.artipie.asto.ext.PublisherAs;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Tests for {@link ContentRange}.
+ *
+ * @since 1.16
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class ContentRangeTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "0,3,abc",
+        "2,4,cdef",
+        "3,100,defghij",
+        "9,1,j",
+        "10,5,''",
+        "4,0,''"
+    })
+    void readsRangeAcrossBuffers(final long offset, final long length, final String expected) {
+        MatcherAssert.assertThat(
+            new PublisherAs(
+                new ContentRange(ContentRangeTest.content(), offset, length)
+            ).asciiString().toCompletableFuture().join(),
+            new IsEqual<>(expected)
+        );
+    }
+
+    @Test
+    void calculatesSize() {
+        MatcherAssert.assertThat(
+            new ContentRange(ContentRangeTest.content(), 8, 10).size(),
+            new IsEqual<>(Optional.of(2L))
+        );
+    }
+
+    @Test
+    void stopsReadingAtRangeEnd() {
+        final AtomicInteger emitted = new AtomicInteger();
+        new PublisherAs(
+            new ContentRange(
+                new Content.From(
+                    Flowable.range(0, 100)
+                        .map(num -> ByteBuffer.wrap(new byte[]{num.byteValue()}))
+                        .doOnNext(buf -> emitted.incrementAndGet())
+                ),
+                5, 3
+            )
+        ).bytes().toCompletableFuture().join();
+        MatcherAssert.assertThat(emitted.get(), new IsEqual<>(8));
+    }
+
+    @Test
+    void cancelsOriginOfEmptyRange() {
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        new PublisherAs(
+            new ContentRange(
+                new Content.From(
+                    Flowable.<ByteBuffer>never().doOnCancel(() -> cancelled.set(true))
+                ),
+                0, 0
+            )
+        ).bytes().toCompletableFuture().join();
+        MatcherAssert.assertThat(cancelled.get(), new IsEqual<>(true));
+    }
+
+    @Test
+    void failsOnNegativeOffset() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new ContentRange(Content.EMPTY, -1, 1)
+        );
+    }
+
+    private static Content content() {
+        return new Content.From(
+            10L,
+            Flowable.just("ab", "cde", "f", "ghij")
+                .map(str -> ByteBuffer.wrap(str.getBytes(StandardCharsets.US_ASCII)))
+        );
+    }
+}
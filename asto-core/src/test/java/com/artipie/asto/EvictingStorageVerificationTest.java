@@ -0,0 +1,34 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto;
+
+import com.artipie.asto.cache.EvictingStorage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.asto.test.StorageWhiteboxVerification;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Evicting storage verification test.
+ *
+ * @checkstyle ProtectedMethodInFinalClassCheck (500 lines)
+ * @since 1.16
+ */
+@SuppressWarnings("PMD.TestClassWithoutTestCases")
+public final class EvictingStorageVerificationTest extends StorageWhiteboxVerification {
+
+    /**
+     * Scheduler.
+     */
+    private static final ScheduledExecutorService SCHEDULER =
+        Executors.newSingleThreadScheduledExecutor();
+
+    @Override
+    protected Storage newStorage() throws Exception {
+        return new EvictingStorage(
+            new InMemoryStorage(), EvictingStorageVerificationTest.SCHEDULER, Long.MAX_VALUE
+        );
+    }
+}
@@ -6,6 +6,7 @@ package com.artipie.asto;
 
 import com.artipie.asto.blocking.BlockingStorage;
 import com.artipie.asto.fs.FileStorage;
+import com.artipie.asto.fs.MappedFiles;
 import io.reactivex.Emitter;
 import io.reactivex.Flowable;
 import io.reactivex.functions.Consumer;
@@ -305,6 +306,71 @@ final class FileStorageTest {
         );
     }
 
+    @Test
+    void streamsKeysByPrefix() {
+        final BlockingStorage blocking = new BlockingStorage(this.storage);
+        final byte[] data = "0".getBytes(StandardCharsets.UTF_8);
+        blocking.save(new Key.From("p", "1"), data);
+        blocking.save(new Key.From("p", "q", "2"), data);
+        blocking.save(new Key.From("p", "q", "r", "3"), data);
+        blocking.save(new Key.From("x"), data);
+        MatcherAssert.assertThat(
+            Flowable.fromPublisher(this.storage.keys(new Key.From("p")))
+                .map(Key::string)
+                .toList()
+                .blockingGet(),
+            Matchers.containsInAnyOrder("p/1", "p/q/2", "p/q/r/3")
+        );
+    }
+
+    @Test
+    void streamsNoKeysForAbsentPrefix() {
+        MatcherAssert.assertThat(
+            Flowable.fromPublisher(this.storage.keys(new Key.From("absent")))
+                .toList()
+                .blockingGet(),
+            new IsEmptyCollection<>()
+        );
+    }
+
+    @Test
+    void readsValueIfPresent() throws Exception {
+        final byte[] data = "present".getBytes();
+        final Key key = new Key.From("a", "present.txt");
+        new BlockingStorage(this.storage).save(key, data);
+        MatcherAssert.assertThat(
+            new Remaining(
+                new Concatenation(this.storage.valueIfPresent(key).get().get())
+                    .single().blockingGet(),
+                true
+            ).bytes(),
+            new IsEqual<>(data)
+        );
+    }
+
+    @Test
+    void readsMappedValueIfPresent() throws Exception {
+        final Storage mapped = new FileStorage(this.tmp, new MappedFiles(1024));
+        final byte[] data = "mapped".getBytes();
+        final Key key = new Key.From("b", "mapped.txt");
+        new BlockingStorage(mapped).save(key, data);
+        MatcherAssert.assertThat(
+            new Remaining(
+                new Concatenation(mapped.valueIfPresent(key).get().get()).single().blockingGet(),
+                true
+            ).bytes(),
+            new IsEqual<>(data)
+        );
+    }
+
+    @Test
+    void returnsNoValueIfAbsent() throws Exception {
+        MatcherAssert.assertThat(
+            this.storage.valueIfPresent(new Key.From("c", "absent.txt")).get().isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
     @Test
     void returnsIdentifier() {
         MatcherAssert.assertThat(
@@ -0,0 +1,23 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto;
+
+import com.artipie.asto.memory.OffHeapStorage;
+import com.artipie.asto.test.StorageWhiteboxVerification;
+
+/**
+ * Off-heap storage verification test.
+ *
+ * @checkstyle ProtectedMethodInFinalClassCheck (500 lines)
+ * @since 1.16
+ */
+@SuppressWarnings("PMD.TestClassWithoutTestCases")
+public final class OffHeapStorageVerificationTest extends StorageWhiteboxVerification {
+
+    @Override
+    protected Storage newStorage() throws Exception {
+        return new OffHeapStorage(64 * 1024 * 1024);
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.cache;
+
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link DemandTimeout}.
+ *
+ * @since 1.16
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class DemandTimeoutTest {
+
+    @Test
+    void failsWhenRequestedSourceIsIdle() throws Exception {
+        final TestSubscriber<Integer> sub = new DemandTimeout<>(
+            Flowable.<Integer>never(), Duration.ofMillis(50)
+        ).flowable().test();
+        sub.await(5, TimeUnit.SECONDS);
+        sub.assertError(TimeoutException.class);
+    }
+
+    @Test
+    void doesNotCountTimeWhenNothingIsRequested() throws Exception {
+        final TestSubscriber<Integer> sub = new DemandTimeout<>(
+            Flowable.range(0, 3), Duration.ofMillis(50)
+        ).flowable().test(1);
+        Thread.sleep(200);
+        sub.assertNoErrors().assertValueCount(1);
+        sub.requestMore(2);
+        sub.await(5, TimeUnit.SECONDS);
+        sub.assertResult(0, 1, 2);
+    }
+}
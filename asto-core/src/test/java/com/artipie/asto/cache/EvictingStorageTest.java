@@ -0,0 +1,222 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.cache;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.fs.FileStorage;
+import com.artipie.asto.memory.InMemoryStorage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link EvictingStorage}.
+ *
+ * @since 1.16
+ * @checkstyle MagicNumberCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+final class EvictingStorageTest {
+
+    /**
+     * Temp dir.
+     */
+    @TempDir
+    Path tmp;
+
+    /**
+     * Scheduler.
+     */
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    void setUp() {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.scheduler.shutdownNow();
+    }
+
+    @Test
+    void evictsLeastRecentlyAccessedOverBudget() {
+        final Storage origin = new InMemoryStorage();
+        final TestClock clock = new TestClock();
+        final EvictingStorage storage = new EvictingStorage(
+            origin, this.scheduler, 10, Duration.ofMillis(Long.MAX_VALUE), 100,
+            Duration.ofMillis(100), clock
+        );
+        final BlockingStorage blocking = new BlockingStorage(storage);
+        blocking.save(new Key.From("a"), new byte[4]);
+        clock.advance();
+        blocking.save(new Key.From("b"), new byte[4]);
+        clock.advance();
+        blocking.save(new Key.From("c"), new byte[4]);
+        clock.advance();
+        blocking.value(new Key.From("a"));
+        MatcherAssert.assertThat(
+            "Wrong number of evicted values",
+            storage.evict().toCompletableFuture().join(),
+            new IsEqual<>(1)
+        );
+        MatcherAssert.assertThat(
+            "Least recently accessed value was not evicted",
+            new BlockingStorage(origin).exists(new Key.From("b")),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Recently accessed value was evicted",
+            new BlockingStorage(origin).exists(new Key.From("a")),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat("Wrong weight", storage.weight(), new IsEqual<>(8L));
+    }
+
+    @Test
+    void evictsInBatches() {
+        final Storage origin = new InMemoryStorage();
+        final EvictingStorage storage = new EvictingStorage(
+            origin, this.scheduler, 0, Duration.ofDays(1), 2, Duration.ofMillis(1)
+        );
+        for (int idx = 0; idx < 5; idx += 1) {
+            new BlockingStorage(storage).save(new Key.From(String.valueOf(idx)), new byte[1]);
+        }
+        MatcherAssert.assertThat(
+            storage.evict().toCompletableFuture().join(),
+            new IsEqual<>(5)
+        );
+        MatcherAssert.assertThat(
+            new BlockingStorage(origin).list(Key.ROOT).isEmpty(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(storage.evictions(), new IsEqual<>(5L));
+    }
+
+    @Test
+    void evictsScannedValuesByAge() throws Exception {
+        final Storage origin = new FileStorage(this.tmp);
+        new BlockingStorage(origin).save(new Key.From("old.jar"), new byte[3]);
+        new BlockingStorage(origin).save(new Key.From("new.jar"), new byte[3]);
+        final FileTime old = FileTime.from(Instant.now().minus(Duration.ofDays(10)));
+        Files.getFileAttributeView(this.tmp.resolve("old.jar"), BasicFileAttributeView.class)
+            .setTimes(old, old, null);
+        final EvictingStorage storage = new EvictingStorage(
+            origin, this.scheduler, Long.MAX_VALUE, Duration.ofDays(1), 10, Duration.ZERO
+        );
+        storage.scan().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Scanned values weight is wrong",
+            storage.weight(),
+            new IsEqual<>(6L)
+        );
+        storage.evict().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Old value was not evicted",
+            new BlockingStorage(origin).exists(new Key.From("old.jar")),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "New value was evicted",
+            new BlockingStorage(origin).exists(new Key.From("new.jar")),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void tracksDeletedAndMovedValues() {
+        final EvictingStorage storage = new EvictingStorage(
+            new InMemoryStorage(), this.scheduler, 100
+        );
+        final BlockingStorage blocking = new BlockingStorage(storage);
+        blocking.save(new Key.From("one"), new byte[5]);
+        blocking.save(new Key.From("two"), new byte[7]);
+        blocking.move(new Key.From("two"), new Key.From("one"));
+        MatcherAssert.assertThat("Wrong weight after move", storage.weight(), new IsEqual<>(7L));
+        blocking.delete(new Key.From("one"));
+        MatcherAssert.assertThat("Wrong weight after delete", storage.weight(), new IsEqual<>(0L));
+    }
+
+    @Test
+    void untracksValueReadWhileItIsEvicted() {
+        final CompletableFuture<Void> gate = new CompletableFuture<>();
+        final Storage origin = new Storage.Wrap(new InMemoryStorage()) {
+            @Override
+            public CompletableFuture<Void> delete(final Key key) {
+                return gate.thenCompose(nothing -> super.delete(key));
+            }
+        };
+        final EvictingStorage storage = new EvictingStorage(origin, this.scheduler, 0);
+        final Key key = new Key.From("raced");
+        new BlockingStorage(storage).save(key, new byte[4]);
+        final CompletableFuture<Integer> evicted = storage.evict().toCompletableFuture();
+        storage.value(key).join();
+        MatcherAssert.assertThat(
+            "Value read during eviction was not indexed",
+            storage.weight(),
+            new IsEqual<>(4L)
+        );
+        gate.complete(null);
+        evicted.join();
+        MatcherAssert.assertThat(
+            "Deleted value was left in index",
+            storage.weight(),
+            new IsEqual<>(0L)
+        );
+    }
+
+    /**
+     * Clock which moves only when it is advanced.
+     *
+     * @since 1.16
+     */
+    private static final class TestClock extends Clock {
+
+        /**
+         * Current time in millis.
+         */
+        private final AtomicLong now = new AtomicLong();
+
+        /**
+         * Move clock one millisecond forward.
+         */
+        void advance() {
+            this.now.incrementAndGet();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(this.now.get());
+        }
+    }
+}
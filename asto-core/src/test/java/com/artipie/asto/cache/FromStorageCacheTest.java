@@ -8,6 +8,7 @@ import com.artipie.asto.Content;
 import com.artipie.asto.Key;
 import com.artipie.asto.Storage;
 import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.ext.Digests;
 import com.artipie.asto.memory.InMemoryStorage;
 import com.artipie.asto.test.ContentIs;
 import com.jcabi.log.Logger;
@@ -20,6 +21,7 @@ import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.codec.binary.Hex;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -55,6 +57,52 @@ final class FromStorageCacheTest {
         );
     }
 
+    @Test
+    void loadsFromCacheWithOneStorageCall() throws Exception {
+        final Key key = new Key.From("key6");
+        final byte[] data = "hello6".getBytes();
+        new BlockingStorage(this.storage).save(key, data);
+        final CountingStorage counting = new CountingStorage(this.storage);
+        MatcherAssert.assertThat(
+            "Cache returned wrong content",
+            new FromStorageCache(counting).load(
+                key,
+                new Remote.Failed(new IllegalStateException("Failing remote 6")),
+                CacheControl.Standard.ALWAYS
+            ).toCompletableFuture().get().get(),
+            new ContentIs(data)
+        );
+        MatcherAssert.assertThat(
+            "Cache called storage more than once",
+            counting.calls.get(),
+            Matchers.is(1)
+        );
+    }
+
+    @Test
+    void readsCachedItemAgainWhenValidationConsumedIt() throws Exception {
+        final Key key = new Key.From("key7");
+        final byte[] data = {1, 2, 3};
+        new BlockingStorage(this.storage).save(key, data);
+        final CountingStorage counting = new CountingStorage(this.storage);
+        MatcherAssert.assertThat(
+            "Cache returned wrong content",
+            new FromStorageCache(counting).load(
+                key,
+                new Remote.Failed(new IllegalStateException("Failing remote 7")),
+                new DigestVerification(
+                    Digests.MD5, Hex.decodeHex("5289df737df57326fcdd22597afb1fac")
+                )
+            ).toCompletableFuture().get().get(),
+            new ContentIs(data)
+        );
+        MatcherAssert.assertThat(
+            "Cache should call storage to read item and read it again after validation",
+            counting.calls.get(),
+            Matchers.is(2)
+        );
+    }
+
     @Test
     void savesToCacheFromRemote() throws Exception {
         final Key key = new Key.From("key2");
@@ -80,6 +128,26 @@ final class FromStorageCacheTest {
         );
     }
 
+    @Test
+    void streamsRemoteWhileSaving() throws Exception {
+        final Key key = new Key.From("key5");
+        final byte[] data = "hello5".getBytes();
+        final Content load = new FromStorageCache(this.storage, true).load(
+            key,
+            () -> CompletableFuture.completedFuture(Optional.of(new Content.From(data))),
+            CacheControl.Standard.ALWAYS
+        ).toCompletableFuture().get().get();
+        MatcherAssert.assertThat(
+            "Cache returned broken remote content",
+            load, new ContentIs(data)
+        );
+        MatcherAssert.assertThat(
+            "Cache didn't save remote content locally",
+            new BlockingStorage(this.storage).value(key),
+            Matchers.equalTo(data)
+        );
+    }
+
     @Test
     void dontCacheFailedRemote() throws Exception {
         final Key key = new Key.From("key3");
@@ -153,4 +221,43 @@ final class FromStorageCacheTest {
             );
         }
     }
+
+    /**
+     * Storage which counts reads.
+     * @since 1.16
+     */
+    private static final class CountingStorage extends Storage.Wrap {
+
+        /**
+         * Number of reads.
+         */
+        private final AtomicInteger calls;
+
+        /**
+         * Ctor.
+         * @param origin Origin storage
+         */
+        CountingStorage(final Storage origin) {
+            super(origin);
+            this.calls = new AtomicInteger();
+        }
+
+        @Override
+        public CompletableFuture<Boolean> exists(final Key key) {
+            this.calls.incrementAndGet();
+            return super.exists(key);
+        }
+
+        @Override
+        public CompletableFuture<Content> value(final Key key) {
+            this.calls.incrementAndGet();
+            return super.value(key);
+        }
+
+        @Override
+        public CompletableFuture<Optional<Content>> valueIfPresent(final Key key) {
+            this.calls.incrementAndGet();
+            return super.valueIfPresent(key);
+        }
+    }
 }
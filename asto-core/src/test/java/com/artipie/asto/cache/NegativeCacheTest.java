@@ -0,0 +1,167 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.cache;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.asto.test.ContentIs;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link NegativeCache}.
+ *
+ * @since 1.16
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class NegativeCacheTest {
+
+    /**
+     * Remote calls counter.
+     */
+    private AtomicInteger calls;
+
+    /**
+     * Remote without content which counts calls.
+     */
+    private Remote missing;
+
+    @BeforeEach
+    void setUp() {
+        this.calls = new AtomicInteger();
+        this.missing = () -> {
+            this.calls.incrementAndGet();
+            return CompletableFuture.completedFuture(Optional.empty());
+        };
+    }
+
+    @Test
+    void doesNotCallRemoteForRememberedMiss() {
+        final Cache cache = new NegativeCache(
+            new FromStorageCache(new InMemoryStorage()), Duration.ofMinutes(1), 10
+        );
+        final Key key = new Key.From("missing.jar");
+        for (int idx = 0; idx < 3; idx += 1) {
+            MatcherAssert.assertThat(
+                cache.load(key, this.missing, CacheControl.Standard.ALWAYS)
+                    .toCompletableFuture().join().isPresent(),
+                new IsEqual<>(false)
+            );
+        }
+        MatcherAssert.assertThat(this.calls.get(), new IsEqual<>(1));
+    }
+
+    @Test
+    void callsRemoteWhenMissExpired() {
+        final Cache cache = new NegativeCache(
+            new FromStorageCache(new InMemoryStorage()), Duration.ZERO, 10
+        );
+        final Key key = new Key.From("expired.pom");
+        cache.load(key, this.missing, CacheControl.Standard.ALWAYS).toCompletableFuture().join();
+        cache.load(key, this.missing, CacheControl.Standard.ALWAYS).toCompletableFuture().join();
+        MatcherAssert.assertThat(this.calls.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void callsRemoteWhenControlInvalidatesMiss() {
+        final Cache cache = new NegativeCache(
+            new FromStorageCache(new InMemoryStorage()), Duration.ofMinutes(1), 10
+        );
+        final Key key = new Key.From("revalidated.pom");
+        cache.load(key, this.missing, CacheControl.Standard.ALWAYS).toCompletableFuture().join();
+        final byte[] data = "found".getBytes();
+        MatcherAssert.assertThat(
+            cache.load(
+                key,
+                () -> CompletableFuture.completedFuture(Optional.of(new Content.From(data))),
+                CacheControl.Standard.NO_CACHE
+            ).toCompletableFuture().join().get(),
+            new ContentIs(data)
+        );
+    }
+
+    @Test
+    void dropsLeastRecentlyUsedMisses() {
+        final Cache cache = new NegativeCache(
+            new FromStorageCache(new InMemoryStorage()), Duration.ofMinutes(1), 1
+        );
+        final Key first = new Key.From("first");
+        cache.load(first, this.missing, CacheControl.Standard.ALWAYS).toCompletableFuture().join();
+        cache.load(new Key.From("second"), this.missing, CacheControl.Standard.ALWAYS)
+            .toCompletableFuture().join();
+        cache.load(first, this.missing, CacheControl.Standard.ALWAYS).toCompletableFuture().join();
+        MatcherAssert.assertThat(this.calls.get(), new IsEqual<>(3));
+    }
+
+    @Test
+    void sharesMissesThroughStorageMarkers() {
+        final Storage markers = new InMemoryStorage();
+        final Key key = new Key.From("org", "shared.jar");
+        new NegativeCache(
+            new FromStorageCache(new InMemoryStorage()), Duration.ofMinutes(1), 10, markers
+        ).load(key, this.missing, CacheControl.Standard.ALWAYS).toCompletableFuture().join();
+        new NegativeCache(
+            new FromStorageCache(new InMemoryStorage()), Duration.ofMinutes(1), 10, markers
+        ).load(key, this.missing, CacheControl.Standard.ALWAYS).toCompletableFuture().join();
+        MatcherAssert.assertThat(this.calls.get(), new IsEqual<>(1));
+    }
+
+    @Test
+    void deletesMarkerWhenMissIsDropped() {
+        final Storage markers = new InMemoryStorage();
+        final Cache cache = new NegativeCache(
+            new FromStorageCache(new InMemoryStorage()), Duration.ofMinutes(1), 10, markers
+        );
+        final Key key = new Key.From("deleted");
+        cache.load(key, this.missing, CacheControl.Standard.ALWAYS).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Marker was not saved",
+            markers.exists(new Key.From(".negative", "deleted")).join(),
+            new IsEqual<>(true)
+        );
+        cache.load(
+            key,
+            () -> CompletableFuture.completedFuture(Optional.of(new Content.From(new byte[1]))),
+            CacheControl.Standard.NO_CACHE
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Marker was not deleted",
+            markers.exists(new Key.From(".negative", "deleted")).join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void checksAbsentMarkerOncePerTtl() {
+        final AtomicInteger reads = new AtomicInteger();
+        final Storage markers = new Storage.Wrap(new InMemoryStorage()) {
+            @Override
+            public CompletableFuture<Optional<Content>> valueIfPresent(final Key key) {
+                reads.incrementAndGet();
+                return super.valueIfPresent(key);
+            }
+        };
+        final Cache cache = new NegativeCache(
+            new FromRemoteCache(new InMemoryStorage()), Duration.ofMinutes(1), 10, markers
+        );
+        final Key key = new Key.From("present.jar");
+        for (int idx = 0; idx < 3; idx += 1) {
+            cache.load(
+                key,
+                () -> CompletableFuture.completedFuture(Optional.of(new Content.From(new byte[1]))),
+                CacheControl.Standard.NO_CACHE
+            ).toCompletableFuture().join();
+        }
+        MatcherAssert.assertThat(reads.get(), new IsEqual<>(1));
+    }
+}
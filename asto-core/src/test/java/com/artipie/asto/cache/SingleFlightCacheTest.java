@@ -0,0 +1,208 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.cache;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.asto.test.ContentIs;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsInstanceOf;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link SingleFlightCache}.
+ *
+ * @since 1.16
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class SingleFlightCacheTest {
+
+    @Test
+    void loadsRemoteOnceForConcurrentLoads() {
+        final byte[] data = "artifact".getBytes();
+        final CompletableFuture<Optional<? extends Content>> gate = new CompletableFuture<>();
+        final AtomicInteger calls = new AtomicInteger();
+        final Cache cache = new SingleFlightCache(new FromStorageCache(new InMemoryStorage()));
+        final Key key = new Key.From("popular");
+        final List<CompletionStage<Optional<? extends Content>>> loads = new ArrayList<>(10);
+        for (int idx = 0; idx < 10; idx += 1) {
+            loads.add(
+                cache.load(
+                    key,
+                    () -> {
+                        calls.incrementAndGet();
+                        return gate;
+                    },
+                    CacheControl.Standard.ALWAYS
+                )
+            );
+        }
+        gate.complete(Optional.of(new Content.From(data)));
+        for (final CompletionStage<Optional<? extends Content>> load : loads) {
+            MatcherAssert.assertThat(
+                load.toCompletableFuture().join().get(),
+                new ContentIs(data)
+            );
+        }
+        MatcherAssert.assertThat(calls.get(), new IsEqual<>(1));
+    }
+
+    @Test
+    void servesConcurrentLoadsWhenStreamedContentIsSaved() {
+        final byte[] data = "streamed".getBytes();
+        final CompletableFuture<Optional<? extends Content>> gate = new CompletableFuture<>();
+        final Cache cache = new SingleFlightCache(
+            new FromStorageCache(new InMemoryStorage(), true)
+        );
+        final Key key = new Key.From("teed");
+        final CompletionStage<Optional<? extends Content>> first =
+            cache.load(key, () -> gate, CacheControl.Standard.ALWAYS);
+        final CompletionStage<Optional<? extends Content>> second = cache.load(
+            key, new Remote.Failed(new IllegalStateException("Should not be called")),
+            CacheControl.Standard.ALWAYS
+        );
+        gate.complete(Optional.of(new Content.From(data)));
+        MatcherAssert.assertThat(
+            "Second load completed before content was saved",
+            second.toCompletableFuture().isDone(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            first.toCompletableFuture().join().get(),
+            new ContentIs(data)
+        );
+        MatcherAssert.assertThat(
+            second.toCompletableFuture().join().get(),
+            new ContentIs(data)
+        );
+    }
+
+    @Test
+    void servesConcurrentLoadsWithNoCacheControl() {
+        final byte[] data = "fresh".getBytes();
+        final CompletableFuture<Optional<? extends Content>> gate = new CompletableFuture<>();
+        final Cache cache = new SingleFlightCache(new FromStorageCache(new InMemoryStorage()));
+        final Key key = new Key.From("uncached");
+        final CompletionStage<Optional<? extends Content>> first =
+            cache.load(key, () -> gate, CacheControl.Standard.NO_CACHE);
+        final CompletionStage<Optional<? extends Content>> second = cache.load(
+            key, new Remote.Failed(new IllegalStateException("Should not be called")),
+            CacheControl.Standard.NO_CACHE
+        );
+        gate.complete(Optional.of(new Content.From(data)));
+        MatcherAssert.assertThat(
+            "First load is not served",
+            first.toCompletableFuture().join().get(),
+            new ContentIs(data)
+        );
+        MatcherAssert.assertThat(
+            "Concurrent load is not served with content of first load",
+            second.toCompletableFuture().join().get(),
+            new ContentIs(data)
+        );
+    }
+
+    @Test
+    void failsConcurrentLoadsWithRemoteError() {
+        final CompletableFuture<Optional<? extends Content>> gate = new CompletableFuture<>();
+        final AtomicInteger calls = new AtomicInteger();
+        final Cache cache = new SingleFlightCache(new FromRemoteCache(new InMemoryStorage()));
+        final Key key = new Key.From("failing");
+        final Remote remote = () -> {
+            calls.incrementAndGet();
+            return gate;
+        };
+        final CompletionStage<Optional<? extends Content>> first =
+            cache.load(key, remote, CacheControl.Standard.ALWAYS);
+        final CompletionStage<Optional<? extends Content>> second =
+            cache.load(key, remote, CacheControl.Standard.ALWAYS);
+        gate.completeExceptionally(new IllegalStateException("Upstream is down"));
+        Assertions.assertThrows(
+            CompletionException.class, () -> first.toCompletableFuture().join()
+        );
+        final CompletionException err = Assertions.assertThrows(
+            CompletionException.class, () -> second.toCompletableFuture().join()
+        );
+        MatcherAssert.assertThat(
+            err.getCause(), new IsInstanceOf(IllegalStateException.class)
+        );
+        MatcherAssert.assertThat(calls.get(), new IsEqual<>(1));
+    }
+
+    @Test
+    void completesConcurrentLoadsWithEmptyRemote() {
+        final CompletableFuture<Optional<? extends Content>> gate = new CompletableFuture<>();
+        final Cache cache = new SingleFlightCache(new FromStorageCache(new InMemoryStorage()));
+        final Key key = new Key.From("absent");
+        cache.load(key, () -> gate, CacheControl.Standard.ALWAYS);
+        final CompletionStage<Optional<? extends Content>> second = cache.load(
+            key, new Remote.Failed(new IllegalStateException("Should not be called")),
+            CacheControl.Standard.ALWAYS
+        );
+        gate.complete(Optional.empty());
+        MatcherAssert.assertThat(
+            second.toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void loadsRemoteAgainWhenPreviousLoadCompleted() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Cache cache = new SingleFlightCache(new FromRemoteCache(new InMemoryStorage()));
+        final Key key = new Key.From("sequential");
+        final Remote remote = () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(Optional.of(new Content.From(new byte[2])));
+        };
+        cache.load(key, remote, CacheControl.Standard.ALWAYS).toCompletableFuture().join();
+        cache.load(key, remote, CacheControl.Standard.ALWAYS).toCompletableFuture().join();
+        MatcherAssert.assertThat(calls.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void doesNotCancelConcurrentLoadsWhenFirstIsCancelled() {
+        final byte[] data = "value".getBytes();
+        final CompletableFuture<Optional<? extends Content>> gate = new CompletableFuture<>();
+        final Cache cache = new SingleFlightCache(new FromStorageCache(new InMemoryStorage()));
+        final Key key = new Key.From("cancelled");
+        cache.load(key, () -> gate, CacheControl.Standard.ALWAYS)
+            .toCompletableFuture().cancel(true);
+        final CompletionStage<Optional<? extends Content>> second =
+            cache.load(key, () -> gate, CacheControl.Standard.ALWAYS);
+        gate.complete(Optional.of(new Content.From(data)));
+        MatcherAssert.assertThat(
+            second.toCompletableFuture().join().get(),
+            new ContentIs(data)
+        );
+    }
+
+    @Test
+    void servesConcurrentLoadWhenFirstContentIsNeverRead() throws Exception {
+        final byte[] data = "unread".getBytes();
+        final CompletableFuture<Optional<? extends Content>> gate = new CompletableFuture<>();
+        final Cache cache = new SingleFlightCache(new FromRemoteCache(new InMemoryStorage()));
+        final Key key = new Key.From("unread");
+        cache.load(key, () -> gate, CacheControl.Standard.ALWAYS);
+        final CompletionStage<Optional<? extends Content>> second =
+            cache.load(key, () -> gate, CacheControl.Standard.ALWAYS);
+        gate.complete(Optional.of(new Content.From(data)));
+        MatcherAssert.assertThat(
+            second.toCompletableFuture().get(5, TimeUnit.SECONDS).get(),
+            new ContentIs(data)
+        );
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.cache;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.asto.test.ContentIs;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link StaleWhileRevalidateCache}.
+ *
+ * @since 1.16
+ */
+final class StaleWhileRevalidateCacheTest {
+
+    @Test
+    void servesStaleItemAndRefreshesItOnce() {
+        final Storage storage = new InMemoryStorage();
+        final Key key = new Key.From("maven-metadata.xml");
+        new BlockingStorage(storage).save(key, "old".getBytes());
+        final CompletableFuture<Optional<? extends Content>> gate = new CompletableFuture<>();
+        final AtomicInteger calls = new AtomicInteger();
+        final Remote remote = () -> {
+            calls.incrementAndGet();
+            return gate;
+        };
+        final Cache cache = new StaleWhileRevalidateCache(storage);
+        MatcherAssert.assertThat(
+            "First load did not return stale item",
+            cache.load(key, remote, CacheControl.Standard.NO_CACHE)
+                .toCompletableFuture().join().get(),
+            new ContentIs("old".getBytes())
+        );
+        MatcherAssert.assertThat(
+            "Second load did not return stale item",
+            cache.load(key, remote, CacheControl.Standard.NO_CACHE)
+                .toCompletableFuture().join().get(),
+            new ContentIs("old".getBytes())
+        );
+        gate.complete(Optional.of(new Content.From("new".getBytes())));
+        MatcherAssert.assertThat(
+            "Remote was not called once",
+            calls.get(),
+            new IsEqual<>(1)
+        );
+        MatcherAssert.assertThat(
+            "Item was not refreshed",
+            new BlockingStorage(storage).value(key),
+            new IsEqual<>("new".getBytes())
+        );
+    }
+
+    @Test
+    void doesNotRefreshValidItem() {
+        final Storage storage = new InMemoryStorage();
+        final Key key = new Key.From("fresh");
+        new BlockingStorage(storage).save(key, "cached".getBytes());
+        MatcherAssert.assertThat(
+            new StaleWhileRevalidateCache(storage).load(
+                key,
+                new Remote.Failed(new IllegalStateException("Should not be called")),
+                CacheControl.Standard.ALWAYS
+            ).toCompletableFuture().join().get(),
+            new ContentIs("cached".getBytes())
+        );
+    }
+
+    @Test
+    void loadsAbsentItemFromRemote() {
+        final byte[] data = "remote".getBytes();
+        MatcherAssert.assertThat(
+            new StaleWhileRevalidateCache(new InMemoryStorage()).load(
+                new Key.From("absent"),
+                () -> CompletableFuture.completedFuture(Optional.of(new Content.From(data))),
+                CacheControl.Standard.NO_CACHE
+            ).toCompletableFuture().join().get(),
+            new ContentIs(data)
+        );
+    }
+
+    @Test
+    void refreshesWithoutReadingCachedItem() {
+        final Storage origin = new InMemoryStorage();
+        final Key key = new Key.From("index.json");
+        new BlockingStorage(origin).save(key, "old".getBytes());
+        final AtomicInteger reads = new AtomicInteger();
+        final Storage storage = new Storage.Wrap(origin) {
+            @Override
+            public CompletableFuture<Optional<Content>> valueIfPresent(final Key key) {
+                reads.incrementAndGet();
+                return super.valueIfPresent(key);
+            }
+
+            @Override
+            public CompletableFuture<Content> value(final Key key) {
+                reads.incrementAndGet();
+                return super.value(key);
+            }
+        };
+        new StaleWhileRevalidateCache(storage).load(
+            key,
+            () -> CompletableFuture.completedFuture(
+                Optional.of(new Content.From("new".getBytes()))
+            ),
+            CacheControl.Standard.NO_CACHE
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Cached item was read more than once",
+            reads.get(),
+            new IsEqual<>(1)
+        );
+        MatcherAssert.assertThat(
+            "Item was not refreshed",
+            new BlockingStorage(origin).value(key),
+            new IsEqual<>("new".getBytes())
+        );
+    }
+}
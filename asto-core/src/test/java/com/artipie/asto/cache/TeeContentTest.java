@@ -0,0 +1,153 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.cache;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.asto.test.ContentIs;
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link TeeContent}.
+ *
+ * @since 1.16
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class TeeContentTest {
+
+    @Test
+    void streamsToReaderAndStorage() {
+        final Storage storage = new InMemoryStorage();
+        final Key key = new Key.From("tee");
+        final TeeContent content = new TeeContent(storage, key, TeeContentTest.remote());
+        MatcherAssert.assertThat(
+            "Reader did not get remote content",
+            content,
+            new ContentIs("abc".getBytes())
+        );
+        content.saved().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Storage did not save remote content",
+            new BlockingStorage(storage).value(key),
+            new IsEqual<>("abc".getBytes())
+        );
+    }
+
+    @Test
+    void savesWhenReaderCancels() {
+        final Storage storage = new InMemoryStorage();
+        final Key key = new Key.From("cancelled");
+        final TeeContent content = new TeeContent(storage, key, TeeContentTest.remote());
+        Flowable.fromPublisher(content).take(1).blockingSubscribe();
+        content.saved().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            new BlockingStorage(storage).value(key),
+            new IsEqual<>("abc".getBytes())
+        );
+    }
+
+    @Test
+    void savesWhenReaderNeverSubscribes() throws Exception {
+        final Storage storage = new InMemoryStorage();
+        final Key key = new Key.From("unread");
+        new TeeContent(
+            storage, key, TeeContentTest.remote(), Duration.ofMillis(10), Duration.ofMinutes(1)
+        ).saved().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(
+            new BlockingStorage(storage).value(key),
+            new IsEqual<>("abc".getBytes())
+        );
+    }
+
+    @Test
+    void readsFromStorageWhenReaderJoinsLate() throws Exception {
+        final TeeContent content = new TeeContent(
+            new InMemoryStorage(), new Key.From("late"), TeeContentTest.remote(),
+            Duration.ofMillis(10), Duration.ofMinutes(1)
+        );
+        content.saved().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(
+            content,
+            new ContentIs("abc".getBytes())
+        );
+    }
+
+    @Test
+    void savesWhenReaderCancelsMidStream() throws Exception {
+        final Storage storage = new InMemoryStorage();
+        final Key key = new Key.From("mid-stream");
+        final TeeContent content = new TeeContent(storage, key, TeeContentTest.remote());
+        final TestSubscriber<ByteBuffer> reader = Flowable.fromPublisher(content).test(1);
+        reader.assertValueCount(1);
+        reader.cancel();
+        content.saved().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(
+            new BlockingStorage(storage).value(key),
+            new IsEqual<>("abc".getBytes())
+        );
+    }
+
+    @Test
+    void abortsSaveWhenRemoteStalls() {
+        final TeeContent content = new TeeContent(
+            new InMemoryStorage(), new Key.From("stalled"), new Content.From(Flowable.never()),
+            Duration.ofMillis(10), Duration.ofMillis(100)
+        );
+        Assertions.assertThrows(
+            ExecutionException.class,
+            () -> content.saved().toCompletableFuture().get(5, TimeUnit.SECONDS)
+        );
+    }
+
+    @Test
+    void savesWhenReaderStallsLongerThanIdleTimeout() throws Exception {
+        final Storage storage = new InMemoryStorage();
+        final Key key = new Key.From("slow-reader");
+        final TeeContent content = new TeeContent(
+            storage, key, TeeContentTest.remote(), Duration.ofSeconds(1), Duration.ofMillis(50)
+        );
+        final TestSubscriber<ByteBuffer> reader = Flowable.fromPublisher(content).test(1);
+        reader.assertValueCount(1);
+        Thread.sleep(300);
+        reader.requestMore(2);
+        content.saved().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        reader.assertValueCount(3).assertComplete();
+        MatcherAssert.assertThat(
+            new BlockingStorage(storage).value(key),
+            new IsEqual<>("abc".getBytes())
+        );
+    }
+
+    @Test
+    void streamsToReaderWhenStorageFails() {
+        MatcherAssert.assertThat(
+            new TeeContent(new InMemoryStorage(), Key.ROOT, TeeContentTest.remote()),
+            new ContentIs("abc".getBytes())
+        );
+    }
+
+    /**
+     * Remote content of several buffers.
+     *
+     * @return Content.
+     */
+    private static Content remote() {
+        return new Content.From(
+            Flowable.just("a", "b", "c").map(str -> ByteBuffer.wrap(str.getBytes()))
+        );
+    }
+}
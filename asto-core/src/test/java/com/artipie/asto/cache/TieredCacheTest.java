@@ -0,0 +1,124 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.cache;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.memory.BoundedInMemoryStorage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.asto.test.ContentIs;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link TieredCache}.
+ *
+ * @since 1.16
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class TieredCacheTest {
+
+    @Test
+    void promotesFrequentlyLoadedItem() {
+        final byte[] data = "index".getBytes();
+        final TieredCache cache = new TieredCache(
+            1024, new FromStorageCache(new InMemoryStorage())
+        );
+        final Key key = new Key.From("repodata", "repomd.xml");
+        for (int idx = 0; idx < 3; idx += 1) {
+            MatcherAssert.assertThat(
+                cache.load(key, TieredCacheTest.remote(data), CacheControl.Standard.ALWAYS)
+                    .toCompletableFuture().join().get(),
+                new ContentIs(data)
+            );
+        }
+        MatcherAssert.assertThat(
+            "Remote was not called once", cache.remoteLoads(), new IsEqual<>(1L)
+        );
+        MatcherAssert.assertThat(
+            "Storage did not serve item", cache.storageHits(), new IsEqual<>(1L)
+        );
+        MatcherAssert.assertThat(
+            "Memory did not serve item", cache.memoryHits(), new IsEqual<>(1L)
+        );
+        MatcherAssert.assertThat(
+            "Item was not promoted", cache.promotions(), new IsEqual<>(1L)
+        );
+        MatcherAssert.assertThat(
+            "Memory weight is wrong", cache.memoryWeight(), new IsEqual<>((long) data.length)
+        );
+    }
+
+    @Test
+    void servesPromotedItemWithoutStorage() {
+        final byte[] data = "hot".getBytes();
+        final Storage storage = new InMemoryStorage();
+        final Cache cache = new TieredCache(
+            new BoundedInMemoryStorage(1024), new FromStorageCache(storage), 1, 1024
+        );
+        final Key key = new Key.From("hot.json");
+        cache.load(key, TieredCacheTest.remote(data), CacheControl.Standard.ALWAYS)
+            .toCompletableFuture().join();
+        new BlockingStorage(storage).delete(key);
+        MatcherAssert.assertThat(
+            cache.load(
+                key,
+                new Remote.Failed(new IllegalStateException("Should not be called")),
+                CacheControl.Standard.ALWAYS
+            ).toCompletableFuture().join().get(),
+            new ContentIs(data)
+        );
+    }
+
+    @Test
+    void doesNotPromoteLargeItem() {
+        final byte[] data = new byte[100];
+        final TieredCache cache = new TieredCache(
+            new BoundedInMemoryStorage(1024), new FromStorageCache(new InMemoryStorage()), 1, 10
+        );
+        final Key key = new Key.From("large.jar");
+        for (int idx = 0; idx < 3; idx += 1) {
+            cache.load(key, TieredCacheTest.remote(data), CacheControl.Standard.ALWAYS)
+                .toCompletableFuture().join();
+        }
+        MatcherAssert.assertThat(cache.memoryHits(), new IsEqual<>(0L));
+        MatcherAssert.assertThat(cache.storageHits(), new IsEqual<>(2L));
+    }
+
+    @Test
+    void replacesInvalidItemInMemory() {
+        final Cache cache = new TieredCache(
+            new BoundedInMemoryStorage(1024), new FromStorageCache(new InMemoryStorage()), 1, 1024
+        );
+        final Key key = new Key.From("metadata.xml");
+        cache.load(key, TieredCacheTest.remote("old".getBytes()), CacheControl.Standard.ALWAYS)
+            .toCompletableFuture().join();
+        cache.load(key, TieredCacheTest.remote("new".getBytes()), CacheControl.Standard.NO_CACHE)
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            cache.load(
+                key,
+                new Remote.Failed(new IllegalStateException("Should not be called")),
+                CacheControl.Standard.ALWAYS
+            ).toCompletableFuture().join().get(),
+            new ContentIs("new".getBytes())
+        );
+    }
+
+    /**
+     * Remote with content.
+     *
+     * @param data Content bytes.
+     * @return Remote.
+     */
+    private static Remote remote(final byte[] data) {
+        return () -> CompletableFuture.completedFuture(Optional.of(new Content.From(data)));
+    }
+}
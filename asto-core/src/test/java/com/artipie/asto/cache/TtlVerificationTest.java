@@ -0,0 +1,123 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.cache;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.Storage;
+import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.ext.CompletableFutureSupport;
+import com.artipie.asto.fs.FileStorage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.asto.test.ContentIs;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link TtlVerification}.
+ *
+ * @since 1.16
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+final class TtlVerificationTest {
+
+    /**
+     * Temp dir.
+     */
+    @TempDir
+    Path tmp;
+
+    @Test
+    void validatesRecentlyUpdatedItem() {
+        final Storage storage = new FileStorage(this.tmp);
+        final Key key = new Key.From("maven-metadata.xml");
+        new BlockingStorage(storage).save(key, "<metadata/>".getBytes());
+        MatcherAssert.assertThat(
+            new TtlVerification(storage, Duration.ofMinutes(1))
+                .validate(key, Remote.EMPTY).toCompletableFuture().join(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void invalidatesExpiredItem() {
+        final Storage storage = new FileStorage(this.tmp);
+        final Key key = new Key.From("index.json");
+        new BlockingStorage(storage).save(key, "{}".getBytes());
+        MatcherAssert.assertThat(
+            new TtlVerification(storage, Duration.ZERO)
+                .validate(key, Remote.EMPTY).toCompletableFuture().join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void invalidatesAbsentItem() {
+        MatcherAssert.assertThat(
+            new TtlVerification(new FileStorage(this.tmp), Duration.ofMinutes(1))
+                .validate(new Key.From("absent"), Remote.EMPTY).toCompletableFuture().join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void validatesRecentlyUpdatedItemInMemory() {
+        final Storage storage = new InMemoryStorage();
+        final Key key = new Key.From("index.html");
+        new BlockingStorage(storage).save(key, new byte[1]);
+        MatcherAssert.assertThat(
+            new TtlVerification(storage, Duration.ofMinutes(1))
+                .validate(key, Remote.EMPTY).toCompletableFuture().join(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void invalidatesItemWithoutUpdateTime() {
+        final Storage origin = new InMemoryStorage();
+        final Key key = new Key.From("no-time");
+        new BlockingStorage(origin).save(key, new byte[1]);
+        MatcherAssert.assertThat(
+            new TtlVerification(
+                new Storage.Wrap(origin) {
+                    @Override
+                    public CompletableFuture<? extends Meta> metadata(final Key key) {
+                        return CompletableFuture.completedFuture(Meta.EMPTY);
+                    }
+                },
+                Duration.ofMinutes(1)
+            ).validate(key, Remote.EMPTY).toCompletableFuture().join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void readsUpdateTimeReturnedWithCachedValue() {
+        final Storage origin = new InMemoryStorage();
+        final Key key = new Key.From("with-value");
+        new BlockingStorage(origin).save(key, "cached".getBytes());
+        final Storage storage = new Storage.Wrap(origin) {
+            @Override
+            public CompletableFuture<? extends Meta> metadata(final Key key) {
+                return new CompletableFutureSupport.Failed<Meta>(
+                    new IllegalStateException("Metadata should not be requested")
+                ).get();
+            }
+        };
+        MatcherAssert.assertThat(
+            new FromStorageCache(storage).load(
+                key,
+                new Remote.Failed(new IllegalStateException("Remote should not be called")),
+                new TtlVerification(storage, Duration.ofMinutes(1))
+            ).toCompletableFuture().join().get(),
+            new ContentIs("cached".getBytes())
+        );
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.fs;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.LoggingStorage;
+import com.artipie.asto.Storage;
+import com.artipie.asto.SubStorage;
+import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.ext.PublisherAs;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsInstanceOf;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link FileContent}.
+ *
+ * @since 1.16
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class FileContentTest {
+
+    @Test
+    void exposesFileRegionThroughDecorators(@TempDir final Path tmp) {
+        final Storage storage = new LoggingStorage(
+            new SubStorage(new Key.From("prefix"), new FileStorage(tmp))
+        );
+        final Key key = new Key.From("file.txt");
+        new BlockingStorage(storage).save(key, "hello world".getBytes(StandardCharsets.UTF_8));
+        final Content content = storage.value(key, 6, 100).join();
+        MatcherAssert.assertThat(
+            "Value should be file content",
+            content,
+            new IsInstanceOf(FileContent.class)
+        );
+        final FileContent file = (FileContent) content;
+        MatcherAssert.assertThat(
+            "File region should point to saved file",
+            new long[]{file.offset(), file.length()},
+            new IsEqual<>(new long[]{6, 5})
+        );
+        MatcherAssert.assertThat(
+            "Path should be resolved from prefixed key",
+            file.path(),
+            new IsEqual<>(tmp.resolve("prefix").resolve("file.txt"))
+        );
+    }
+
+    @Test
+    void transfersRegionToChannel(@TempDir final Path tmp) throws Exception {
+        final FileStorage storage = new FileStorage(tmp);
+        final Key key = new Key.From("a", "b");
+        new BlockingStorage(storage).save(key, "0123456789".getBytes(StandardCharsets.UTF_8));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final long sent = ((FileContent) storage.value(key, 2, 5).join())
+            .transferTo(Channels.newChannel(out));
+        MatcherAssert.assertThat(
+            new String(out.toByteArray(), StandardCharsets.UTF_8),
+            new IsEqual<>("23456")
+        );
+        MatcherAssert.assertThat(sent, new IsEqual<>(5L));
+    }
+
+    @Test
+    void publishesRegionBytes(@TempDir final Path tmp) {
+        final FileStorage storage = new FileStorage(tmp);
+        final Key key = new Key.From("c");
+        final byte[] data = new byte[200 * 1024];
+        data[data.length - 1] = 1;
+        new BlockingStorage(storage).save(key, data);
+        MatcherAssert.assertThat(
+            new PublisherAs(storage.value(key).join()).bytes().toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.fs;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.ext.PublisherAs;
+import io.reactivex.Flowable;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsInstanceOf;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link IoExecutor}.
+ *
+ * @since 1.16
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class IoExecutorTest {
+
+    @Test
+    void measuresQueueDepth() throws Exception {
+        final IoExecutor exec = IoExecutor.fixed("test-io", 1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final CompletableFuture<Void> first = CompletableFuture.runAsync(
+            () -> {
+                started.countDown();
+                try {
+                    latch.await();
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            },
+            exec
+        );
+        started.await(1, TimeUnit.SECONDS);
+        final CompletableFuture<Void> second = CompletableFuture.runAsync(() -> { }, exec);
+        MatcherAssert.assertThat(
+            "Second task should wait in queue",
+            exec.queueDepth(),
+            new IsEqual<>(1)
+        );
+        latch.countDown();
+        CompletableFuture.allOf(first, second).get(1, TimeUnit.SECONDS);
+        CompletableFuture.runAsync(() -> { }, exec).get(1, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(
+            "Both tasks should be completed",
+            exec.completed(),
+            Matchers.greaterThanOrEqualTo(2L)
+        );
+        MatcherAssert.assertThat(
+            "Queue should be empty",
+            exec.queueDepth(),
+            new IsEqual<>(0)
+        );
+    }
+
+    @Test
+    void runsStorageCallsOnProvidedExecutors(@TempDir final Path tmp) {
+        final IoExecutors exec = new IoExecutors(
+            IoExecutor.fixed("test-meta", 1), IoExecutor.fixed("test-bulk", 1)
+        );
+        final BlockingStorage storage = new BlockingStorage(new FileStorage(tmp, exec));
+        final Key key = new Key.From("one");
+        storage.save(key, new byte[]{1, 2});
+        storage.exists(key);
+        storage.value(key);
+        CompletableFuture.runAsync(() -> { }, exec.metadata()).join();
+        CompletableFuture.runAsync(() -> { }, exec.bulk()).join();
+        MatcherAssert.assertThat(
+            "Metadata calls should run on metadata executor",
+            exec.metadata().completed(),
+            Matchers.greaterThan(0L)
+        );
+        MatcherAssert.assertThat(
+            "Bulk I/O should run on bulk executor",
+            exec.bulk().completed(),
+            Matchers.greaterThan(0L)
+        );
+    }
+
+    @Test
+    void queuesTasksWithoutLimitByDefault() throws Exception {
+        final IoExecutor exec = IoExecutor.fixed("test-unbounded", 1);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final CompletableFuture<Void> first = IoExecutorTest.block(exec, latch);
+        final CompletableFuture<?>[] queued = new CompletableFuture<?>[1000];
+        for (int idx = 0; idx < queued.length; idx += 1) {
+            queued[idx] = CompletableFuture.runAsync(() -> { }, exec);
+        }
+        latch.countDown();
+        CompletableFuture.allOf(queued).get(5, TimeUnit.SECONDS);
+        first.get(1, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(exec.overflows(), new IsEqual<>(0L));
+    }
+
+    @Test
+    void rejectsTaskWhenQueueIsFull() throws Exception {
+        final IoExecutor exec = IoExecutor.fixed("test-bounded", 1, 1);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final CompletableFuture<Void> first = IoExecutorTest.block(exec, latch);
+        final CompletableFuture<Void> queued = CompletableFuture.runAsync(() -> { }, exec);
+        final CompletableFuture<Thread> overflow = CompletableFuture.completedFuture(0)
+            .thenApplyAsync(ignored -> Thread.currentThread(), exec);
+        final ExecutionException err = Assertions.assertThrows(
+            ExecutionException.class,
+            () -> overflow.get(1, TimeUnit.SECONDS)
+        );
+        MatcherAssert.assertThat(
+            "Task should be rejected when queue is full",
+            err.getCause(),
+            new IsInstanceOf(RejectedExecutionException.class)
+        );
+        MatcherAssert.assertThat(
+            "Overflow should be counted",
+            exec.overflows(),
+            new IsEqual<>(1L)
+        );
+        MatcherAssert.assertThat(
+            "Rejected task should not be counted as waiting",
+            exec.queueDepth(),
+            new IsEqual<>(1)
+        );
+        latch.countDown();
+        CompletableFuture.allOf(first, queued).get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void failsFileReadWhenQueueIsFull(@TempDir final Path tmp) throws Exception {
+        final IoExecutor bulk = IoExecutor.fixed("test-read", 1, 1);
+        final FileStorage storage = new FileStorage(
+            tmp, new IoExecutors(IoExecutor.fixed("test-read-meta", 1), bulk)
+        );
+        final Key key = new Key.From("file");
+        storage.save(key, new Content.From(new byte[]{1, 2, 3})).join();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final CompletableFuture<Void> first = IoExecutorTest.block(bulk, latch);
+        final CompletableFuture<Void> queued = CompletableFuture.runAsync(() -> { }, bulk);
+        final Throwable err = Flowable.fromPublisher(storage.value(key).join())
+            .ignoreElements()
+            .blockingGet();
+        MatcherAssert.assertThat(
+            "Read should fail instead of running on caller thread",
+            err,
+            new IsInstanceOf(RejectedExecutionException.class)
+        );
+        latch.countDown();
+        CompletableFuture.allOf(first, queued).get(1, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(
+            new PublisherAs(storage.value(key).join()).bytes().toCompletableFuture().join(),
+            new IsEqual<>(new byte[]{1, 2, 3})
+        );
+    }
+
+    @Test
+    void sharesPoolsOfSameSettings() {
+        MatcherAssert.assertThat(
+            IoExecutors.pools(2, 3).bulk(),
+            Matchers.sameInstance(IoExecutors.pools(5, 3).bulk())
+        );
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_17)
+    void refusesVirtualThreadsWhenUnsupported() {
+        Assertions.assertThrows(IllegalStateException.class, IoExecutors::virtual);
+    }
+
+    /**
+     * Occupy executor thread until latch is released.
+     *
+     * @param exec Executor.
+     * @param latch Latch.
+     * @return Completion of blocking task.
+     * @throws InterruptedException If interrupted.
+     */
+    private static CompletableFuture<Void> block(final IoExecutor exec,
+        final CountDownLatch latch) throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CompletableFuture<Void> res = CompletableFuture.runAsync(
+            () -> {
+                started.countDown();
+                try {
+                    latch.await();
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            },
+            exec
+        );
+        started.await(1, TimeUnit.SECONDS);
+        return res;
+    }
+}
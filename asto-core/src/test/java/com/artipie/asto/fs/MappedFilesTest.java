@@ -0,0 +1,95 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.fs;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Remaining;
+import com.artipie.asto.blocking.BlockingStorage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link MappedFiles}.
+ *
+ * @since 1.16
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class MappedFilesTest {
+
+    @Test
+    void countsHitsAndMisses(@TempDir final Path tmp) throws Exception {
+        final Path file = tmp.resolve("one");
+        Files.write(file, "one".getBytes(StandardCharsets.UTF_8));
+        final MappedFiles cache = new MappedFiles(100);
+        cache.get(file);
+        final byte[] read = new Remaining(cache.get(file).get()).bytes();
+        MatcherAssert.assertThat(
+            "Mapped bytes",
+            new String(read, StandardCharsets.UTF_8),
+            new IsEqual<>("one")
+        );
+        MatcherAssert.assertThat(
+            "Hits and misses",
+            new long[]{cache.hits(), cache.misses()},
+            new IsEqual<>(new long[]{1, 1})
+        );
+    }
+
+    @Test
+    void doesNotMapLargeFiles(@TempDir final Path tmp) throws Exception {
+        final Path file = tmp.resolve("large");
+        Files.write(file, new byte[11]);
+        MatcherAssert.assertThat(
+            new MappedFiles(100, 10).get(file).isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed(@TempDir final Path tmp) throws Exception {
+        final Path first = tmp.resolve("first");
+        final Path second = tmp.resolve("second");
+        final Path third = tmp.resolve("third");
+        Files.write(first, new byte[4]);
+        Files.write(second, new byte[4]);
+        Files.write(third, new byte[4]);
+        final MappedFiles cache = new MappedFiles(8);
+        cache.get(first);
+        cache.get(second);
+        cache.get(first);
+        cache.get(third);
+        cache.get(first);
+        cache.get(second);
+        MatcherAssert.assertThat(
+            new long[]{cache.hits(), cache.misses()},
+            new IsEqual<>(new long[]{2, 4})
+        );
+    }
+
+    @Test
+    void invalidatesMappingOnSave(@TempDir final Path tmp) {
+        final MappedFiles cache = new MappedFiles(1024);
+        final BlockingStorage storage = new BlockingStorage(new FileStorage(tmp, cache));
+        final Key key = new Key.From("index.yaml");
+        storage.save(key, "old".getBytes(StandardCharsets.UTF_8));
+        storage.value(key);
+        storage.save(key, "new".getBytes(StandardCharsets.UTF_8));
+        MatcherAssert.assertThat(
+            "Value should be updated",
+            new String(storage.value(key), StandardCharsets.UTF_8),
+            new IsEqual<>("new")
+        );
+        MatcherAssert.assertThat(
+            "Value should be mapped again",
+            cache.misses(),
+            new IsEqual<>(2L)
+        );
+    }
+}
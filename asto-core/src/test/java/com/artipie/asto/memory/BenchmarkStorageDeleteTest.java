@@ -8,9 +8,9 @@ import com.artipie.asto.Content;
 import com.artipie.asto.Key;
 import com.artipie.asto.ValueNotFoundException;
 import com.artipie.asto.ext.PublisherAs;
-import java.util.NavigableMap;
-import java.util.TreeMap;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.IsEqual;
 import org.hamcrest.core.IsInstanceOf;
@@ -43,8 +43,9 @@ final class BenchmarkStorageDeleteTest {
     @Test
     void returnsNotFoundIfValueWasDeletedButPresentInBackend() {
         final Key key = new Key.From("somekey");
-        final NavigableMap<String, byte[]> backdata = new TreeMap<>();
-        backdata.put(key.string(), "shouldBeObtained".getBytes());
+        final ConcurrentNavigableMap<String, InMemoryStorage.Entry> backdata =
+            new ConcurrentSkipListMap<>();
+        backdata.put(key.string(), new InMemoryStorage.Entry("shouldBeObtained".getBytes()));
         final InMemoryStorage memory = new InMemoryStorage(backdata);
         final BenchmarkStorage bench = new BenchmarkStorage(memory);
         bench.delete(key).join();
@@ -6,8 +6,8 @@ package com.artipie.asto.memory;
 
 import com.artipie.asto.Content;
 import com.artipie.asto.Key;
-import java.util.NavigableMap;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.IsEqual;
 import org.junit.jupiter.api.Test;
@@ -33,8 +33,9 @@ final class BenchmarkStorageExistsTest {
     @Test
     void existsWhenPresentInBackendAndNotDeleted() {
         final Key key = new Key.From("somekey");
-        final NavigableMap<String, byte[]> backdata = new TreeMap<>();
-        backdata.put(key.string(), "shouldExist".getBytes());
+        final ConcurrentNavigableMap<String, InMemoryStorage.Entry> backdata =
+            new ConcurrentSkipListMap<>();
+        backdata.put(key.string(), new InMemoryStorage.Entry("shouldExist".getBytes()));
         final InMemoryStorage memory = new InMemoryStorage(backdata);
         final BenchmarkStorage bench = new BenchmarkStorage(memory);
         MatcherAssert.assertThat(
@@ -7,8 +7,8 @@ package com.artipie.asto.memory;
 import com.artipie.asto.Content;
 import com.artipie.asto.Key;
 import java.util.Collections;
-import java.util.NavigableMap;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.hamcrest.core.IsEqual;
@@ -34,8 +34,9 @@ final class BenchmarkStorageListTest {
     @Test
     void returnsListWhenPresentInBackendAndNotDeleted() {
         final Key key = new Key.From("someBackendkey");
-        final NavigableMap<String, byte[]> backdata = new TreeMap<>();
-        backdata.put(key.string(), "".getBytes());
+        final ConcurrentNavigableMap<String, InMemoryStorage.Entry> backdata =
+            new ConcurrentSkipListMap<>();
+        backdata.put(key.string(), new InMemoryStorage.Entry("".getBytes()));
         final InMemoryStorage memory = new InMemoryStorage(backdata);
         final BenchmarkStorage bench = new BenchmarkStorage(memory);
         MatcherAssert.assertThat(
@@ -51,10 +52,11 @@ final class BenchmarkStorageListTest {
         final Key keyone = new Key.From(prefix, "0", "someBackendKey");
         final Key keytwo = new Key.From(prefix, "2", "orderImportant");
         final Key keydel = new Key.From(prefix, "1", "shouldBeDeleted");
-        final NavigableMap<String, byte[]> backdata = new TreeMap<>();
-        backdata.put(keydel.string(), data);
-        backdata.put(keyone.string(), data);
-        backdata.put(keytwo.string(), data);
+        final ConcurrentNavigableMap<String, InMemoryStorage.Entry> backdata =
+            new ConcurrentSkipListMap<>();
+        backdata.put(keydel.string(), new InMemoryStorage.Entry(data));
+        backdata.put(keyone.string(), new InMemoryStorage.Entry(data));
+        backdata.put(keytwo.string(), new InMemoryStorage.Entry(data));
         final InMemoryStorage memory = new InMemoryStorage(backdata);
         final BenchmarkStorage bench = new BenchmarkStorage(memory);
         bench.delete(keydel).join();
@@ -68,8 +70,9 @@ final class BenchmarkStorageListTest {
     void combineKeysFromLocalAndBackendStorages() {
         final Key prfx = new Key.From("prefix");
         final Key bcknd = new Key.From(prfx, "backendkey");
-        final NavigableMap<String, byte[]> backdata = new TreeMap<>();
-        backdata.put(bcknd.string(), "".getBytes());
+        final ConcurrentNavigableMap<String, InMemoryStorage.Entry> backdata =
+            new ConcurrentSkipListMap<>();
+        backdata.put(bcknd.string(), new InMemoryStorage.Entry("".getBytes()));
         final InMemoryStorage memory = new InMemoryStorage(backdata);
         final BenchmarkStorage bench = new BenchmarkStorage(memory);
         final Key lcl = new Key.From(prfx, "localkey");
@@ -84,9 +87,10 @@ final class BenchmarkStorageListTest {
     void notConsiderDeletedKey() {
         final Key delkey = new Key.From("willBeDeleted");
         final Key existkey = new Key.From("shouldRemain");
-        final NavigableMap<String, byte[]> backdata = new TreeMap<>();
-        backdata.put(delkey.string(), "will be deleted".getBytes());
-        backdata.put(existkey.string(), "should remain".getBytes());
+        final ConcurrentNavigableMap<String, InMemoryStorage.Entry> backdata =
+            new ConcurrentSkipListMap<>();
+        backdata.put(delkey.string(), new InMemoryStorage.Entry("will be deleted".getBytes()));
+        backdata.put(existkey.string(), new InMemoryStorage.Entry("should remain".getBytes()));
         final InMemoryStorage memory = new InMemoryStorage(backdata);
         final BenchmarkStorage bench = new BenchmarkStorage(memory);
         bench.delete(delkey).join();
@@ -8,9 +8,9 @@ import com.artipie.asto.ArtipieIOException;
 import com.artipie.asto.Content;
 import com.artipie.asto.Key;
 import com.artipie.asto.ext.PublisherAs;
-import java.util.NavigableMap;
-import java.util.TreeMap;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.IsEqual;
 import org.hamcrest.core.IsInstanceOf;
@@ -72,8 +72,9 @@ final class BenchmarkStorageMoveTest {
         final Key src = new Key.From("someBackendkey");
         final Key dest = new Key.From("destinationInLocal");
         final byte[] data = "saved data".getBytes();
-        final NavigableMap<String, byte[]> backdata = new TreeMap<>();
-        backdata.put(src.string(), data);
+        final ConcurrentNavigableMap<String, InMemoryStorage.Entry> backdata =
+            new ConcurrentSkipListMap<>();
+        backdata.put(src.string(), new InMemoryStorage.Entry(data));
         final InMemoryStorage memory = new InMemoryStorage(backdata);
         final BenchmarkStorage bench = new BenchmarkStorage(memory);
         bench.move(src, dest).join();
@@ -94,9 +95,10 @@ final class BenchmarkStorageMoveTest {
         final Key src = new Key.From("someBackendkey");
         final Key dest = new Key.From("destinationInLocal");
         final byte[] data = "saved data".getBytes();
-        final NavigableMap<String, byte[]> backdata = new TreeMap<>();
-        backdata.put(src.string(), data);
-        backdata.put(dest.string(), "".getBytes());
+        final ConcurrentNavigableMap<String, InMemoryStorage.Entry> backdata =
+            new ConcurrentSkipListMap<>();
+        backdata.put(src.string(), new InMemoryStorage.Entry(data));
+        backdata.put(dest.string(), new InMemoryStorage.Entry("".getBytes()));
         final InMemoryStorage memory = new InMemoryStorage(backdata);
         final BenchmarkStorage bench = new BenchmarkStorage(memory);
         bench.delete(dest).join();
@@ -117,8 +119,9 @@ final class BenchmarkStorageMoveTest {
     void notConsiderDeletedKey() {
         final Key src = new Key.From("willBeDeleted");
         final Key dest = new Key.From("destinationKey");
-        final NavigableMap<String, byte[]> backdata = new TreeMap<>();
-        backdata.put(src.string(), "will be deleted".getBytes());
+        final ConcurrentNavigableMap<String, InMemoryStorage.Entry> backdata =
+            new ConcurrentSkipListMap<>();
+        backdata.put(src.string(), new InMemoryStorage.Entry("will be deleted".getBytes()));
         final InMemoryStorage memory = new InMemoryStorage(backdata);
         final BenchmarkStorage bench = new BenchmarkStorage(memory);
         bench.delete(src).join();
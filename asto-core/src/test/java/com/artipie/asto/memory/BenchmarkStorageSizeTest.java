@@ -7,9 +7,9 @@ package com.artipie.asto.memory;
 import com.artipie.asto.Content;
 import com.artipie.asto.Key;
 import com.artipie.asto.ValueNotFoundException;
-import java.util.NavigableMap;
-import java.util.TreeMap;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.IsEqual;
 import org.hamcrest.core.IsInstanceOf;
@@ -39,8 +39,9 @@ final class BenchmarkStorageSizeTest {
     void returnsSizeWhenPresentInBackendAndNotDeleted() {
         final byte[] data = "super data".getBytes();
         final Key key = new Key.From("someBackendKey");
-        final NavigableMap<String, byte[]> backdata = new TreeMap<>();
-        backdata.put(key.string(), data);
+        final ConcurrentNavigableMap<String, InMemoryStorage.Entry> backdata =
+            new ConcurrentSkipListMap<>();
+        backdata.put(key.string(), new InMemoryStorage.Entry(data));
         final InMemoryStorage memory = new InMemoryStorage(backdata);
         final BenchmarkStorage bench = new BenchmarkStorage(memory);
         MatcherAssert.assertThat(
@@ -8,9 +8,9 @@ import com.artipie.asto.Content;
 import com.artipie.asto.Key;
 import com.artipie.asto.ValueNotFoundException;
 import com.artipie.asto.ext.PublisherAs;
-import java.util.NavigableMap;
-import java.util.TreeMap;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.IsEqual;
 import org.hamcrest.core.IsInstanceOf;
@@ -28,8 +28,9 @@ final class BenchmarkStorageTest {
     void obtainsValueFromBackendIfAbsenceInLocal() {
         final Key key = new Key.From("somekey");
         final byte[] data = "some data".getBytes();
-        final NavigableMap<String, byte[]> backdata = new TreeMap<>();
-        backdata.put(key.string(), data);
+        final ConcurrentNavigableMap<String, InMemoryStorage.Entry> backdata =
+            new ConcurrentSkipListMap<>();
+        backdata.put(key.string(), new InMemoryStorage.Entry(data));
         final InMemoryStorage memory = new InMemoryStorage(backdata);
         final BenchmarkStorage bench = new BenchmarkStorage(memory);
         MatcherAssert.assertThat(
@@ -56,8 +57,9 @@ final class BenchmarkStorageTest {
         final Key key = new Key.From("somekey");
         final byte[] lcl = "some local data".getBytes();
         final byte[] back = "some backend data".getBytes();
-        final NavigableMap<String, byte[]> backdata = new TreeMap<>();
-        backdata.put(key.string(), back);
+        final ConcurrentNavigableMap<String, InMemoryStorage.Entry> backdata =
+            new ConcurrentSkipListMap<>();
+        backdata.put(key.string(), new InMemoryStorage.Entry(back));
         final BenchmarkStorage bench = new BenchmarkStorage(new InMemoryStorage(backdata));
         bench.save(key, new Content.From(lcl)).join();
         MatcherAssert.assertThat(
@@ -0,0 +1,113 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.memory;
+
+import com.artipie.asto.ArtipieIOException;
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import java.time.Instant;
+import java.util.concurrent.CompletionException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsInstanceOf;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link BoundedInMemoryStorage}.
+ *
+ * @since 1.16
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class BoundedInMemoryStorageTest {
+
+    @Test
+    void evictsLeastRecentlyUsedValue() {
+        final BoundedInMemoryStorage storage = new BoundedInMemoryStorage(30);
+        storage.save(new Key.From("a"), new Content.From(new byte[10])).join();
+        storage.save(new Key.From("b"), new Content.From(new byte[10])).join();
+        storage.save(new Key.From("c"), new Content.From(new byte[10])).join();
+        storage.save(new Key.From("d"), new Content.From(new byte[10])).join();
+        MatcherAssert.assertThat(
+            "Oldest value was not evicted",
+            storage.exists(new Key.From("a")).join(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(storage.evictions(), new IsEqual<>(1L));
+        MatcherAssert.assertThat(storage.weight(), new IsEqual<>(30L));
+    }
+
+    @Test
+    void protectsValuesWhichWereRead() {
+        final BoundedInMemoryStorage storage = new BoundedInMemoryStorage(40);
+        final Key hot = new Key.From("hot");
+        storage.save(hot, new Content.From(new byte[10])).join();
+        storage.value(hot).join();
+        for (int idx = 0; idx < 10; idx += 1) {
+            storage.save(
+                new Key.From(String.format("cold-%d", idx)), new Content.From(new byte[10])
+            ).join();
+        }
+        MatcherAssert.assertThat(
+            "Value which was read was evicted by values saved once",
+            storage.exists(hot).join(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(storage.evictions(), new IsEqual<>(7L));
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        final BoundedInMemoryStorage storage = new BoundedInMemoryStorage(100);
+        final Key key = new Key.From("x");
+        storage.save(key, new Content.From(new byte[1])).join();
+        storage.value(key).join();
+        storage.value(key).join();
+        Assertions.assertThrows(
+            CompletionException.class, () -> storage.value(new Key.From("y")).join()
+        );
+        MatcherAssert.assertThat(
+            new long[]{storage.hits(), storage.misses()},
+            new IsEqual<>(new long[]{2, 1})
+        );
+    }
+
+    @Test
+    void failsToSaveValueLargerThanCapacity() {
+        final CompletionException err = Assertions.assertThrows(
+            CompletionException.class,
+            () -> new BoundedInMemoryStorage(10)
+                .save(new Key.From("big"), new Content.From(new byte[11])).join()
+        );
+        MatcherAssert.assertThat(err.getCause(), new IsInstanceOf(ArtipieIOException.class));
+    }
+
+    @Test
+    void doesNotEvictEmptyValues() {
+        final BoundedInMemoryStorage storage = new BoundedInMemoryStorage(10);
+        final Key marker = new Key.From("marker");
+        storage.save(marker, Content.EMPTY).join();
+        storage.save(new Key.From("one"), new Content.From(new byte[10])).join();
+        storage.save(new Key.From("two"), new Content.From(new byte[10])).join();
+        MatcherAssert.assertThat(storage.exists(marker).join(), new IsEqual<>(true));
+    }
+
+    @Test
+    void keepsUpdateTimeOnMove() {
+        final BoundedInMemoryStorage storage = new BoundedInMemoryStorage(10);
+        final Key src = new Key.From("src");
+        final Key dst = new Key.From("dst");
+        storage.save(src, new Content.From(new byte[1])).join();
+        final Instant time = storage.metadata(src).join().read(Meta.OP_UPDATED_AT)
+            .orElseThrow(IllegalStateException::new);
+        storage.move(src, dst).join();
+        MatcherAssert.assertThat(
+            storage.metadata(dst).join().read(Meta.OP_UPDATED_AT)
+                .orElseThrow(IllegalStateException::new),
+            new IsEqual<>(time)
+        );
+    }
+}
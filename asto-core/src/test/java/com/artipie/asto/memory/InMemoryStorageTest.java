@@ -4,11 +4,17 @@
  */
 package com.artipie.asto.memory;
 
+import com.artipie.asto.ArtipieIOException;
 import com.artipie.asto.Content;
 import com.artipie.asto.Key;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsInstanceOf;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
@@ -48,4 +54,82 @@ class InMemoryStorageTest {
             new IsEqual<>(false)
         );
     }
+
+    @Test
+    void movesCurrentValueWhenSourceIsReplacedWhileMoving() {
+        final InMemoryStorage racy = new InMemoryStorage(
+            new RacingMap(map -> map.put("src", new InMemoryStorage.Entry(new byte[]{2})))
+        );
+        racy.save(new Key.From("src"), new Content.From(new byte[]{1})).join();
+        racy.move(new Key.From("src"), new Key.From("dst")).join();
+        MatcherAssert.assertThat(
+            "Current source value should be moved",
+            racy.data.get("dst").value(),
+            new IsEqual<>(new byte[]{2})
+        );
+        MatcherAssert.assertThat(
+            "Source should be removed",
+            racy.data.containsKey("src"),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void failsAndRestoresDestinationWhenSourceIsRemovedWhileMoving() {
+        final InMemoryStorage racy = new InMemoryStorage(
+            new RacingMap(map -> map.remove("src"))
+        );
+        racy.save(new Key.From("src"), new Content.From(new byte[]{1})).join();
+        racy.save(new Key.From("dst"), new Content.From(new byte[]{9})).join();
+        final CompletionException err = Assertions.assertThrows(
+            CompletionException.class,
+            () -> racy.move(new Key.From("src"), new Key.From("dst")).join()
+        );
+        MatcherAssert.assertThat(err.getCause(), new IsInstanceOf(ArtipieIOException.class));
+        MatcherAssert.assertThat(
+            "Destination should be restored",
+            racy.data.get("dst").value(),
+            new IsEqual<>(new byte[]{9})
+        );
+    }
+
+    /**
+     * Map which runs concurrent change right after the first value is put
+     * to destination key.
+     *
+     * @since 1.16
+     */
+    @SuppressWarnings("serial")
+    private static final class RacingMap extends ConcurrentSkipListMap<String, InMemoryStorage.Entry> {
+
+        /**
+         * Concurrent change.
+         */
+        private final transient Consumer<ConcurrentSkipListMap<String, InMemoryStorage.Entry>> race;
+
+        /**
+         * Whether the change was run.
+         */
+        private boolean raced;
+
+        /**
+         * Ctor.
+         *
+         * @param race Concurrent change.
+         */
+        RacingMap(final Consumer<ConcurrentSkipListMap<String, InMemoryStorage.Entry>> race) {
+            this.race = race;
+        }
+
+        @Override
+        public InMemoryStorage.Entry put(final String key, final InMemoryStorage.Entry value) {
+            final InMemoryStorage.Entry res = super.put(key, value);
+            if ("dst".equals(key) && !this.raced && super.containsKey("src")
+                && value.value()[0] == 1) {
+                this.raced = true;
+                this.race.accept(this);
+            }
+            return res;
+        }
+    }
 }
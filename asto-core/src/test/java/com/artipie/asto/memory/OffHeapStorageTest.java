@@ -0,0 +1,228 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.memory;
+
+import com.artipie.asto.ArtipieIOException;
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.ext.PublisherAs;
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletionException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsInstanceOf;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link OffHeapStorage}.
+ *
+ * @since 1.16
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class OffHeapStorageTest {
+
+    @Test
+    void keepsEmittedBufferWhenMemoryIsReused() {
+        final OffHeapStorage storage = new OffHeapStorage(64, 64);
+        final Key key = new Key.From("a");
+        storage.save(key, new Content.From("abc".getBytes(StandardCharsets.UTF_8))).join();
+        final ByteBuffer buf = Flowable.fromPublisher(storage.value(key).join())
+            .blockingFirst();
+        storage.delete(key).join();
+        storage.save(key, new Content.From("xyz".getBytes(StandardCharsets.UTF_8))).join();
+        MatcherAssert.assertThat(
+            StandardCharsets.UTF_8.decode(buf).toString(),
+            new IsEqual<>("abc")
+        );
+    }
+
+    @Test
+    void keepsChunkUntilContentTerminates() {
+        final OffHeapStorage storage = new OffHeapStorage(128, 128);
+        final Key key = new Key.From("kept");
+        final byte[] data = new byte[100];
+        data[0] = 1;
+        storage.save(key, new Content.From(data)).join();
+        final TestSubscriber<ByteBuffer> sub = new TestSubscriber<>(0L);
+        storage.value(key).join().subscribe(sub);
+        storage.delete(key).join();
+        Assertions.assertThrows(
+            CompletionException.class,
+            () -> storage.save(new Key.From("other"), new Content.From(new byte[100])).join(),
+            "Chunk of content being read was released"
+        );
+        sub.request(1);
+        final ByteBuffer buf = sub.assertComplete().values().get(0);
+        MatcherAssert.assertThat(buf.get(0), new IsEqual<>((byte) 1));
+        storage.save(new Key.From("other"), new Content.From(new byte[100])).join();
+        MatcherAssert.assertThat(storage.reserved(), new IsEqual<>(128L));
+    }
+
+    @Test
+    void releasesChunkWhenContentIsCancelled() {
+        final OffHeapStorage storage = new OffHeapStorage(128, 128);
+        final Key key = new Key.From("cancelled");
+        storage.save(key, new Content.From(new byte[100])).join();
+        final TestSubscriber<ByteBuffer> sub = new TestSubscriber<>(0L);
+        storage.value(key).join().subscribe(sub);
+        sub.cancel();
+        storage.delete(key).join();
+        storage.save(new Key.From("reused"), new Content.From(new byte[100])).join();
+        MatcherAssert.assertThat(storage.reserved(), new IsEqual<>(128L));
+    }
+
+    @Test
+    void emitsValueInSlices() {
+        final OffHeapStorage storage = new OffHeapStorage(1024 * 1024, 1024);
+        final Key key = new Key.From("sliced");
+        final byte[] data = new byte[ChunkContent.PIECE * 2 + 10];
+        data[data.length - 1] = 9;
+        storage.save(key, new Content.From(data)).join();
+        MatcherAssert.assertThat(
+            Flowable.fromPublisher(storage.value(key).join()).count().blockingGet(),
+            new IsEqual<>(3L)
+        );
+        MatcherAssert.assertThat(
+            new PublisherAs(storage.value(key).join()).bytes().toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+    }
+
+    @Test
+    void failsWhenBudgetIsExceeded() {
+        final OffHeapStorage storage = new OffHeapStorage(1024, 1024);
+        storage.save(new Key.From("one"), new Content.From(new byte[1000])).join();
+        final CompletionException err = Assertions.assertThrows(
+            CompletionException.class,
+            () -> storage.save(new Key.From("two"), new Content.From(new byte[1000])).join()
+        );
+        MatcherAssert.assertThat(
+            err.getCause(),
+            new IsInstanceOf(ArtipieIOException.class)
+        );
+    }
+
+    @Test
+    void reusesMemoryOfDeletedValue() {
+        final OffHeapStorage storage = new OffHeapStorage(1024, 1024);
+        for (int idx = 0; idx < 10; idx += 1) {
+            final Key key = new Key.From(String.format("key-%d", idx));
+            storage.save(key, new Content.From(new byte[1000])).join();
+            storage.delete(key).join();
+        }
+        MatcherAssert.assertThat(storage.reserved(), new IsEqual<>(1024L));
+    }
+
+    @Test
+    void keepsValueBeingReadWhenReplaced() {
+        final OffHeapStorage storage = new OffHeapStorage(128, 128);
+        final Key key = new Key.From("b");
+        storage.save(key, new Content.From(new byte[]{1, 2, 3})).join();
+        final Content content = storage.value(key).join();
+        storage.save(key, new Content.From(new byte[]{4, 5, 6})).join();
+        MatcherAssert.assertThat(
+            new PublisherAs(content).bytes().toCompletableFuture().join(),
+            new IsEqual<>(new byte[]{1, 2, 3})
+        );
+        MatcherAssert.assertThat(
+            new PublisherAs(storage.value(key).join()).bytes().toCompletableFuture().join(),
+            new IsEqual<>(new byte[]{4, 5, 6})
+        );
+    }
+
+    @Test
+    void storesValuesLargerThanSlab() {
+        final OffHeapStorage storage = new OffHeapStorage(4096, 1024);
+        final Key key = new Key.From("large");
+        final byte[] data = new byte[3000];
+        data[2999] = 7;
+        storage.save(key, new Content.From(data)).join();
+        MatcherAssert.assertThat(
+            new PublisherAs(storage.value(key).join()).bytes().toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+        storage.delete(key).join();
+        storage.save(new Key.From("again"), new Content.From(data)).join();
+        MatcherAssert.assertThat(storage.reserved(), new IsEqual<>(3072L));
+    }
+
+    @Test
+    void savesValueOfUnknownSizeAsItArrives() {
+        final OffHeapStorage storage = new OffHeapStorage(2048, 1024);
+        final Key key = new Key.From("streamed");
+        final byte[] part = new byte[300];
+        part[299] = 5;
+        storage.save(
+            key,
+            new Content.From(
+                Flowable.range(0, 5).map(ignored -> ByteBuffer.wrap(part))
+            )
+        ).join();
+        final byte[] data = new byte[1500];
+        for (int idx = 0; idx < 5; idx += 1) {
+            System.arraycopy(part, 0, data, idx * 300, 300);
+        }
+        MatcherAssert.assertThat(
+            "Value is not saved",
+            new PublisherAs(storage.value(key).join()).bytes().toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+        MatcherAssert.assertThat(
+            "Size is not correct",
+            storage.metadata(key).join().read(Meta.OP_SIZE).get(),
+            new IsEqual<>(1500L)
+        );
+    }
+
+    @Test
+    void releasesMemoryWhenContentFails() {
+        final OffHeapStorage storage = new OffHeapStorage(1024, 1024);
+        Assertions.assertThrows(
+            CompletionException.class,
+            () -> storage.save(
+                new Key.From("failed"),
+                new Content.From(
+                    Flowable.just(ByteBuffer.wrap(new byte[100]))
+                        .concatWith(Flowable.error(new IllegalStateException("failed")))
+                )
+            ).join()
+        );
+        storage.save(new Key.From("next"), new Content.From(new byte[1000])).join();
+        MatcherAssert.assertThat(storage.reserved(), new IsEqual<>(1024L));
+    }
+
+    @Test
+    void reassignsFreeSlabToOtherSizeClass() {
+        final OffHeapStorage storage = new OffHeapStorage(1024, 1024);
+        final Key small = new Key.From("small");
+        storage.save(small, new Content.From(new byte[100])).join();
+        storage.delete(small).join();
+        final Key large = new Key.From("large");
+        storage.save(large, new Content.From(new byte[1000])).join();
+        MatcherAssert.assertThat(
+            new PublisherAs(storage.value(large).join()).bytes().toCompletableFuture().join(),
+            new IsEqual<>(new byte[1000])
+        );
+    }
+
+    @Test
+    void doesNotReassignSlabInUse() {
+        final OffHeapStorage storage = new OffHeapStorage(1024, 1024);
+        storage.save(new Key.From("small"), new Content.From(new byte[100])).join();
+        final CompletionException err = Assertions.assertThrows(
+            CompletionException.class,
+            () -> storage.save(new Key.From("large"), new Content.From(new byte[1000])).join()
+        );
+        MatcherAssert.assertThat(
+            err.getCause(),
+            new IsInstanceOf(ArtipieIOException.class)
+        );
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.memory;
+
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link PrefixRange}.
+ *
+ * @since 1.16
+ */
+final class PrefixRangeTest {
+
+    @Test
+    void viewsKeysWithPrefix() {
+        MatcherAssert.assertThat(
+            new PrefixRange("a/b").view(PrefixRangeTest.map("a/a", "a/b", "a/b/c", "a/bc", "a/c"))
+                .keySet(),
+            Matchers.contains("a/b", "a/b/c", "a/bc")
+        );
+    }
+
+    @Test
+    void viewsAllKeysForEmptyPrefix() {
+        MatcherAssert.assertThat(
+            new PrefixRange("").view(PrefixRangeTest.map("a", "b")).keySet(),
+            Matchers.contains("a", "b")
+        );
+    }
+
+    @Test
+    void viewsKeysWithPrefixEndingWithMaxChar() {
+        final String prefix = "a￿";
+        MatcherAssert.assertThat(
+            new PrefixRange(prefix).view(
+                PrefixRangeTest.map("a", prefix, prefix.concat("x"), "b")
+            ).keySet(),
+            Matchers.contains(prefix, prefix.concat("x"))
+        );
+    }
+
+    /**
+     * Sorted map with keys.
+     *
+     * @param keys Keys.
+     * @return Map.
+     */
+    private static NavigableMap<String, byte[]> map(final String... keys) {
+        final NavigableMap<String, byte[]> res = new TreeMap<>();
+        for (final String key : keys) {
+            res.put(key, new byte[0]);
+        }
+        return res;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.redis;
+
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.reactivestreams.Publisher;
+
+/**
+ * Regroups content byte buffers into chunks of fixed size.
+ * <p>
+ * All chunks except the last one have exactly the specified size, the last one
+ * may be smaller, empty content has no chunks. Chunks are emitted as soon as they
+ * are filled, so no more than one chunk is accumulated at a time. Chunk buffer grows
+ * with received bytes up to chunk size, so small content does not take whole chunk.
+ *
+ * @since 1.16
+ */
+final class Chunks {
+
+    /**
+     * Source of byte buffers.
+     */
+    private final Publisher<ByteBuffer> source;
+
+    /**
+     * Chunk size.
+     */
+    private final int size;
+
+    /**
+     * Ctor.
+     *
+     * @param source Source of byte buffers.
+     * @param size Chunk size.
+     */
+    Chunks(final Publisher<ByteBuffer> source, final int size) {
+        this.source = source;
+        this.size = size;
+    }
+
+    /**
+     * Chunks of content.
+     *
+     * @return Publisher of chunk bytes.
+     */
+    Flowable<byte[]> flowable() {
+        return Flowable.defer(
+            () -> {
+                final Accumulator acc = new Accumulator(this.size);
+                return Flowable.fromPublisher(this.source)
+                    .concatMapIterable(acc::append)
+                    .concatWith(Flowable.defer(acc::rest));
+            }
+        );
+    }
+
+    /**
+     * Chunk being filled.
+     *
+     * @since 1.16
+     */
+    private static final class Accumulator {
+
+        /**
+         * Chunk size.
+         */
+        private final int size;
+
+        /**
+         * Current chunk, its capacity grows up to chunk size, null if no bytes were
+         * accumulated yet.
+         */
+        private ByteBuffer current;
+
+        /**
+         * Ctor.
+         *
+         * @param size Chunk size.
+         */
+        Accumulator(final int size) {
+            this.size = size;
+        }
+
+        /**
+         * Appends buffer to current chunk.
+         *
+         * @param buf Buffer to append.
+         * @return Chunks which were filled completely.
+         */
+        List<byte[]> append(final ByteBuffer buf) {
+            final List<byte[]> full = new ArrayList<>(1);
+            final ByteBuffer src = buf.duplicate();
+            while (src.hasRemaining()) {
+                this.reserve(src.remaining());
+                final int len = Math.min(src.remaining(), this.current.remaining());
+                final ByteBuffer slice = src.duplicate();
+                slice.limit(slice.position() + len);
+                this.current.put(slice);
+                src.position(src.position() + len);
+                if (this.current.position() == this.size) {
+                    full.add(this.current.array());
+                    this.current = null;
+                }
+            }
+            return full;
+        }
+
+        /**
+         * Grow current chunk to fit more bytes, at least twice, up to chunk size.
+         *
+         * @param more Number of bytes to fit.
+         */
+        private void reserve(final int more) {
+            final int used;
+            final int capacity;
+            if (this.current == null) {
+                used = 0;
+                capacity = 0;
+            } else {
+                used = this.current.position();
+                capacity = this.current.capacity();
+            }
+            final int need = (int) Math.min(this.size, (long) used + more);
+            if (need > capacity) {
+                final ByteBuffer grown = ByteBuffer.allocate(
+                    (int) Math.min(this.size, Math.max(need, 2L * capacity))
+                );
+                if (this.current != null) {
+                    this.current.flip();
+                    grown.put(this.current);
+                }
+                this.current = grown;
+            }
+        }
+
+        /**
+         * The last incomplete chunk if any.
+         *
+         * @return Publisher of zero or one chunk.
+         */
+        Flowable<byte[]> rest() {
+            final Flowable<byte[]> res;
+            if (this.current == null) {
+                res = Flowable.empty();
+            } else {
+                res = Flowable.just(
+                    Arrays.copyOf(this.current.array(), this.current.position())
+                );
+                this.current = null;
+            }
+            return res;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.redis;
+
+/**
+ * Manifest of value stored in chunks: chunks id, value size and number of chunks.
+ * <p>
+ * Chunks are stored by {@code <id>/<number>} fields, numbers start from zero.
+ * Manifest is stored as a string {@code <id> <size> <count>}.
+ *
+ * @since 1.16
+ */
+final class Manifest {
+
+    /**
+     * Chunks id.
+     */
+    private final String uid;
+
+    /**
+     * Value size.
+     */
+    private final long length;
+
+    /**
+     * Number of chunks.
+     */
+    private final int chunks;
+
+    /**
+     * Ctor.
+     *
+     * @param text Manifest string.
+     */
+    Manifest(final String text) {
+        this(text.split(" "));
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param uid Chunks id.
+     * @param length Value size.
+     * @param chunks Number of chunks.
+     */
+    Manifest(final String uid, final long length, final int chunks) {
+        this.uid = uid;
+        this.length = length;
+        this.chunks = chunks;
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param parts Manifest string parts.
+     */
+    private Manifest(final String... parts) {
+        this(parts[0], Long.parseLong(parts[1]), Integer.parseInt(parts[2]));
+    }
+
+    /**
+     * Chunks id.
+     *
+     * @return Id.
+     */
+    String uid() {
+        return this.uid;
+    }
+
+    /**
+     * Value size.
+     *
+     * @return Size in bytes.
+     */
+    long size() {
+        return this.length;
+    }
+
+    /**
+     * Number of chunks.
+     *
+     * @return Chunks count.
+     */
+    int count() {
+        return this.chunks;
+    }
+
+    /**
+     * Field of chunk.
+     *
+     * @param num Chunk number.
+     * @return Field name.
+     */
+    String chunk(final int num) {
+        return Manifest.chunk(this.uid, num);
+    }
+
+    /**
+     * Fields of all chunks.
+     *
+     * @return Field names.
+     */
+    String[] fields() {
+        final String[] res = new String[this.chunks];
+        for (int num = 0; num < this.chunks; num += 1) {
+            res[num] = this.chunk(num);
+        }
+        return res;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %d %d", this.uid, this.length, this.chunks);
+    }
+
+    /**
+     * Field of chunk.
+     *
+     * @param uid Chunks id.
+     * @param num Chunk number.
+     * @return Field name.
+     */
+    static String chunk(final String uid, final int num) {
+        return String.format("%s/%d", uid, num);
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.redis;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Client-side cache of small values read from {@link RedisStorage}.
+ * <p>
+ * Values are kept in memory bounded by number of entries and their total size, least
+ * recently used values are evicted first. Cached values are invalidated by keys when
+ * they are changed by this or any other client of the storage. Value read from Redis
+ * is cached only if no value of the same key stripe was invalidated since the read
+ * started, so value changed concurrently with the read is not cached, while changes
+ * of unrelated keys do not prevent caching. Keys are spread over {@link #STRIPES}
+ * stripes by hash code, each stripe has its own version.
+ *
+ * @since 1.16
+ */
+public final class NearCache {
+
+    /**
+     * Disabled cache.
+     */
+    static final NearCache DISABLED = new NearCache(0, 0);
+
+    /**
+     * Number of key stripes with own versions, power of two.
+     */
+    static final int STRIPES = 64;
+
+    /**
+     * Max number of entries.
+     */
+    private final int entries;
+
+    /**
+     * Max total size of values.
+     */
+    private final long capacity;
+
+    /**
+     * Values by key strings from least to most recently used.
+     */
+    private final LinkedHashMap<String, byte[]> values;
+
+    /**
+     * Number of invalidations by key stripes.
+     */
+    private final AtomicLongArray versions;
+
+    /**
+     * Number of reads served from cache.
+     */
+    private final AtomicLong hit;
+
+    /**
+     * Number of reads not served from cache.
+     */
+    private final AtomicLong miss;
+
+    /**
+     * Total size of cached values.
+     */
+    private long weight;
+
+    /**
+     * Ctor.
+     *
+     * @param entries Max number of cached values.
+     * @param capacity Max total size of cached values in bytes.
+     * @checkstyle MagicNumberCheck (10 lines)
+     */
+    public NearCache(final int entries, final long capacity) {
+        this.entries = entries;
+        this.capacity = capacity;
+        this.values = new LinkedHashMap<>(16, 0.75f, true);
+        this.versions = new AtomicLongArray(NearCache.STRIPES);
+        this.hit = new AtomicLong();
+        this.miss = new AtomicLong();
+    }
+
+    /**
+     * Number of reads served from cache.
+     *
+     * @return Hits count.
+     */
+    public long hits() {
+        return this.hit.get();
+    }
+
+    /**
+     * Number of reads not served from cache.
+     *
+     * @return Misses count.
+     */
+    public long misses() {
+        return this.miss.get();
+    }
+
+    /**
+     * Share of reads served from cache.
+     *
+     * @return Hit rate from 0 to 1, 0 if there were no reads.
+     */
+    public double hitRate() {
+        final long hits = this.hit.get();
+        final long total = hits + this.miss.get();
+        final double res;
+        if (total == 0) {
+            res = 0;
+        } else {
+            res = (double) hits / total;
+        }
+        return res;
+    }
+
+    /**
+     * Total size of cached values.
+     *
+     * @return Size in bytes.
+     */
+    public long weight() {
+        synchronized (this.values) {
+            return this.weight;
+        }
+    }
+
+    /**
+     * Cache is enabled.
+     *
+     * @return True if values can be cached.
+     */
+    boolean enabled() {
+        return this.entries > 0 && this.capacity > 0;
+    }
+
+    /**
+     * Cached value.
+     *
+     * @param key Key string.
+     * @return Value if cached.
+     */
+    Optional<byte[]> get(final String key) {
+        final Optional<byte[]> res;
+        synchronized (this.values) {
+            res = Optional.ofNullable(this.values.get(key));
+        }
+        if (res.isPresent()) {
+            this.hit.incrementAndGet();
+        } else {
+            this.miss.incrementAndGet();
+        }
+        return res;
+    }
+
+    /**
+     * Current version of key stripe to be passed to {@link #put(String, byte[], long)}
+     * when read value is cached.
+     *
+     * @param key Key string.
+     * @return Number of invalidations of the key stripe.
+     */
+    long version(final String key) {
+        return this.versions.get(NearCache.stripe(key));
+    }
+
+    /**
+     * Cache value unless it is too large or some value of the key stripe was invalidated
+     * after the version.
+     *
+     * @param key Key string.
+     * @param bytes Value.
+     * @param since Version obtained before value was read.
+     */
+    void put(final String key, final byte[] bytes, final long since) {
+        if (this.enabled() && bytes.length <= this.capacity) {
+            synchronized (this.values) {
+                if (this.versions.get(NearCache.stripe(key)) == since) {
+                    final byte[] prev = this.values.put(key, bytes);
+                    if (prev != null) {
+                        this.weight -= prev.length;
+                    }
+                    this.weight += bytes.length;
+                    final Iterator<Map.Entry<String, byte[]>> lru =
+                        this.values.entrySet().iterator();
+                    while ((this.values.size() > this.entries || this.weight > this.capacity)
+                        && lru.hasNext()) {
+                        this.weight -= lru.next().getValue().length;
+                        lru.remove();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Invalidate cached value.
+     *
+     * @param key Key string.
+     */
+    void invalidate(final String key) {
+        synchronized (this.values) {
+            this.versions.incrementAndGet(NearCache.stripe(key));
+            final byte[] prev = this.values.remove(key);
+            if (prev != null) {
+                this.weight -= prev.length;
+            }
+        }
+    }
+
+    /**
+     * Invalidate all cached values.
+     */
+    void clear() {
+        synchronized (this.values) {
+            for (int idx = 0; idx < NearCache.STRIPES; idx += 1) {
+                this.versions.incrementAndGet(idx);
+            }
+            this.values.clear();
+            this.weight = 0;
+        }
+    }
+
+    /**
+     * Stripe of the key.
+     *
+     * @param key Key string.
+     * @return Stripe index.
+     */
+    private static int stripe(final String key) {
+        final int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (NearCache.STRIPES - 1);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.redis;
+
+import com.artipie.asto.Meta;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Metadata for redis storage.
+ * <p>
+ * Metadata saved with value is stored as a string {@code <size> <updated millis> <md5 hex>},
+ * update time is {@code 0} if it is not known. Creation time is kept apart from it, so
+ * it is not changed when value is replaced, and is passed as epoch millis string.
+ * Values saved before metadata was introduced have size only.
+ *
+ * @since 1.9
+ */
+final class RedisMeta implements Meta {
+
+    /**
+     * Byte-array length.
+     */
+    private final long length;
+
+    /**
+     * Creation time.
+     */
+    private final Optional<Instant> created;
+
+    /**
+     * Update time.
+     */
+    private final Optional<Instant> updated;
+
+    /**
+     * MD5 digest hex.
+     */
+    private final Optional<String> md5;
+
+    /**
+     * New metadata with size only.
+     *
+     * @param length Array length
+     */
+    RedisMeta(final long length) {
+        this(length, Optional.empty(), Optional.empty(), Optional.empty());
+    }
+
+    /**
+     * New metadata of value with unknown creation and update time.
+     *
+     * @param length Value size.
+     * @param md5 MD5 digest hex.
+     */
+    RedisMeta(final long length, final String md5) {
+        this(length, Optional.empty(), Optional.empty(), Optional.of(md5));
+    }
+
+    /**
+     * New metadata of saved value.
+     *
+     * @param length Value size.
+     * @param time Creation and update time.
+     * @param md5 MD5 digest hex.
+     */
+    RedisMeta(final long length, final Instant time, final String md5) {
+        this(length, Optional.of(time), Optional.of(time), Optional.of(md5));
+    }
+
+    /**
+     * Metadata from string without creation time.
+     *
+     * @param text Metadata string.
+     */
+    RedisMeta(final String text) {
+        this(text, null);
+    }
+
+    /**
+     * Metadata from string and creation time.
+     *
+     * @param text Metadata string.
+     * @param created Creation time epoch millis string, null if not known.
+     */
+    RedisMeta(final String text, final String created) {
+        this(text.split(" "), Optional.ofNullable(created).map(RedisMeta::time));
+    }
+
+    /**
+     * Metadata from string parts.
+     *
+     * @param parts Metadata string parts.
+     * @param created Creation time.
+     */
+    private RedisMeta(final String[] parts, final Optional<Instant> created) {
+        this(
+            Long.parseLong(parts[0]),
+            created,
+            Optional.of(RedisMeta.time(parts[1])).filter(time -> time.toEpochMilli() != 0),
+            Optional.of(parts).filter(all -> all.length > 2).map(all -> all[2])
+        );
+    }
+
+    /**
+     * Primary ctor.
+     *
+     * @param length Value size.
+     * @param created Creation time.
+     * @param updated Update time.
+     * @param md5 MD5 digest hex.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private RedisMeta(final long length, final Optional<Instant> created,
+        final Optional<Instant> updated, final Optional<String> md5) {
+        this.length = length;
+        this.created = created;
+        this.updated = updated;
+        this.md5 = md5;
+    }
+
+    @Override
+    public <T> T read(final ReadOperator<T> opr) {
+        final Map<String, String> raw = new HashMap<>();
+        Meta.OP_SIZE.put(raw, this.length);
+        this.created.ifPresent(time -> Meta.OP_CREATED_AT.put(raw, time));
+        this.updated.ifPresent(time -> Meta.OP_UPDATED_AT.put(raw, time));
+        this.md5.ifPresent(hex -> Meta.OP_MD5.put(raw, hex));
+        return opr.take(Collections.unmodifiableMap(raw));
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%d %d %s",
+            this.length,
+            this.updated.map(Instant::toEpochMilli).orElse(0L),
+            this.md5.orElse("")
+        ).trim();
+    }
+
+    /**
+     * Instant from epoch millis string.
+     *
+     * @param millis Epoch millis string.
+     * @return Instant.
+     */
+    private static Instant time(final String millis) {
+        return Instant.ofEpochMilli(Long.parseLong(millis));
+    }
+}
@@ -5,42 +5,297 @@
 package com.artipie.asto.redis;
 
 import com.artipie.asto.ArtipieIOException;
-import com.artipie.asto.Concatenation;
 import com.artipie.asto.Content;
 import com.artipie.asto.Key;
 import com.artipie.asto.Meta;
 import com.artipie.asto.OneTimePublisher;
-import com.artipie.asto.Remaining;
 import com.artipie.asto.Storage;
 import com.artipie.asto.UnderLockOperation;
 import com.artipie.asto.ValueNotFoundException;
+import com.artipie.asto.ext.Digests;
 import com.artipie.asto.ext.CompletableFutureSupport;
 import com.artipie.asto.lock.storage.StorageLock;
+import com.jcabi.log.Logger;
+import hu.akarnokd.rxjava2.interop.CompletableInterop;
 import hu.akarnokd.rxjava2.interop.SingleInterop;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.TreeSet;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBucketAsync;
+import org.redisson.api.RFuture;
+import org.redisson.api.RLexSortedSetAsync;
+import org.redisson.api.RMap;
 import org.redisson.api.RMapAsync;
+import org.redisson.api.RScript;
+import org.redisson.api.RTopicAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.BaseStatusListener;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.StringCodec;
 
 /**
  * Redis implementation of Storage.
+ * <p>
+ * Values not greater than chunk size are kept in Redis hash by key strings. Larger values
+ * are split into chunks of fixed size kept in {@code {<hash>}:chunks} hash, and their
+ * manifests with chunks id, size and chunks count are kept in {@code {<hash>}:manifests}
+ * hash, see {@link Manifest}. Chunks are written one by one as content arrives and read
+ * one by one as content is consumed, so value is never held in memory as a whole.
+ * Manifest is saved when all chunks are written, chunks of replaced value are removed
+ * after that. Chunks are removed at once, even if the value is being read, so content of
+ * chunked value replaced or deleted while it is read fails with
+ * {@link ArtipieIOException}, and the key should be read again.
+ * <p>
+ * Save of chunked value is tracked in {@code {<hash>}:pending} hash by chunks id until
+ * its manifest is saved: each chunk is written in the same atomic batch as the time of
+ * the write and the number of written chunks. Chunks of save which did not complete, e.g.
+ * since the process died, are not referenced by any manifest; {@link #sweep(Duration)}
+ * removes chunks of saves which wrote no chunk for the given time.
+ * <p>
+ * Metadata of values: size, update time and MD5 digest, is kept in
+ * {@code {<hash>}:meta} hash and updated in the same atomic batch as the value,
+ * so it is read without reading the value, see {@link RedisMeta}. Creation time is kept in
+ * {@code {<hash>}:created} hash and is set in the same batch only if it is absent, so it is
+ * kept when value is replaced. Metadata of values saved before it was introduced is
+ * made of value size read by {@code HSTRLEN} if values hash codec keeps bytes as is,
+ * otherwise the value is read once to save its size and digest to metadata hash.
+ * <p>
+ * Keys are also kept in lexicographically sorted index, Redis sorted set with zero
+ * scores named {@code {<hash>}:keys}, which is updated in the same atomic
+ * batch as the hash, so listing by prefix reads only keys of the prefix page by page.
+ * Keys of values saved before the index was introduced are merged to the index on first
+ * listing, then {@code {<hash>}:indexed} marker is saved, so merge is done once.
+ * <p>
+ * Move is performed inside Redis by Lua script in one round trip, value bytes are not
+ * transferred to the client. Several keys can be checked, saved or deleted in one
+ * round trip with {@link #exists(Collection)}, {@link #save(Map)} and
+ * {@link #delete(Collection)}, {@link #deleteAll(Key)} deletes keys page by page.
+ * <p>
+ * Keys of changed values are published to {@code {<hash>}:invalidations} channel in the same
+ * batch or script as the change. Storage with {@link NearCache} caches values kept in hash
+ * on the client and invalidates them by the channel messages, cache is cleared when
+ * channel is resubscribed since messages could be missed. Cache is used only after its
+ * listeners are subscribed to the channel; if subscription fails, it is logged and cache
+ * is not used. {@link #unsubscribe()} removes the listeners when storage is not needed,
+ * {@link #nearCache()} exposes cache statistics, like hit rate.
+ * <p>
+ * Names of Redis objects derived from hash name, e.g. {@code {<hash>}:keys}, have the hash
+ * name as hash tag, so they are in the same cluster slot as the hash, and atomic batches
+ * and scripts touching several of them work with Redis Cluster. If hash name already
+ * contains a hash tag, derived names are formed by adding suffixes to it; other names
+ * with braces are rejected.
+ * <p>
+ * Storage needs Redis 3.2 or newer for {@code HSTRLEN}, older versions lack it.
  *
  * @since 0.1
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle ClassFanOutComplexityCheck (500 lines)
  */
+@SuppressWarnings("PMD.TooManyMethods")
 public final class RedisStorage implements Storage {
+
+    /**
+     * Default chunk size.
+     */
+    public static final int DEF_CHUNK = 1024 * 1024;
+
+    /**
+     * Max number of keys read from index at once.
+     */
+    private static final int PAGE = 1000;
+
+    /**
+     * Move script.
+     * Keys are values, manifests and metadata hashes, keys index and creation times hash,
+     * arguments are source and destination fields of values hash encoded by values hash
+     * codec, then source and destination strings and invalidations channel. Returns nil if source
+     * does not exist, manifest of replaced chunked value to remove its chunks or empty
+     * string. All keys are in the cluster slot of values hash, see
+     * {@link #derived(String, String)}; channel is not a key.
+     */
+    private static final String MOVE = String.join(
+        "\n",
+        "local val = redis.call('hget', KEYS[1], ARGV[1])",
+        "local man = redis.call('hget', KEYS[2], ARGV[3])",
+        "if not val and not man then return nil end",
+        "local meta = redis.call('hget', KEYS[3], ARGV[3])",
+        "local created = redis.call('hget', KEYS[5], ARGV[3])",
+        "local prev = redis.call('hget', KEYS[2], ARGV[4])",
+        "if ARGV[3] ~= ARGV[4] then",
+        "  redis.call('hdel', KEYS[1], ARGV[1])",
+        "  redis.call('hdel', KEYS[2], ARGV[3])",
+        "  redis.call('hdel', KEYS[3], ARGV[3])",
+        "  redis.call('hdel', KEYS[5], ARGV[3])",
+        "  redis.call('zrem', KEYS[4], ARGV[3])",
+        "end",
+        "if val then",
+        "  redis.call('hset', KEYS[1], ARGV[2], val)",
+        "  redis.call('hdel', KEYS[2], ARGV[4])",
+        "else",
+        "  redis.call('hset', KEYS[2], ARGV[4], man)",
+        "  redis.call('hdel', KEYS[1], ARGV[2])",
+        "end",
+        "if meta then",
+        "  redis.call('hset', KEYS[3], ARGV[4], meta)",
+        "else",
+        "  redis.call('hdel', KEYS[3], ARGV[4])",
+        "end",
+        "if created then",
+        "  redis.call('hset', KEYS[5], ARGV[4], created)",
+        "else",
+        "  redis.call('hdel', KEYS[5], ARGV[4])",
+        "end",
+        "redis.call('zadd', KEYS[4], 0, ARGV[4])",
+        "redis.call('publish', ARGV[5], ARGV[3])",
+        "if ARGV[3] ~= ARGV[4] then redis.call('publish', ARGV[5], ARGV[4]) end",
+        "if prev and prev ~= man then return prev end",
+        "return ''"
+    );
+
+    /**
+     * Index merge script.
+     * Keys are values and manifests hashes and keys index, arguments are pairs of
+     * field of values hash encoded by values hash codec and key string. Adds to the index
+     * keys which still exist, so keys deleted while merge was prepared are not added.
+     */
+    private static final String MERGE = String.join(
+        "\n",
+        "for idx = 1, #ARGV, 2 do",
+        "  if redis.call('hexists', KEYS[1], ARGV[idx]) == 1",
+        "    or redis.call('hexists', KEYS[2], ARGV[idx + 1]) == 1 then",
+        "    redis.call('zadd', KEYS[3], 0, ARGV[idx + 1])",
+        "  end",
+        "end",
+        "return 0"
+    );
+
+    /**
+     * Metadata save script.
+     * Keys are values and metadata hashes, arguments are field of values hash encoded by
+     * values hash codec, key string and metadata string. Saves metadata if the value exists
+     * and has no metadata, so metadata of value deleted or replaced meanwhile is not saved.
+     */
+    private static final String BACKFILL = String.join(
+        "\n",
+        "if redis.call('hexists', KEYS[1], ARGV[1]) == 1 then",
+        "  redis.call('hsetnx', KEYS[2], ARGV[2], ARGV[3])",
+        "end",
+        "return 0"
+    );
+
+    /**
+     * Redisson client.
+     */
+    private final RedissonClient client;
+
+    /**
+     * Name of Redis hash with values.
+     */
+    private final String name;
+
+    /**
+     * Chunk size.
+     */
+    private final int chunk;
+
     /**
      * Async interface for Redis based implementation
      * of {@link java.util.concurrent.ConcurrentMap} and {@link java.util.Map}.
      */
     private final RMapAsync<String, byte[]> data;
 
+    /**
+     * Codec of values hash.
+     */
+    private final Codec codec;
+
+    /**
+     * Manifests of chunked values.
+     */
+    private final RMapAsync<String, String> manifests;
+
+    /**
+     * Chunks of chunked values.
+     */
+    private final RMapAsync<String, byte[]> chunks;
+
+    /**
+     * Saves of chunked values in progress: times of the last written chunk and chunks
+     * counts by chunks ids.
+     */
+    private final RMapAsync<String, String> pending;
+
+    /**
+     * Metadata of values.
+     */
+    private final RMapAsync<String, String> metas;
+
+    /**
+     * Sorted index of keys.
+     */
+    private final RLexSortedSetAsync index;
+
+    /**
+     * Near cache of values kept in hash.
+     */
+    private final NearCache near;
+
+    /**
+     * Invalidations channel.
+     */
+    private final RTopicAsync topic;
+
+    /**
+     * Ids of near cache listeners of invalidations channel.
+     */
+    private final CompletableFuture<List<Integer>> listeners;
+
+    /**
+     * Near cache listeners are subscribed.
+     */
+    private final AtomicBoolean listening;
+
+    /**
+     * Near cache listeners were removed.
+     */
+    private final AtomicBoolean detached;
+
+    /**
+     * Index build completion, null if not started or failed.
+     */
+    private final AtomicReference<CompletableFuture<Void>> indexed;
+
     /**
      * Storage identifier is redisson instance id, example: b0d9b09f-7c45-4a22-a8b7-c4979b65476a.
      */
@@ -48,35 +303,223 @@ public final class RedisStorage implements Storage {
 
     /**
      * Ctor.
+     * <p>
+     * Replaces removed {@code RedisStorage(RMapAsync, String)} constructor: storage
+     * created by {@code new RedisStorage(redisson.getMap(name), redisson.getId())} before
+     * is created by {@code new RedisStorage(redisson, name)}, values saved before are
+     * kept. Map alone is not enough since storage needs other Redis objects besides it.
+     *
+     * @param client Redisson client.
+     * @param name Name of Redis hash with values.
+     */
+    public RedisStorage(final RedissonClient client, final String name) {
+        this(client, name, RedisStorage.DEF_CHUNK);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param client Redisson client.
+     * @param name Name of Redis hash with values.
+     * @param chunk Chunk size in bytes.
+     */
+    public RedisStorage(final RedissonClient client, final String name, final int chunk) {
+        this(client, name, chunk, NearCache.DISABLED);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param client Redisson client.
+     * @param name Name of Redis hash with values.
+     * @param chunk Chunk size in bytes.
+     * @param near Near cache of values.
+     */
+    public RedisStorage(final RedissonClient client, final String name, final int chunk,
+        final NearCache near) {
+        this.client = client;
+        this.name = name;
+        this.chunk = chunk;
+        final RMap<String, byte[]> values = client.getMap(name);
+        this.data = values;
+        this.codec = values.getCodec();
+        this.manifests = client.getMap(RedisStorage.manifestsName(name), StringCodec.INSTANCE);
+        this.chunks = client.getMap(RedisStorage.chunksName(name));
+        this.pending = client.getMap(RedisStorage.pendingName(name), StringCodec.INSTANCE);
+        this.metas = client.getMap(RedisStorage.metasName(name), StringCodec.INSTANCE);
+        this.index = client.getLexSortedSet(RedisStorage.indexName(name));
+        this.indexed = new AtomicReference<>();
+        this.id = String.format("Radis: id=%s", client.getId());
+        this.near = near;
+        this.topic = client.getTopic(RedisStorage.invalidationsName(name), StringCodec.INSTANCE);
+        this.listening = new AtomicBoolean();
+        this.detached = new AtomicBoolean();
+        if (near.enabled()) {
+            final CompletableFuture<Integer> messages = this.topic.addListenerAsync(
+                String.class, (channel, key) -> near.invalidate(key)
+            ).toCompletableFuture();
+            final CompletableFuture<Integer> status = this.topic.addListenerAsync(
+                new BaseStatusListener() {
+                    @Override
+                    public void onSubscribe(final String channel) {
+                        near.clear();
+                    }
+                }
+            ).toCompletableFuture();
+            this.listeners = messages.thenCombine(status, Arrays::asList);
+            this.listeners.whenComplete(
+                (ids, err) -> {
+                    if (err == null) {
+                        near.clear();
+                        this.listening.set(true);
+                    } else {
+                        Logger.warn(
+                            RedisStorage.class,
+                            "Near cache of %s is off, failed to subscribe to %s: %[exception]s",
+                            name, RedisStorage.invalidationsName(name), err
+                        );
+                        messages.thenAccept(id -> this.topic.removeListenerAsync(id));
+                        status.thenAccept(id -> this.topic.removeListenerAsync(id));
+                    }
+                }
+            );
+        } else {
+            this.listeners = CompletableFuture.completedFuture(Collections.emptyList());
+        }
+    }
+
+    /**
+     * Near cache of the storage, e.g. to monitor its hit rate with
+     * {@link NearCache#hitRate()}. Disabled cache is returned if storage has no near cache.
      *
-     * @param data Async interface for Redis.
-     * @param id Redisson instance id
+     * @return Near cache.
      */
-    public RedisStorage(final RMapAsync<String, byte[]> data, final String id) {
-        this.data = data;
-        this.id = String.format("Radis: id=%s", id);
+    public NearCache nearCache() {
+        return this.near;
+    }
+
+    /**
+     * Stop using near cache: remove its listeners of invalidations channel and clear it.
+     * Values are read from Redis after that.
+     *
+     * @return Completion signal.
+     */
+    public CompletableFuture<Void> unsubscribe() {
+        this.detached.set(true);
+        this.near.clear();
+        return this.listeners.<Void>thenCompose(
+            ids -> {
+                final CompletionStage<Void> res;
+                if (ids.isEmpty()) {
+                    res = CompletableFuture.allOf();
+                } else {
+                    res = this.topic.removeListenerAsync(ids.toArray(new Integer[0]));
+                }
+                return res;
+            }
+        ).exceptionally(err -> null);
+    }
+
+    /**
+     * Remove chunks of saves which were not completed, e.g. since the process died
+     * before manifest was saved, and wrote no chunk for the given time.
+     * <p>
+     * Age of save is measured since its last written chunk, not since the save started,
+     * so time to live should be greater than any pause between chunks of content being
+     * saved, otherwise chunks of slow save are removed and its value fails to be read.
+     *
+     * @param ttl Time to live of not completed save.
+     * @return Completion signal.
+     */
+    public CompletableFuture<Void> sweep(final Duration ttl) {
+        final long deadline = System.currentTimeMillis() - ttl.toMillis();
+        return this.pending.readAllMapAsync().thenCompose(
+            saves -> CompletableFuture.allOf(
+                saves.entrySet().stream()
+                    .filter(save -> RedisStorage.since(save.getValue()) <= deadline)
+                    .map(
+                        save -> this.pending.removeAsync(save.getKey(), save.getValue())
+                            .thenCompose(
+                                removed -> {
+                                    final CompletionStage<Void> res;
+                                    if (removed) {
+                                        res = this.drop(
+                                            new Manifest(
+                                                save.getKey(), 0,
+                                                RedisStorage.written(save.getValue())
+                                            )
+                                        );
+                                    } else {
+                                        res = CompletableFuture.allOf();
+                                    }
+                                    return res;
+                                }
+                            ).toCompletableFuture()
+                    ).toArray(CompletableFuture<?>[]::new)
+            )
+        ).toCompletableFuture();
     }
 
     @Override
     public CompletableFuture<Boolean> exists(final Key key) {
-        return this.data.containsKeyAsync(key.string()).toCompletableFuture();
+        final CompletableFuture<Boolean> res;
+        if (this.cached() && this.near.get(key.string()).isPresent()) {
+            res = CompletableFuture.completedFuture(true);
+        } else {
+            final RBatch batch = this.client.createBatch();
+            final RFuture<Boolean> inline = this.values(batch).containsKeyAsync(key.string());
+            final RFuture<Boolean> chunked = this.manifests(batch)
+                .containsKeyAsync(key.string());
+            res = batch.executeAsync()
+                .thenApply(nothing -> RedisStorage.result(inline) || RedisStorage.result(chunked))
+                .toCompletableFuture();
+        }
+        return res;
+    }
+
+    /**
+     * Check several keys in one round trip.
+     *
+     * @param keys Keys.
+     * @return Existence of values by keys.
+     */
+    public CompletableFuture<Map<Key, Boolean>> exists(final Collection<Key> keys) {
+        final RBatch batch = this.client.createBatch();
+        final Map<Key, List<RFuture<Boolean>>> checks = new HashMap<>();
+        for (final Key key : keys) {
+            checks.put(
+                key,
+                Arrays.asList(
+                    this.values(batch).containsKeyAsync(key.string()),
+                    this.manifests(batch).containsKeyAsync(key.string())
+                )
+            );
+        }
+        return batch.executeAsync().thenApply(
+            nothing -> {
+                final Map<Key, Boolean> res = new HashMap<>();
+                checks.forEach(
+                    (key, futures) -> res.put(
+                        key, futures.stream().anyMatch(RedisStorage::result)
+                    )
+                );
+                return res;
+            }
+        ).toCompletableFuture();
     }
 
     @Override
     public CompletableFuture<Collection<Key>> list(final Key root) {
-        return this.data.readAllKeySetAsync()
-            .thenApply(
+        final Collection<Key> res = new LinkedList<>();
+        return this.indexed().thenCompose(
+            nothing -> this.page(
+                root.string(), root.string(), true,
                 keys -> {
-                    final Collection<Key> res = new LinkedList<>();
-                    final String prefix = root.string();
-                    for (final String string : new TreeSet<>(keys)) {
-                        if (string.startsWith(prefix)) {
-                            res.add(new Key.From(string));
-                        }
-                    }
-                    return res;
+                    res.addAll(keys);
+                    return CompletableFuture.allOf();
                 }
-            ).toCompletableFuture();
+            )
+        ).thenApply(nothing -> res).toCompletableFuture();
     }
 
     @Override
@@ -87,45 +530,149 @@ public final class RedisStorage implements Storage {
                 new ArtipieIOException("Unable to save to root")
             ).get();
         } else {
-            res = new Concatenation(new OneTimePublisher<>(content)).single()
-                .to(SingleInterop.get())
-                .thenApply(Remaining::new)
-                .thenApply(Remaining::bytes)
-                .thenCompose(bytes -> this.data.fastPutAsync(key.string(), bytes))
-                .thenRun(
-                    () -> {
+            final String uid = UUID.randomUUID().toString();
+            final AtomicReference<byte[]> first = new AtomicReference<>(new byte[0]);
+            final AtomicInteger count = new AtomicInteger();
+            final AtomicLong size = new AtomicLong();
+            final MessageDigest digest = Digests.MD5.get();
+            res = new Chunks(new OneTimePublisher<>(content), this.chunk).flowable()
+                .concatMapCompletable(
+                    bytes -> {
+                        final int num = count.getAndIncrement();
+                        size.addAndGet(bytes.length);
+                        digest.update(bytes);
+                        final Completable done;
+                        if (num == 0) {
+                            first.set(bytes);
+                            done = Completable.complete();
+                        } else if (num == 1) {
+                            done = this.put(uid, 0, first.get())
+                                .andThen(this.put(uid, 1, bytes));
+                        } else {
+                            done = this.put(uid, num, bytes);
+                        }
+                        return done;
+                    },
+                    1
+                ).andThen(
+                    Completable.defer(
+                        () -> {
+                            final RedisMeta meta = new RedisMeta(
+                                size.get(), Instant.now(), Hex.encodeHexString(digest.digest())
+                            );
+                            final CompletionStage<Void> commit;
+                            if (count.get() > 1) {
+                                commit = this.commit(
+                                    key, new Manifest(uid, size.get(), count.get()), meta
+                                );
+                            } else {
+                                commit = this.commit(key, first.get(), meta);
+                            }
+                            return CompletableInterop.fromFuture(commit);
+                        }
+                    )
+                ).onErrorResumeNext(
+                    err -> {
+                        final Completable clean;
+                        if (count.get() > 1) {
+                            clean = CompletableInterop.fromFuture(
+                                this.drop(new Manifest(uid, size.get(), count.get())).thenCompose(
+                                    nothing -> this.pending.fastRemoveAsync(uid)
+                                )
+                            ).onErrorComplete();
+                        } else {
+                            clean = Completable.complete();
+                        }
+                        return clean.andThen(Completable.error(err));
                     }
-                )
+                ).to(CompletableInterop.<Void>await())
                 .toCompletableFuture();
         }
         return res;
     }
 
-    @Override
-    public CompletableFuture<Void> move(final Key source, final Key destination) {
-        final String src = source.string();
-        return this.data.containsKeyAsync(src)
-            .thenCompose(
-                exists -> {
-                    final CompletionStage<Void> res;
-                    if (exists) {
-                        res = this.data.getAsync(src)
-                            .thenCompose(
-                                bytes -> this.data.fastPutAsync(destination.string(), bytes)
-                            ).thenCompose(
-                                unused -> this.data.fastRemoveAsync(src)
-                                    .thenRun(() -> { })
-                            );
+    /**
+     * Save several values in one atomic batch.
+     * Values greater than chunk size are saved one by one in chunks.
+     *
+     * @param values Values by keys.
+     * @return Completion or error signal.
+     */
+    public CompletableFuture<Void> save(final Map<Key, byte[]> values) {
+        final CompletableFuture<Void> res;
+        if (values.containsKey(Key.ROOT)) {
+            res = new CompletableFutureSupport.Failed<Void>(
+                new ArtipieIOException("Unable to save to root")
+            ).get();
+        } else {
+            final RBatch batch = this.batch();
+            final List<RFuture<String>> prevs = new ArrayList<>(values.size());
+            final List<CompletableFuture<Void>> large = new ArrayList<>(0);
+            final Instant now = Instant.now();
+            values.forEach(
+                (key, bytes) -> {
+                    if (bytes.length > this.chunk) {
+                        large.add(this.save(key, new Content.From(bytes)));
                     } else {
-                        res = new CompletableFutureSupport.Failed<Void>(
-                            new ArtipieIOException(
-                                String.format("No value for source key: %s", src)
+                        prevs.add(
+                            this.inline(
+                                batch, key, bytes,
+                                new RedisMeta(bytes.length, now, DigestUtils.md5Hex(bytes))
                             )
-                        ).get();
+                        );
                     }
-                    return res;
                 }
-            ).toCompletableFuture();
+            );
+            large.add(
+                batch.executeAsync().thenCompose(
+                    nothing -> {
+                        values.keySet().forEach(key -> this.near.invalidate(key.string()));
+                        return this.drop(prevs);
+                    }
+                ).toCompletableFuture()
+            );
+            res = CompletableFuture.allOf(large.toArray(new CompletableFuture<?>[0]));
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Void> move(final Key source, final Key destination) {
+        final String src = source.string();
+        final String dst = destination.string();
+        return this.client.getScript(ByteArrayCodec.INSTANCE).<byte[]>evalAsync(
+            RScript.Mode.READ_WRITE,
+            RedisStorage.MOVE,
+            RScript.ReturnType.VALUE,
+            Arrays.asList(
+                this.name, RedisStorage.manifestsName(this.name),
+                RedisStorage.metasName(this.name), RedisStorage.indexName(this.name),
+                RedisStorage.createdName(this.name)
+            ),
+            this.encoded(src),
+            this.encoded(dst),
+            src.getBytes(StandardCharsets.UTF_8),
+            dst.getBytes(StandardCharsets.UTF_8),
+            RedisStorage.invalidationsName(this.name).getBytes(StandardCharsets.UTF_8)
+        ).thenCompose(
+            replaced -> {
+                this.near.invalidate(src);
+                this.near.invalidate(dst);
+                final CompletionStage<Void> res;
+                if (replaced == null) {
+                    res = new CompletableFutureSupport.Failed<Void>(
+                        new ArtipieIOException(
+                            String.format("No value for source key: %s", src)
+                        )
+                    ).get();
+                } else if (replaced.length == 0) {
+                    res = CompletableFuture.allOf();
+                } else {
+                    res = this.drop(new String(replaced, StandardCharsets.UTF_8));
+                }
+                return res;
+            }
+        ).toCompletableFuture();
     }
 
     @Override
@@ -135,16 +682,25 @@ public final class RedisStorage implements Storage {
             res = new CompletableFutureSupport.Failed<Content>(
                 new ArtipieIOException("Unable to load from root")
             ).get();
-        } else {
-            res = this.data.getAsync(key.string())
-                .thenApply(
-                    bytes -> {
-                        if (bytes != null) {
-                            return (Content) new Content.OneTime(new Content.From(bytes));
-                        }
-                        throw new ValueNotFoundException(key);
+        } else if (this.cached()) {
+            final Optional<byte[]> cached = this.near.get(key.string());
+            if (cached.isPresent()) {
+                res = CompletableFuture.completedFuture(
+                    new Content.OneTime(new Content.From(cached.get()))
+                );
+            } else {
+                final long version = this.near.version(key.string());
+                res = this.stored(key).thenApply(
+                    content -> {
+                        content.bytes().ifPresent(
+                            bytes -> this.near.put(key.string(), bytes, version)
+                        );
+                        return content.content();
                     }
-                ).toCompletableFuture();
+                );
+            }
+        } else {
+            res = this.stored(key).thenApply(Loaded::content);
         }
         return res;
     }
@@ -152,18 +708,79 @@ public final class RedisStorage implements Storage {
     @Override
     public CompletableFuture<Void> delete(final Key key) {
         final String str = key.string();
-        return this.data.fastRemoveAsync(str)
-            .thenAccept(
-                num -> {
-                    if (num != 1) {
+        final RBatch batch = this.batch();
+        final RFuture<Long> removed = this.values(batch).fastRemoveAsync(str);
+        final RFuture<String> prev = this.manifests(batch).removeAsync(str);
+        this.metas(batch).fastRemoveAsync(str);
+        this.created(batch).fastRemoveAsync(str);
+        this.index(batch).removeAsync(str);
+        this.invalidations(batch).publishAsync(str);
+        return batch.executeAsync()
+            .thenCompose(
+                res -> {
+                    this.near.invalidate(str);
+                    if (RedisStorage.result(removed) != 1 && RedisStorage.result(prev) == null) {
                         throw new ArtipieIOException(
                             String.format("Key does not exist: %s", str)
                         );
                     }
+                    return this.drop(RedisStorage.result(prev));
                 }
             ).toCompletableFuture();
     }
 
+    /**
+     * Delete several values in one atomic batch, missing keys are skipped.
+     *
+     * @param keys Keys.
+     * @return Completion or error signal.
+     */
+    public CompletableFuture<Void> delete(final Collection<Key> keys) {
+        final RBatch batch = this.batch();
+        final List<RFuture<String>> prevs = new ArrayList<>(keys.size());
+        for (final Key key : keys) {
+            this.values(batch).fastRemoveAsync(key.string());
+            prevs.add(this.manifests(batch).removeAsync(key.string()));
+            this.metas(batch).fastRemoveAsync(key.string());
+            this.created(batch).fastRemoveAsync(key.string());
+            this.index(batch).removeAsync(key.string());
+            this.invalidations(batch).publishAsync(key.string());
+        }
+        return batch.executeAsync().thenCompose(
+            nothing -> {
+                keys.forEach(key -> this.near.invalidate(key.string()));
+                return this.drop(prevs);
+            }
+        ).toCompletableFuture();
+    }
+
+    /**
+     * Removes all items with key prefix.
+     * <p>
+     * Keys are read from index page by page, each page is deleted in one atomic batch
+     * before the next page is read, so keys of prefix are not collected in memory.
+     *
+     * @param prefix Key prefix.
+     * @return Completion or error signal.
+     */
+    @Override
+    public CompletableFuture<Void> deleteAll(final Key prefix) {
+        return this.indexed().thenCompose(
+            nothing -> this.page(
+                prefix.string(), prefix.string(), true,
+                keys -> {
+                    final CompletionStage<Void> res;
+                    if (keys.isEmpty()) {
+                        res = CompletableFuture.allOf();
+                    } else {
+                        res = this.delete(keys);
+                    }
+                    return res;
+                }
+            )
+        ).toCompletableFuture();
+    }
+
     @Override
     public <T> CompletionStage<T> exclusively(
         final Key key,
@@ -175,15 +792,38 @@ public final class RedisStorage implements Storage {
 
     @Override
     public CompletableFuture<? extends Meta> metadata(final Key key) {
-        return this.data.getAsync(key.string())
-            .thenApply(
-                bytes -> {
-                    if (bytes != null) {
-                        return new RedisMeta(bytes.length);
-                    }
-                    throw new ValueNotFoundException(key);
+        final String str = key.string();
+        final RBatch batch = this.client.createBatch();
+        final RFuture<String> meta = this.metas(batch).getAsync(str);
+        final RFuture<String> created = this.created(batch).getAsync(str);
+        final RFuture<String> manifest = this.manifests(batch).getAsync(str);
+        final RFuture<Boolean> inline = this.values(batch).containsKeyAsync(str);
+        final RFuture<Integer> stored = this.values(batch).valueSizeAsync(str);
+        return batch.executeAsync().thenCompose(
+            nothing -> {
+                final CompletionStage<RedisMeta> res;
+                if (RedisStorage.result(meta) != null) {
+                    res = CompletableFuture.completedFuture(
+                        new RedisMeta(RedisStorage.result(meta), RedisStorage.result(created))
+                    );
+                } else if (RedisStorage.result(manifest) != null) {
+                    res = CompletableFuture.completedFuture(
+                        new RedisMeta(new Manifest(RedisStorage.result(manifest)).size())
+                    );
+                } else if (!RedisStorage.result(inline)) {
+                    res = new CompletableFutureSupport.Failed<RedisMeta>(
+                        new ValueNotFoundException(key)
+                    ).get();
+                } else if (this.codec instanceof ByteArrayCodec) {
+                    res = CompletableFuture.completedFuture(
+                        new RedisMeta(RedisStorage.result(stored))
+                    );
+                } else {
+                    res = this.backfill(key);
                 }
-            ).toCompletableFuture();
+                return res;
+            }
+        ).toCompletableFuture();
     }
 
     @Override
@@ -192,31 +832,707 @@ public final class RedisStorage implements Storage {
     }
 
     /**
-     * Metadata for redis storage.
+     * Read value saved before metadata was introduced to save its size and digest
+     * to metadata hash, so it is read once.
+     *
+     * @param key Key.
+     * @return Metadata of the value.
+     */
+    private CompletionStage<RedisMeta> backfill(final Key key) {
+        return this.data.getAsync(key.string()).thenCompose(
+            bytes -> {
+                if (bytes == null) {
+                    throw new ValueNotFoundException(key);
+                }
+                final RedisMeta meta = new RedisMeta(bytes.length, DigestUtils.md5Hex(bytes));
+                return this.client.getScript(ByteArrayCodec.INSTANCE).<Long>evalAsync(
+                    RScript.Mode.READ_WRITE,
+                    RedisStorage.BACKFILL,
+                    RScript.ReturnType.INTEGER,
+                    Arrays.asList(this.name, RedisStorage.metasName(this.name)),
+                    this.encoded(key.string()),
+                    key.string().getBytes(StandardCharsets.UTF_8),
+                    meta.toString().getBytes(StandardCharsets.UTF_8)
+                ).thenApply(nothing -> meta);
+            }
+        );
+    }
+
+    /**
+     * Near cache can be used: it is enabled and its listeners are subscribed.
+     *
+     * @return True if near cache can be used.
+     */
+    private boolean cached() {
+        return this.near.enabled() && this.listening.get() && !this.detached.get();
+    }
+
+    /**
+     * Read stored value.
+     *
+     * @param key Key.
+     * @return Loaded value.
+     */
+    private CompletableFuture<Loaded> stored(final Key key) {
+        return this.lookup(key.string()).thenApply(
+            stored -> {
+                if (stored.bytes().isPresent()) {
+                    return new Loaded(
+                        new Content.OneTime(new Content.From(stored.bytes().get())),
+                        stored.bytes()
+                    );
+                }
+                if (stored.manifest().isPresent()) {
+                    return new Loaded(
+                        this.chunked(key, new Manifest(stored.manifest().get())),
+                        Optional.empty()
+                    );
+                }
+                throw new ValueNotFoundException(key);
+            }
+        ).toCompletableFuture();
+    }
+
+    /**
+     * Save value kept in hash, remove replaced chunked value.
      *
-     * @since 1.9
+     * @param key Key.
+     * @param bytes Value.
+     * @param meta Value metadata.
+     * @return Completion signal.
      */
-    private static final class RedisMeta implements Meta {
+    private CompletionStage<Void> commit(final Key key, final byte[] bytes,
+        final RedisMeta meta) {
+        final RBatch batch = this.batch();
+        final RFuture<String> prev = this.inline(batch, key, bytes, meta);
+        return batch.executeAsync().thenCompose(
+            nothing -> {
+                this.near.invalidate(key.string());
+                return this.drop(RedisStorage.result(prev));
+            }
+        );
+    }
+
+    /**
+     * Add commands saving value kept in hash to batch.
+     *
+     * @param batch Batch.
+     * @param key Key.
+     * @param bytes Value.
+     * @param meta Value metadata.
+     * @return Manifest of replaced chunked value, available when batch is executed.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private RFuture<String> inline(final RBatch batch, final Key key, final byte[] bytes,
+        final RedisMeta meta) {
+        this.values(batch).fastPutAsync(key.string(), bytes);
+        this.metas(batch).fastPutAsync(key.string(), meta.toString());
+        this.created(batch, key, meta);
+        final RFuture<String> prev = this.manifests(batch).removeAsync(key.string());
+        this.index(batch).addAsync(key.string());
+        this.invalidations(batch).publishAsync(key.string());
+        return prev;
+    }
+
+    /**
+     * Save manifest of chunked value, remove replaced value.
+     *
+     * @param key Key.
+     * @param manifest Manifest of written chunks.
+     * @param meta Value metadata.
+     * @return Completion signal.
+     */
+    private CompletionStage<Void> commit(final Key key, final Manifest manifest,
+        final RedisMeta meta) {
+        final RBatch batch = this.batch();
+        this.metas(batch).fastPutAsync(key.string(), meta.toString());
+        this.created(batch, key, meta);
+        final RFuture<String> prev = this.manifests(batch)
+            .putAsync(key.string(), manifest.toString());
+        this.values(batch).fastRemoveAsync(key.string());
+        this.index(batch).addAsync(key.string());
+        this.invalidations(batch).publishAsync(key.string());
+        this.pending(batch).fastRemoveAsync(manifest.uid());
+        return batch.executeAsync().thenCompose(
+            nothing -> {
+                this.near.invalidate(key.string());
+                return this.drop(RedisStorage.result(prev));
+            }
+        );
+    }
+
+    /**
+     * Write chunk and mark save of chunks as pending with current time in one atomic batch.
+     *
+     * @param uid Chunks id.
+     * @param num Chunk number.
+     * @param bytes Chunk bytes.
+     * @return Completion signal.
+     */
+    private Completable put(final String uid, final int num, final byte[] bytes) {
+        final RBatch batch = this.batch();
+        batch.<String, byte[]>getMap(RedisStorage.chunksName(this.name))
+            .fastPutAsync(Manifest.chunk(uid, num), bytes);
+        this.pending(batch).fastPutAsync(
+            uid, String.format("%d %d", System.currentTimeMillis(), num + 1)
+        );
+        return CompletableInterop.fromFuture(batch.executeAsync());
+    }
+
+    /**
+     * Content of chunked value, chunks are read one at a time on demand.
+     *
+     * @param key Key.
+     * @param manifest Manifest.
+     * @return Content.
+     */
+    private Content chunked(final Key key, final Manifest manifest) {
+        return new Content.OneTime(
+            new Content.From(
+                Optional.of(manifest.size()),
+                Flowable.range(0, manifest.count()).concatMap(
+                    num -> SingleInterop.fromFuture(
+                        this.chunks.getAsync(manifest.chunk(num)).thenApply(
+                            bytes -> {
+                                if (bytes == null) {
+                                    throw new ArtipieIOException(
+                                        String.format(
+                                            "Value was removed while being read: %s", key
+                                        )
+                                    );
+                                }
+                                return ByteBuffer.wrap(bytes);
+                            }
+                        )
+                    ).toFlowable(),
+                    1
+                )
+            )
+        );
+    }
+
+    /**
+     * Remove chunks of replaced or deleted value.
+     *
+     * @param manifest Manifest string, may be null.
+     * @return Completion signal.
+     */
+    private CompletionStage<Void> drop(final String manifest) {
+        final CompletionStage<Void> res;
+        if (manifest == null) {
+            res = CompletableFuture.allOf();
+        } else {
+            res = this.drop(new Manifest(manifest));
+        }
+        return res;
+    }
+
+    /**
+     * Remove chunks of replaced or deleted values.
+     *
+     * @param prevs Manifests of executed batch, results may be null.
+     * @return Completion signal.
+     */
+    private CompletionStage<Void> drop(final List<RFuture<String>> prevs) {
+        return CompletableFuture.allOf(
+            prevs.stream()
+                .map(prev -> this.drop(RedisStorage.result(prev)).toCompletableFuture())
+                .toArray(CompletableFuture<?>[]::new)
+        );
+    }
+
+    /**
+     * Remove chunks.
+     *
+     * @param manifest Manifest.
+     * @return Completion signal.
+     */
+    private CompletionStage<Void> drop(final Manifest manifest) {
+        return this.chunks.fastRemoveAsync(manifest.fields()).thenRun(() -> { });
+    }
+
+    /**
+     * Read value kept in hash and manifest of chunked value in one round trip.
+     *
+     * @param key Key string.
+     * @return Stored value.
+     */
+    private CompletionStage<Stored> lookup(final String key) {
+        final RBatch batch = this.client.createBatch();
+        final RFuture<byte[]> bytes = this.values(batch).getAsync(key);
+        final RFuture<String> manifest = this.manifests(batch).getAsync(key);
+        return batch.executeAsync().thenApply(
+            nothing -> new Stored(
+                Optional.ofNullable(RedisStorage.result(bytes)),
+                Optional.ofNullable(RedisStorage.result(manifest))
+            )
+        );
+    }
+
+    /**
+     * Read keys of prefix from index page by page, next page is read when
+     * action on the previous one completes.
+     *
+     * @param prefix Keys prefix.
+     * @param from First key of the page.
+     * @param inclusive Include first key to the page.
+     * @param action Action on keys of the page.
+     * @return Completion signal.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private CompletionStage<Void> page(final String prefix, final String from,
+        final boolean inclusive, final Function<List<Key>, CompletionStage<Void>> action) {
+        return this.index.rangeTailAsync(from, inclusive, 0, RedisStorage.PAGE).thenCompose(
+            page -> {
+                final List<Key> keys = new ArrayList<>(page.size());
+                for (final String str : page) {
+                    if (!str.startsWith(prefix)) {
+                        break;
+                    }
+                    keys.add(new Key.From(str));
+                }
+                return action.apply(keys).thenCompose(
+                    nothing -> {
+                        final CompletionStage<Void> next;
+                        if (page.size() == RedisStorage.PAGE && keys.size() == page.size()) {
+                            next = this.page(
+                                prefix, keys.get(keys.size() - 1).string(), false, action
+                            );
+                        } else {
+                            next = CompletableFuture.allOf();
+                        }
+                        return next;
+                    }
+                );
+            }
+        );
+    }
+
+    /**
+     * Merge keys of hash to index unless they were merged before.
+     *
+     * @return Completion signal.
+     */
+    private CompletionStage<Void> indexed() {
+        final CompletableFuture<Void> current = this.indexed.get();
+        final CompletableFuture<Void> build = new CompletableFuture<>();
+        final CompletionStage<Void> res;
+        if (current != null) {
+            res = current;
+        } else if (this.indexed.compareAndSet(null, build)) {
+            final RBucketAsync<String> marker = this.client.getBucket(
+                RedisStorage.indexedName(this.name), StringCodec.INSTANCE
+            );
+            marker.isExistsAsync().thenCompose(
+                exists -> {
+                    final CompletionStage<Void> merge;
+                    if (exists) {
+                        merge = CompletableFuture.allOf();
+                    } else {
+                        merge = this.data.readAllKeySetAsync().thenCombine(
+                            this.manifests.readAllKeySetAsync(),
+                            (inline, chunked) -> {
+                                final Set<String> all = new TreeSet<>(inline);
+                                all.addAll(chunked);
+                                return all;
+                            }
+                        ).thenCompose(
+                            keys -> Flowable.fromIterable(keys)
+                                .buffer(RedisStorage.PAGE)
+                                .concatMapCompletable(
+                                    page -> CompletableInterop.fromFuture(this.merge(page))
+                                ).to(CompletableInterop.<Void>await())
+                        ).thenCompose(nothing -> marker.setAsync(Instant.now().toString()));
+                    }
+                    return merge;
+                }
+            ).whenComplete(
+                (nothing, err) -> {
+                    if (err == null) {
+                        build.complete(null);
+                    } else {
+                        this.indexed.set(null);
+                        build.completeExceptionally(err);
+                    }
+                }
+            );
+            res = build;
+        } else {
+            res = this.indexed();
+        }
+        return res;
+    }
+
+    /**
+     * Add keys which still exist to index.
+     *
+     * @param keys Key strings.
+     * @return Completion signal.
+     */
+    private CompletionStage<Void> merge(final List<String> keys) {
+        final List<Object> args = new ArrayList<>(keys.size() * 2);
+        for (final String key : keys) {
+            args.add(this.encoded(key));
+            args.add(key.getBytes(StandardCharsets.UTF_8));
+        }
+        return this.client.getScript(ByteArrayCodec.INSTANCE).<Long>evalAsync(
+            RScript.Mode.READ_WRITE,
+            RedisStorage.MERGE,
+            RScript.ReturnType.INTEGER,
+            Arrays.asList(
+                this.name, RedisStorage.manifestsName(this.name),
+                RedisStorage.indexName(this.name)
+            ),
+            args.toArray()
+        ).thenRun(() -> { });
+    }
+
+    /**
+     * Atomic batch of commands.
+     *
+     * @return Batch.
+     */
+    private RBatch batch() {
+        return this.client.createBatch(
+            BatchOptions.defaults().executionMode(BatchOptions.ExecutionMode.IN_MEMORY_ATOMIC)
+        );
+    }
+
+    /**
+     * Values hash in batch.
+     *
+     * @param batch Batch.
+     * @return Hash.
+     */
+    private RMapAsync<String, byte[]> values(final RBatch batch) {
+        return batch.getMap(this.name);
+    }
+
+    /**
+     * Manifests hash in batch.
+     *
+     * @param batch Batch.
+     * @return Hash.
+     */
+    private RMapAsync<String, String> manifests(final RBatch batch) {
+        return batch.getMap(RedisStorage.manifestsName(this.name), StringCodec.INSTANCE);
+    }
+
+    /**
+     * Metadata hash in batch.
+     *
+     * @param batch Batch.
+     * @return Hash.
+     */
+    private RMapAsync<String, String> metas(final RBatch batch) {
+        return batch.getMap(RedisStorage.metasName(this.name), StringCodec.INSTANCE);
+    }
+
+    /**
+     * Pending saves hash in batch.
+     *
+     * @param batch Batch.
+     * @return Hash.
+     */
+    private RMapAsync<String, String> pending(final RBatch batch) {
+        return batch.getMap(RedisStorage.pendingName(this.name), StringCodec.INSTANCE);
+    }
+
+    /**
+     * Creation times hash in batch.
+     *
+     * @param batch Batch.
+     * @return Hash.
+     */
+    private RMapAsync<String, String> created(final RBatch batch) {
+        return batch.getMap(RedisStorage.createdName(this.name), StringCodec.INSTANCE);
+    }
+
+    /**
+     * Add command saving creation time of value to batch unless it was saved before.
+     *
+     * @param batch Batch.
+     * @param key Key.
+     * @param meta Metadata of saved value.
+     */
+    private void created(final RBatch batch, final Key key, final RedisMeta meta) {
+        meta.read(Meta.OP_CREATED_AT).ifPresent(
+            time -> this.created(batch).fastPutIfAbsentAsync(
+                key.string(), String.valueOf(time.toEpochMilli())
+            )
+        );
+    }
+
+    /**
+     * Invalidations channel in batch.
+     *
+     * @param batch Batch.
+     * @return Channel.
+     */
+    private RTopicAsync invalidations(final RBatch batch) {
+        return batch.getTopic(RedisStorage.invalidationsName(this.name), StringCodec.INSTANCE);
+    }
+
+    /**
+     * Keys index in batch.
+     *
+     * @param batch Batch.
+     * @return Sorted set.
+     */
+    private RLexSortedSetAsync index(final RBatch batch) {
+        return batch.getLexSortedSet(RedisStorage.indexName(this.name));
+    }
+
+    /**
+     * Result of batch command, batch should be executed.
+     *
+     * @param future Command result future.
+     * @param <T> Result type.
+     * @return Result, may be null.
+     */
+    private static <T> T result(final RFuture<T> future) {
+        return future.toCompletableFuture().getNow(null);
+    }
+
+    /**
+     * Field of values hash encoded by hash codec.
+     *
+     * @param key Key string.
+     * @return Encoded field.
+     */
+    private byte[] encoded(final String key) {
+        final ByteBuf buf;
+        try {
+            buf = this.codec.getMapKeyEncoder().encode(key);
+        } catch (final IOException err) {
+            throw new ArtipieIOException(err);
+        }
+        try {
+            return ByteBufUtil.getBytes(buf);
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * Name of keys index.
+     *
+     * @param name Name of Redis hash with values.
+     * @return Index name.
+     */
+    private static String indexName(final String name) {
+        return RedisStorage.derived(name, "keys");
+    }
+
+    /**
+     * Name of index merge marker.
+     *
+     * @param name Name of Redis hash with values.
+     * @return Marker name.
+     */
+    private static String indexedName(final String name) {
+        return RedisStorage.derived(name, "indexed");
+    }
+
+    /**
+     * Name of manifests hash.
+     *
+     * @param name Name of Redis hash with values.
+     * @return Hash name.
+     */
+    private static String manifestsName(final String name) {
+        return RedisStorage.derived(name, "manifests");
+    }
+
+    /**
+     * Name of metadata hash.
+     *
+     * @param name Name of Redis hash with values.
+     * @return Hash name.
+     */
+    private static String metasName(final String name) {
+        return RedisStorage.derived(name, "meta");
+    }
+
+    /**
+     * Name of creation times hash.
+     *
+     * @param name Name of Redis hash with values.
+     * @return Hash name.
+     */
+    private static String createdName(final String name) {
+        return RedisStorage.derived(name, "created");
+    }
+
+    /**
+     * Name of invalidations channel.
+     *
+     * @param name Name of Redis hash with values.
+     * @return Channel name.
+     */
+    private static String invalidationsName(final String name) {
+        return RedisStorage.derived(name, "invalidations");
+    }
+
+    /**
+     * Name of pending saves hash.
+     *
+     * @param name Name of Redis hash with values.
+     * @return Hash name.
+     */
+    private static String pendingName(final String name) {
+        return RedisStorage.derived(name, "pending");
+    }
+
+    /**
+     * Time of the last written chunk of pending save.
+     *
+     * @param save Pending save string {@code <millis> <count>}.
+     * @return Milliseconds since epoch.
+     */
+    private static long since(final String save) {
+        return Long.parseLong(save.split(" ")[0]);
+    }
+
+    /**
+     * Number of written chunks of pending save.
+     *
+     * @param save Pending save string {@code <millis> <count>}.
+     * @return Chunks count.
+     */
+    private static int written(final String save) {
+        return Integer.parseInt(save.split(" ")[1]);
+    }
+
+    /**
+     * Name of chunks hash.
+     *
+     * @param name Name of Redis hash with values.
+     * @return Hash name.
+     */
+    private static String chunksName(final String name) {
+        return RedisStorage.derived(name, "chunks");
+    }
+
+    /**
+     * Name of Redis object derived from hash name, in the same cluster slot as the hash.
+     * Cluster slot of the name is computed from its hash tag, the part between first
+     * {@code {} and next {@code }}, if it is not empty, or from the whole name.
+     *
+     * @param name Name of Redis hash with values.
+     * @param suffix Object suffix.
+     * @return Object name.
+     * @throws IllegalArgumentException If name has braces which do not form hash tag.
+     */
+    static String derived(final String name, final String suffix) {
+        final int open = name.indexOf('{');
+        final String res;
+        if (open >= 0 && name.indexOf('}', open) > open + 1) {
+            res = String.format("%s:%s", name, suffix);
+        } else if (open >= 0 || name.indexOf('}') >= 0) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Name of Redis hash should have non-empty hash tag if it has braces: %s",
+                    name
+                )
+            );
+        } else {
+            res = String.format("{%s}:%s", name, suffix);
+        }
+        return res;
+    }
+
+    /**
+     * Stored value: bytes kept in hash or manifest of chunked value.
+     *
+     * @since 1.16
+     */
+    private static final class Stored {
 
         /**
-         * Byte-array length.
+         * Value kept in hash.
          */
-        private final long length;
+        private final Optional<byte[]> inline;
 
         /**
-         * New metadata.
+         * Manifest of chunked value.
+         */
+        private final Optional<String> chunked;
+
+        /**
+         * Ctor.
          *
-         * @param length Array length
+         * @param inline Value kept in hash.
+         * @param chunked Manifest of chunked value.
          */
-        RedisMeta(final int length) {
-            this.length = length;
+        Stored(final Optional<byte[]> inline, final Optional<String> chunked) {
+            this.inline = inline;
+            this.chunked = chunked;
         }
 
-        @Override
-        public <T> T read(final ReadOperator<T> opr) {
-            final Map<String, String> raw = new HashMap<>();
-            Meta.OP_SIZE.put(raw, this.length);
-            return opr.take(Collections.unmodifiableMap(raw));
+        /**
+         * Value kept in hash.
+         *
+         * @return Bytes if value is not chunked.
+         */
+        Optional<byte[]> bytes() {
+            return this.inline;
+        }
+
+        /**
+         * Manifest of chunked value.
+         *
+         * @return Manifest string if value is chunked.
+         */
+        Optional<String> manifest() {
+            return this.chunked;
+        }
+    }
+
+    /**
+     * Loaded value: content and bytes if value is kept in hash.
+     *
+     * @since 1.16
+     */
+    private static final class Loaded {
+
+        /**
+         * Value content.
+         */
+        private final Content data;
+
+        /**
+         * Value kept in hash.
+         */
+        private final Optional<byte[]> inline;
+
+        /**
+         * Ctor.
+         *
+         * @param data Value content.
+         * @param inline Value kept in hash.
+         */
+        Loaded(final Content data, final Optional<byte[]> inline) {
+            this.data = data;
+            this.inline = inline;
+        }
+
+        /**
+         * Value content.
+         *
+         * @return Content.
+         */
+        Content content() {
+            return this.data;
+        }
+
+        /**
+         * Value kept in hash.
+         *
+         * @return Bytes if value is not chunked.
+         */
+        Optional<byte[]> bytes() {
+            return this.inline;
         }
     }
 }
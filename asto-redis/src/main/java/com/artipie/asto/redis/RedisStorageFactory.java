@@ -15,6 +15,11 @@ import org.redisson.api.RedissonClient;
 
 /**
  * Redis storage factory.
+ * <p>
+ * Optional {@code near-cache} section with {@code entries} and {@code bytes} limits
+ * enables {@link NearCache} of the storage, both limits are required. Created storage
+ * is {@link RedisStorage}, its cache statistics like hit rate are available with
+ * {@link RedisStorage#nearCache()}.
  *
  * @since 0.1
  */
@@ -32,15 +37,50 @@ public final class RedisStorageFactory implements StorageFactory {
             if (name == null) {
                 name = RedisStorageFactory.DEF_OBJ_NAME;
             }
+            final Config near = cfg.config("near-cache");
+            final NearCache cache;
+            if (near.isEmpty()) {
+                cache = NearCache.DISABLED;
+            } else {
+                cache = new NearCache(
+                    (int) Math.min(Integer.MAX_VALUE, RedisStorageFactory.limit(near, "entries")),
+                    RedisStorageFactory.limit(near, "bytes")
+                );
+            }
             final RedissonClient redisson = Redisson.create(
                 org.redisson.config.Config.fromYAML(
                     new Config.StrictStorageConfig(cfg)
                         .string("config")
                 )
             );
-            return new RedisStorage(redisson.getMap(name), redisson.getId());
+            return new RedisStorage(redisson, name, RedisStorage.DEF_CHUNK, cache);
         } catch (final IOException err) {
             throw new ArtipieIOException(err);
         }
     }
+
+    /**
+     * Limit of near cache.
+     *
+     * @param near Near cache section of storage config.
+     * @param key Limit key.
+     * @return Limit value.
+     * @throws IllegalArgumentException If limit is missing or is not a number.
+     */
+    private static long limit(final Config near, final String key) {
+        final String value = near.string(key);
+        if (value == null) {
+            throw new IllegalArgumentException(
+                String.format("Redis storage near-cache: '%s' is required", key)
+            );
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (final NumberFormatException err) {
+            throw new IllegalArgumentException(
+                String.format("Redis storage near-cache: '%s' should be a number: %s", key, value),
+                err
+            );
+        }
+    }
 }
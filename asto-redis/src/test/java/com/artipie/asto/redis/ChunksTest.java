@@ -0,0 +1,58 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.redis;
+
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link Chunks}.
+ *
+ * @since 1.16
+ */
+final class ChunksTest {
+
+    @Test
+    void regroupsBuffersIntoFixedSizeChunks() {
+        MatcherAssert.assertThat(
+            new Chunks(
+                Flowable.just("ab", "cdefg", "h", "ijklmnopq", "r")
+                    .map(str -> ByteBuffer.wrap(str.getBytes(StandardCharsets.UTF_8))),
+                4
+            ).flowable()
+                .map(bytes -> new String(bytes, StandardCharsets.UTF_8))
+                .toList()
+                .blockingGet(),
+            Matchers.contains("abcd", "efgh", "ijkl", "mnop", "qr")
+        );
+    }
+
+    @Test
+    void regroupsSmallBuffersIntoChunks() {
+        MatcherAssert.assertThat(
+            new Chunks(
+                Flowable.fromArray("abcdefghijklmnopqrst".split(""))
+                    .map(str -> ByteBuffer.wrap(str.getBytes(StandardCharsets.UTF_8))),
+                8
+            ).flowable()
+                .map(bytes -> new String(bytes, StandardCharsets.UTF_8))
+                .toList()
+                .blockingGet(),
+            Matchers.contains("abcdefgh", "ijklmnop", "qrst")
+        );
+    }
+
+    @Test
+    void emitsNothingForEmptyContent() {
+        MatcherAssert.assertThat(
+            new Chunks(Flowable.empty(), 4).flowable().toList().blockingGet(),
+            Matchers.empty()
+        );
+    }
+}
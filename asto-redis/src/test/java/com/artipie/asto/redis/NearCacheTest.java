@@ -0,0 +1,109 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.redis;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link NearCache}.
+ *
+ * @since 1.16
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class NearCacheTest {
+
+    @Test
+    void countsHitsAndMisses() {
+        final NearCache cache = new NearCache(10, 100);
+        cache.put("one", new byte[3], cache.version("one"));
+        cache.get("one");
+        cache.get("one");
+        cache.get("two");
+        MatcherAssert.assertThat(
+            cache.hitRate(),
+            new IsEqual<>(2.0 / 3)
+        );
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedByEntries() {
+        final NearCache cache = new NearCache(2, 100);
+        cache.put("first", new byte[1], cache.version("first"));
+        cache.put("second", new byte[1], cache.version("second"));
+        cache.get("first");
+        cache.put("third", new byte[1], cache.version("third"));
+        MatcherAssert.assertThat(
+            "Recently used value was evicted",
+            cache.get("first").isPresent(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Least recently used value was not evicted",
+            cache.get("second").isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void evictsValuesToFitSize() {
+        final NearCache cache = new NearCache(10, 10);
+        cache.put("first", new byte[6], cache.version("first"));
+        cache.put("second", new byte[6], cache.version("second"));
+        cache.put("large", new byte[11], cache.version("large"));
+        MatcherAssert.assertThat(
+            "Values exceed capacity",
+            cache.weight(),
+            new IsEqual<>(6L)
+        );
+        MatcherAssert.assertThat(
+            "Value larger than capacity was cached",
+            cache.get("large").isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void doesNotCacheValueReadBeforeInvalidation() {
+        final NearCache cache = new NearCache(10, 100);
+        final long version = cache.version("changed");
+        cache.invalidate("changed");
+        cache.put("changed", new byte[1], version);
+        MatcherAssert.assertThat(
+            cache.get("changed").isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void invalidatesValue() {
+        final NearCache cache = new NearCache(10, 100);
+        cache.put("key", new byte[5], cache.version("key"));
+        cache.invalidate("key");
+        MatcherAssert.assertThat(
+            "Value was not invalidated",
+            cache.get("key").isPresent(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Weight was not updated",
+            cache.weight(),
+            new IsEqual<>(0L)
+        );
+    }
+
+    @Test
+    void cachesValueReadWhileOtherKeyIsInvalidated() {
+        final NearCache cache = new NearCache(10, 100);
+        final long version = cache.version("a");
+        cache.invalidate("b");
+        cache.put("a", new byte[1], version);
+        MatcherAssert.assertThat(
+            cache.get("a").isPresent(),
+            new IsEqual<>(true)
+        );
+    }
+}
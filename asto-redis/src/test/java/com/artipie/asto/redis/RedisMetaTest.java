@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.redis;
+
+import com.artipie.asto.Meta;
+import java.time.Instant;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link RedisMeta}.
+ *
+ * @since 1.16
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class RedisMetaTest {
+
+    @Test
+    void readsMetadataFromString() {
+        final Instant time = Instant.ofEpochMilli(1_650_000_000_000L);
+        final Meta meta = new RedisMeta(
+            new RedisMeta(42, time, "d41d8cd98f00b204e9800998ecf8427e").toString(),
+            String.valueOf(time.toEpochMilli())
+        );
+        MatcherAssert.assertThat(
+            "Size is not correct",
+            meta.read(Meta.OP_SIZE).get(),
+            new IsEqual<>(42L)
+        );
+        MatcherAssert.assertThat(
+            "Creation time is not correct",
+            meta.read(Meta.OP_CREATED_AT).get(),
+            new IsEqual<>(time)
+        );
+        MatcherAssert.assertThat(
+            "Update time is not correct",
+            meta.read(Meta.OP_UPDATED_AT).get(),
+            new IsEqual<>(time)
+        );
+        MatcherAssert.assertThat(
+            "MD5 is not correct",
+            meta.read(Meta.OP_MD5).get(),
+            new IsEqual<>("d41d8cd98f00b204e9800998ecf8427e")
+        );
+    }
+
+    @Test
+    void readsSizeOnlyMetadata() {
+        final Meta meta = new RedisMeta(7);
+        MatcherAssert.assertThat(
+            meta.read(Meta.OP_UPDATED_AT).isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void readsMetadataWithoutTimes() {
+        final Meta meta = new RedisMeta(
+            new RedisMeta(3, "acbd18db4cc2f85cedef654fccc4a4d8").toString()
+        );
+        MatcherAssert.assertThat(
+            "Update time is present",
+            meta.read(Meta.OP_UPDATED_AT).isPresent(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Creation time is present",
+            meta.read(Meta.OP_CREATED_AT).isPresent(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "MD5 is not correct",
+            meta.read(Meta.OP_MD5).get(),
+            new IsEqual<>("acbd18db4cc2f85cedef654fccc4a4d8")
+        );
+    }
+}
@@ -38,7 +38,7 @@ public final class RedisStorageFactoryTest {
 
     @BeforeEach
     void setUp() {
-        this.redis = new GenericContainer<>("redis:3-alpine")
+        this.redis = new GenericContainer<>("redis:3.2-alpine")
             .withExposedPorts(6379);
         this.redis.start();
     }
@@ -71,6 +71,69 @@ public final class RedisStorageFactoryTest {
         );
     }
 
+    @Test
+    void shouldReportMissingNearCacheLimit() {
+        final IllegalArgumentException err = Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new StoragesLoader().newObject(
+                "redis",
+                new Config.YamlStorageConfig(
+                    Yaml.createYamlMappingBuilder()
+                        .add("type", "redis")
+                        .add(
+                            "near-cache",
+                            Yaml.createYamlMappingBuilder().add("entries", "100").build()
+                        ).build()
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            err.getMessage(),
+            new IsEqual<>("Redis storage near-cache: 'bytes' is required")
+        );
+    }
+
+    @Test
+    void shouldExposeNearCacheOfCreatedStorage() {
+        final NearCache cache = ((RedisStorage) new StoragesLoader().newObject(
+            "redis",
+            new Config.YamlStorageConfig(
+                Yaml.createYamlMappingBuilder()
+                    .add("type", "redis")
+                    .add(
+                        "near-cache",
+                        Yaml.createYamlMappingBuilder()
+                            .add("entries", "100")
+                            .add("bytes", "1024")
+                            .build()
+                    )
+                    .add(
+                        "config",
+                        Yaml.createYamlMappingBuilder()
+                            .add(
+                                "singleServerConfig",
+                                Yaml.createYamlMappingBuilder().add(
+                                    "address",
+                                    String.format(
+                                        "redis://127.0.0.1:%d", this.redis.getFirstMappedPort()
+                                    )
+                                ).build()
+                            ).build()
+                    ).build()
+            )
+        )).nearCache();
+        MatcherAssert.assertThat(
+            "Near cache is not enabled",
+            cache.enabled(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Hit rate is not zero before reads",
+            cache.hitRate(),
+            new IsEqual<>(0.0)
+        );
+    }
+
     @Test
     void shouldUseDefaultRedisObjectNameWhenConfigNameIsNull() {
         final Key key = new Key.From("test_key");
@@ -13,10 +13,15 @@ import com.artipie.asto.Storage;
 import com.artipie.asto.blocking.BlockingStorage;
 import com.artipie.asto.ext.ContentAs;
 import com.artipie.asto.factory.StoragesLoader;
+import io.reactivex.Flowable;
 import io.reactivex.Single;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.ExecutionException;
@@ -25,12 +30,15 @@ import java.util.stream.Collectors;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.condition.DisabledOnOs;
 import org.junit.jupiter.api.condition.OS;
 import org.redisson.Redisson;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
 import org.redisson.config.Config;
 import org.testcontainers.containers.GenericContainer;
 
@@ -56,7 +64,7 @@ public final class RedisStorageTest {
 
     @BeforeEach
     void setUp() {
-        this.redis = new GenericContainer<>("redis:3-alpine")
+        this.redis = new GenericContainer<>("redis:3.2-alpine")
             .withExposedPorts(6379);
         this.redis.start();
         this.storage = new StoragesLoader()
@@ -123,6 +131,279 @@ public final class RedisStorageTest {
         );
     }
 
+    @Test
+    void shouldRemoveChunksOfReplacedValue() throws IOException {
+        final Key key = new Key.From("replaced/data");
+        final byte[] large = new byte[3 * 1024 * 1024 + 1];
+        new Random().nextBytes(large);
+        final BlockingStorage blocking = new BlockingStorage(this.storage);
+        blocking.save(key, large);
+        MatcherAssert.assertThat(
+            "Large value was not read from chunks",
+            blocking.value(key),
+            new IsEqual<>(large)
+        );
+        blocking.save(key, "small".getBytes());
+        MatcherAssert.assertThat(
+            "Small value was not read",
+            blocking.value(key),
+            new IsEqual<>("small".getBytes())
+        );
+        MatcherAssert.assertThat(
+            "Chunks of replaced value were not removed",
+            Redisson.create(
+                Config.fromYAML(
+                    config(this.redis.getFirstMappedPort()).config("config").toString()
+                )
+            ).getMap(String.format("{%s}:chunks", RedisStorageFactory.DEF_OBJ_NAME)).isEmpty(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldSweepChunksOfNotCompletedSave() throws Exception {
+        final RedissonClient client = Redisson.create(
+            Config.fromYAML(
+                config(this.redis.getFirstMappedPort()).config("config").toString()
+            )
+        );
+        final RedisStorage chunked = new RedisStorage(client, "swept", 4);
+        chunked.save(
+            new Key.From("abandoned"),
+            new Content.From(
+                Flowable.just(ByteBuffer.wrap("first chunks".getBytes()))
+                    .concatWith(Flowable.never())
+            )
+        );
+        final RMap<String, byte[]> chunks = client.getMap("{swept}:chunks");
+        while (chunks.size() < 2) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        chunked.sweep(Duration.ofHours(1)).join();
+        MatcherAssert.assertThat(
+            "Chunks of recent save were removed",
+            chunks.isEmpty(),
+            new IsEqual<>(false)
+        );
+        chunked.sweep(Duration.ZERO).join();
+        MatcherAssert.assertThat(
+            "Chunks of not completed save were not removed",
+            chunks.isEmpty(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Pending save was not removed",
+            client.getMap("{swept}:pending").isEmpty(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldKeepMetadataOfSavedValue() {
+        final Key key = new Key.From("meta/data");
+        final byte[] data = "metadata".getBytes();
+        new BlockingStorage(this.storage).save(key, data);
+        final Meta meta = this.storage.metadata(key).join();
+        MatcherAssert.assertThat(
+            "Size is not correct",
+            meta.read(Meta.OP_SIZE).get(),
+            new IsEqual<>((long) data.length)
+        );
+        MatcherAssert.assertThat(
+            "Update time is not present",
+            meta.read(Meta.OP_UPDATED_AT).isPresent(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "MD5 is not correct",
+            meta.read(Meta.OP_MD5).get(),
+            new IsEqual<>("9f81f3c07476a0d97f6793673dd8e475")
+        );
+    }
+
+    @Test
+    void shouldKeepCreationTimeWhenValueIsReplaced() throws Exception {
+        final Key key = new Key.From("meta/replaced");
+        final BlockingStorage blocking = new BlockingStorage(this.storage);
+        blocking.save(key, "first".getBytes());
+        final Instant created = this.storage.metadata(key).join()
+            .read(Meta.OP_CREATED_AT).get();
+        TimeUnit.MILLISECONDS.sleep(10);
+        blocking.save(key, "second".getBytes());
+        final Meta meta = this.storage.metadata(key).join();
+        MatcherAssert.assertThat(
+            "Creation time was changed",
+            meta.read(Meta.OP_CREATED_AT).get(),
+            new IsEqual<>(created)
+        );
+        MatcherAssert.assertThat(
+            "Update time was not changed",
+            meta.read(Meta.OP_UPDATED_AT).get().isAfter(created),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldMoveChunkedValue() {
+        final Key source = new Key.From("chunked/source");
+        final Key destination = new Key.From("chunked/destination");
+        final byte[] large = new byte[2 * 1024 * 1024 + 5];
+        new Random().nextBytes(large);
+        final BlockingStorage blocking = new BlockingStorage(this.storage);
+        blocking.save(source, large);
+        blocking.save(destination, "replaced".getBytes());
+        blocking.move(source, destination);
+        MatcherAssert.assertThat(
+            "Value was not moved",
+            blocking.value(destination),
+            new IsEqual<>(large)
+        );
+        MatcherAssert.assertThat(
+            "Source was not removed",
+            blocking.exists(source),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Metadata was not moved",
+            this.storage.metadata(destination).join().read(Meta.OP_SIZE).get(),
+            new IsEqual<>((long) large.length)
+        );
+    }
+
+    @Test
+    void shouldSaveCheckAndDeleteSeveralKeys() {
+        final RedisStorage redis = (RedisStorage) this.storage;
+        final Key first = new Key.From("batch/one");
+        final Key second = new Key.From("batch/two");
+        final Key missing = new Key.From("batch/missing");
+        final Map<Key, byte[]> values = new HashMap<>();
+        values.put(first, "one".getBytes());
+        values.put(second, "two".getBytes());
+        redis.save(values).join();
+        final Map<Key, Boolean> expected = new HashMap<>();
+        expected.put(first, true);
+        expected.put(second, true);
+        expected.put(missing, false);
+        MatcherAssert.assertThat(
+            "Saved values were not found",
+            redis.exists(Arrays.asList(first, second, missing)).join(),
+            new IsEqual<>(expected)
+        );
+        redis.delete(Arrays.asList(first, second, missing)).join();
+        MatcherAssert.assertThat(
+            "Values were not deleted",
+            redis.list(new Key.From("batch")).join(),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    void shouldMoveAndBatchValuesOfHashWithTag() throws IOException {
+        final RedisStorage redis = new RedisStorage(
+            Redisson.create(
+                Config.fromYAML(
+                    config(this.redis.getFirstMappedPort()).config("config").toString()
+                )
+            ),
+            "{artipie}-tagged",
+            16
+        );
+        final byte[] small = "small".getBytes();
+        final byte[] large = new byte[100];
+        new Random().nextBytes(large);
+        final Key first = new Key.From("tagged/one");
+        final Key second = new Key.From("tagged/two");
+        final Map<Key, byte[]> values = new HashMap<>();
+        values.put(first, small);
+        values.put(second, large);
+        redis.save(values).join();
+        redis.move(first, new Key.From("tagged/moved/one")).join();
+        redis.move(second, new Key.From("tagged/moved/two")).join();
+        final BlockingStorage blocking = new BlockingStorage(redis);
+        MatcherAssert.assertThat(
+            "Value kept in hash was not moved",
+            blocking.value(new Key.From("tagged/moved/one")),
+            new IsEqual<>(small)
+        );
+        MatcherAssert.assertThat(
+            "Chunked value was not moved",
+            blocking.value(new Key.From("tagged/moved/two")),
+            new IsEqual<>(large)
+        );
+        redis.delete(
+            Arrays.asList(new Key.From("tagged/moved/one"), new Key.From("tagged/moved/two"))
+        ).join();
+        MatcherAssert.assertThat(
+            "Values were not deleted",
+            redis.list(new Key.From("tagged")).join(),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    void shouldInvalidateNearCacheOfOtherClient() throws Exception {
+        final NearCache cache = new NearCache(100, 1024);
+        final Storage near = new RedisStorage(
+            Redisson.create(
+                Config.fromYAML(
+                    config(this.redis.getFirstMappedPort()).config("config").toString()
+                )
+            ),
+            RedisStorageFactory.DEF_OBJ_NAME,
+            RedisStorage.DEF_CHUNK,
+            cache
+        );
+        TimeUnit.SECONDS.sleep(1);
+        final Key key = new Key.From("near/value");
+        final BlockingStorage blocking = new BlockingStorage(this.storage);
+        blocking.save(key, "old".getBytes());
+        new BlockingStorage(near).value(key);
+        MatcherAssert.assertThat(
+            "Value was not served from near cache",
+            new BlockingStorage(near).value(key),
+            new IsEqual<>("old".getBytes())
+        );
+        blocking.save(key, "new".getBytes());
+        TimeUnit.SECONDS.sleep(1);
+        MatcherAssert.assertThat(
+            "Near cache was not invalidated",
+            new BlockingStorage(near).value(key),
+            new IsEqual<>("new".getBytes())
+        );
+        MatcherAssert.assertThat(
+            "Hit rate is not correct",
+            cache.hitRate(),
+            new IsEqual<>(1.0 / 3)
+        );
+    }
+
+    @Test
+    void shouldNotUseNearCacheAfterUnsubscribe() throws Exception {
+        final NearCache cache = new NearCache(100, 1024);
+        final RedisStorage near = new RedisStorage(
+            Redisson.create(
+                Config.fromYAML(
+                    config(this.redis.getFirstMappedPort()).config("config").toString()
+                )
+            ),
+            RedisStorageFactory.DEF_OBJ_NAME,
+            RedisStorage.DEF_CHUNK,
+            cache
+        );
+        TimeUnit.SECONDS.sleep(1);
+        final Key key = new Key.From("near/unsubscribed");
+        new BlockingStorage(this.storage).save(key, "value".getBytes());
+        new BlockingStorage(near).value(key);
+        near.unsubscribe().join();
+        new BlockingStorage(near).value(key);
+        MatcherAssert.assertThat(
+            "Value was served from near cache after unsubscribe",
+            cache.hits(),
+            new IsEqual<>(0L)
+        );
+    }
+
     @Test
     void shouldExistForSavedObject() {
         final byte[] data = "content".getBytes();
@@ -157,6 +438,65 @@ public final class RedisStorageTest {
         );
     }
 
+    @Test
+    void shouldListKeysSavedBeforeIndexAfterNewSave() {
+        final byte[] data = "old".getBytes();
+        this.save("old/1", data);
+        this.save("old/2", data);
+        final BlockingStorage blocking = new BlockingStorage(this.storage);
+        blocking.save(new Key.From("old", "3"), data);
+        MatcherAssert.assertThat(
+            blocking.list(new Key.From("old")).stream()
+                .map(Key::string)
+                .collect(Collectors.toList()),
+            Matchers.equalTo(Arrays.asList("old/1", "old/2", "old/3"))
+        );
+    }
+
+    @Test
+    void shouldListKeysOfPrefixPageByPage() {
+        final BlockingStorage blocking = new BlockingStorage(this.storage);
+        final byte[] data = "1".getBytes();
+        for (int idx = 0; idx < 2500; idx += 1) {
+            blocking.save(new Key.From("p", String.format("%04d", idx)), data);
+        }
+        blocking.save(new Key.From("o"), data);
+        blocking.save(new Key.From("q"), data);
+        blocking.delete(new Key.From("p", "0000"));
+        final Collection<Key> keys = blocking.list(new Key.From("p"));
+        MatcherAssert.assertThat(
+            "Wrong number of keys",
+            keys.size(),
+            new IsEqual<>(2499)
+        );
+        MatcherAssert.assertThat(
+            "Keys are not sorted",
+            keys.iterator().next().string(),
+            new IsEqual<>("p/0001")
+        );
+    }
+
+    @Test
+    void shouldDeleteAllKeysOfPrefixPageByPage() {
+        final BlockingStorage blocking = new BlockingStorage(this.storage);
+        final byte[] data = "1".getBytes();
+        for (int idx = 0; idx < 2500; idx += 1) {
+            blocking.save(new Key.From("d", String.format("%04d", idx)), data);
+        }
+        blocking.save(new Key.From("e"), data);
+        this.storage.deleteAll(new Key.From("d")).join();
+        MatcherAssert.assertThat(
+            "Keys of prefix were not deleted",
+            blocking.list(new Key.From("d")).isEmpty(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Key out of prefix was deleted",
+            blocking.exists(new Key.From("e")),
+            new IsEqual<>(true)
+        );
+    }
+
     @Test
     void shouldGetObjectWhenLoad() {
         final byte[] data = "data".getBytes();
@@ -214,12 +554,36 @@ public final class RedisStorageTest {
     void readMetadata() {
         final String key = "random/data";
         this.save(key, "random data".getBytes());
+        this.storage.metadata(new Key.From(key)).join();
         final Meta meta = this.storage.metadata(new Key.From(key)).join();
         MatcherAssert.assertThat(
             "size",
             meta.read(Meta.OP_SIZE).get(),
             new IsEqual<>(11L)
         );
+        MatcherAssert.assertThat(
+            "MD5",
+            meta.read(Meta.OP_MD5).get(),
+            new IsEqual<>("3e58b24739a19c3e2e1b21bac818c6cd")
+        );
+    }
+
+    @Test
+    void derivesNamesInClusterSlotOfHash() {
+        MatcherAssert.assertThat(
+            "Hash name is not hash tag of derived name",
+            RedisStorage.derived("artipie-redis", "keys"),
+            new IsEqual<>("{artipie-redis}:keys")
+        );
+        MatcherAssert.assertThat(
+            "Hash tag of hash name is not kept",
+            RedisStorage.derived("{artipie}-redis", "keys"),
+            new IsEqual<>("{artipie}-redis:keys")
+        );
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> RedisStorage.derived("artipie-{}-redis", "keys")
+        );
     }
 
     @Test
@@ -47,7 +47,7 @@ public final class RedisStorageWhiteboxVerificationTest extends StorageWhiteboxV
 
     @BeforeAll
     static void setUp() {
-        RedisStorageWhiteboxVerificationTest.redis = new GenericContainer<>("redis:3-alpine")
+        RedisStorageWhiteboxVerificationTest.redis = new GenericContainer<>("redis:3.2-alpine")
             .withExposedPorts(RedisStorageWhiteboxVerificationTest.DEF_PORT);
         RedisStorageWhiteboxVerificationTest.redis.start();
         RedisStorageWhiteboxVerificationTest.storage = new StoragesLoader().newObject(
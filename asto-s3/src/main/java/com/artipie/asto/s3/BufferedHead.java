@@ -0,0 +1,313 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.s3;
+
+import io.reactivex.Flowable;
+import io.reactivex.processors.UnicastProcessor;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Head of the content buffered in memory.
+ * <p>
+ * Reads content buffers one by one until the end of content is reached or
+ * number of bytes read reaches the limit. Bytes are copied to part buffers taken from
+ * the pool, so source buffers are not retained and head memory is reused after
+ * head is released. If the limit is reached, reading is paused and the rest of content
+ * is read with the same subscription when resulting publisher is consumed,
+ * so the source is subscribed only once.
+ *
+ * @since 1.16
+ */
+final class BufferedHead {
+
+    /**
+     * Content source.
+     */
+    private final Publisher<ByteBuffer> source;
+
+    /**
+     * Max number of bytes to buffer.
+     */
+    private final long limit;
+
+    /**
+     * Pool of buffers for head bytes.
+     */
+    private final PartBuffers buffers;
+
+    /**
+     * Ctor.
+     *
+     * @param source Content source.
+     * @param limit Max number of bytes to buffer.
+     * @param buffers Pool of buffers for head bytes.
+     */
+    BufferedHead(final Publisher<ByteBuffer> source, final long limit,
+        final PartBuffers buffers) {
+        this.source = source;
+        this.limit = limit;
+        this.buffers = buffers;
+    }
+
+    /**
+     * Read content head.
+     *
+     * @return Completion stage with the head, failed if source failed while reading the head.
+     */
+    CompletionStage<Head> read() {
+        final Reader reader = new Reader(this.limit, this.buffers);
+        this.source.subscribe(reader);
+        return reader.result();
+    }
+
+    /**
+     * Content head.
+     *
+     * @since 1.16
+     */
+    static final class Head {
+
+        /**
+         * Pool the head buffers were taken from.
+         */
+        private final PartBuffers pool;
+
+        /**
+         * Buffered head.
+         */
+        private final List<ByteBuffer> buffers;
+
+        /**
+         * Number of bytes buffered.
+         */
+        private final long size;
+
+        /**
+         * The rest of the content or null if whole content is buffered.
+         */
+        private final Publisher<ByteBuffer> rest;
+
+        /**
+         * Ctor.
+         *
+         * @param pool Pool the head buffers were taken from.
+         * @param buffers Buffered head.
+         * @param size Number of bytes buffered.
+         * @param rest The rest of the content or null if whole content is buffered.
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        Head(final PartBuffers pool, final List<ByteBuffer> buffers, final long size,
+            final Publisher<ByteBuffer> rest) {
+            this.pool = pool;
+            this.buffers = buffers;
+            this.size = size;
+            this.rest = rest;
+        }
+
+        /**
+         * Whether all the content is buffered.
+         *
+         * @return True if end of content was reached.
+         */
+        boolean complete() {
+            return this.rest == null;
+        }
+
+        /**
+         * Number of bytes buffered.
+         *
+         * @return Bytes count.
+         */
+        long size() {
+            return this.size;
+        }
+
+        /**
+         * Whole content: buffered head followed by the rest of the content.
+         * May be consumed only once if content is not complete.
+         *
+         * @return Content publisher.
+         */
+        Flowable<ByteBuffer> content() {
+            final Flowable<ByteBuffer> head = Flowable.fromIterable(this.buffers)
+                .map(ByteBuffer::duplicate);
+            final Flowable<ByteBuffer> res;
+            if (this.rest == null) {
+                res = head;
+            } else {
+                res = head.concatWith(this.rest);
+            }
+            return res;
+        }
+
+        /**
+         * Return head buffers to the pool. Should be called only when content
+         * consumer does not use emitted buffers anymore, e.g. when upload is finished.
+         */
+        void release() {
+            this.buffers.forEach(this.pool::give);
+            this.buffers.clear();
+        }
+    }
+
+    /**
+     * Subscriber reading the head and then passing through the rest of the source.
+     *
+     * @since 1.16
+     */
+    private static final class Reader implements Subscriber<ByteBuffer> {
+
+        /**
+         * Max number of bytes to buffer.
+         */
+        private final long limit;
+
+        /**
+         * Pool of buffers for head bytes.
+         */
+        private final PartBuffers pool;
+
+        /**
+         * Head result.
+         */
+        private final CompletableFuture<Head> future;
+
+        /**
+         * Buffered head.
+         */
+        private final List<ByteBuffer> buffers;
+
+        /**
+         * The rest of content, single subscriber only.
+         */
+        private final UnicastProcessor<ByteBuffer> rest;
+
+        /**
+         * Buffer being filled, null if there is no free space in the head buffers.
+         */
+        private ByteBuffer current;
+
+        /**
+         * Number of bytes buffered.
+         */
+        private long size;
+
+        /**
+         * Source subscription.
+         */
+        private Subscription upstream;
+
+        /**
+         * Ctor.
+         *
+         * @param limit Max number of bytes to buffer.
+         * @param pool Pool of buffers for head bytes.
+         */
+        Reader(final long limit, final PartBuffers pool) {
+            this.limit = limit;
+            this.pool = pool;
+            this.future = new CompletableFuture<>();
+            this.buffers = new ArrayList<>(1);
+            this.rest = UnicastProcessor.create();
+        }
+
+        /**
+         * Head result.
+         *
+         * @return Completion stage with the head.
+         */
+        CompletionStage<Head> result() {
+            return this.future;
+        }
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            this.upstream = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(final ByteBuffer buffer) {
+            if (this.future.isDone()) {
+                this.rest.onNext(buffer);
+            } else {
+                this.copy(buffer);
+                if (this.size >= this.limit) {
+                    this.future.complete(
+                        new Head(
+                            this.pool,
+                            this.filled(),
+                            this.size,
+                            this.rest
+                                .doOnRequest(num -> this.upstream.request(num))
+                                .doOnCancel(() -> this.upstream.cancel())
+                        )
+                    );
+                } else {
+                    this.upstream.request(1);
+                }
+            }
+        }
+
+        @Override
+        public void onError(final Throwable err) {
+            if (this.future.completeExceptionally(err)) {
+                this.filled().forEach(this.pool::give);
+            } else {
+                this.rest.onError(err);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (this.future.isDone()) {
+                this.rest.onComplete();
+            } else {
+                this.future.complete(new Head(this.pool, this.filled(), this.size, null));
+            }
+        }
+
+        /**
+         * Copy bytes to head buffers.
+         *
+         * @param buffer Source buffer, its position is not changed.
+         */
+        private void copy(final ByteBuffer buffer) {
+            final ByteBuffer src = buffer.duplicate();
+            this.size += src.remaining();
+            while (src.hasRemaining()) {
+                if (this.current == null) {
+                    this.current = this.pool.take();
+                    this.buffers.add(this.current);
+                }
+                final ByteBuffer slice = src.duplicate();
+                slice.limit(slice.position() + Math.min(src.remaining(), this.current.remaining()));
+                src.position(slice.limit());
+                this.current.put(slice);
+                if (!this.current.hasRemaining()) {
+                    this.current = null;
+                }
+            }
+        }
+
+        /**
+         * Head buffers prepared for reading, no bytes are copied after that.
+         *
+         * @return Buffers with head bytes.
+         */
+        private List<ByteBuffer> filled() {
+            this.buffers.forEach(ByteBuffer::flip);
+            this.current = null;
+            return this.buffers;
+        }
+    }
+}
@@ -6,24 +6,33 @@ package com.artipie.asto.s3;
 
 import com.artipie.asto.ArtipieIOException;
 import com.artipie.asto.Content;
-import hu.akarnokd.rxjava2.interop.SingleInterop;
 import io.reactivex.Flowable;
 import java.io.IOException;
-import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import org.cqfn.rio.file.File;
+import org.reactivestreams.Publisher;
 
 /**
  * Complements {@link Content} with size if size is unknown.
  * <p>
  * Size calculated by reading up to `limit` content bytes.
  * If end of content has not been reached by reading `limit` of bytes
- * then original content is returned.
+ * then content of unknown size is returned.
+ * Content is buffered in memory up to `buffer` bytes, if `limit` is
+ * not greater than `buffer`, the content is never written to disk: when limit is reached,
+ * buffered bytes are followed by the rest of original content, which is read as
+ * resulting content is consumed. Otherwise, the content exceeding memory buffer
+ * is spilled to temporary file. Buffered bytes are kept in part buffers, which are
+ * returned to the pool when content consumer passed to {@link #estimate(Function)}
+ * is finished with the content.
  *
  * @since 0.1
  */
@@ -38,15 +47,52 @@ final class EstimatedContentCompliment {
      */
     private final long limit;
 
+    /**
+     * Max number of bytes buffered in memory.
+     */
+    private final long buffer;
+
+    /**
+     * Pool of buffers for buffered bytes.
+     */
+    private final PartBuffers parts;
+
     /**
      * Ctor.
      *
      * @param original Original content.
      * @param limit Content reading limit.
+     * @param buffer Max number of bytes buffered in memory.
+     * @param parts Pool of buffers for buffered bytes.
+     * @checkstyle ParameterNumberCheck (5 lines)
      */
-    EstimatedContentCompliment(final Content original, final long limit) {
+    EstimatedContentCompliment(final Content original, final long limit, final long buffer,
+        final PartBuffers parts) {
         this.original = original;
         this.limit = limit;
+        this.buffer = buffer;
+        this.parts = parts;
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param original Original content.
+     * @param limit Content reading limit.
+     * @param buffer Max number of bytes buffered in memory.
+     */
+    EstimatedContentCompliment(final Content original, final long limit, final long buffer) {
+        this(original, limit, buffer, new PartBuffers(MultipartSettings.MIN_PART_SIZE, 0));
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param original Original content.
+     * @param limit Content reading limit.
+     */
+    EstimatedContentCompliment(final Content original, final long limit) {
+        this(original, limit, MultipartSettings.DEF_BUFFER);
     }
 
     /**
@@ -64,21 +110,75 @@ final class EstimatedContentCompliment {
      * @return The future.
      */
     public CompletionStage<Content> estimate() {
-        final CompletableFuture<Content> res;
+        return this.estimate(CompletableFuture::completedFuture, head -> { });
+    }
+
+    /**
+     * Estimate content and pass it to the consumer. Memory of buffered bytes
+     * is returned to the pool when consumer completes.
+     *
+     * @param consumer Content consumer, e.g. upload.
+     * @param <T> Consumer result type.
+     * @return Consumer result.
+     */
+    <T> CompletionStage<T> estimate(final Function<Content, CompletionStage<T>> consumer) {
+        return this.estimate(consumer, BufferedHead.Head::release);
+    }
+
+    /**
+     * Estimate content and pass it to the consumer.
+     *
+     * @param consumer Content consumer.
+     * @param done Action on buffered head when consumer completes.
+     * @param <T> Consumer result type.
+     * @return Consumer result.
+     */
+    private <T> CompletionStage<T> estimate(
+        final Function<Content, CompletionStage<T>> consumer,
+        final Consumer<BufferedHead.Head> done
+    ) {
+        final CompletionStage<T> res;
         if (this.original.size().isPresent()) {
-            res = CompletableFuture.completedFuture(this.original);
+            res = consumer.apply(this.original);
         } else {
-            res = this.readUntilLimit();
+            res = new BufferedHead(this.original, Math.min(this.limit, this.buffer), this.parts)
+                .read()
+                .thenCompose(
+                    head -> this.estimated(head).thenCompose(consumer).whenComplete(
+                        (result, err) -> done.accept(head)
+                    )
+                );
         }
         return res;
     }
 
     /**
-     * Read until limit.
+     * Content with size estimated by buffered head.
      *
+     * @param head Buffered head.
      * @return The future.
      */
-    private CompletableFuture<Content> readUntilLimit() {
+    private CompletionStage<Content> estimated(final BufferedHead.Head head) {
+        final CompletionStage<Content> res;
+        if (head.complete()) {
+            res = CompletableFuture.completedFuture(
+                new Content.From(head.size(), head.content())
+            );
+        } else if (head.size() >= this.limit) {
+            res = CompletableFuture.completedFuture(new Content.From(head.content()));
+        } else {
+            res = this.spill(head.content());
+        }
+        return res;
+    }
+
+    /**
+     * Write content to temporary file counting its size.
+     *
+     * @param data Content data.
+     * @return The future.
+     */
+    private CompletableFuture<Content> spill(final Publisher<ByteBuffer> data) {
         final Path temp;
         try {
             temp = Files.createTempFile(
@@ -88,34 +188,28 @@ final class EstimatedContentCompliment {
         } catch (final IOException ex) {
             throw new ArtipieIOException(ex);
         }
-        final Flowable<ByteBuffer> data = Flowable.fromPublisher(
-            new File(temp).content()
-        ).doOnError(error -> Files.deleteIfExists(temp));
+        final AtomicLong total = new AtomicLong();
         return new File(temp)
-            .write(this.original)
-            .thenCompose(
-                nothing ->
-                    data
-                        .map(Buffer::remaining)
-                        .scanWith(() -> 0L, Long::sum)
-                        .takeUntil(total -> total >= this.limit)
-                        .lastOrError()
-                        .to(SingleInterop.get())
-                        .toCompletableFuture()
+            .write(Flowable.fromPublisher(data).doOnNext(buf -> total.addAndGet(buf.remaining())))
+            .whenComplete(
+                (nothing, throwable) -> {
+                    if (throwable != null) {
+                        temp.toFile().delete();
+                    }
+                }
             )
             .<Content>thenApply(
-                last -> {
+                nothing -> {
                     final Optional<Long> size;
-                    if (last >= this.limit) {
+                    if (total.get() >= this.limit) {
                         size = Optional.empty();
                     } else {
-                        size = Optional.of(last);
+                        size = Optional.of(total.get());
                     }
                     return new Content.From(
                         size,
-                        data.doAfterTerminate(
-                            () -> Files.deleteIfExists(temp)
-                        )
+                        Flowable.fromPublisher(new File(temp).content())
+                            .doFinally(() -> Files.deleteIfExists(temp))
                     );
                 }
             ).toCompletableFuture();
@@ -0,0 +1,143 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.s3;
+
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.reactivestreams.Publisher;
+
+/**
+ * Regroups content byte buffers into parts of fixed size.
+ * <p>
+ * All parts except the last one have exactly the specified size, the last one
+ * may be smaller. Parts are emitted as soon as they are filled,
+ * so no more than one part is accumulated at a time. Source buffers are requested one
+ * by one, so they are not prefetched ahead of part consumer. Part buffers are taken from
+ * the pool, consumer may return them to the pool when parts are not needed anymore.
+ *
+ * @since 1.16
+ */
+final class FixedSizeParts {
+
+    /**
+     * Source of byte buffers.
+     */
+    private final Publisher<ByteBuffer> source;
+
+    /**
+     * Part buffers.
+     */
+    private final PartBuffers buffers;
+
+    /**
+     * Ctor.
+     *
+     * @param source Source of byte buffers.
+     * @param size Part size.
+     */
+    FixedSizeParts(final Publisher<ByteBuffer> source, final int size) {
+        this(source, new PartBuffers(size, 0));
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param source Source of byte buffers.
+     * @param buffers Pool of part buffers.
+     */
+    FixedSizeParts(final Publisher<ByteBuffer> source, final PartBuffers buffers) {
+        this.source = source;
+        this.buffers = buffers;
+    }
+
+    /**
+     * Parts of content.
+     *
+     * @return Publisher of parts, each part is ready to be read.
+     */
+    Flowable<ByteBuffer> flowable() {
+        return Flowable.defer(
+            () -> {
+                final Accumulator acc = new Accumulator(this.buffers);
+                return Flowable.fromPublisher(this.source)
+                    .concatMapIterable(acc::append, 1)
+                    .concatWith(Flowable.defer(acc::rest));
+            }
+        );
+    }
+
+    /**
+     * Part being filled.
+     *
+     * @since 1.16
+     */
+    private static final class Accumulator {
+
+        /**
+         * Part buffers.
+         */
+        private final PartBuffers buffers;
+
+        /**
+         * Current part, null if no bytes were accumulated yet.
+         */
+        private ByteBuffer current;
+
+        /**
+         * Ctor.
+         *
+         * @param buffers Part buffers.
+         */
+        Accumulator(final PartBuffers buffers) {
+            this.buffers = buffers;
+        }
+
+        /**
+         * Appends buffer to current part.
+         *
+         * @param buf Buffer to append.
+         * @return Parts which were filled completely.
+         */
+        List<ByteBuffer> append(final ByteBuffer buf) {
+            final List<ByteBuffer> full = new ArrayList<>(1);
+            final ByteBuffer src = buf.duplicate();
+            while (src.hasRemaining()) {
+                if (this.current == null) {
+                    this.current = this.buffers.take();
+                }
+                final int len = Math.min(src.remaining(), this.current.remaining());
+                final ByteBuffer slice = src.duplicate();
+                slice.limit(slice.position() + len);
+                this.current.put(slice);
+                src.position(src.position() + len);
+                if (!this.current.hasRemaining()) {
+                    this.current.flip();
+                    full.add(this.current);
+                    this.current = null;
+                }
+            }
+            return full;
+        }
+
+        /**
+         * The last incomplete part if any.
+         *
+         * @return Publisher of zero or one part.
+         */
+        Flowable<ByteBuffer> rest() {
+            final Flowable<ByteBuffer> res;
+            if (this.current == null) {
+                res = Flowable.empty();
+            } else {
+                this.current.flip();
+                res = Flowable.just(this.current);
+                this.current = null;
+            }
+            return res;
+        }
+    }
+}
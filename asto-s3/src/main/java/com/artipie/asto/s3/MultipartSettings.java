@@ -0,0 +1,259 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.s3;
+
+/**
+ * Settings of S3 multipart upload.
+ *
+ * @since 1.16
+ */
+public final class MultipartSettings {
+
+    /**
+     * Minimum part size.
+     * See <a href="https://docs.aws.amazon.com/AmazonS3/latest/dev/qfacts.html">
+     * Amazon S3 multipart upload limits</a>
+     */
+    public static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    /**
+     * Default number of parts uploaded concurrently.
+     */
+    static final int DEF_PARALLELISM = 4;
+
+    /**
+     * Default number of retries for failed part upload.
+     */
+    static final int DEF_RETRIES = 3;
+
+    /**
+     * Default max number of bytes of content with unknown size buffered in memory.
+     */
+    static final long DEF_BUFFER = 10 * 1024 * 1024;
+
+    /**
+     * Default min size of value copied by parts.
+     */
+    static final long DEF_COPY_THRESHOLD = 128 * 1024 * 1024;
+
+    /**
+     * Default size of part copied by UploadPartCopy request.
+     */
+    static final long DEF_COPY_PART = 64 * 1024 * 1024;
+
+    /**
+     * Part size in bytes.
+     */
+    private final int part;
+
+    /**
+     * Max number of parts uploaded concurrently.
+     */
+    private final int parallelism;
+
+    /**
+     * Max number of bytes of parts being uploaded at the same time.
+     */
+    private final long budget;
+
+    /**
+     * Number of retries for failed part upload.
+     */
+    private final int retries;
+
+    /**
+     * Max number of bytes of content with unknown size buffered in memory.
+     */
+    private final long buffer;
+
+    /**
+     * Min size of value copied by parts.
+     */
+    private final long threshold;
+
+    /**
+     * Size of part copied by UploadPartCopy request.
+     */
+    private final long copypart;
+
+    /**
+     * Default settings: minimal part size, four parts in flight,
+     * three retries for each part and 10MB memory buffer.
+     */
+    public MultipartSettings() {
+        this(
+            MultipartSettings.MIN_PART_SIZE,
+            MultipartSettings.DEF_PARALLELISM,
+            (long) MultipartSettings.MIN_PART_SIZE * MultipartSettings.DEF_PARALLELISM,
+            MultipartSettings.DEF_RETRIES
+        );
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param part Part size in bytes, not less than {@link #MIN_PART_SIZE}.
+     * @param parallelism Max number of parts uploaded concurrently.
+     * @param budget Max number of bytes of parts being uploaded at the same time,
+     *  not less than part size.
+     * @param retries Number of retries for failed part upload.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public MultipartSettings(final int part, final int parallelism, final long budget,
+        final int retries) {
+        this(part, parallelism, budget, retries, MultipartSettings.DEF_BUFFER);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param part Part size in bytes, not less than {@link #MIN_PART_SIZE}.
+     * @param parallelism Max number of parts uploaded concurrently.
+     * @param budget Max number of bytes of parts being uploaded at the same time,
+     *  not less than part size.
+     * @param retries Number of retries for failed part upload.
+     * @param buffer Max number of bytes of content with unknown size to keep in memory
+     *  while its size is estimated, the rest is spilled to disk.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public MultipartSettings(final int part, final int parallelism, final long budget,
+        final int retries, final long buffer) {
+        this(
+            part, parallelism, budget, retries, buffer,
+            MultipartSettings.DEF_COPY_THRESHOLD, MultipartSettings.DEF_COPY_PART
+        );
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param part Part size in bytes, not less than {@link #MIN_PART_SIZE}.
+     * @param parallelism Max number of parts uploaded concurrently.
+     * @param budget Max number of bytes of parts being uploaded at the same time,
+     *  not less than part size.
+     * @param retries Number of retries for failed part upload.
+     * @param buffer Max number of bytes of content with unknown size to keep in memory
+     *  while its size is estimated, the rest is spilled to disk.
+     * @param threshold Min size of value to copy it by parts with UploadPartCopy requests.
+     * @param copypart Size of part copied by UploadPartCopy request,
+     *  not less than {@link #MIN_PART_SIZE}.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     * @checkstyle ExecutableStatementCountCheck (60 lines)
+     */
+    public MultipartSettings(final int part, final int parallelism, final long budget,
+        final int retries, final long buffer, final long threshold, final long copypart) {
+        if (part < MultipartSettings.MIN_PART_SIZE) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Part size should be at least %d bytes, but was %d",
+                    MultipartSettings.MIN_PART_SIZE, part
+                )
+            );
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                String.format("Parallelism should be positive, but was %d", parallelism)
+            );
+        }
+        if (budget < part) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "In-flight budget %d should not be less than part size %d", budget, part
+                )
+            );
+        }
+        if (retries < 0) {
+            throw new IllegalArgumentException(
+                String.format("Retries should not be negative, but was %d", retries)
+            );
+        }
+        if (buffer < 1) {
+            throw new IllegalArgumentException(
+                String.format("Memory buffer should be positive, but was %d", buffer)
+            );
+        }
+        if (copypart < MultipartSettings.MIN_PART_SIZE) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Copy part size should be at least %d bytes, but was %d",
+                    MultipartSettings.MIN_PART_SIZE, copypart
+                )
+            );
+        }
+        this.part = part;
+        this.parallelism = parallelism;
+        this.budget = budget;
+        this.retries = retries;
+        this.buffer = buffer;
+        this.threshold = threshold;
+        this.copypart = copypart;
+    }
+
+    /**
+     * Part size.
+     *
+     * @return Part size in bytes.
+     */
+    public int partSize() {
+        return this.part;
+    }
+
+    /**
+     * Number of parts which may be uploaded concurrently: limited both by parallelism
+     * and by in-flight bytes budget.
+     *
+     * @return Max number of concurrent part uploads.
+     */
+    public int concurrency() {
+        return (int) Math.min(this.parallelism, this.budget / this.part);
+    }
+
+    /**
+     * Max number of parts transferred concurrently when no content passes through
+     * the client, e.g. parts copied on server side.
+     *
+     * @return Max number of concurrent part requests.
+     */
+    public int parallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * Number of retries for failed part upload.
+     *
+     * @return Retries count.
+     */
+    public int retries() {
+        return this.retries;
+    }
+
+    /**
+     * Max number of bytes of content with unknown size buffered in memory
+     * while its size is estimated.
+     *
+     * @return Bytes count.
+     */
+    public long memoryBuffer() {
+        return this.buffer;
+    }
+
+    /**
+     * Min size of value to copy it by parts with UploadPartCopy requests.
+     *
+     * @return Size in bytes.
+     */
+    public long copyThreshold() {
+        return this.threshold;
+    }
+
+    /**
+     * Size of part copied by UploadPartCopy request.
+     *
+     * @return Size in bytes.
+     */
+    public long copyPartSize() {
+        return this.copypart;
+    }
+}
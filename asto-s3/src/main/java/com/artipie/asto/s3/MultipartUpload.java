@@ -6,27 +6,24 @@ package com.artipie.asto.s3;
 
 import com.artipie.asto.Content;
 import com.artipie.asto.Key;
-import com.artipie.asto.Splitting;
+import hu.akarnokd.rxjava2.interop.CompletableInterop;
 import hu.akarnokd.rxjava2.interop.SingleInterop;
 import io.reactivex.Flowable;
-import io.reactivex.Observable;
+import io.reactivex.Single;
 import java.nio.ByteBuffer;
 import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Function;
 import java.util.stream.Collectors;
-import org.reactivestreams.Publisher;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
 import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.UploadPartCopyRequest;
 import software.amazon.awssdk.services.s3.model.UploadPartRequest;
-import software.amazon.awssdk.services.s3.model.UploadPartResponse;
 
 /**
  * Multipart upload of S3 object.
@@ -35,13 +32,6 @@ import software.amazon.awssdk.services.s3.model.UploadPartResponse;
  */
 final class MultipartUpload {
 
-    /**
-     * Minimum part size.
-     * See <a href="https://docs.aws.amazon.com/AmazonS3/latest/dev/qfacts.html">
-     * Amazon S3 multipart upload limits</a>
-     */
-    private static final int MIN_PART_SIZE = 5 * 1024 * 1024;
-
     /**
      * Bucket.
      */
@@ -57,6 +47,16 @@ final class MultipartUpload {
      */
     private final String id;
 
+    /**
+     * Upload settings.
+     */
+    private final MultipartSettings settings;
+
+    /**
+     * Pool of part buffers.
+     */
+    private final PartBuffers buffers;
+
     /**
      * Uploaded parts.
      */
@@ -68,44 +68,85 @@ final class MultipartUpload {
      * @param bucket Bucket.
      * @param key S3 object key.
      * @param id ID of this upload.
+     * @param settings Upload settings.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    MultipartUpload(final Bucket bucket, final Key key, final String id,
+        final MultipartSettings settings) {
+        this(
+            bucket, key, id, settings,
+            new PartBuffers(settings.partSize(), settings.concurrency() + 1)
+        );
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param bucket Bucket.
+     * @param key S3 object key.
+     * @param id ID of this upload.
+     * @param settings Upload settings.
+     * @param buffers Pool of part buffers of settings part size.
+     * @checkstyle ParameterNumberCheck (5 lines)
      */
-    MultipartUpload(final Bucket bucket, final Key key, final String id) {
+    MultipartUpload(final Bucket bucket, final Key key, final String id,
+        final MultipartSettings settings, final PartBuffers buffers) {
         this.bucket = bucket;
         this.key = key;
         this.id = id;
+        this.settings = settings;
+        this.buffers = buffers;
         this.parts = new CopyOnWriteArrayList<>();
     }
 
     /**
      * Uploads all content by parts.
+     * <p>
+     * Content is split into parts of configured size, parts are uploaded concurrently
+     * up to configured concurrency, so next parts are read from content only when
+     * some of the uploads in flight finish. Failed part upload is retried with exponential
+     * delay and jitter. Buffer of the part is returned to the pool when part upload
+     * succeeds or finally fails.
      *
      * @param content Object content to be uploaded in parts.
      * @return Completion stage which is completed when responses received from S3 for all parts.
      */
     public CompletionStage<Void> upload(final Content content) {
         final AtomicInteger counter = new AtomicInteger();
-        return Flowable.fromPublisher(content)
-            .concatMap(
-                buffer -> Flowable.fromPublisher(
-                    new Splitting(buffer, MultipartUpload.MIN_PART_SIZE).publisher()
-                )
-            ).map(
-                chunk -> {
-                    final int pnum = counter.incrementAndGet();
-                    return this.uploadPart(
-                        pnum,
-                        Flowable.just(chunk)
-                    ).thenAccept(
-                        response -> this.parts.add(
-                            new UploadedPart(pnum, response.eTag())
-                        )
-                    );
-                }
-            ).reduce(
-                CompletableFuture.allOf(),
-                (acc, stage) -> acc.thenCompose(o -> stage)
-            ).to(SingleInterop.get())
-            .thenCompose(Function.identity());
+        return new FixedSizeParts(content, this.buffers).flowable()
+            .flatMapSingle(
+                part -> this.uploadPart(counter.incrementAndGet(), part),
+                false,
+                this.settings.concurrency()
+            ).doOnNext(this.parts::add)
+            .ignoreElements()
+            .to(CompletableInterop.await());
+    }
+
+    /**
+     * Copies existing object from the same bucket by parts on server side.
+     * <p>
+     * Object is split into byte ranges of specified size, ranges are copied with
+     * UploadPartCopy requests concurrently up to configured parallelism, content is not
+     * transferred through the client. Failed part copy is retried with exponential
+     * delay and jitter.
+     *
+     * @param source Key of object to copy.
+     * @param size Size of source object in bytes.
+     * @param part Part size in bytes.
+     * @return Completion stage which is completed when responses received from S3 for all parts.
+     */
+    public CompletionStage<Void> copy(final Key source, final long size, final long part) {
+        return Flowable.rangeLong(0, (size + part - 1) / part)
+            .flatMapSingle(
+                idx -> this.copyPart(
+                    source, idx.intValue() + 1, idx * part, Math.min(size, (idx + 1) * part) - 1
+                ),
+                false,
+                this.settings.parallelism()
+            ).doOnNext(this.parts::add)
+            .ignoreElements()
+            .to(CompletableInterop.await());
     }
 
     /**
@@ -147,30 +188,61 @@ final class MultipartUpload {
     }
 
     /**
-     * Uploads part.
+     * Uploads part, retrying failed attempts. Part buffer is returned to the pool
+     * exactly once, before the result is emitted, whether upload succeeded,
+     * failed or was cancelled.
      *
-     * @param part Part number.
-     * @param content Part content to be uploaded.
-     * @return Completion stage which is completed when success response received from S3.
+     * @param num Part number.
+     * @param part Part content to be uploaded.
+     * @return Uploaded part when success response received from S3.
+     */
+    private Single<UploadedPart> uploadPart(final int num, final ByteBuffer part) {
+        return Single.using(
+            () -> part,
+            buf -> Single.defer(
+                () -> SingleInterop.fromFuture(
+                    this.bucket.uploadPart(
+                        UploadPartRequest.builder()
+                            .key(this.key.string())
+                            .uploadId(this.id)
+                            .partNumber(num)
+                            .contentLength((long) buf.remaining())
+                            .build(),
+                        AsyncRequestBody.fromPublisher(Flowable.just(buf.duplicate()))
+                    )
+                )
+            ).retryWhen(new RetryBackoff(this.settings.retries())),
+            this.buffers::give,
+            true
+        ).map(response -> new UploadedPart(num, response.eTag()));
+    }
+
+    /**
+     * Copies byte range of source object as a part, retrying failed attempts.
+     *
+     * @param source Key of object to copy.
+     * @param num Part number.
+     * @param first First byte position of the range.
+     * @param last Last byte position of the range, inclusive.
+     * @return Copied part when success response received from S3.
+     * @checkstyle ParameterNumberCheck (5 lines)
      */
-    private CompletionStage<UploadPartResponse> uploadPart(
-        final int part,
-        final Publisher<ByteBuffer> content) {
-        return Observable.fromPublisher(content)
-            .reduce(0L, (total, buf) -> total + buf.remaining())
-            .to(SingleInterop.get())
-            .toCompletableFuture()
-            .thenCompose(
-                length -> this.bucket.uploadPart(
-                    UploadPartRequest.builder()
-                        .key(this.key.string())
+    private Single<UploadedPart> copyPart(final Key source, final int num, final long first,
+        final long last) {
+        return Single.defer(
+            () -> SingleInterop.fromFuture(
+                this.bucket.uploadPartCopy(
+                    UploadPartCopyRequest.builder()
+                        .sourceKey(source.string())
+                        .destinationKey(this.key.string())
                         .uploadId(this.id)
-                        .partNumber(part)
-                        .contentLength(length)
-                        .build(),
-                    AsyncRequestBody.fromPublisher(content)
+                        .partNumber(num)
+                        .copySourceRange(String.format("bytes=%d-%d", first, last))
+                        .build()
                 )
-            );
+            )
+        ).retryWhen(new RetryBackoff(this.settings.retries()))
+            .map(response -> new UploadedPart(num, response.copyPartResult().eTag()));
     }
 
     /**
@@ -0,0 +1,83 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.s3;
+
+import com.artipie.asto.Key;
+import io.reactivex.Flowable;
+import org.reactivestreams.Publisher;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+
+/**
+ * Paged listing of S3 objects by key prefix.
+ * <p>
+ * Listing is performed with ListObjectsV2 requests following continuation tokens,
+ * so all the keys are listed, not only the first page. Keys are emitted
+ * as soon as the page containing them is received, next page is requested
+ * only when previous one is consumed.
+ *
+ * @since 1.16
+ */
+final class PagedListing {
+
+    /**
+     * Maximum page size allowed by S3.
+     */
+    static final int MAX_PAGE = 1000;
+
+    /**
+     * S3 client.
+     */
+    private final S3AsyncClient client;
+
+    /**
+     * Bucket name.
+     */
+    private final String bucket;
+
+    /**
+     * Max number of keys in one page.
+     */
+    private final int page;
+
+    /**
+     * Ctor.
+     *
+     * @param client S3 client.
+     * @param bucket Bucket name.
+     * @param page Max number of keys in one page, from 1 to 1000.
+     */
+    PagedListing(final S3AsyncClient client, final String bucket, final int page) {
+        if (page < 1 || page > PagedListing.MAX_PAGE) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Page size should be in range from 1 to %d, but was %d",
+                    PagedListing.MAX_PAGE, page
+                )
+            );
+        }
+        this.client = client;
+        this.bucket = bucket;
+        this.page = page;
+    }
+
+    /**
+     * Keys starting with prefix.
+     *
+     * @param prefix Key prefix.
+     * @return Publisher of keys.
+     */
+    Publisher<Key> keys(final Key prefix) {
+        return Flowable.fromPublisher(
+            this.client.listObjectsV2Paginator(
+                ListObjectsV2Request.builder()
+                    .bucket(this.bucket)
+                    .prefix(prefix.string())
+                    .maxKeys(this.page)
+                    .build()
+            ).contents()
+        ).map(object -> new Key.From(object.key()));
+    }
+}
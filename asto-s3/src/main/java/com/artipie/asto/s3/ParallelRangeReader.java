@@ -0,0 +1,112 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.s3;
+
+import com.artipie.ArtipieException;
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import hu.akarnokd.rxjava2.interop.SingleInterop;
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Reader of large S3 objects over several connections.
+ * <p>
+ * Object is split into ranges of fixed size, ranges are downloaded concurrently with
+ * ranged GET requests and emitted in order. Up to parallelism ranges are requested at
+ * the same time. Range waiting for preceding ranges buffers no more than
+ * {@link #PREFETCH} byte buffers received from S3 client, reading the rest of the range
+ * is paused by backpressure until the range is emitted, so memory is bounded
+ * by parallelism and prefetch, not by part size.
+ *
+ * @since 1.16
+ */
+public final class ParallelRangeReader {
+
+    /**
+     * Max number of byte buffers prefetched from each range.
+     */
+    static final int PREFETCH = 16;
+
+    /**
+     * S3 storage.
+     */
+    private final S3Storage storage;
+
+    /**
+     * Size of range downloaded by one request.
+     */
+    private final long part;
+
+    /**
+     * Max number of ranges downloaded concurrently.
+     */
+    private final int parallelism;
+
+    /**
+     * Ctor.
+     *
+     * @param storage S3 storage.
+     * @param part Size of range downloaded by one request.
+     * @param parallelism Max number of ranges downloaded concurrently.
+     */
+    public ParallelRangeReader(final S3Storage storage, final long part, final int parallelism) {
+        if (part < 1 || parallelism < 1) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Part size and parallelism should be positive, but were %d and %d",
+                    part, parallelism
+                )
+            );
+        }
+        this.storage = storage;
+        this.part = part;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Obtain bytes by key.
+     *
+     * @param key The key
+     * @return Bytes, ranges are requested when content is subscribed.
+     */
+    public CompletableFuture<Content> value(final Key key) {
+        return this.storage.metadata(key).thenApply(
+            meta -> meta.read(Meta.OP_SIZE).orElseThrow(
+                () -> new ArtipieException(
+                    String.format("Size is not available for '%s' key", key.string())
+                )
+            )
+        ).thenApply(
+            size -> new Content.OneTime(
+                new Content.From(
+                    size,
+                    Flowable.rangeLong(0, (size + this.part - 1) / this.part)
+                        .concatMapEager(
+                            idx -> this.range(key, idx * this.part),
+                            this.parallelism,
+                            ParallelRangeReader.PREFETCH
+                        )
+                )
+            )
+        );
+    }
+
+    /**
+     * Download range.
+     *
+     * @param key The key.
+     * @param offset Range start position.
+     * @return Range bytes.
+     */
+    private Flowable<ByteBuffer> range(final Key key, final long offset) {
+        return Single.defer(
+            () -> SingleInterop.fromFuture(this.storage.value(key, offset, this.part))
+        ).flatMapPublisher(content -> content);
+    }
+}
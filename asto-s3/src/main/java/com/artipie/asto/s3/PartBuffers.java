@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.s3;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Pool of part buffers.
+ * <p>
+ * Buffers of uploaded parts are returned to the pool and reused for next parts,
+ * so large part buffers are not allocated for each part. Pool keeps no more than
+ * capacity buffers, others are left to garbage collector.
+ *
+ * @since 1.16
+ */
+final class PartBuffers {
+
+    /**
+     * Part size.
+     */
+    private final int size;
+
+    /**
+     * Max number of pooled buffers.
+     */
+    private final int capacity;
+
+    /**
+     * Pooled buffers.
+     */
+    private final Deque<ByteBuffer> free;
+
+    /**
+     * Ctor.
+     *
+     * @param size Part size.
+     * @param capacity Max number of pooled buffers.
+     */
+    PartBuffers(final int size, final int capacity) {
+        this.size = size;
+        this.capacity = capacity;
+        this.free = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * Take empty buffer of part size.
+     *
+     * @return Pooled or new buffer.
+     */
+    ByteBuffer take() {
+        ByteBuffer res;
+        synchronized (this.free) {
+            res = this.free.poll();
+        }
+        if (res == null) {
+            res = ByteBuffer.allocate(this.size);
+        }
+        return res;
+    }
+
+    /**
+     * Return buffer to the pool, it should not be used after that.
+     *
+     * @param buf Buffer taken from the pool.
+     */
+    void give(final ByteBuffer buf) {
+        if (buf.capacity() == this.size && !buf.isReadOnly()) {
+            buf.clear();
+            synchronized (this.free) {
+                if (this.free.size() < this.capacity) {
+                    this.free.push(buf);
+                }
+            }
+        }
+    }
+}
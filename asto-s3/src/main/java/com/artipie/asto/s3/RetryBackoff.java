@@ -0,0 +1,91 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.s3;
+
+import io.github.resilience4j.core.IntervalFunction;
+import io.reactivex.Flowable;
+import io.reactivex.functions.Function;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.reactivestreams.Publisher;
+
+/**
+ * Retry handler for {@code retryWhen} with exponential delay and random jitter.
+ * <p>
+ * Each failed attempt is retried after a delay which grows exponentially with attempt
+ * number and is randomized, so parts failed at the same time are not retried at the same
+ * moment. When retries are exhausted, the last error is emitted.
+ *
+ * @since 1.16
+ */
+final class RetryBackoff implements Function<Flowable<Throwable>, Publisher<Long>> {
+
+    /**
+     * Delay before the first retry in milliseconds.
+     */
+    static final long DEF_INTERVAL = 100L;
+
+    /**
+     * Delay multiplier for each next retry.
+     */
+    private static final double MULTIPLIER = 2.0;
+
+    /**
+     * Randomization factor of the delay.
+     */
+    private static final double JITTER = 0.5;
+
+    /**
+     * Max number of retries.
+     */
+    private final int retries;
+
+    /**
+     * Delay in milliseconds by attempt number.
+     */
+    private final IntervalFunction interval;
+
+    /**
+     * Ctor.
+     *
+     * @param retries Max number of retries.
+     */
+    RetryBackoff(final int retries) {
+        this(
+            retries,
+            IntervalFunction.ofExponentialRandomBackoff(
+                RetryBackoff.DEF_INTERVAL, RetryBackoff.MULTIPLIER, RetryBackoff.JITTER
+            )
+        );
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param retries Max number of retries.
+     * @param interval Delay in milliseconds by attempt number starting from one.
+     */
+    RetryBackoff(final int retries, final IntervalFunction interval) {
+        this.retries = retries;
+        this.interval = interval;
+    }
+
+    @Override
+    public Publisher<Long> apply(final Flowable<Throwable> errors) {
+        final AtomicInteger attempts = new AtomicInteger();
+        return errors.flatMap(
+            err -> {
+                final int attempt = attempts.incrementAndGet();
+                final Flowable<Long> res;
+                if (attempt > this.retries) {
+                    res = Flowable.error(err);
+                } else {
+                    res = Flowable.timer(this.interval.apply(attempt), TimeUnit.MILLISECONDS);
+                }
+                return res;
+            }
+        );
+    }
+}
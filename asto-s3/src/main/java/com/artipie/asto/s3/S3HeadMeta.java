@@ -7,6 +7,7 @@ package com.artipie.asto.s3;
 import com.artipie.asto.Meta;
 import java.util.HashMap;
 import java.util.Map;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 
 /**
@@ -28,6 +29,20 @@ final class S3HeadMeta implements Meta {
         this.rsp = rsp;
     }
 
+    /**
+     * New metadata of object read with GET request.
+     * @param rsp Get response of whole object
+     */
+    S3HeadMeta(final GetObjectResponse rsp) {
+        this(
+            HeadObjectResponse.builder()
+                .contentLength(rsp.contentLength())
+                .eTag(rsp.eTag())
+                .lastModified(rsp.lastModified())
+                .build()
+        );
+    }
+
     @Override
     public <T> T read(final ReadOperator<T> opr) {
         final Map<String, String> raw = new HashMap<>();
@@ -35,6 +50,9 @@ final class S3HeadMeta implements Meta {
         // @checkstyle MethodBodyCommentsCheck (1 line)
         // ETag is a quoted MD5 of blob content according to S3 docs
         Meta.OP_MD5.put(raw, this.rsp.eTag().replaceAll("\"", ""));
+        if (this.rsp.lastModified() != null) {
+            Meta.OP_UPDATED_AT.put(raw, this.rsp.lastModified());
+        }
         return opr.take(raw);
     }
 }
@@ -6,6 +6,7 @@ package com.artipie.asto.s3;
 
 import com.artipie.asto.ArtipieIOException;
 import com.artipie.asto.Content;
+import com.artipie.asto.ContentRange;
 import com.artipie.asto.FailedCompletionStage;
 import com.artipie.asto.Key;
 import com.artipie.asto.Meta;
@@ -13,13 +14,19 @@ import com.artipie.asto.Storage;
 import com.artipie.asto.UnderLockOperation;
 import com.artipie.asto.ValueNotFoundException;
 import com.artipie.asto.lock.storage.StorageLock;
+import hu.akarnokd.rxjava2.interop.SingleInterop;
+import io.reactivex.Flowable;
+import io.reactivex.Single;
 import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
@@ -27,14 +34,19 @@ import software.amazon.awssdk.core.async.SdkPublisher;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
 import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
-import software.amazon.awssdk.services.s3.model.ListObjectsRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
-import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 
 /**
  * Storage that holds data in S3 storage.
@@ -56,6 +68,41 @@ public final class S3Storage implements Storage {
      */
     private static final long MIN_MULTIPART = 10 * 1024 * 1024;
 
+    /**
+     * Max size of value copied with single CopyObject request.
+     */
+    private static final long MAX_COPY = 5L * 1024 * 1024 * 1024;
+
+    /**
+     * HTTP status of response to invalid request.
+     */
+    private static final int BAD_REQUEST = 400;
+
+    /**
+     * Max number of parts in multipart upload.
+     */
+    private static final long MAX_PARTS = 10_000;
+
+    /**
+     * HTTP status of response to ranged request which starts after the end of object.
+     */
+    private static final int UNSATISFIABLE = 416;
+
+    /**
+     * HTTP status of response to request of absent object.
+     */
+    private static final int NOT_FOUND = 404;
+
+    /**
+     * Max number of keys deleted by one DeleteObjects request.
+     */
+    private static final int DELETE_BATCH = 1000;
+
+    /**
+     * Number of DeleteObjects requests performed concurrently.
+     */
+    private static final int DELETE_PARALLELISM = 4;
+
     /**
      * S3 client.
      */
@@ -76,6 +123,21 @@ public final class S3Storage implements Storage {
      */
     private final String id;
 
+    /**
+     * Paged keys listing.
+     */
+    private final PagedListing listing;
+
+    /**
+     * Multipart upload settings.
+     */
+    private final MultipartSettings settings;
+
+    /**
+     * Pool of multipart upload part buffers.
+     */
+    private final PartBuffers buffers;
+
     /**
      * Ctor.
      *
@@ -100,10 +162,33 @@ public final class S3Storage implements Storage {
      */
     public S3Storage(final S3AsyncClient client, final String bucket, final boolean multipart,
         final String endpoint) {
+        this(
+            client, bucket, multipart, endpoint, PagedListing.MAX_PAGE, new MultipartSettings()
+        );
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param client S3 client.
+     * @param bucket Bucket name.
+     * @param multipart Multipart allowed flag.
+     *  <code>true</code> - if multipart feature is allowed for larger blobs,
+     *  <code>false</code> otherwise.
+     * @param endpoint S3 client endpoint
+     * @param page Max number of keys requested from S3 in one listing page, from 1 to 1000
+     * @param settings Multipart upload settings
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public S3Storage(final S3AsyncClient client, final String bucket, final boolean multipart,
+        final String endpoint, final int page, final MultipartSettings settings) {
         this.client = client;
         this.bucket = bucket;
         this.multipart = multipart;
         this.id = String.format("S3: %s %s", endpoint, this.bucket);
+        this.listing = new PagedListing(client, bucket, page);
+        this.settings = settings;
+        this.buffers = new PartBuffers(settings.partSize(), settings.concurrency() + 1);
     }
 
     @Override
@@ -131,39 +216,51 @@ public final class S3Storage implements Storage {
 
     @Override
     public CompletableFuture<Collection<Key>> list(final Key prefix) {
-        return this.client.listObjects(
-            ListObjectsRequest.builder()
-                .bucket(this.bucket)
-                .prefix(prefix.string())
-                .build()
-        ).thenApply(
-            response -> response.contents()
-                .stream()
-                .map(S3Object::key)
-                .map(Key.From::new)
-                .collect(Collectors.toList())
-        );
+        return Flowable.fromPublisher(this.keys(prefix))
+            .toList()
+            .to(SingleInterop.get())
+            .<Collection<Key>>thenApply(Function.identity())
+            .toCompletableFuture();
+    }
+
+    /**
+     * Keys that start with this prefix, emitted page by page as they are listed from S3.
+     * <p>
+     * Unlike {@link #list(Key)} keys are not collected in memory, so this method
+     * is suitable for processing prefixes with large number of keys incrementally.
+     *
+     * @param prefix The prefix.
+     * @return Publisher of keys.
+     */
+    public Publisher<Key> keys(final Key prefix) {
+        return this.listing.keys(prefix);
     }
 
     @Override
     public CompletableFuture<Void> save(final Key key, final Content content) {
-        final CompletionStage<Content> result;
         final Content onetime = new Content.OneTime(content);
+        final EstimatedContentCompliment estimation;
         if (this.multipart) {
-            result = new EstimatedContentCompliment(onetime, S3Storage.MIN_MULTIPART)
-                .estimate();
+            estimation = new EstimatedContentCompliment(
+                onetime,
+                Math.min(this.multipartThreshold(), this.settings.memoryBuffer()),
+                this.settings.memoryBuffer(),
+                this.buffers
+            );
         } else {
-            result = new EstimatedContentCompliment(onetime).estimate();
+            estimation = new EstimatedContentCompliment(
+                onetime, Long.MAX_VALUE, this.settings.memoryBuffer(), this.buffers
+            );
         }
-        return result.thenCompose(
+        return estimation.estimate(
             estimated -> {
                 final CompletionStage<Void> res;
                 if (
                     this.multipart
                         && estimated
                         .size()
-                        .filter(x -> x > S3Storage.MIN_MULTIPART)
-                        .isPresent()
+                        .map(x -> x > this.multipartThreshold())
+                        .orElse(true)
                 ) {
                     res = this.putMultipart(key, estimated);
                 } else {
@@ -174,16 +271,19 @@ public final class S3Storage implements Storage {
         ).toCompletableFuture();
     }
 
+    /**
+     * Moves value from one location to another.
+     * <p>
+     * Value is copied on server side with {@link #copy(Key, Key)}
+     * and then source is removed.
+     *
+     * @param source Source key.
+     * @param destination Destination key.
+     * @return Completion or error signal.
+     */
     @Override
     public CompletableFuture<Void> move(final Key source, final Key destination) {
-        return this.client.copyObject(
-            CopyObjectRequest.builder()
-                .sourceBucket(this.bucket)
-                .sourceKey(source.string())
-                .destinationBucket(this.bucket)
-                .destinationKey(destination.string())
-                .build()
-        ).thenCompose(
+        return this.copy(source, destination).thenCompose(
             copied -> this.client.deleteObject(
                 DeleteObjectRequest.builder()
                     .bucket(this.bucket)
@@ -195,19 +295,116 @@ public final class S3Storage implements Storage {
         );
     }
 
+    /**
+     * Copies value from one location to another on server side,
+     * content is never transferred through the client.
+     * <p>
+     * If multipart is allowed, size of value is obtained with HEAD request and values
+     * larger than copy threshold of multipart settings are copied with multipart upload
+     * by ranges, which are copied concurrently with UploadPartCopy requests. Otherwise
+     * value is copied with single CopyObject request without HEAD, and only if S3 rejects
+     * it as larger than 5GB, which is the limit of CopyObject, it is copied by parts.
+     *
+     * @param source Source key.
+     * @param destination Destination key.
+     * @return Completion or error signal.
+     */
+    public CompletableFuture<Void> copy(final Key source, final Key destination) {
+        final CompletableFuture<Void> res;
+        if (this.multipart) {
+            res = this.head(source).thenCompose(
+                head -> this.copy(source, destination, head, this.settings.copyThreshold())
+            );
+        } else {
+            res = this.copyObject(source, destination).handle(
+                (nothing, err) -> {
+                    final CompletableFuture<Void> copied;
+                    if (err == null) {
+                        copied = CompletableFuture.allOf();
+                    } else if (S3Storage.status(err, S3Storage.BAD_REQUEST)) {
+                        copied = this.head(source).thenCompose(
+                            head -> {
+                                final CompletableFuture<Void> parts;
+                                if (head.contentLength() > S3Storage.MAX_COPY) {
+                                    parts = this.copy(
+                                        source, destination, head, S3Storage.MAX_COPY
+                                    );
+                                } else {
+                                    parts = new FailedCompletionStage<Void>(err)
+                                        .toCompletableFuture();
+                                }
+                                return parts;
+                            }
+                        );
+                    } else {
+                        copied = new FailedCompletionStage<Void>(err).toCompletableFuture();
+                    }
+                    return copied;
+                }
+            ).thenCompose(Function.identity());
+        }
+        return res;
+    }
+
+    /**
+     * Copy value of known size: by parts if it is larger than threshold or than the limit
+     * of CopyObject request, with single CopyObject request otherwise.
+     *
+     * @param source Source key.
+     * @param destination Destination key.
+     * @param head Source metadata.
+     * @param threshold Min size of value to copy it by parts.
+     * @return Completion or error signal.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private CompletableFuture<Void> copy(final Key source, final Key destination,
+        final HeadObjectResponse head, final long threshold) {
+        final long size = head.contentLength();
+        final CompletableFuture<Void> res;
+        if (size > Math.min(threshold, S3Storage.MAX_COPY)) {
+            res = this.multipart(
+                CreateMultipartUploadRequest.builder()
+                    .bucket(this.bucket)
+                    .key(destination.string())
+                    .contentType(head.contentType())
+                    .metadata(head.metadata())
+                    .build(),
+                upload -> upload.copy(
+                    source,
+                    size,
+                    Math.max(
+                        this.settings.copyPartSize(),
+                        (size + S3Storage.MAX_PARTS - 1) / S3Storage.MAX_PARTS
+                    )
+                )
+            );
+        } else {
+            res = this.copyObject(source, destination);
+        }
+        return res;
+    }
+
+    /**
+     * Copy value with single CopyObject request.
+     *
+     * @param source Source key.
+     * @param destination Destination key.
+     * @return Completion or error signal.
+     */
+    private CompletableFuture<Void> copyObject(final Key source, final Key destination) {
+        return this.client.copyObject(
+            CopyObjectRequest.builder()
+                .sourceBucket(this.bucket)
+                .sourceKey(source.string())
+                .destinationBucket(this.bucket)
+                .destinationKey(destination.string())
+                .build()
+        ).thenApply(ignored -> null);
+    }
+
     @Override
     public CompletableFuture<? extends Meta> metadata(final Key key) {
-        return this.client.headObject(
-            HeadObjectRequest.builder()
-                .bucket(this.bucket)
-                .key(key.string())
-                .build()
-        ).thenApply(S3HeadMeta::new).handle(
-            new InternalExceptionHandle<>(
-                NoSuchKeyException.class,
-                cause -> new ValueNotFoundException(key, cause)
-            )
-        ).thenCompose(Function.identity());
+        return this.head(key).thenApply(S3HeadMeta::new);
     }
 
     @Override
@@ -218,7 +415,7 @@ public final class S3Storage implements Storage {
                 .bucket(this.bucket)
                 .key(key.string())
                 .build(),
-            new ResponseAdapter(promise)
+            new ResponseAdapter(promise, true)
         );
         return promise
             .handle(
@@ -227,8 +424,86 @@ public final class S3Storage implements Storage {
                     cause -> new ValueNotFoundException(key, cause)
                 )
             )
-            .thenCompose(Function.identity())
-            .thenApply(Content.OneTime::new);
+            .thenCompose(Function.identity());
+    }
+
+    @Override
+    public CompletableFuture<Optional<Content>> valueIfPresent(final Key key) {
+        final CompletableFuture<Content> promise = new CompletableFuture<>();
+        this.client.getObject(
+            GetObjectRequest.builder()
+                .bucket(this.bucket)
+                .key(key.string())
+                .build(),
+            new ResponseAdapter(promise, true)
+        );
+        return promise.handle(
+            (content, throwable) -> {
+                final CompletionStage<Optional<Content>> res;
+                if (throwable == null) {
+                    res = CompletableFuture.completedFuture(Optional.of(content));
+                } else if (throwable.getCause() instanceof NoSuchKeyException
+                    || S3Storage.status(throwable, S3Storage.NOT_FOUND)) {
+                    res = CompletableFuture.completedFuture(Optional.empty());
+                } else if (throwable instanceof CompletionException) {
+                    res = new FailedCompletionStage<>(
+                        new ArtipieIOException(throwable.getCause())
+                    );
+                } else {
+                    res = new FailedCompletionStage<>(new ArtipieIOException(throwable));
+                }
+                return res;
+            }
+        ).thenCompose(Function.identity());
+    }
+
+    /**
+     * Obtain range of bytes by key with ranged GET request.
+     *
+     * @param key The key
+     * @param offset Range start position, non-negative.
+     * @param length Max range length, non-negative.
+     * @return Bytes of the range.
+     */
+    @Override
+    public CompletableFuture<Content> value(final Key key, final long offset, final long length) {
+        ContentRange.validate(offset, length);
+        final CompletableFuture<Content> res;
+        if (length == 0) {
+            res = this.head(key).thenApply(head -> Content.EMPTY);
+        } else {
+            final CompletableFuture<Content> promise = new CompletableFuture<>();
+            final long end = ContentRange.end(offset, length);
+            final String range;
+            if (end == Long.MAX_VALUE) {
+                range = String.format("bytes=%d-", offset);
+            } else {
+                range = String.format("bytes=%d-%d", offset, end - 1);
+            }
+            this.client.getObject(
+                GetObjectRequest.builder()
+                    .bucket(this.bucket)
+                    .key(key.string())
+                    .range(range)
+                    .build(),
+                new ResponseAdapter(promise, false)
+            );
+            res = promise.handle(
+                (content, throwable) -> {
+                    final CompletionStage<Content> handled;
+                    if (S3Storage.unsatisfiable(throwable)) {
+                        handled = this.head(key).thenApply(head -> Content.EMPTY);
+                    } else {
+                        handled = new InternalExceptionHandle<Content>(
+                            NoSuchKeyException.class,
+                            cause -> new ValueNotFoundException(key, cause)
+                        ).apply(content, throwable);
+                    }
+                    return handled;
+                }
+            ).thenCompose(Function.identity()).thenApply(Content.OneTime::new);
+        }
+        return res;
     }
 
     @Override
@@ -255,6 +530,52 @@ public final class S3Storage implements Storage {
         );
     }
 
+    /**
+     * Removes all items with key prefix.
+     * <p>
+     * Keys are listed page by page and removed with DeleteObjects requests
+     * by batches of up to 1000 keys, several batches are removed concurrently.
+     * Fails with {@link ArtipieIOException} describing every key which was not removed.
+     *
+     * @param prefix Key prefix.
+     * @return Completion or error signal.
+     */
+    @Override
+    public CompletableFuture<Void> deleteAll(final Key prefix) {
+        return Flowable.fromPublisher(this.keys(prefix))
+            .buffer(S3Storage.DELETE_BATCH)
+            .flatMapSingle(this::deleteBatch, false, S3Storage.DELETE_PARALLELISM)
+            .flatMapIterable(errors -> errors)
+            .toList()
+            .to(SingleInterop.get())
+            .thenCompose(
+                errors -> {
+                    final CompletionStage<Void> res;
+                    if (errors.isEmpty()) {
+                        res = CompletableFuture.allOf();
+                    } else {
+                        res = new FailedCompletionStage<>(
+                            new ArtipieIOException(
+                                String.format(
+                                    "Failed to delete %d keys by prefix %s: %s",
+                                    errors.size(),
+                                    prefix.string(),
+                                    errors.stream()
+                                        .map(
+                                            err -> String.format(
+                                                "%s (%s: %s)",
+                                                err.key(), err.code(), err.message()
+                                            )
+                                        ).collect(Collectors.joining(", "))
+                                )
+                            )
+                        );
+                    }
+                    return res;
+                }
+            ).toCompletableFuture();
+    }
+
     @Override
     public <T> CompletionStage<T> exclusively(
         final Key key,
@@ -268,6 +589,40 @@ public final class S3Storage implements Storage {
         return this.id;
     }
 
+    /**
+     * Minimum content size to upload it as multipart: there is no point to use multipart
+     * upload for content which fits into single part.
+     *
+     * @return Size in bytes.
+     */
+    private long multipartThreshold() {
+        return Math.max(S3Storage.MIN_MULTIPART, this.settings.partSize());
+    }
+
+    /**
+     * Removes batch of keys with single DeleteObjects request.
+     *
+     * @param keys Keys to remove.
+     * @return Errors for keys which were not removed.
+     */
+    private Single<List<S3Error>> deleteBatch(final List<Key> keys) {
+        return SingleInterop.fromFuture(
+            this.client.deleteObjects(
+                DeleteObjectsRequest.builder()
+                    .bucket(this.bucket)
+                    .delete(
+                        Delete.builder()
+                            .quiet(true)
+                            .objects(
+                                keys.stream()
+                                    .map(key -> ObjectIdentifier.builder().key(key.string()).build())
+                                    .collect(Collectors.toList())
+                            ).build()
+                    ).build()
+            )
+        ).map(DeleteObjectsResponse::errors);
+    }
+
     /**
      * Uploads content using put request.
      *
@@ -293,19 +648,36 @@ public final class S3Storage implements Storage {
      * @return The future.
      */
     private CompletableFuture<Void> putMultipart(final Key key, final Content updated) {
-        return this.client.createMultipartUpload(
+        return this.multipart(
             CreateMultipartUploadRequest.builder()
                 .bucket(this.bucket)
                 .key(key.string())
-                .build()
-        ).thenApply(
+                .build(),
+            upload -> upload.upload(updated)
+        );
+    }
+
+    /**
+     * Perform multipart upload: complete it if parts transfer succeeded or abort otherwise.
+     *
+     * @param request Request to create multipart upload.
+     * @param transfer Parts transfer.
+     * @return The future.
+     */
+    private CompletableFuture<Void> multipart(
+        final CreateMultipartUploadRequest request,
+        final Function<MultipartUpload, CompletionStage<Void>> transfer
+    ) {
+        return this.client.createMultipartUpload(request).thenApply(
             created -> new MultipartUpload(
                 new Bucket(this.client, this.bucket),
-                key,
-                created.uploadId()
+                new Key.From(request.key()),
+                created.uploadId(),
+                this.settings,
+                this.buffers
             )
         ).thenCompose(
-            upload -> upload.upload(updated).handle(
+            upload -> transfer.apply(upload).handle(
                 (ignored, throwable) -> {
                     final CompletionStage<Void> finished;
                     if (throwable == null) {
@@ -326,6 +698,51 @@ public final class S3Storage implements Storage {
         );
     }
 
+    /**
+     * Checks whether request failed because requested range starts after the end of object.
+     *
+     * @param throwable Request failure, may be null.
+     * @return True if S3 responded with 416 status.
+     */
+    private static boolean unsatisfiable(final Throwable throwable) {
+        return S3Storage.status(throwable, S3Storage.UNSATISFIABLE);
+    }
+
+    /**
+     * Checks whether request failed with S3 error response of given HTTP status.
+     *
+     * @param throwable Request failure, may be null.
+     * @param status HTTP status.
+     * @return True if S3 responded with the status.
+     */
+    private static boolean status(final Throwable throwable, final int status) {
+        Throwable cause = throwable;
+        if (cause instanceof CompletionException) {
+            cause = cause.getCause();
+        }
+        return cause instanceof S3Exception && ((S3Exception) cause).statusCode() == status;
+    }
+
+    /**
+     * Obtain object metadata with HEAD request.
+     *
+     * @param key Object key.
+     * @return Head response, failed with {@link ValueNotFoundException} if object not found.
+     */
+    private CompletableFuture<HeadObjectResponse> head(final Key key) {
+        return this.client.headObject(
+            HeadObjectRequest.builder()
+                .bucket(this.bucket)
+                .key(key.string())
+                .build()
+        ).handle(
+            new InternalExceptionHandle<HeadObjectResponse>(
+                NoSuchKeyException.class,
+                cause -> new ValueNotFoundException(key, cause)
+            )
+        ).thenCompose(Function.identity());
+    }
+
     /**
      * {@link AsyncRequestBody} created from {@link Content}.
      *
@@ -360,6 +777,9 @@ public final class S3Storage implements Storage {
 
     /**
      * Adapts {@link AsyncResponseTransformer} to {@link CompletableFuture}.
+     * <p>
+     * Content of whole object is one-time content with object metadata
+     * read from response, see {@link Content.WithMeta}.
      *
      * @since 0.15
      */
@@ -372,17 +792,24 @@ public final class S3Storage implements Storage {
         private final CompletableFuture<Content> promise;
 
         /**
-         * Content length received in response.
+         * Whether whole object is requested, not a range.
+         */
+        private final boolean whole;
+
+        /**
+         * Response received.
          */
-        private Long length;
+        private GetObjectResponse response;
 
         /**
          * Ctor.
          *
          * @param promise Promise of response body.
+         * @param whole Whether whole object is requested, not a range.
          */
-        ResponseAdapter(final CompletableFuture<Content> promise) {
+        ResponseAdapter(final CompletableFuture<Content> promise, final boolean whole) {
             this.promise = promise;
+            this.whole = whole;
         }
 
         @Override
@@ -391,13 +818,24 @@ public final class S3Storage implements Storage {
         }
 
         @Override
-        public void onResponse(final GetObjectResponse response) {
-            this.length = response.contentLength();
+        public void onResponse(final GetObjectResponse rsp) {
+            this.response = rsp;
         }
 
         @Override
         public void onStream(final SdkPublisher<ByteBuffer> publisher) {
-            this.promise.complete(new Content.From(Optional.ofNullable(this.length), publisher));
+            final Content content = new Content.From(
+                Optional.ofNullable(this.response.contentLength()), publisher
+            );
+            if (this.whole) {
+                this.promise.complete(
+                    new Content.WithMeta(
+                        new Content.OneTime(content), new S3HeadMeta(this.response)
+                    )
+                );
+            } else {
+                this.promise.complete(content);
+            }
         }
 
         @Override
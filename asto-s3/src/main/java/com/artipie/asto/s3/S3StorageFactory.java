@@ -30,10 +30,54 @@ public final class S3StorageFactory implements StorageFactory {
             new Config.StrictStorageConfig(cfg)
                 .string("bucket"),
             !"false".equals(cfg.string("multipart")),
-            endpoint(cfg).orElse("def endpoint")
+            endpoint(cfg).orElse("def endpoint"),
+            S3StorageFactory.integer(cfg, "list-page-size").orElse(PagedListing.MAX_PAGE),
+            S3StorageFactory.multipartSettings(cfg)
         );
     }
 
+    /**
+     * Creates {@link MultipartSettings} based on YAML config.
+     *
+     * @param cfg Storage config.
+     * @return Multipart upload settings.
+     */
+    private static MultipartSettings multipartSettings(final Config cfg) {
+        final int part = S3StorageFactory.integer(cfg, "multipart-part-size")
+            .orElse(MultipartSettings.MIN_PART_SIZE);
+        final int parallelism = S3StorageFactory.integer(cfg, "multipart-parallelism")
+            .orElse(MultipartSettings.DEF_PARALLELISM);
+        return new MultipartSettings(
+            part,
+            parallelism,
+            Optional.ofNullable(cfg.string("multipart-in-flight-bytes"))
+                .map(Long::parseLong)
+                .orElse((long) part * parallelism),
+            S3StorageFactory.integer(cfg, "multipart-retries")
+                .orElse(MultipartSettings.DEF_RETRIES),
+            Optional.ofNullable(cfg.string("memory-buffer"))
+                .map(Long::parseLong)
+                .orElse(MultipartSettings.DEF_BUFFER),
+            Optional.ofNullable(cfg.string("multipart-copy-threshold"))
+                .map(Long::parseLong)
+                .orElse(MultipartSettings.DEF_COPY_THRESHOLD),
+            Optional.ofNullable(cfg.string("multipart-copy-part-size"))
+                .map(Long::parseLong)
+                .orElse(MultipartSettings.DEF_COPY_PART)
+        );
+    }
+
+    /**
+     * Obtain optional integer value from storage config.
+     *
+     * @param cfg Storage config
+     * @param key Config key
+     * @return Integer value if present
+     */
+    private static Optional<Integer> integer(final Config cfg, final String key) {
+        return Optional.ofNullable(cfg.string(key)).map(Integer::parseInt);
+    }
+
     /**
      * Creates {@link S3AsyncClient} instance based on YAML config.
      *
@@ -5,11 +5,17 @@
 package com.artipie.asto.s3;
 
 import com.artipie.asto.Content;
+import com.artipie.asto.ext.PublisherAs;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsNot;
+import org.hamcrest.core.IsSame;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -46,4 +52,75 @@ final class EstimatedContentTest {
             content.size(), new IsEqual<>(Optional.of((long) data.length))
         );
     }
+
+    @Test
+    void shouldStreamWholeContentWhenLimitReached() throws Exception {
+        final Content content = new EstimatedContentCompliment(
+            new Content.From(
+                Flowable.just("ab", "cd", "ef", "gh")
+                    .map(str -> ByteBuffer.wrap(str.getBytes(StandardCharsets.UTF_8)))
+            ),
+            3,
+            4
+        ).estimate().toCompletableFuture().get();
+        MatcherAssert.assertThat(
+            "Size should be unknown",
+            content.size(), new IsEqual<>(Optional.empty())
+        );
+        MatcherAssert.assertThat(
+            "Content should not be changed",
+            new PublisherAs(content).asciiString().toCompletableFuture().get(),
+            new IsEqual<>("abcdefgh")
+        );
+    }
+
+    @Test
+    void shouldSpillContentExceedingMemoryBuffer() throws Exception {
+        final Content content = new EstimatedContentCompliment(
+            new Content.From(
+                Flowable.just("ab", "cd", "ef", "gh")
+                    .map(str -> ByteBuffer.wrap(str.getBytes(StandardCharsets.UTF_8)))
+            ),
+            Long.MAX_VALUE,
+            3
+        ).estimate().toCompletableFuture().get();
+        MatcherAssert.assertThat(
+            "Size should be estimated",
+            content.size(), new IsEqual<>(Optional.of(8L))
+        );
+        MatcherAssert.assertThat(
+            "Content should not be changed",
+            new PublisherAs(content).asciiString().toCompletableFuture().get(),
+            new IsEqual<>("abcdefgh")
+        );
+    }
+
+    @Test
+    void shouldReturnHeadBuffersToPoolWhenConsumerCompletes() throws Exception {
+        final PartBuffers pool = new PartBuffers(4, 2);
+        final AtomicReference<byte[]> used = new AtomicReference<>();
+        final byte[] source = "abcdef".getBytes(StandardCharsets.UTF_8);
+        final String read = new EstimatedContentCompliment(
+            new Content.From(Flowable.just(ByteBuffer.wrap(source))),
+            Long.MAX_VALUE,
+            8,
+            pool
+        ).estimate(
+            content -> new PublisherAs(
+                Flowable.fromPublisher(content).doOnNext(buf -> used.set(buf.array()))
+            ).asciiString()
+        ).toCompletableFuture().get();
+        MatcherAssert.assertThat(
+            "Content should not be changed",
+            read, new IsEqual<>("abcdef")
+        );
+        MatcherAssert.assertThat(
+            "Head should be copied from source buffers",
+            used.get(), new IsNot<>(new IsSame<>(source))
+        );
+        MatcherAssert.assertThat(
+            "Head buffer should be returned to pool",
+            pool.take().array(), new IsSame<>(used.get())
+        );
+    }
 }
@@ -0,0 +1,62 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.s3;
+
+import com.artipie.asto.Remaining;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link FixedSizeParts}.
+ *
+ * @since 1.16
+ */
+final class FixedSizePartsTest {
+
+    @Test
+    void regroupsBuffersIntoFixedSizeParts() {
+        MatcherAssert.assertThat(
+            new FixedSizeParts(
+                Flowable.just("ab", "cdefg", "h", "ijklmnopq", "r")
+                    .map(str -> ByteBuffer.wrap(str.getBytes(StandardCharsets.UTF_8))),
+                4
+            ).flowable()
+                .map(buf -> new String(new Remaining(buf).bytes(), StandardCharsets.UTF_8))
+                .toList()
+                .blockingGet(),
+            Matchers.contains("abcd", "efgh", "ijkl", "mnop", "qr")
+        );
+    }
+
+    @Test
+    void emitsNothingForEmptyContent() {
+        MatcherAssert.assertThat(
+            new FixedSizeParts(Flowable.empty(), 4).flowable()
+                .toList()
+                .blockingGet(),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    void doesNotEmitEmptyLastPart() {
+        MatcherAssert.assertThat(
+            new FixedSizeParts(
+                Flowable.just(ByteBuffer.wrap(new byte[6])), 3
+            ).flowable()
+                .toList()
+                .blockingGet()
+                .stream()
+                .map(ByteBuffer::remaining)
+                .collect(Collectors.toList()),
+            Matchers.contains(3, 3)
+        );
+    }
+}
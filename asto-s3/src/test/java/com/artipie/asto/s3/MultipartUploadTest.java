@@ -0,0 +1,291 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.s3;
+
+import com.adobe.testing.s3mock.junit5.S3MockExtension;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+/**
+ * Tests for {@link MultipartUpload}.
+ *
+ * @since 1.16
+ * @checkstyle MagicNumberCheck (500 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+final class MultipartUploadTest {
+
+    /**
+     * Mock S3 server.
+     */
+    @RegisterExtension
+    static final S3MockExtension MOCK = S3MockExtension.builder()
+        .withSecureConnection(false)
+        .build();
+
+    /**
+     * Bucket name to use in tests.
+     */
+    private String name;
+
+    /**
+     * Bucket instance.
+     */
+    private Bucket bucket;
+
+    @BeforeEach
+    void setUp(final AmazonS3 client) {
+        this.name = UUID.randomUUID().toString();
+        client.createBucket(this.name);
+        this.bucket = new Bucket(
+            S3AsyncClient.builder()
+                .region(Region.of("us-east-1"))
+                .credentialsProvider(
+                    StaticCredentialsProvider.create(AwsBasicCredentials.create("foo", "bar"))
+                )
+                .endpointOverride(
+                    URI.create(String.format("http://localhost:%d", MOCK.getHttpPort()))
+                )
+                .build(),
+            this.name
+        );
+    }
+
+    @Test
+    void shouldCopyObjectByParts(final AmazonS3 client) throws Exception {
+        final byte[] data = new byte[12 * 1024 * 1024 + 17];
+        new Random().nextBytes(data);
+        final ObjectMetadata meta = new ObjectMetadata();
+        meta.setContentLength(data.length);
+        client.putObject(this.name, "original", new ByteArrayInputStream(data), meta);
+        final String key = "copy";
+        final MultipartUpload upload = new MultipartUpload(
+            this.bucket,
+            new Key.From(key),
+            client.initiateMultipartUpload(
+                new InitiateMultipartUploadRequest(this.name, key)
+            ).getUploadId(),
+            new MultipartSettings()
+        );
+        upload.copy(new Key.From("original"), data.length, MultipartSettings.MIN_PART_SIZE)
+            .thenCompose(ignored -> upload.complete())
+            .toCompletableFuture().join();
+        try (S3Object object = client.getObject(this.name, key)) {
+            MatcherAssert.assertThat(
+                ByteStreams.toByteArray(object.getObjectContent()),
+                new IsEqual<>(data)
+            );
+        }
+    }
+
+    @Test
+    void retriesFailedPartUpload() {
+        final StubClient client = new StubClient(1);
+        final MultipartUpload upload = new MultipartUpload(
+            new Bucket(client, "stub"), new Key.From("retried"), "upload",
+            new MultipartSettings(
+                MultipartSettings.MIN_PART_SIZE, 2, MultipartSettings.MIN_PART_SIZE * 2L, 1
+            )
+        );
+        upload.upload(new Content.From(new byte[MultipartSettings.MIN_PART_SIZE * 3 - 7]))
+            .thenCompose(ignored -> upload.complete())
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Each part was not retried once",
+            client.attempts.values().stream().map(AtomicInteger::get)
+                .collect(Collectors.toList()),
+            Matchers.contains(2, 2, 2)
+        );
+        MatcherAssert.assertThat(
+            client.completed.stream().map(CompletedPart::eTag).collect(Collectors.toList()),
+            Matchers.contains("etag-1", "etag-2", "etag-3")
+        );
+    }
+
+    @Test
+    void failsWhenRetriesAreExhausted() {
+        final StubClient client = new StubClient(3);
+        final CompletionException err = Assertions.assertThrows(
+            CompletionException.class,
+            () -> new MultipartUpload(
+                new Bucket(client, "stub"), new Key.From("failed"), "upload",
+                new MultipartSettings(
+                    MultipartSettings.MIN_PART_SIZE, 1, MultipartSettings.MIN_PART_SIZE, 2
+                )
+            ).upload(new Content.From(new byte[MultipartSettings.MIN_PART_SIZE]))
+                .toCompletableFuture().join()
+        );
+        MatcherAssert.assertThat(
+            err.getCause().getMessage(),
+            new IsEqual<>("Part 1 failed")
+        );
+        MatcherAssert.assertThat(client.attempts.get(1).get(), new IsEqual<>(3));
+    }
+
+    @Test
+    void returnsBufferOfFailedPartToPool() {
+        final PartBuffers pool = new PartBuffers(MultipartSettings.MIN_PART_SIZE, 1);
+        final byte[] data = new byte[MultipartSettings.MIN_PART_SIZE];
+        Arrays.fill(data, (byte) 1);
+        Assertions.assertThrows(
+            CompletionException.class,
+            () -> new MultipartUpload(
+                new Bucket(new StubClient(1), "stub"), new Key.From("released"), "upload",
+                new MultipartSettings(
+                    MultipartSettings.MIN_PART_SIZE, 1, MultipartSettings.MIN_PART_SIZE, 0
+                ),
+                pool
+            ).upload(new Content.From(data)).toCompletableFuture().join()
+        );
+        MatcherAssert.assertThat(
+            "Buffer of failed part was not returned to pool",
+            pool.take().get(0),
+            new IsEqual<>((byte) 1)
+        );
+    }
+
+    @Test
+    void limitsPartsInFlight() {
+        final StubClient client = new StubClient(0);
+        new MultipartUpload(
+            new Bucket(client, "stub"), new Key.From("limited"), "upload",
+            new MultipartSettings(
+                MultipartSettings.MIN_PART_SIZE, 2, MultipartSettings.MIN_PART_SIZE * 2L, 0
+            )
+        ).upload(new Content.From(new byte[MultipartSettings.MIN_PART_SIZE * 6]))
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Parts were not uploaded concurrently",
+            client.peak.get(),
+            new IsEqual<>(2)
+        );
+        MatcherAssert.assertThat(client.attempts.size(), new IsEqual<>(6));
+    }
+
+    /**
+     * S3 client stub which uploads parts with delay, fails first attempts of each part
+     * and tracks number of uploads in flight.
+     *
+     * @since 1.16
+     */
+    private static final class StubClient implements S3AsyncClient {
+
+        /**
+         * Upload attempts by part numbers.
+         */
+        private final Map<Integer, AtomicInteger> attempts;
+
+        /**
+         * Parts of completed upload.
+         */
+        private final List<CompletedPart> completed;
+
+        /**
+         * Uploads in flight.
+         */
+        private final AtomicInteger flight;
+
+        /**
+         * Max number of uploads in flight.
+         */
+        private final AtomicInteger peak;
+
+        /**
+         * Number of first failed attempts of each part.
+         */
+        private final int failures;
+
+        /**
+         * Ctor.
+         *
+         * @param failures Number of first failed attempts of each part.
+         */
+        StubClient(final int failures) {
+            this.failures = failures;
+            this.attempts = new ConcurrentHashMap<>();
+            this.completed = new CopyOnWriteArrayList<>();
+            this.flight = new AtomicInteger();
+            this.peak = new AtomicInteger();
+        }
+
+        @Override
+        public CompletableFuture<UploadPartResponse> uploadPart(
+            final UploadPartRequest request, final AsyncRequestBody body
+        ) {
+            final int num = request.partNumber();
+            final int attempt = this.attempts
+                .computeIfAbsent(num, ignored -> new AtomicInteger()).incrementAndGet();
+            this.peak.accumulateAndGet(this.flight.incrementAndGet(), Math::max);
+            return CompletableFuture.supplyAsync(
+                () -> {
+                    this.flight.decrementAndGet();
+                    if (attempt <= this.failures) {
+                        throw new IllegalStateException(String.format("Part %d failed", num));
+                    }
+                    return UploadPartResponse.builder()
+                        .eTag(String.format("etag-%d", num))
+                        .build();
+                },
+                CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS)
+            );
+        }
+
+        @Override
+        public CompletableFuture<CompleteMultipartUploadResponse> completeMultipartUpload(
+            final CompleteMultipartUploadRequest request
+        ) {
+            this.completed.addAll(request.multipartUpload().parts());
+            return CompletableFuture.completedFuture(
+                CompleteMultipartUploadResponse.builder().build()
+            );
+        }
+
+        @Override
+        public String serviceName() {
+            return "s3";
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+    }
+}
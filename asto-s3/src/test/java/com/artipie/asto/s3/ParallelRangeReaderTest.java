@@ -0,0 +1,83 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.s3;
+
+import com.adobe.testing.s3mock.junit5.S3MockExtension;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.artipie.asto.Key;
+import com.artipie.asto.ext.PublisherAs;
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.Random;
+import java.util.UUID;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+/**
+ * Tests for {@link ParallelRangeReader}.
+ *
+ * @since 1.16
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class ParallelRangeReaderTest {
+
+    /**
+     * Mock S3 server.
+     */
+    @RegisterExtension
+    static final S3MockExtension MOCK = S3MockExtension.builder()
+        .withSecureConnection(false)
+        .build();
+
+    /**
+     * Bucket name to use in tests.
+     */
+    private String bucket;
+
+    @BeforeEach
+    void setUp(final AmazonS3 client) {
+        this.bucket = UUID.randomUUID().toString();
+        client.createBucket(this.bucket);
+    }
+
+    @Test
+    void readsObjectByRangesInOrder(final AmazonS3 client) {
+        final byte[] data = new byte[1024 * 1024 + 3];
+        new Random().nextBytes(data);
+        final ObjectMetadata meta = new ObjectMetadata();
+        meta.setContentLength(data.length);
+        client.putObject(this.bucket, "large", new ByteArrayInputStream(data), meta);
+        MatcherAssert.assertThat(
+            new PublisherAs(
+                new ParallelRangeReader(this.storage(), 100 * 1024, 3)
+                    .value(new Key.From("large")).join()
+            ).bytes().toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+    }
+
+    private S3Storage storage() {
+        final String endpoint = String.format("http://localhost:%d", MOCK.getHttpPort());
+        return new S3Storage(
+            S3AsyncClient.builder()
+                .region(Region.of("us-east-1"))
+                .credentialsProvider(
+                    StaticCredentialsProvider.create(AwsBasicCredentials.create("foo", "bar"))
+                )
+                .endpointOverride(URI.create(endpoint))
+                .build(),
+            this.bucket,
+            endpoint
+        );
+    }
+}
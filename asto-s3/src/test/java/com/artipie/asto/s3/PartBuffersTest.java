@@ -0,0 +1,50 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2023 artipie.com
+ * https://github.com/artipie/asto/LICENSE.txt
+ */
+package com.artipie.asto.s3;
+
+import java.nio.ByteBuffer;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsNot;
+import org.hamcrest.core.IsSame;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link PartBuffers}.
+ *
+ * @since 1.16
+ */
+final class PartBuffersTest {
+
+    @Test
+    void reusesReturnedBuffer() {
+        final PartBuffers pool = new PartBuffers(8, 1);
+        final ByteBuffer buf = pool.take();
+        buf.put((byte) 1).flip();
+        pool.give(buf);
+        final ByteBuffer taken = pool.take();
+        MatcherAssert.assertThat(taken, new IsSame<>(buf));
+        MatcherAssert.assertThat(taken.remaining(), new IsEqual<>(8));
+    }
+
+    @Test
+    void keepsNoMoreBuffersThanCapacity() {
+        final PartBuffers pool = new PartBuffers(8, 1);
+        final ByteBuffer first = pool.take();
+        final ByteBuffer second = pool.take();
+        pool.give(first);
+        pool.give(second);
+        pool.take();
+        MatcherAssert.assertThat(pool.take(), new IsNot<>(new IsSame<>(second)));
+    }
+
+    @Test
+    void doesNotPoolBufferOfOtherSize() {
+        final PartBuffers pool = new PartBuffers(8, 1);
+        final ByteBuffer other = ByteBuffer.allocate(4);
+        pool.give(other);
+        MatcherAssert.assertThat(pool.take().capacity(), new IsEqual<>(8));
+    }
+}
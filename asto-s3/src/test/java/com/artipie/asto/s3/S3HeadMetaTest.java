@@ -5,6 +5,7 @@
 package com.artipie.asto.s3;
 
 import com.artipie.asto.Meta;
+import java.time.Instant;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.IsEqual;
 import org.junit.jupiter.api.Test;
@@ -43,4 +44,19 @@ final class S3HeadMetaTest {
             new IsEqual<>(hash)
         );
     }
+
+    @Test
+    void readUpdateTime() {
+        final Instant time = Instant.parse("2023-03-01T10:15:30Z");
+        MatcherAssert.assertThat(
+            new S3HeadMeta(
+                HeadObjectResponse.builder()
+                    .contentLength(0L)
+                    .eTag("abc")
+                    .lastModified(time)
+                    .build()
+            ).read(Meta.OP_UPDATED_AT).orElseThrow(IllegalStateException::new),
+            new IsEqual<>(time)
+        );
+    }
 }
@@ -10,23 +10,33 @@ import com.amazonaws.services.s3.model.ListMultipartUploadsRequest;
 import com.amazonaws.services.s3.model.MultipartUpload;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amihaiemil.eoyaml.Yaml;
+import com.amihaiemil.eoyaml.YamlMappingBuilder;
+import com.artipie.asto.Concatenation;
 import com.artipie.asto.Content;
 import com.artipie.asto.Key;
 import com.artipie.asto.Meta;
+import com.artipie.asto.Remaining;
+import com.artipie.asto.Splitting;
 import com.artipie.asto.Storage;
 import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.cache.Remote;
+import com.artipie.asto.cache.TtlVerification;
 import com.artipie.asto.factory.Config;
 import com.artipie.asto.factory.StoragesLoader;
 import com.google.common.io.ByteStreams;
 import io.reactivex.Flowable;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
@@ -102,6 +112,62 @@ class S3StorageTest {
         MatcherAssert.assertThat(this.download(client, key), Matchers.equalTo(data));
     }
 
+    @Test
+    @Timeout(15)
+    void shouldUploadLargeContentOfUnknownSize(final AmazonS3 client) throws Exception {
+        final int size = 20 * 1024 * 1024;
+        final byte[] data = new byte[size];
+        new Random().nextBytes(data);
+        final String key = "big/unknown";
+        this.storage().save(
+            new Key.From(key),
+            new Content.From(
+                Flowable.fromPublisher(new Splitting(ByteBuffer.wrap(data), 64 * 1024).publisher())
+            )
+        ).join();
+        MatcherAssert.assertThat(this.download(client, key), Matchers.equalTo(data));
+    }
+
+    @Test
+    void shouldStartMultipartUploadWhenMemoryBufferIsFilled(final AmazonS3 client)
+        throws Exception {
+        final int chunk = 1024 * 1024;
+        final byte[] data = new byte[14 * chunk];
+        new Random().nextBytes(data);
+        final String key = "big/streamed";
+        this.storage(
+            Yaml.createYamlMappingBuilder()
+                .add("multipart-part-size", String.valueOf(12 * chunk))
+                .add("multipart-in-flight-bytes", String.valueOf(12 * chunk))
+                .add("memory-buffer", String.valueOf(chunk))
+        ).save(
+            new Key.From(key),
+            new Content.From(
+                Flowable.range(0, data.length / chunk).concatMap(
+                    idx -> {
+                        final Flowable<ByteBuffer> buf = Flowable.just(
+                            ByteBuffer.wrap(data, idx * chunk, chunk)
+                        );
+                        final Flowable<ByteBuffer> res;
+                        if (idx == 2) {
+                            res = buf.delaySubscription(
+                                Flowable.interval(50, TimeUnit.MILLISECONDS).filter(
+                                    tick -> !client.listMultipartUploads(
+                                        new ListMultipartUploadsRequest(this.bucket)
+                                    ).getMultipartUploads().isEmpty()
+                                ).take(1)
+                            );
+                        } else {
+                            res = buf;
+                        }
+                        return res;
+                    }
+                )
+            )
+        ).get(10, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(this.download(client, key), Matchers.equalTo(data));
+    }
+
     @Test
     void shouldAbortMultipartUploadWhenFailedToReadContent(final AmazonS3 client) {
         this.storage().save(
@@ -155,6 +221,28 @@ class S3StorageTest {
         );
     }
 
+    @Test
+    void shouldListAllKeysFromSeveralPages(final AmazonS3 client) {
+        final byte[] data = "paged".getBytes();
+        final List<String> expected = Arrays.asList(
+            "p/1", "p/2", "p/3", "p/4", "p/5", "p/6", "p/7"
+        );
+        expected.forEach(
+            key -> client.putObject(
+                this.bucket, key, new ByteArrayInputStream(data), new ObjectMetadata()
+            )
+        );
+        MatcherAssert.assertThat(
+            new BlockingStorage(
+                this.storage(Yaml.createYamlMappingBuilder().add("list-page-size", "2"))
+            ).list(new Key.From("p"))
+                .stream()
+                .map(Key::string)
+                .collect(Collectors.toList()),
+            Matchers.equalTo(expected)
+        );
+    }
+
     @Test
     void shouldGetObjectWhenLoad(final AmazonS3 client) throws Exception {
         final byte[] data = "data".getBytes();
@@ -168,6 +256,29 @@ class S3StorageTest {
         );
     }
 
+    @Test
+    void shouldGetObjectIfPresent(final AmazonS3 client) throws Exception {
+        final byte[] data = "present".getBytes();
+        final String key = "some/present";
+        client.putObject(this.bucket, key, new ByteArrayInputStream(data), new ObjectMetadata());
+        MatcherAssert.assertThat(
+            new Remaining(
+                new Concatenation(this.storage().valueIfPresent(new Key.From(key)).join().get())
+                    .single().blockingGet(),
+                true
+            ).bytes(),
+            new IsEqual<>(data)
+        );
+    }
+
+    @Test
+    void shouldGetNothingIfObjectIsAbsent() {
+        MatcherAssert.assertThat(
+            this.storage().valueIfPresent(new Key.From("some/absent")).join().isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
     @Test
     void shouldCopyObjectWhenMoved(final AmazonS3 client) throws Exception {
         final byte[] original = "something".getBytes();
@@ -190,6 +301,41 @@ class S3StorageTest {
         }
     }
 
+    @Test
+    void shouldMoveObjectByPartsAboveCopyThreshold(final AmazonS3 client) throws Exception {
+        final byte[] original = new byte[12 * 1024 * 1024 + 7];
+        new Random().nextBytes(original);
+        client.putObject(
+            this.bucket, "large-source", new ByteArrayInputStream(original), new ObjectMetadata()
+        );
+        new BlockingStorage(
+            this.storage(
+                Yaml.createYamlMappingBuilder()
+                    .add("multipart-copy-threshold", String.valueOf(5 * 1024 * 1024))
+                    .add("multipart-copy-part-size", String.valueOf(5 * 1024 * 1024))
+            )
+        ).move(new Key.From("large-source"), new Key.From("large-destination"));
+        MatcherAssert.assertThat(
+            this.download(client, "large-destination"),
+            new IsEqual<>(original)
+        );
+    }
+
+    @Test
+    void shouldCopyObjectWithoutMultipartWhenMoved(final AmazonS3 client) throws Exception {
+        final byte[] original = "single copy".getBytes();
+        client.putObject(
+            this.bucket, "single", new ByteArrayInputStream(original), new ObjectMetadata()
+        );
+        new BlockingStorage(
+            this.storage(Yaml.createYamlMappingBuilder().add("multipart", "false"))
+        ).move(new Key.From("single"), new Key.From("copied"));
+        MatcherAssert.assertThat(
+            this.download(client, "copied"),
+            new IsEqual<>(original)
+        );
+    }
+
     @Test
     void shouldDeleteOriginalObjectWhenMoved(final AmazonS3 client) throws Exception {
         final String source = "src";
@@ -221,6 +367,25 @@ class S3StorageTest {
         );
     }
 
+    @Test
+    void shouldDeleteAllObjectsByPrefix(final AmazonS3 client) {
+        final byte[] data = "to be deleted".getBytes();
+        Arrays.asList("d/1", "d/2", "d/a/3", "d/a/b/4", "e/5", "e/6").forEach(
+            key -> client.putObject(
+                this.bucket, key, new ByteArrayInputStream(data), new ObjectMetadata()
+            )
+        );
+        new BlockingStorage(
+            this.storage(Yaml.createYamlMappingBuilder().add("list-page-size", "2"))
+        ).deleteAll(new Key.From("d"));
+        MatcherAssert.assertThat(
+            client.listObjectsV2(this.bucket).getObjectSummaries().stream()
+                .map(S3ObjectSummary::getKey)
+                .collect(Collectors.toList()),
+            Matchers.contains("e/5", "e/6")
+        );
+    }
+
     @Test
     void readMetadata(final AmazonS3 client) throws Exception {
         final String key = "random/data";
@@ -241,6 +406,19 @@ class S3StorageTest {
         );
     }
 
+    @Test
+    void validatesFreshItemByTtl(final AmazonS3 client) {
+        final String key = "cached/index.json";
+        client.putObject(
+            this.bucket, key, new ByteArrayInputStream("{}".getBytes()), new ObjectMetadata()
+        );
+        MatcherAssert.assertThat(
+            new TtlVerification(this.storage(), Duration.ofHours(1))
+                .validate(new Key.From(key), Remote.EMPTY).toCompletableFuture().join(),
+            new IsEqual<>(true)
+        );
+    }
+
     @Test
     void returnsIdentifier() {
         MatcherAssert.assertThat(
@@ -258,11 +436,15 @@ class S3StorageTest {
     }
 
     private Storage storage() {
+        return this.storage(Yaml.createYamlMappingBuilder());
+    }
+
+    private Storage storage(final YamlMappingBuilder settings) {
         return new StoragesLoader()
             .newObject(
                 "s3",
                 new Config.YamlStorageConfig(
-                    Yaml.createYamlMappingBuilder()
+                    settings
                         .add("region", "us-east-1")
                         .add("bucket", this.bucket)
                         .add("endpoint", String.format("http://localhost:%d", MOCK.getHttpPort()))
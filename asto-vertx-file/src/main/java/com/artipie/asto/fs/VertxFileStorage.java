@@ -6,6 +6,7 @@ package com.artipie.asto.fs;
 
 import com.artipie.asto.ArtipieIOException;
 import com.artipie.asto.Content;
+import com.artipie.asto.ContentRange;
 import com.artipie.asto.Key;
 import com.artipie.asto.Meta;
 import com.artipie.asto.Storage;
@@ -209,6 +210,36 @@ public final class VertxFileStorage implements Storage {
         return res;
     }
 
+    @Override
+    public CompletableFuture<Content> value(final Key key, final long offset, final long length) {
+        ContentRange.validate(offset, length);
+        final CompletableFuture<Content> res;
+        if (Key.ROOT.equals(key)) {
+            res = new CompletableFutureSupport.Failed<Content>(
+                new ArtipieIOException("Unable to load from root")
+            ).get();
+        } else {
+            res = VertxFileStorage.size(this.path(key)).thenApply(
+                size -> {
+                    final long len = Math.min(length, Math.max(0, size - offset));
+                    final Content content;
+                    if (len == 0) {
+                        content = Content.EMPTY;
+                    } else {
+                        content = new Content.OneTime(
+                            new Content.From(
+                                len,
+                                new VertxRxFile(this.path(key), this.vertx).flow(offset, len)
+                            )
+                        );
+                    }
+                    return content;
+                }
+            );
+        }
+        return res;
+    }
+
     @Override
     public <T> CompletionStage<T> exclusively(
         final Key key,
@@ -53,6 +53,20 @@ public class VertxRxFile {
      * @return A flow of bytes
      */
     public Flowable<ByteBuffer> flow() {
+        return this.flow(0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Read range of file content as a flow of bytes.
+     * <p>
+     * Reading starts at the offset with {@link io.vertx.reactivex.core.file.AsyncFile#setReadPos}
+     * and stops after the length bytes or at the end of file.
+     *
+     * @param offset Range start position.
+     * @param length Max range length.
+     * @return A flow of bytes
+     */
+    public Flowable<ByteBuffer> flow(final long offset, final long length) {
         return this.vertx.fileSystem().rxOpen(
             this.file.toString(),
             new OpenOptions()
@@ -75,6 +89,7 @@ public class VertxRxFile {
                                 }
                             )
                     );
+                    asyncFile.setReadPos(offset).setReadLength(length);
                     return asyncFile.toFlowable().map(
                         buffer -> ByteBuffer.wrap(buffer.getBytes())
                     ).doOnTerminate(() -> asyncFile.rxClose().subscribe(promise::complete))